@@ -0,0 +1,46 @@
+package org.kafka.evrak.benchmark;
+
+import org.kafka.evrak.enums.DocumentFormat;
+import org.kafka.evrak.util.FileUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Yükleme sırasında her belge için çalışan ad işlemleri:
+ * uzantıdan DocumentFormat çözümü ve depodaki benzersiz adın üretilmesi.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DocumentNamingBenchmark {
+
+    private static final String[] FILENAMES = {
+            "fatura_2024_01.pdf", "Sozlesme Taslak.DOCX", "tarama.jpeg", "rapor.final.xlsx",
+            "arsiv.zip", "not.txt", "irsaliye-00017.PDF", "gorsel.png"
+    };
+
+    private String filename;
+
+    @Setup
+    public void setUp() {
+        filename = FILENAMES[ThreadLocalRandom.current().nextInt(FILENAMES.length)];
+    }
+
+    @Benchmark
+    public DocumentFormat resolveFormat() {
+        return FileUtil.resolveFormat(filename);
+    }
+
+    @Benchmark
+    public String newStoredName() {
+        return FileUtil.newStoredName(filename);
+    }
+}
@@ -0,0 +1,113 @@
+package org.kafka.evrak.benchmark;
+
+import org.kafka.evrak.util.FileUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dosya kopyalama stratejilerinin karşılaştırması: akış kopyası, FileChannel + ByteBuffer,
+ * FileChannel.transferTo, Files.copy ve yüklemelerde kullanılan FileUtil.writeAtomically
+ * (geçici dosya + SHA-256 + atomik taşıma).
+ * Dosyalar sistemin geçici klasöründe oluşturulur; sonuçlar işletim sistemi sayfa önbelleğinden etkilenir.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FileCopyBenchmark {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Param({"65536", "8388608"})
+    private int size;
+
+    private Path directory;
+    private Path source;
+    private Path target;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("evrak-copy-bench");
+        source = directory.resolve("source.bin");
+        target = directory.resolve("target.bin");
+        byte[] content = new byte[size];
+        new Random(42).nextBytes(content);
+        Files.write(source, content);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileUtil.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public long streamCopy() throws IOException {
+        try (InputStream in = Files.newInputStream(source);
+             OutputStream out = Files.newOutputStream(target)) {
+            return in.transferTo(out);
+        }
+    }
+
+    @Benchmark
+    public long channelBufferCopy() throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            long copied = 0;
+            while (in.read(buffer) >= 0) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    copied += out.write(buffer);
+                }
+                buffer.clear();
+            }
+            return copied;
+        }
+    }
+
+    @Benchmark
+    public long channelTransferTo() throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            long length = in.size();
+            long position = 0;
+            while (position < length) {
+                position += in.transferTo(position, length - position, out);
+            }
+            return position;
+        }
+    }
+
+    @Benchmark
+    public Path filesCopy() throws IOException {
+        return Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Benchmark
+    public FileUtil.StoredFile writeAtomically() throws IOException {
+        try (InputStream in = Files.newInputStream(source)) {
+            return FileUtil.writeAtomically(in, target);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package org.kafka.evrak.benchmark;
+
+import org.kafka.evrak.dto.request.DtoCompanyIU;
+import org.kafka.evrak.dto.request.DtoDocumentIU;
+import org.kafka.evrak.dto.response.DtoCompany;
+import org.kafka.evrak.dto.response.DtoDocument;
+import org.kafka.evrak.entity.Company;
+import org.kafka.evrak.entity.Document;
+import org.kafka.evrak.enums.DocumentCategory;
+import org.kafka.evrak.enums.DocumentFormat;
+import org.kafka.evrak.mapper.CompanyMapper;
+import org.kafka.evrak.mapper.DocumentMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct eşleyicilerinin (DocumentMapper, CompanyMapper) tekil ve liste dönüşüm hızı.
+ * Liste boyutu, listeleme uçlarının sayfa boyutlarına karşılık gelir.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MapperBenchmark {
+
+    @Param({"20", "500"})
+    private int listSize;
+
+    private DocumentMapper documentMapper;
+    private CompanyMapper companyMapper;
+
+    private DtoDocumentIU documentIU;
+    private DtoCompanyIU companyIU;
+    private Document document;
+    private Company company;
+    private List<Document> documents;
+    private List<Company> companies;
+
+    @Setup
+    public void setUp() {
+        documentMapper = Mappers.getMapper(DocumentMapper.class);
+        companyMapper = Mappers.getMapper(CompanyMapper.class);
+
+        documentIU = new DtoDocumentIU();
+        documentIU.setName("Fatura");
+        documentIU.setCompanyId(1L);
+        documentIU.setCategory(DocumentCategory.GELEN);
+        documentIU.setDescription("Ocak ayı faturası");
+
+        companyIU = new DtoCompanyIU();
+        companyIU.setName("Örnek Ticaret A.Ş.");
+
+        company = newCompany(1L);
+        document = newDocument(1L, company);
+        documents = new ArrayList<>(listSize);
+        companies = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            Company listCompany = newCompany((long) i);
+            companies.add(listCompany);
+            documents.add(newDocument((long) i, listCompany));
+        }
+    }
+
+    private static Company newCompany(Long id) {
+        Company company = new Company();
+        company.setId(id);
+        company.setName("Şirket " + id);
+        company.setFolderPath("uploads/.companies/" + id);
+        company.setActive(true);
+        company.setCreatedAt(LocalDateTime.now());
+        return company;
+    }
+
+    private static Document newDocument(Long id, Company company) {
+        Document document = new Document();
+        document.setId(id);
+        document.setName("0123456789abcdef0123456789abcdef_fatura_" + id + ".pdf");
+        document.setType(DocumentFormat.PDF);
+        document.setCategory(DocumentCategory.GELEN);
+        document.setDescription("Belge " + id);
+        document.setFileSize(125_000L + id);
+        document.setContentHash("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855");
+        document.setActive(true);
+        document.setCreatedAt(LocalDateTime.now());
+        document.setCompany(company);
+        return document;
+    }
+
+    @Benchmark
+    public Document documentToEntity() {
+        return documentMapper.toEntity(documentIU);
+    }
+
+    @Benchmark
+    public DtoDocument documentToDto() {
+        return documentMapper.toDto(document);
+    }
+
+    @Benchmark
+    public List<DtoDocument> documentToDtoList() {
+        return documentMapper.toDtoList(documents);
+    }
+
+    @Benchmark
+    public Company companyToEntity() {
+        return companyMapper.toEntity(companyIU);
+    }
+
+    @Benchmark
+    public DtoCompany companyToDto() {
+        return companyMapper.toDto(company);
+    }
+
+    @Benchmark
+    public List<DtoCompany> companyToDtoList() {
+        return companyMapper.toDtoList(companies);
+    }
+}
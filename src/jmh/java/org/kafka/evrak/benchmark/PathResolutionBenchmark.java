@@ -0,0 +1,70 @@
+package org.kafka.evrak.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.kafka.evrak.config.FileStorageConfig;
+import org.kafka.evrak.config.MetricsConfig;
+import org.kafka.evrak.service.StorageMetrics;
+import org.kafka.evrak.service.StoragePathResolver;
+import org.kafka.evrak.util.FileUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StoragePathResolver ile belge yolu çözümü (alt klasör derinliğine göre CRC32 dağıtımı).
+ * Dosya sistemine erişilmez; yalnızca yol hesaplaması ölçülür.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PathResolutionBenchmark {
+
+    @Param({"0", "1", "2", "3"})
+    private int depth;
+
+    private StoragePathResolver resolver;
+    private String companyFolderName;
+    private Path companyFolderPath;
+    private String storedName;
+    private String archivedName;
+
+    @Setup
+    public void setUp() {
+        FileStorageConfig config = new FileStorageConfig();
+        config.setUploadsDir("uploads");
+        config.setFanoutDepth(depth);
+        resolver = new StoragePathResolver(config, new StorageMetrics(new SimpleMeterRegistry(), new MetricsConfig()));
+        companyFolderName = resolver.companyFolder(42L).toString();
+        companyFolderPath = resolver.companyFolder(42L);
+        storedName = FileUtil.newStoredName("fatura_2024_01.pdf");
+        archivedName = "archived_" + storedName;
+    }
+
+    @Benchmark
+    public Path resolveFromString() {
+        return resolver.resolve(companyFolderName, storedName, depth);
+    }
+
+    @Benchmark
+    public Path resolveFromPath() {
+        return resolver.resolve(companyFolderPath, storedName, depth);
+    }
+
+    @Benchmark
+    public Path resolveArchived() {
+        return resolver.resolve(companyFolderPath, archivedName, depth);
+    }
+
+    @Benchmark
+    public Path companyFolder() {
+        return resolver.companyFolder(42L);
+    }
+}
@@ -0,0 +1,34 @@
+package org.kafka.evrak.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "concurrency")
+public class ConcurrencyConfig {
+
+    // Veritabanı kullanan isteklerden aynı anda işlenebilecek en fazla sayı (0: sınır yok).
+    // Bağlantı havuzu boyutunun birkaç katı olmalıdır; fazlası havuzda beklemek yerine hızlıca reddedilir.
+    private int maxDatabaseRequests = 40;
+
+    // Kapasite doluysa isteğin yer açılması için bekleyeceği en uzun süre
+    private Duration acquireTimeout = Duration.ofSeconds(2);
+
+    public int getMaxDatabaseRequests() {
+        return maxDatabaseRequests;
+    }
+
+    public void setMaxDatabaseRequests(int maxDatabaseRequests) {
+        this.maxDatabaseRequests = maxDatabaseRequests;
+    }
+
+    public Duration getAcquireTimeout() {
+        return acquireTimeout;
+    }
+
+    public void setAcquireTimeout(Duration acquireTimeout) {
+        this.acquireTimeout = acquireTimeout;
+    }
+}
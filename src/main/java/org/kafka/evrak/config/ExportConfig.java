@@ -0,0 +1,20 @@
+package org.kafka.evrak.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "export")
+public class ExportConfig {
+
+    // Aynı anda çalışabilecek en fazla dışa aktarma (her biri yazma boyunca bir DB bağlantısı tutar)
+    private int maxConcurrent = 4;
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public void setMaxConcurrent(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+    }
+}
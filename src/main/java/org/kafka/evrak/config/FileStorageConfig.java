@@ -11,6 +11,18 @@ public class FileStorageConfig {
 
     private String uploadsDir;
 
+    // true ise belge içerikleri SHA-256 özetine göre tek kopya olarak saklanır
+    private boolean dedupEnabled = false;
+
+    // true ise metin tabanlı belgeler şirket klasörüne gzip ile sıkıştırılarak yazılır
+    private boolean compressionEnabled = false;
+
+    // gzip seviyesi (1: en hızlı, 9: en küçük)
+    private int compressionLevel = 1;
+
+    // Şirket klasöründe alt klasör derinliği (0: düz, en fazla 3; bkz. StoragePathResolver)
+    private int fanoutDepth = 0;
+
     public String getUploadsDir() {
         return uploadsDir;
     }
@@ -19,7 +31,64 @@ public class FileStorageConfig {
         this.uploadsDir = uploadsDir;
     }
 
+    public boolean isDedupEnabled() {
+        return dedupEnabled;
+    }
+
+    public void setDedupEnabled(boolean dedupEnabled) {
+        this.dedupEnabled = dedupEnabled;
+    }
+
+    public boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
+
+    public void setCompressionEnabled(boolean compressionEnabled) {
+        this.compressionEnabled = compressionEnabled;
+    }
+
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    public void setCompressionLevel(int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    public int getFanoutDepth() {
+        return fanoutDepth;
+    }
+
+    public void setFanoutDepth(int fanoutDepth) {
+        this.fanoutDepth = fanoutDepth;
+    }
+
     public Path getUploadsPath() {
         return Paths.get(uploadsDir).toAbsolutePath().normalize();
     }
+
+    // Şirket klasörlerinin kök dizini; her şirket değişmeyen id'siyle adlandırılan bir klasörde tutulur
+    public Path getCompaniesPath() {
+        return getUploadsPath().resolve(".companies");
+    }
+
+    // Parçalı yükleme oturumlarının geçici alanı
+    public Path getSessionsPath() {
+        return getUploadsPath().resolve(".sessions");
+    }
+
+    // Belgelerden türetilen önizlemeler (bkz. PreviewService)
+    public Path getPreviewsPath() {
+        return getUploadsPath().resolve(".previews");
+    }
+
+    // Pasif belgelerin paket dosyaları (bkz. PackService)
+    public Path getPacksPath() {
+        return getUploadsPath().resolve(".packs");
+    }
+
+    // İçerik adresli (content-addressed) blob alanı
+    public Path getBlobsPath() {
+        return getUploadsPath().resolve(".blobs");
+    }
 }
@@ -0,0 +1,42 @@
+package org.kafka.evrak.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "import")
+public class ImportConfig {
+
+    // İçe aktarılacak arşivlerin bulunabileceği kök klasör. Boşsa içe aktarma kapalıdır.
+    private String allowedRoot;
+
+    // Aynı anda işlenen şirket klasörü sayısı
+    private int parallelism = 4;
+
+    // Tek JDBC batch'inde eklenen belge sayısı
+    private int batchSize = 1000;
+
+    public String getAllowedRoot() {
+        return allowedRoot;
+    }
+
+    public void setAllowedRoot(String allowedRoot) {
+        this.allowedRoot = allowedRoot;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
@@ -0,0 +1,21 @@
+package org.kafka.evrak.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "jobs")
+public class JobConfig {
+
+    // Arka plan işlerini çalıştıran iş parçacığı sayısı. Tomcat ve bağlantı havuzundan
+    // ayrı ve küçük tutulur; böylece toplu işler etkileşimli istekleri bekletmez.
+    private int workers = 2;
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+}
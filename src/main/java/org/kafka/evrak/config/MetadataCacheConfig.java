@@ -0,0 +1,45 @@
+package org.kafka.evrak.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "metadata-cache")
+public class MetadataCacheConfig {
+
+    // Kayıtların önbellekte kalacağı en uzun süre (yazmadan itibaren)
+    private Duration ttl = Duration.ofMinutes(10);
+
+    // Şirket bilgileri için ayrılan yaklaşık bellek
+    private DataSize companyMaxSize = DataSize.ofMegabytes(8);
+
+    // Belge konumları için ayrılan yaklaşık bellek
+    private DataSize documentMaxSize = DataSize.ofMegabytes(64);
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public DataSize getCompanyMaxSize() {
+        return companyMaxSize;
+    }
+
+    public void setCompanyMaxSize(DataSize companyMaxSize) {
+        this.companyMaxSize = companyMaxSize;
+    }
+
+    public DataSize getDocumentMaxSize() {
+        return documentMaxSize;
+    }
+
+    public void setDocumentMaxSize(DataSize documentMaxSize) {
+        this.documentMaxSize = documentMaxSize;
+    }
+}
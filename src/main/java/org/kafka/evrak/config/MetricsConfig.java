@@ -0,0 +1,20 @@
+package org.kafka.evrak.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "metrics")
+public class MetricsConfig {
+
+    // Yükleme metriklerine şirket etiketi eklensin mi; şirket sayısı kadar zaman serisi üretir
+    private boolean companyTags = false;
+
+    public boolean isCompanyTags() {
+        return companyTags;
+    }
+
+    public void setCompanyTags(boolean companyTags) {
+        this.companyTags = companyTags;
+    }
+}
@@ -0,0 +1,56 @@
+package org.kafka.evrak.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "pack")
+public class PackConfig {
+
+    // Bir paket dosyasının en büyük boyutu; paket tek parça bellek eşlemesiyle okunduğundan 2 GB'ı aşamaz
+    private DataSize maxPackSize = DataSize.ofMegabytes(512);
+
+    // Paketlenmesi için belgenin en az ne kadar süredir pasif (değişmemiş) olması gerektiği
+    private Duration minInactiveAge = Duration.ofDays(30);
+
+    // Canlı içerik oranı bunun altına düşen paketler yeniden paketlenir
+    private double minLiveRatio = 0.5;
+
+    // Aynı anda bellek eşlemesi açık tutulan en fazla paket sayısı
+    private int maxMappedPacks = 64;
+
+    public DataSize getMaxPackSize() {
+        return maxPackSize;
+    }
+
+    public void setMaxPackSize(DataSize maxPackSize) {
+        this.maxPackSize = maxPackSize;
+    }
+
+    public Duration getMinInactiveAge() {
+        return minInactiveAge;
+    }
+
+    public void setMinInactiveAge(Duration minInactiveAge) {
+        this.minInactiveAge = minInactiveAge;
+    }
+
+    public double getMinLiveRatio() {
+        return minLiveRatio;
+    }
+
+    public void setMinLiveRatio(double minLiveRatio) {
+        this.minLiveRatio = minLiveRatio;
+    }
+
+    public int getMaxMappedPacks() {
+        return maxMappedPacks;
+    }
+
+    public void setMaxMappedPacks(int maxMappedPacks) {
+        this.maxMappedPacks = maxMappedPacks;
+    }
+}
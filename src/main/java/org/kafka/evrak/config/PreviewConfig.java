@@ -0,0 +1,77 @@
+package org.kafka.evrak.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "preview")
+public class PreviewConfig {
+
+    // Önizlemenin uzun kenarı (piksel)
+    private int size = 256;
+
+    // Aynı anda önizleme oluşturan en fazla iş parçacığı sayısı
+    private int parallelism = 2;
+
+    // Bekleyen en fazla önizleme görevi; dolduğunda yeni görevler bırakılır (ilk istekte oluşturulur)
+    private int queueCapacity = 1000;
+
+    // Önizlemesi oluşturulacak görselin en fazla piksel sayısı (genişlik x yükseklik)
+    private long maxSourcePixels = 100_000_000L;
+
+    // İlk istekte önizlemenin oluşturulması için beklenecek en uzun süre
+    private Duration generateTimeout = Duration.ofSeconds(30);
+
+    // İndirme yanıtındaki Cache-Control max-age değeri
+    private Duration maxAge = Duration.ofDays(7);
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public long getMaxSourcePixels() {
+        return maxSourcePixels;
+    }
+
+    public void setMaxSourcePixels(long maxSourcePixels) {
+        this.maxSourcePixels = maxSourcePixels;
+    }
+
+    public Duration getGenerateTimeout() {
+        return generateTimeout;
+    }
+
+    public void setGenerateTimeout(Duration generateTimeout) {
+        this.generateTimeout = generateTimeout;
+    }
+
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+
+    public void setMaxAge(Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+}
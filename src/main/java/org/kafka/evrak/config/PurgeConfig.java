@@ -0,0 +1,31 @@
+package org.kafka.evrak.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "purge")
+public class PurgeConfig {
+
+    // Her partide okunup silinen belge sayısı (her parti ayrı transaction'dır)
+    private int batchSize = 1000;
+
+    // Aynı anda silinen en fazla dosya sayısı
+    private int parallelism = 8;
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+}
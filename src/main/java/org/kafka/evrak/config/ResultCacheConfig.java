@@ -0,0 +1,33 @@
+package org.kafka.evrak.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "result-cache")
+public class ResultCacheConfig {
+
+    // Önbellekteki sayfalarda toplam tutulabilecek en fazla kayıt (satır) sayısı
+    private long maxElements = 100_000;
+
+    // Erişilmeyen sonuçların önbellekte kalacağı süre
+    private Duration idleTtl = Duration.ofMinutes(5);
+
+    public long getMaxElements() {
+        return maxElements;
+    }
+
+    public void setMaxElements(long maxElements) {
+        this.maxElements = maxElements;
+    }
+
+    public Duration getIdleTtl() {
+        return idleTtl;
+    }
+
+    public void setIdleTtl(Duration idleTtl) {
+        this.idleTtl = idleTtl;
+    }
+}
@@ -0,0 +1,67 @@
+package org.kafka.evrak.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "upload")
+public class UploadSessionConfig {
+
+    // Son parça yüklemesinden sonra oturumun geçerli kalacağı süre
+    private Duration sessionTtl = Duration.ofHours(24);
+
+    // Bir oturumda izin verilen en fazla parça sayısı
+    private int maxChunks = 10000;
+
+    // Bir parçanın en fazla boyutu
+    private DataSize maxChunkSize = DataSize.ofMegabytes(64);
+
+    // Toplu yüklemede (save-batch) bir istekteki en fazla dosya sayısı
+    private int batchMaxFiles = 500;
+
+    // Toplu yüklemede aynı anda yazılan dosya sayısı
+    private int batchParallelism = 8;
+
+    public Duration getSessionTtl() {
+        return sessionTtl;
+    }
+
+    public void setSessionTtl(Duration sessionTtl) {
+        this.sessionTtl = sessionTtl;
+    }
+
+    public int getMaxChunks() {
+        return maxChunks;
+    }
+
+    public void setMaxChunks(int maxChunks) {
+        this.maxChunks = maxChunks;
+    }
+
+    public DataSize getMaxChunkSize() {
+        return maxChunkSize;
+    }
+
+    public void setMaxChunkSize(DataSize maxChunkSize) {
+        this.maxChunkSize = maxChunkSize;
+    }
+
+    public int getBatchMaxFiles() {
+        return batchMaxFiles;
+    }
+
+    public void setBatchMaxFiles(int batchMaxFiles) {
+        this.batchMaxFiles = batchMaxFiles;
+    }
+
+    public int getBatchParallelism() {
+        return batchParallelism;
+    }
+
+    public void setBatchParallelism(int batchParallelism) {
+        this.batchParallelism = batchParallelism;
+    }
+}
@@ -1,8 +1,12 @@
 package org.kafka.evrak.config;
 
+import org.kafka.evrak.handler.DatabaseBulkheadInterceptor;
+import org.kafka.evrak.handler.TransferMetricsInterceptor;
+import org.kafka.evrak.service.StorageMetrics;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -10,9 +14,14 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class WebConfig {
 
     private final FileStorageConfig fileStorageConfig;
+    private final ConcurrencyConfig concurrencyConfig;
+    private final StorageMetrics storageMetrics;
 
-    public WebConfig(FileStorageConfig fileStorageConfig) {
+    public WebConfig(FileStorageConfig fileStorageConfig, ConcurrencyConfig concurrencyConfig,
+                     StorageMetrics storageMetrics) {
         this.fileStorageConfig = fileStorageConfig;
+        this.concurrencyConfig = concurrencyConfig;
+        this.storageMetrics = storageMetrics;
     }
 
     @Bean
@@ -32,6 +41,19 @@ public class WebConfig {
                 registry.addResourceHandler("/uploads/**")
                         .addResourceLocations("file:" + fileStorageConfig.getUploadsPath() + "/");
             }
+
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                if (concurrencyConfig.getMaxDatabaseRequests() > 0) {
+                    registry.addInterceptor(new DatabaseBulkheadInterceptor(concurrencyConfig))
+                            .addPathPatterns("/api/**")
+                            .excludePathPatterns("/api/documents/file/**", "/api/documents/save",
+                                    "/api/documents/save-stream", "/api/documents/save-batch",
+                                    "/api/uploads/sessions/*/chunks/*");
+                }
+                registry.addInterceptor(new TransferMetricsInterceptor(storageMetrics))
+                        .addPathPatterns("/api/documents/file/**");
+            }
         };
     }
 }
@@ -0,0 +1,41 @@
+package org.kafka.evrak.config;
+
+import org.springframework.boot.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Uygulama içi iş parçacığı havuzlarını oluşturur.
+ * spring.threads.virtual.enabled=true ise havuzlar sanal (virtual) iş parçacıklarıyla çalışır;
+ * havuz boyutu her iki modda da eşzamanlı dosya sistemi işlemlerini sınırlar.
+ */
+@Component
+public class WorkerThreads {
+
+    private final boolean virtual;
+
+    public WorkerThreads(Environment environment) {
+        this.virtual = Threading.VIRTUAL.isActive(environment);
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    public ThreadFactory factory(String namePrefix) {
+        return virtual
+                ? Thread.ofVirtual().name(namePrefix, 0).factory()
+                : Thread.ofPlatform().name(namePrefix, 0).daemon(true).factory();
+    }
+
+    /**
+     * En fazla parallelism görevi aynı anda çalıştıran havuz döner.
+     */
+    public ExecutorService newFixedPool(String namePrefix, int parallelism) {
+        return Executors.newFixedThreadPool(parallelism, factory(namePrefix));
+    }
+}
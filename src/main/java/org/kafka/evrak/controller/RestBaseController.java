@@ -1,5 +1,10 @@
 package org.kafka.evrak.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
 public class RestBaseController {
 
     public <T> RootEntity<T> ok(T payload){
@@ -9,4 +14,16 @@ public class RestBaseController {
     public <T> RootEntity<T> error(String errorMessage){
         return RootEntity.error(errorMessage);
     }
+
+    /**
+     * Liste yanıtları için koşullu GET: ETag yazılır, istemcinin If-None-Match değeri eşleşirse
+     * yanıt 304 olarak tamamlanır ve true döner (metot bu durumda null dönmelidir).
+     */
+    protected boolean notModified(ServletWebRequest webRequest, String eTag) {
+        HttpServletResponse response = webRequest.getResponse();
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        }
+        return webRequest.checkNotModified(eTag);
+    }
 }
\ No newline at end of file
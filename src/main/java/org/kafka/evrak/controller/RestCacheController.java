@@ -0,0 +1,43 @@
+package org.kafka.evrak.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.kafka.evrak.dto.response.DtoCacheStats;
+import org.kafka.evrak.service.MetadataCacheService;
+import org.kafka.evrak.service.ResultCacheService;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/cache")
+public class RestCacheController extends RestBaseController {
+
+    private final MetadataCacheService metadataCacheService;
+    private final ResultCacheService resultCacheService;
+
+    /**
+     * Önbelleklerin boyut, isabet oranı ve tahliye istatistiklerini döner.
+     */
+    @GetMapping("/stats")
+    public RootEntity<List<DtoCacheStats>> getStats() {
+        return ok(collectStats());
+    }
+
+    /**
+     * Tüm önbellekleri boşaltır (ör. dosya sistemi dışarıdan değiştirildiğinde).
+     */
+    @DeleteMapping
+    public RootEntity<List<DtoCacheStats>> clear() {
+        metadataCacheService.invalidateAll();
+        resultCacheService.invalidateAll();
+        return ok(collectStats());
+    }
+
+    private List<DtoCacheStats> collectStats() {
+        List<DtoCacheStats> stats = new ArrayList<>(metadataCacheService.getStats());
+        stats.add(resultCacheService.getStats());
+        return stats;
+    }
+}
@@ -4,9 +4,12 @@ import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.kafka.evrak.dto.request.DtoCompanyIU;
 import org.kafka.evrak.dto.response.DtoCompany;
+import org.kafka.evrak.dto.response.DtoJob;
+import org.kafka.evrak.dto.response.DtoSlice;
 import org.kafka.evrak.service.CompanyService;
 import org.springframework.data.domain.Page;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 
@@ -27,20 +30,45 @@ public class RestCompanyController extends RestBaseController{
         return ok(companyService.updateCompany(id, dtoCompanyIU));
     }
 
+    /**
+     * Firmalarda değişiklik olmadıysa If-None-Match ile gelen isteğe veritabanına gidilmeden 304 döner.
+     */
     @GetMapping("/getAllActive")
     public RootEntity<Page<DtoCompany>> getAllActiveCompanies(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            ServletWebRequest webRequest) {
+        if (notModified(webRequest, companyService.getCompanyListETag())) {
+            return null;
+        }
         return ok(companyService.getAllActiveCompanies(page, size));
     }
 
     @GetMapping("/getAllInactive")
     public RootEntity<Page<DtoCompany>> getAllInactiveCompanies(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            ServletWebRequest webRequest) {
+        if (notModified(webRequest, companyService.getCompanyListETag())) {
+            return null;
+        }
         return ok(companyService.getAllInactiveCompanies(page, size));
     }
 
+    @GetMapping("/getAllActiveSlice")
+    public RootEntity<DtoSlice<DtoCompany>> seekActiveCompanies(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ok(companyService.seekActiveCompanies(cursor, size));
+    }
+
+    @GetMapping("/getAllInactiveSlice")
+    public RootEntity<DtoSlice<DtoCompany>> seekInactiveCompanies(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ok(companyService.seekInactiveCompanies(cursor, size));
+    }
+
     @PutMapping("/activate/{id}")
     public RootEntity<Long> activateCompany(@PathVariable Long id) {
         return ok(companyService.activateCompany(id));
@@ -51,6 +79,16 @@ public class RestCompanyController extends RestBaseController{
         return ok(companyService.deactivateCompany(id));
     }
 
+    @PutMapping("/activate/{id}/async")
+    public RootEntity<DtoJob> submitActivateCompany(@PathVariable Long id) {
+        return ok(companyService.submitActivateCompany(id));
+    }
+
+    @PutMapping("/deactivate/{id}/async")
+    public RootEntity<DtoJob> submitDeactivateCompany(@PathVariable Long id) {
+        return ok(companyService.submitDeactivateCompany(id));
+    }
+
     @GetMapping("/getActiveByName")
     public RootEntity<DtoCompany> getActiveCompaniesByName(@RequestParam(required = true) @Size(max = 100) String name) {
         return ok(companyService.getActiveCompaniesByName(name));
@@ -1,18 +1,54 @@
 package org.kafka.evrak.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.kafka.evrak.config.PreviewConfig;
+import org.kafka.evrak.dto.projection.DocumentExportRow;
+import org.kafka.evrak.dto.projection.DocumentSummary;
+import org.kafka.evrak.dto.request.DtoDocumentExportIU;
 import org.kafka.evrak.dto.request.DtoDocumentFilter;
 import org.kafka.evrak.dto.request.DtoDocumentIU;
+import org.kafka.evrak.dto.request.DtoDocumentLifecycleIU;
+import org.kafka.evrak.dto.response.DtoBatchUploadResult;
 import org.kafka.evrak.dto.response.DtoDocument;
+import org.kafka.evrak.dto.response.DtoJob;
+import org.kafka.evrak.dto.response.DtoLifecycleResult;
+import org.kafka.evrak.dto.response.DtoPurgeResult;
+import org.kafka.evrak.dto.response.DtoSlice;
+import org.kafka.evrak.enums.ExportFormat;
+import org.kafka.evrak.service.DocumentExport;
+import org.kafka.evrak.service.DocumentExportService;
+import org.kafka.evrak.service.DocumentFile;
+import org.kafka.evrak.service.DocumentLifecycleService;
 import org.kafka.evrak.service.DocumentService;
+import org.kafka.evrak.service.PreviewFile;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.Callable;
 
 
 @RequiredArgsConstructor
@@ -20,7 +56,16 @@ import org.springframework.web.multipart.MultipartFile;
 @RequestMapping("/api/documents")
 public class RestDocumentController extends RestBaseController {
 
+    // Tomcat NIO bağlayıcısının sendfile (zero-copy) istek öznitelikleri
+    private static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
     private final DocumentService documentService;
+    private final DocumentExportService documentExportService;
+    private final DocumentLifecycleService documentLifecycleService;
+    private final PreviewConfig previewConfig;
 
     /**
      * Belge kaydı oluşturur.
@@ -34,6 +79,55 @@ public class RestDocumentController extends RestBaseController {
         return ok(documentService.saveDocument(documentIU, file));
     }
 
+    /**
+     * Birden çok belgeyi tek istekte kaydeder.
+     * "documents" parçası belge bilgilerinin JSON dizisi, "files" parçaları aynı sırada dosyalardır.
+     * Her dosya için ayrı sonuç döner.
+     */
+    @PostMapping(value = "/save-batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public RootEntity<List<DtoBatchUploadResult>> saveDocumentBatch(
+            @RequestPart("documents") List<@Valid DtoDocumentIU> documentIUs,
+            @RequestPart("files") List<MultipartFile> files) {
+        return ok(documentService.saveDocumentBatch(documentIUs, files));
+    }
+
+    /**
+     * Belge kaydını akış (stream) ile oluşturur.
+     * İstek gövdesi application/octet-stream olarak ham dosya içeriğidir; multipart çözümleyici
+     * devreye girmediği için dosya diske tek sefer yazılır.
+     * Belge bilgileri (name, category, description, companyId) ve orijinal dosya adı (filename)
+     * query parametresi olarak gönderilmelidir.
+     */
+    @PostMapping(value = "/save-stream", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public RootEntity<DtoDocument> saveDocumentStream(
+            @Valid DtoDocumentIU documentIU,
+            @RequestParam("filename") String filename,
+            InputStream content) {
+        return ok(documentService.saveDocumentStream(documentIU, filename, content));
+    }
+
+    /**
+     * Verilen SHA-256 özetine sahip içeriğin şirketin belgelerinde olup olmadığını döner.
+     * true dönerse istemci dosyayı göndermeden /save-by-hash ile kayıt oluşturabilir.
+     */
+    @GetMapping("/blobs/{contentHash}/exists")
+    public RootEntity<Boolean> existsByContentHash(@PathVariable String contentHash,
+                                                   @RequestParam("companyId") Long companyId) {
+        return ok(documentService.existsByContentHash(companyId, contentHash));
+    }
+
+    /**
+     * Sunucuda zaten bulunan içerik için byte göndermeden belge kaydı oluşturur.
+     * Belge bilgileri, orijinal dosya adı (filename) ve içerik özeti (contentHash) query parametresidir.
+     */
+    @PostMapping("/save-by-hash")
+    public RootEntity<DtoDocument> saveDocumentByHash(
+            @Valid DtoDocumentIU documentIU,
+            @RequestParam("filename") String filename,
+            @RequestParam("contentHash") String contentHash) {
+        return ok(documentService.saveDocumentByHash(documentIU, filename, contentHash));
+    }
+
     /**
      * Belgeyi soft delete (deactivate) eder.
      */
@@ -50,6 +144,39 @@ public class RestDocumentController extends RestBaseController {
         return ok(documentService.activateDocument(id));
     }
 
+    /**
+     * ID listesindeki ya da filtreye uyan aktif belgeleri partiler halinde arşivler.
+     * metadataOnly=true ise dosyalar yeniden adlandırılmaz. Sayılar ve belge bazlı hatalar döner.
+     */
+    @PutMapping("/deactivate")
+    public RootEntity<DtoLifecycleResult> deactivateDocuments(@RequestBody @Valid DtoDocumentLifecycleIU lifecycleIU) {
+        return ok(documentLifecycleService.deactivate(lifecycleIU));
+    }
+
+    /**
+     * ID listesindeki ya da filtreye uyan pasif belgeleri partiler halinde geri getirir.
+     */
+    @PutMapping("/activate")
+    public RootEntity<DtoLifecycleResult> activateDocuments(@RequestBody @Valid DtoDocumentLifecycleIU lifecycleIU) {
+        return ok(documentLifecycleService.activate(lifecycleIU));
+    }
+
+    /**
+     * Toplu arşivlemeyi arka plan işi olarak başlatır; ilerleme /api/jobs/{id} ile izlenir.
+     */
+    @PutMapping("/deactivate/async")
+    public RootEntity<DtoJob> submitDeactivateDocuments(@RequestBody @Valid DtoDocumentLifecycleIU lifecycleIU) {
+        return ok(documentLifecycleService.submit(lifecycleIU, false));
+    }
+
+    /**
+     * Toplu geri getirmeyi arka plan işi olarak başlatır; ilerleme /api/jobs/{id} ile izlenir.
+     */
+    @PutMapping("/activate/async")
+    public RootEntity<DtoJob> submitActivateDocuments(@RequestBody @Valid DtoDocumentLifecycleIU lifecycleIU) {
+        return ok(documentLifecycleService.submit(lifecycleIU, true));
+    }
+
     /**
      * Belgeyi kalıcı olarak siler.
      * Dosya sisteminden dosyayı kaldırır ve veritabanından kaydı siler.
@@ -63,12 +190,17 @@ public class RestDocumentController extends RestBaseController {
      * Belirli bir şirketin aktif belgelerini, filtre kriterlerine göre getirir.
      * Filtre kriterleri: name (partial match), createdAt aralığı, category (GELEN/GIDEN).
      * Sonuçlar id'ye göre DESC sıralanır.
+     * Şirketin belgeleri değişmediyse If-None-Match ile gelen isteğe veritabanına gidilmeden 304 döner.
      */
     @GetMapping("/filter/active")
     public RootEntity<Page<DtoDocument>> filterActiveDocuments(
             @Valid DtoDocumentFilter filter,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            ServletWebRequest webRequest) {
+        if (notModified(webRequest, documentService.getDocumentListETag(filter.getCompanyId()))) {
+            return null;
+        }
         return ok(documentService.filterActiveDocuments(filter, page, size));
     }
 
@@ -81,27 +213,345 @@ public class RestDocumentController extends RestBaseController {
     public RootEntity<Page<DtoDocument>> filterInactiveDocuments(
             @Valid DtoDocumentFilter filter,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            ServletWebRequest webRequest) {
+        if (notModified(webRequest, documentService.getDocumentListETag(filter.getCompanyId()))) {
+            return null;
+        }
         return ok(documentService.filterInactiveDocuments(filter, page, size));
     }
 
     /**
-     * Belge ID'sine göre dosya (file) bilgisini Resource olarak döner.
-     * Dosya indirme işlemi için gerekli HTTP header ayarları yapılır.
+     * Aktif belgeleri cursor tabanlı sayfalama ile getirir.
+     * İlk sayfa için cursor gönderilmez; sonraki sayfalar için yanıttaki nextCursor kullanılır.
+     */
+    @GetMapping("/filter/active/slice")
+    public RootEntity<DtoSlice<DtoDocument>> seekActiveDocuments(
+            @Valid DtoDocumentFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ok(documentService.seekActiveDocuments(filter, cursor, size));
+    }
+
+    /**
+     * Pasif belgeleri cursor tabanlı sayfalama ile getirir.
+     */
+    @GetMapping("/filter/inactive/slice")
+    public RootEntity<DtoSlice<DtoDocument>> seekInactiveDocuments(
+            @Valid DtoDocumentFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ok(documentService.seekInactiveDocuments(filter, cursor, size));
+    }
+
+    /**
+     * Filtreye uyan aktif belgeleri tek bir ZIP arşivi olarak indirir (DtoDocumentFilter ile aynı kriterler).
+     * Arşiv, satırlar okundukça doğrudan yanıta yazılır; sunucuda biriktirilmez.
+     */
+    @GetMapping("/export/active")
+    public ResponseEntity<StreamingResponseBody> exportActiveDocuments(@Valid DtoDocumentFilter filter,
+                                                                       HttpServletRequest request) {
+        return zipResponse(documentExportService.prepareFilteredExport(filter, true), request);
+    }
+
+    /**
+     * Filtreye uyan pasif belgeleri tek bir ZIP arşivi olarak indirir.
+     */
+    @GetMapping("/export/inactive")
+    public ResponseEntity<StreamingResponseBody> exportInactiveDocuments(@Valid DtoDocumentFilter filter,
+                                                                         HttpServletRequest request) {
+        return zipResponse(documentExportService.prepareFilteredExport(filter, false), request);
+    }
+
+    /**
+     * Verilen belge ID'lerini tek bir ZIP arşivi olarak indirir.
+     * Bulunamayan belgeler arşivdeki EXPORT_ERRORS.txt dosyasında listelenir.
+     */
+    @PostMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportDocuments(@RequestBody @Valid DtoDocumentExportIU exportIU,
+                                                                 HttpServletRequest request) {
+        return zipResponse(documentExportService.prepareExportByIds(exportIU.getDocumentIds()), request);
+    }
+
+    /**
+     * Filtreye uyan aktif belgelerin üst verisini NDJSON (varsayılan) veya CSV olarak akış halinde döner.
+     * Sayfalama ve COUNT sorgusu yoktur; satırlar veritabanı imlecinden okundukça yazılır.
+     */
+    @GetMapping("/export/active/metadata")
+    public ResponseEntity<StreamingResponseBody> exportActiveMetadata(
+            @Valid DtoDocumentFilter filter,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            HttpServletRequest request) {
+        return metadataResponse(documentExportService.prepareMetadataExport(filter, true, format), format, request);
+    }
+
+    /**
+     * Filtreye uyan pasif belgelerin üst verisini NDJSON (varsayılan) veya CSV olarak akış halinde döner.
+     */
+    @GetMapping("/export/inactive/metadata")
+    public ResponseEntity<StreamingResponseBody> exportInactiveMetadata(
+            @Valid DtoDocumentFilter filter,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            HttpServletRequest request) {
+        return metadataResponse(documentExportService.prepareMetadataExport(filter, false, format), format, request);
+    }
+
+    private ResponseEntity<StreamingResponseBody> metadataResponse(DocumentExport<DocumentSummary> export,
+                                                                   ExportFormat format, HttpServletRequest request) {
+        releaseOnAsyncCompletion(export, request);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(format.getContentType()));
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(export.filename(), StandardCharsets.UTF_8)
+                .build());
+        headers.setCacheControl(CacheControl.noStore());
+        return ResponseEntity.ok().headers(headers)
+                .body(out -> documentExportService.writeMetadata(export, format, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> zipResponse(DocumentExport<DocumentExportRow> export,
+                                                              HttpServletRequest request) {
+        releaseOnAsyncCompletion(export, request);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/zip"));
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(export.filename(), StandardCharsets.UTF_8)
+                .build());
+        headers.setCacheControl(CacheControl.noStore());
+        return ResponseEntity.ok().headers(headers).body(out -> documentExportService.write(export, out));
+    }
+
+    /**
+     * Dışa aktarma izni gövde yazılırken bırakılır; gövde hiç çalışmazsa ya da yarıda kalırsa (async zaman
+     * aşımı, hata, istemcinin kopması) async işlem tamamlandığında bırakılır. Bırakma idempotenttir.
+     */
+    private static void releaseOnAsyncCompletion(DocumentExport<?> export, HttpServletRequest request) {
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(DocumentExport.class.getName(),
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> Object handleTimeout(NativeWebRequest webRequest, Callable<T> task) {
+                        export.close();
+                        return RESULT_NONE;
+                    }
+
+                    @Override
+                    public <T> Object handleError(NativeWebRequest webRequest, Callable<T> task, Throwable t) {
+                        export.close();
+                        return RESULT_NONE;
+                    }
+
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                        export.close();
+                    }
+                });
+    }
+
+    /**
+     * Belge ID'sine göre dosyayı indirir.
+     * - ETag / Last-Modified ile koşullu GET desteklenir (değişmemişse 304 döner).
+     * - Tekli ve çoklu Range istekleri desteklenir (If-Range eşleşmezse tüm dosya döner).
+     * - Tomcat sendfile destekliyorsa tam dosya ve tekli aralıklar FileChannel.transferTo ile
+     *   (kullanıcı alanına kopyalamadan) gönderilir; aksi halde Spring'in Resource desteği kullanılır.
+     * - Depoda sıkıştırılmış dosyalar istemci gzip kabul ediyorsa olduğu gibi "Content-Encoding: gzip" ile,
+     *   etmiyorsa sunucuda açılarak gönderilir; bu dosyalarda Range desteklenmez.
      */
     @GetMapping("/file/{id}")
-    public ResponseEntity<Resource> getDocumentFile(@PathVariable Long id) {
-        Resource resource = documentService.getDocumentFile(id);
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + resource.getFilename() + "\"")
-                .body(resource);
+    public ResponseEntity<Resource> getDocumentFile(@PathVariable Long id,
+                                                    ServletWebRequest webRequest,
+                                                    HttpServletRequest request) throws IOException {
+        DocumentFile documentFile = documentService.getDocumentFile(id);
+        if (documentFile.compressed()) {
+            return getCompressedDocumentFile(documentFile, webRequest, request);
+        }
+
+        // Koşullu istek: ETag ve Last-Modified yanıta burada yazılır.
+        if (webRequest.checkNotModified(documentFile.eTag(), documentFile.lastModified())) {
+            return null;
+        }
+
+        HttpHeaders headers = fileHeaders(documentFile);
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        long total = documentFile.contentLength();
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        boolean rangeRequested = rangeHeader != null && ifRangeMatches(request, documentFile);
+        boolean sendfile = HttpMethod.GET.matches(request.getMethod())
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR));
+
+        if (!rangeRequested) {
+            if (sendfile) {
+                return sendfile(request, headers, HttpStatus.OK, documentFile, 0, total);
+            }
+            headers.setContentLength(total);
+            // Range başlığı If-Range nedeniyle yok sayılıyorsa Spring'in aralık işlemesi devre dışı kalmalı.
+            Resource stored = documentService.getStoredResource(documentFile);
+            Resource body = rangeHeader != null ? new InputStreamResource(stored.getInputStream()) : stored;
+            return ResponseEntity.ok().headers(headers).body(body);
+        }
+
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            return rangeNotSatisfiable(headers, total);
+        }
+        if (ranges.size() == 1) {
+            HttpRange range = ranges.get(0);
+            long start;
+            long end;
+            try {
+                start = range.getRangeStart(total);
+                end = range.getRangeEnd(total);
+            } catch (IllegalArgumentException e) {
+                return rangeNotSatisfiable(headers, total);
+            }
+            if (start >= total) {
+                return rangeNotSatisfiable(headers, total);
+            }
+            if (sendfile) {
+                headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + total);
+                return sendfile(request, headers, HttpStatus.PARTIAL_CONTENT, documentFile, start, end + 1);
+            }
+        }
+        // Çoklu aralık (multipart/byteranges) ve sendfile olmayan durumlar Spring tarafından işlenir.
+        return ResponseEntity.ok().headers(headers).body(documentService.getStoredResource(documentFile));
+    }
+
+    /**
+     * Görsel belgenin küçük önizlemesini (JPEG) döner; henüz yoksa ilk istekte oluşturulur.
+     * Belge içeriği değişmediğinden önizleme istemci tarafında max-age süresince önbelleğe alınabilir;
+     * süre dolduğunda ETag ile doğrulanır.
+     */
+    @GetMapping("/preview/{id}")
+    public ResponseEntity<Resource> getDocumentPreview(@PathVariable Long id, ServletWebRequest webRequest) {
+        PreviewFile preview = documentService.getDocumentPreview(id);
+        if (webRequest.checkNotModified(preview.eTag(), preview.lastModified())) {
+            return null;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.IMAGE_JPEG);
+        headers.setContentLength(preview.contentLength());
+        headers.setCacheControl(CacheControl.maxAge(previewConfig.getMaxAge()).cachePrivate());
+        headers.set("X-Content-Type-Options", "nosniff");
+        return ResponseEntity.ok().headers(headers).body(new FileSystemResource(preview.path()));
+    }
+
+    /**
+     * gzip olarak saklanan dosyayı sunar. İki gösterim (gzip / açık) farklı ETag taşır ve
+     * yanıt Accept-Encoding'e göre değiştiğinden Vary başlığı eklenir.
+     */
+    private ResponseEntity<Resource> getCompressedDocumentFile(DocumentFile documentFile,
+                                                               ServletWebRequest webRequest,
+                                                               HttpServletRequest request) throws IOException {
+        boolean gzip = acceptsGzip(request);
+        String eTag = gzip
+                ? documentFile.eTag().substring(0, documentFile.eTag().length() - 1) + "-gzip\""
+                : documentFile.eTag();
+
+        HttpHeaders headers = fileHeaders(documentFile);
+        headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+        headers.set(HttpHeaders.ACCEPT_RANGES, "none");
+        if (webRequest.checkNotModified(eTag, documentFile.lastModified())) {
+            webRequest.getResponse().setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            return null;
+        }
+
+        // Range başlığı yok sayılır; Resource yerine InputStreamResource ile Spring'in aralık işlemesi kapatılır.
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            headers.setContentLength(documentFile.contentLength());
+            return ResponseEntity.ok().headers(headers)
+                    .body(new InputStreamResource(documentService.getStoredResource(documentFile).getInputStream()));
+        }
+        headers.setContentLength(documentFile.decodedLength());
+        return ResponseEntity.ok().headers(headers)
+                .body(new InputStreamResource(documentService.openDocumentContent(documentFile)));
+    }
+
+    private HttpHeaders fileHeaders(DocumentFile documentFile) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(documentFile.format() != null
+                ? MediaType.parseMediaType(documentFile.format().getContentType())
+                : MediaType.APPLICATION_OCTET_STREAM);
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(documentFile.filename(), StandardCharsets.UTF_8)
+                .build());
+        headers.setCacheControl(CacheControl.noCache().cachePrivate());
+        headers.set("X-Content-Type-Options", "nosniff");
+        return headers;
+    }
+
+    /**
+     * Accept-Encoding başlığında gzip (veya *) q=0 olmadan geçiyor mu.
+     */
+    private boolean acceptsGzip(HttpServletRequest request) {
+        Enumeration<String> values = request.getHeaders(HttpHeaders.ACCEPT_ENCODING);
+        while (values != null && values.hasMoreElements()) {
+            for (String coding : values.nextElement().split(",")) {
+                String[] parts = coding.trim().split(";");
+                String name = parts[0].trim();
+                if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+                    continue;
+                }
+                boolean refused = false;
+                for (int i = 1; i < parts.length; i++) {
+                    String param = parts[i].trim().replace(" ", "");
+                    if (param.matches("(?i)q=0(\\.0{0,3})?")) {
+                        refused = true;
+                    }
+                }
+                if (!refused) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tomcat'e dosyanın sendfile ile gönderilmesini bildirir; gövde Spring tarafından yazılmaz.
+     */
+    private ResponseEntity<Resource> sendfile(HttpServletRequest request, HttpHeaders headers, HttpStatus status,
+                                              DocumentFile documentFile, long start, long endExclusive) {
+        // Paketteki belgede aralık, paket dosyası içindeki konuma kaydırılır.
+        long base = documentFile.packed() ? documentFile.packOffset() : 0L;
+        request.setAttribute(SENDFILE_FILENAME_ATTR, documentFile.path().toAbsolutePath().toString());
+        request.setAttribute(SENDFILE_START_ATTR, base + start);
+        request.setAttribute(SENDFILE_END_ATTR, base + endExclusive);
+        headers.setContentLength(endExclusive - start);
+        return ResponseEntity.status(status).headers(headers).build();
+    }
+
+    private ResponseEntity<Resource> rangeNotSatisfiable(HttpHeaders headers, long total) {
+        headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + total);
+        return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE).headers(headers).build();
+    }
+
+    /**
+     * If-Range başlığı yoksa veya belgenin güncel ETag / Last-Modified değeriyle eşleşiyorsa true döner.
+     */
+    private boolean ifRangeMatches(HttpServletRequest request, DocumentFile documentFile) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(documentFile.eTag());
+        }
+        try {
+            long since = request.getDateHeader(HttpHeaders.IF_RANGE);
+            return documentFile.lastModified() / 1000 <= since / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
     }
 
     /**
      * Bir şirkete ait TÜM AKTİF belgeleri kalıcı olarak siler.
      */
     @DeleteMapping("/delete-all-active/{companyId}")
-    public RootEntity<Integer> deleteAllActiveDocuments(@PathVariable Long companyId) {
+    public RootEntity<DtoPurgeResult> deleteAllActiveDocuments(@PathVariable Long companyId) {
         return ok(documentService.deleteAllActiveDocuments(companyId));
     }
 
@@ -109,7 +559,23 @@ public class RestDocumentController extends RestBaseController {
      * Bir şirkete ait TÜM PASİF belgeleri kalıcı olarak siler.
      */
     @DeleteMapping("/delete-all-inactive/{companyId}")
-    public RootEntity<Integer> deleteAllInactiveDocuments(@PathVariable Long companyId) {
+    public RootEntity<DtoPurgeResult> deleteAllInactiveDocuments(@PathVariable Long companyId) {
         return ok(documentService.deleteAllInactiveDocuments(companyId));
     }
+
+    /**
+     * Aktif belgelerin toplu silinmesini arka planda başlatır; ilerleme /api/jobs/{id} ile izlenir.
+     */
+    @DeleteMapping("/delete-all-active/{companyId}/async")
+    public RootEntity<DtoJob> submitDeleteAllActiveDocuments(@PathVariable Long companyId) {
+        return ok(documentService.submitDeleteAllActiveDocuments(companyId));
+    }
+
+    /**
+     * Pasif belgelerin toplu silinmesini arka planda başlatır; ilerleme /api/jobs/{id} ile izlenir.
+     */
+    @DeleteMapping("/delete-all-inactive/{companyId}/async")
+    public RootEntity<DtoJob> submitDeleteAllInactiveDocuments(@PathVariable Long companyId) {
+        return ok(documentService.submitDeleteAllInactiveDocuments(companyId));
+    }
 }
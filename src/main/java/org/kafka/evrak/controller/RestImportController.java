@@ -0,0 +1,25 @@
+package org.kafka.evrak.controller;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.kafka.evrak.dto.request.DtoArchiveImportIU;
+import org.kafka.evrak.dto.response.DtoJob;
+import org.kafka.evrak.service.ArchiveImportService;
+import org.springframework.web.bind.annotation.*;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/imports")
+public class RestImportController extends RestBaseController {
+
+    private final ArchiveImportService archiveImportService;
+
+    /**
+     * Sunucudaki bir arşiv klasörünün içe aktarılmasını arka planda başlatır.
+     * İlerleme ve sonuç raporu /api/jobs/{id} ile izlenir.
+     */
+    @PostMapping
+    public RootEntity<DtoJob> submitImport(@RequestBody @Valid DtoArchiveImportIU dtoArchiveImportIU) {
+        return ok(archiveImportService.submitImport(dtoArchiveImportIU));
+    }
+}
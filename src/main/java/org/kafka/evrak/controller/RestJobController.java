@@ -0,0 +1,22 @@
+package org.kafka.evrak.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.kafka.evrak.dto.response.DtoJob;
+import org.kafka.evrak.service.job.JobService;
+import org.springframework.web.bind.annotation.*;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/jobs")
+public class RestJobController extends RestBaseController {
+
+    private final JobService jobService;
+
+    /**
+     * Arka plan işinin durumunu, ilerlemesini, hızını ve tahmini kalan süresini döner.
+     */
+    @GetMapping("/{id}")
+    public RootEntity<DtoJob> getJob(@PathVariable Long id) {
+        return ok(jobService.getJob(id));
+    }
+}
@@ -0,0 +1,81 @@
+package org.kafka.evrak.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.kafka.evrak.dto.response.DtoCompressionReport;
+import org.kafka.evrak.dto.response.DtoJob;
+import org.kafka.evrak.dto.response.DtoPackReport;
+import org.kafka.evrak.service.CompanyFolderMigrationService;
+import org.kafka.evrak.service.CompressionService;
+import org.kafka.evrak.service.PackService;
+import org.kafka.evrak.service.StorageLayoutService;
+import org.springframework.web.bind.annotation.*;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/storage")
+public class RestStorageController extends RestBaseController {
+
+    private final CompressionService compressionService;
+    private final StorageLayoutService storageLayoutService;
+    private final CompanyFolderMigrationService companyFolderMigrationService;
+    private final PackService packService;
+
+    /**
+     * Depoda sıkıştırmanın kazandırdığı alanı ve açılıştan beri harcanan CPU süresini döner.
+     */
+    @GetMapping("/compression")
+    public RootEntity<DtoCompressionReport> getCompressionReport() {
+        return ok(compressionService.getReport());
+    }
+
+    /**
+     * Mevcut metin belgelerinin sıkıştırılmasını arka planda başlatır; ilerleme /api/jobs/{id} ile izlenir.
+     */
+    @PostMapping("/compression/migrate")
+    public RootEntity<DtoJob> submitCompressionMigration() {
+        return ok(compressionService.submitMigration());
+    }
+
+    /**
+     * Belge dosyalarının geçerli alt klasör yerleşimine (file.fanout-depth) taşınmasını arka planda başlatır.
+     * companyId verilmezse tüm şirketler işlenir; ilerleme /api/jobs/{id} ile izlenir.
+     */
+    @PostMapping("/layout/migrate")
+    public RootEntity<DtoJob> submitLayoutMigration(@RequestParam(required = false) Long companyId) {
+        return ok(storageLayoutService.submitMigration(companyId));
+    }
+
+    /**
+     * Ada göre adlandırılmış eski şirket klasörlerinin id tabanlı klasörlere taşınmasını arka planda başlatır.
+     * Geçiş bittikten ve önbellek süresi dolduktan sonra tekrar çalıştırmak eski yoldaki bağlantıları temizler.
+     */
+    @PostMapping("/companies/migrate")
+    public RootEntity<DtoJob> submitCompanyFolderMigration() {
+        return ok(companyFolderMigrationService.submitMigration());
+    }
+
+    /**
+     * Paket dosyalarının toplam ve canlı boyutlarını, paketlenmeyi bekleyen belge sayısını döner.
+     */
+    @GetMapping("/packs")
+    public RootEntity<DtoPackReport> getPackReport() {
+        return ok(packService.getReport());
+    }
+
+    /**
+     * Uzun süredir pasif olan belgelerin paket dosyalarına taşınmasını arka planda başlatır.
+     * companyId verilmezse tüm şirketler işlenir; ilerleme /api/jobs/{id} ile izlenir.
+     */
+    @PostMapping("/packs/compact")
+    public RootEntity<DtoJob> submitPackCompaction(@RequestParam(required = false) Long companyId) {
+        return ok(packService.submitCompaction(companyId));
+    }
+
+    /**
+     * Silinen ya da geri getirilen belgelerin paketlerde bıraktığı alanı geri kazanan işi başlatır.
+     */
+    @PostMapping("/packs/repack")
+    public RootEntity<DtoJob> submitRepack() {
+        return ok(packService.submitRepack());
+    }
+}
@@ -0,0 +1,61 @@
+package org.kafka.evrak.controller;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.kafka.evrak.dto.request.DtoUploadSessionIU;
+import org.kafka.evrak.dto.response.DtoDocument;
+import org.kafka.evrak.dto.response.DtoUploadSession;
+import org.kafka.evrak.service.UploadSessionService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/uploads")
+public class RestUploadSessionController extends RestBaseController {
+
+    private final UploadSessionService uploadSessionService;
+
+    /**
+     * Bir şirket için parçalı yükleme oturumu açar.
+     */
+    @PostMapping("/sessions")
+    public RootEntity<DtoUploadSession> createSession(@RequestBody @Valid DtoUploadSessionIU dtoUploadSessionIU) {
+        return ok(uploadSessionService.createSession(dtoUploadSessionIU));
+    }
+
+    /**
+     * Numaralı bir parçayı (0'dan başlar) ham içerik olarak yükler.
+     * Parçalar herhangi bir sırada ve paralel gönderilebilir; başarısız parça tekrar gönderilebilir.
+     */
+    @PutMapping(value = "/sessions/{id}/chunks/{index}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public RootEntity<Integer> putChunk(@PathVariable Long id, @PathVariable int index, InputStream content) {
+        return ok(uploadSessionService.putChunk(id, index, content));
+    }
+
+    /**
+     * Oturum bilgisini ve sunucuya ulaşmış parça numaralarını döner.
+     */
+    @GetMapping("/sessions/{id}")
+    public RootEntity<DtoUploadSession> getSession(@PathVariable Long id) {
+        return ok(uploadSessionService.getSession(id));
+    }
+
+    /**
+     * Tüm parçalar yüklendiyse dosyayı şirket klasöründe birleştirir ve belge kaydını oluşturur.
+     */
+    @PostMapping("/sessions/{id}/complete")
+    public RootEntity<DtoDocument> completeSession(@PathVariable Long id) {
+        return ok(uploadSessionService.completeSession(id));
+    }
+
+    /**
+     * Oturumu iptal eder ve yüklenmiş parçaları siler.
+     */
+    @DeleteMapping("/sessions/{id}")
+    public RootEntity<Long> abortSession(@PathVariable Long id) {
+        return ok(uploadSessionService.abortSession(id));
+    }
+}
@@ -0,0 +1,7 @@
+package org.kafka.evrak.dto.projection;
+
+/**
+ * Klasör geçişinin ihtiyaç duyduğu şirket kolonları.
+ */
+public record CompanyFolderRow(Long id, String folderPath) {
+}
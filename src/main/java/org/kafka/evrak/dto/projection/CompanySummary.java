@@ -0,0 +1,9 @@
+package org.kafka.evrak.dto.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Listeleme sorgularının doğrudan seçtiği, DtoCompany ile aynı şekle sahip satır.
+ */
+public record CompanySummary(Long id, LocalDateTime createdAt, String name) {
+}
@@ -0,0 +1,7 @@
+package org.kafka.evrak.dto.projection;
+
+/**
+ * Sıkıştırma raporu için belge sayısı ile özgün ve diskteki toplam boyutlar (byte).
+ */
+public record CompressionTotals(long count, long originalBytes, long storedBytes) {
+}
@@ -0,0 +1,13 @@
+package org.kafka.evrak.dto.projection;
+
+import org.kafka.evrak.enums.DocumentFormat;
+
+/**
+ * Arşive (ZIP) yazılacak belgenin dosya konumu.
+ * blobHash null ise dosya şirket klasöründe (folderPath + name) bulunur.
+ * compressed true ise dosya gzip olarak saklanır ve okunurken açılmalıdır.
+ * packId null değilse içerik paket dosyasında packOffset konumunda, packLength uzunluğundadır.
+ */
+public record DocumentExportRow(Long id, String name, DocumentFormat type, String folderPath, String blobHash,
+                                boolean compressed, int storageDepth, Long packId, Long packOffset, Long packLength) {
+}
@@ -0,0 +1,8 @@
+package org.kafka.evrak.dto.projection;
+
+/**
+ * Dosya işlemleri için belgenin yalnızca konum bilgisini taşıyan hafif projeksiyon.
+ * blobHash null ise dosya şirket klasöründe (name ile) bulunur; packId null değilse içerik paket dosyasındadır.
+ */
+public record DocumentFileRef(Long id, String name, String blobHash, int storageDepth, Long packId) {
+}
@@ -0,0 +1,9 @@
+package org.kafka.evrak.dto.projection;
+
+/**
+ * Toplu arşivleme/geri getirmenin ihtiyaç duyduğu belge kolonları.
+ * blobHash null ise dosya şirket klasöründe (name ile) bulunur; packId null değilse içerik paket dosyasındadır.
+ */
+public record DocumentLifecycleRow(Long id, Long companyId, String folderPath, String name, String blobHash,
+                                   int storageDepth, Long packId, Long packOffset, Long packLength) {
+}
@@ -0,0 +1,26 @@
+package org.kafka.evrak.dto.projection;
+
+import org.kafka.evrak.enums.DocumentFormat;
+
+/**
+ * Belge dosyasının yerini çözmek için gereken alanlar (entity yüklenmeden, tek sorguda).
+ * blobHash null ise dosya şirket klasöründe (folderPath + name) bulunur.
+ * compressed true ise dosya gzip olarak saklanır; fileSize özgün, storedSize diskteki boyuttur.
+ * packId null değilse içerik paket dosyasında packOffset konumunda, packLength uzunluğundadır.
+ */
+public record DocumentLocationRow(Long id,
+                                  Long companyId,
+                                  String folderPath,
+                                  String name,
+                                  DocumentFormat type,
+                                  String contentHash,
+                                  String blobHash,
+                                  boolean active,
+                                  boolean compressed,
+                                  Long fileSize,
+                                  Long storedSize,
+                                  int storageDepth,
+                                  Long packId,
+                                  Long packOffset,
+                                  Long packLength) {
+}
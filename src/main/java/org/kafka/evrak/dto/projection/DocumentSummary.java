@@ -0,0 +1,19 @@
+package org.kafka.evrak.dto.projection;
+
+import org.kafka.evrak.enums.DocumentCategory;
+import org.kafka.evrak.enums.DocumentFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Listeleme sorgularının doğrudan seçtiği, DtoDocument ile aynı şekle sahip satır.
+ * Entity yüklenmez; persistence context'e girmez ve şirket için JOIN yapılmaz.
+ */
+public record DocumentSummary(Long id,
+                              LocalDateTime createdAt,
+                              DocumentFormat type,
+                              DocumentCategory category,
+                              String description,
+                              Long fileSize,
+                              String contentHash) {
+}
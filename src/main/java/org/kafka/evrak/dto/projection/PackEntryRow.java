@@ -0,0 +1,7 @@
+package org.kafka.evrak.dto.projection;
+
+/**
+ * Paketteki canlı bir belgenin konumu (yeniden paketleme için).
+ */
+public record PackEntryRow(Long id, long offset, long length) {
+}
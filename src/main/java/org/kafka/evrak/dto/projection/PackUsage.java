@@ -0,0 +1,7 @@
+package org.kafka.evrak.dto.projection;
+
+/**
+ * Bir paketin hâlâ belge kaydı tarafından gösterilen (canlı) içerik sayısı ve toplam boyutu (byte).
+ */
+public record PackUsage(Long packId, long liveCount, long liveBytes) {
+}
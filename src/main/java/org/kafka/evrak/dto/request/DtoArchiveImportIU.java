@@ -0,0 +1,23 @@
+package org.kafka.evrak.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.kafka.evrak.enums.DocumentCategory;
+import org.kafka.evrak.enums.ImportTransferMode;
+
+@Data
+public class DtoArchiveImportIU {
+
+    // Alt klasörleri şirket adı olan arşiv klasörü (import.allowed-root altında olmalıdır)
+    @NotBlank(message = "Kaynak klasör boş olamaz")
+    private String sourcePath;
+
+    @NotNull(message = "Kategori belirtilmelidir")
+    private DocumentCategory category;
+
+    private ImportTransferMode mode = ImportTransferMode.MOVE;
+
+    // true ise hiçbir kayıt veya dosya değiştirilmez, yalnızca rapor üretilir
+    private boolean dryRun;
+}
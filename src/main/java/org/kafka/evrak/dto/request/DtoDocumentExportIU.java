@@ -0,0 +1,16 @@
+package org.kafka.evrak.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class DtoDocumentExportIU {
+
+    @NotEmpty(message = "En az bir belge ID'si gönderilmelidir")
+    @Size(max = 10000, message = "Tek seferde en fazla 10000 belge dışa aktarılabilir")
+    private List<@NotNull Long> documentIds;
+}
@@ -25,4 +25,7 @@ public class DtoDocumentFilter {
 
     @NotBlank(message = "Document category must be provided (GELEN/GIDEN).")
     private String category;
+
+    // true ise her belgeye şirket bilgisi (dtoCompany) eklenir
+    private boolean includeCompany;
 }
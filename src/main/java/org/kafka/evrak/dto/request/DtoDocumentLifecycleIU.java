@@ -0,0 +1,23 @@
+package org.kafka.evrak.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class DtoDocumentLifecycleIU {
+
+    // Belge ID'leri; filter ile birlikte gönderilemez
+    @Size(max = 10000, message = "Tek seferde en fazla 10000 belge ID'si gönderilebilir")
+    private List<@NotNull Long> documentIds;
+
+    // Filtreye uyan tüm belgeler işlenir; documentIds ile birlikte gönderilemez
+    @Valid
+    private DtoDocumentFilter filter;
+
+    // true ise dosyalar yeniden adlandırılmaz, yalnızca kayıttaki durum değiştirilir
+    private boolean metadataOnly;
+}
@@ -0,0 +1,28 @@
+package org.kafka.evrak.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class DtoUploadSessionIU {
+
+    @Valid
+    @NotNull(message = "Belge bilgileri boş olamaz")
+    private DtoDocumentIU document;
+
+    @NotBlank(message = "Dosya adı boş olamaz")
+    @Size(max = 255, message = "Dosya adı en fazla 255 karakter olabilir")
+    private String filename;
+
+    @NotNull(message = "Parça sayısı belirtilmelidir")
+    @Min(value = 1, message = "Parça sayısı en az 1 olmalıdır")
+    private Integer totalChunks;
+
+    @NotNull(message = "Dosya boyutu belirtilmelidir")
+    @Min(value = 1, message = "Dosya boyutu en az 1 byte olmalıdır")
+    private Long totalSize;
+}
@@ -0,0 +1,20 @@
+package org.kafka.evrak.dto.response;
+
+import lombok.Data;
+
+/**
+ * Toplu yüklemede tek bir dosyanın sonucu. index, istekteki dosya sırasıdır.
+ */
+@Data
+public class DtoBatchUploadResult {
+
+    private int index;
+
+    private String filename;
+
+    private boolean success;
+
+    private DtoDocument document;
+
+    private String errorMessage;
+}
@@ -0,0 +1,24 @@
+package org.kafka.evrak.dto.response;
+
+import lombok.Data;
+
+@Data
+public class DtoCacheStats {
+
+    private String name;
+
+    private long size;
+
+    // Yaklaşık bellek kullanımı (byte)
+    private long weight;
+
+    private long hitCount;
+
+    private long missCount;
+
+    private double hitRate;
+
+    private long evictionCount;
+
+    private long loadFailureCount;
+}
@@ -0,0 +1,35 @@
+package org.kafka.evrak.dto.response;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class DtoCompanyFolderMigrationResult {
+
+    // Id tabanlı klasöre taşınan şirket sayısı
+    private long moved;
+
+    // İşlem sırasında kaydı değiştiği (ör. silindiği) için atlanan şirket sayısı
+    private long skipped;
+
+    // Klasörü dosya sisteminde bulunamayan şirket sayısı
+    private long missingFolders;
+
+    // Klasörü taşınamayan şirket sayısı
+    private long failed;
+
+    // Önceki çalıştırmalardan kalıp süresi dolduğu için kaldırılan uyumluluk bağlantısı sayısı
+    private long linksRemoved;
+
+    private List<DtoCompanyFolderFailure> failures = new ArrayList<>();
+
+    @Data
+    public static class DtoCompanyFolderFailure {
+
+        private Long companyId;
+
+        private String message;
+    }
+}
@@ -0,0 +1,44 @@
+package org.kafka.evrak.dto.response;
+
+import lombok.Data;
+
+@Data
+public class DtoCompressionReport {
+
+    private boolean enabled;
+
+    private int level;
+
+    // Depoda sıkıştırılmış olarak tutulan belge sayısı ve toplam boyutları (byte)
+    private long compressedDocuments;
+
+    private long originalBytes;
+
+    private long storedBytes;
+
+    private long savedBytes;
+
+    // storedBytes / originalBytes (sıkıştırılmış belge yoksa 1)
+    private double ratio;
+
+    // Henüz sıkıştırılmamış metin belgeleri (geçiş işiyle sıkıştırılabilir)
+    private long pendingDocuments;
+
+    private long pendingBytes;
+
+    // Uygulama açıldığından beri sıkıştırılan dosya sayısı ve işlenen byte'lar
+    private long compressedFilesSinceStartup;
+
+    private long inputBytesSinceStartup;
+
+    private long outputBytesSinceStartup;
+
+    // Sıkıştırarak yazmanın (özet hesaplama dahil) CPU süresi; ölçülemeyen iş parçacıklarında geçen süre eklenir
+    private long compressionCpuMillis;
+
+    // CPU saniyesi başına sıkıştırılan özgün veri (MB)
+    private double compressionMbPerCpuSecond;
+
+    // İstemci gzip kabul etmediği için sunucuda açılarak gönderilen / okunan dosya sayısı
+    private long decompressedReadsSinceStartup;
+}
@@ -0,0 +1,37 @@
+package org.kafka.evrak.dto.response;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class DtoCompressionResult {
+
+    // Sıkıştırılarak yerinde değiştirilen belge sayısı
+    private long compressed;
+
+    // Sıkıştırılan belgelerin özgün ve diskteki toplam boyutu (byte)
+    private long originalBytes;
+
+    private long storedBytes;
+
+    // Sıkıştırma kazanç sağlamadığı veya belge işlem sırasında değiştiği için atlanan belge sayısı
+    private long skipped;
+
+    // Dosyası bulunamayan belge sayısı
+    private long missingFiles;
+
+    // Dosyası okunamayan veya yazılamayan belge sayısı; işlem tekrar çalıştırılarak devam edilebilir
+    private long failed;
+
+    private List<DtoCompressionFailure> failures = new ArrayList<>();
+
+    @Data
+    public static class DtoCompressionFailure {
+
+        private Long documentId;
+
+        private String message;
+    }
+}
@@ -19,5 +19,9 @@ public class DtoDocument {
 
     private String description;
 
+    private Long fileSize;
+
+    private String contentHash;
+
     private DtoCompany dtoCompany;
 }
@@ -0,0 +1,40 @@
+package org.kafka.evrak.dto.response;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class DtoImportReport {
+
+    private boolean dryRun;
+
+    private long companiesCreated;
+
+    private long companiesMatched;
+
+    // İçe aktarılan (dry run'da aktarılabilecek) dosya sayısı
+    private long filesImported;
+
+    private long filesRejected;
+
+    private long bytesImported;
+
+    // MOVE modunda kaydı oluşturulduğu halde kaynaktan silinemeyen dosya sayısı
+    private long sourcesNotRemoved;
+
+    private long elapsedMillis;
+
+    private double filesPerSecond;
+
+    private List<DtoImportRejection> rejections = new ArrayList<>();
+
+    @Data
+    public static class DtoImportRejection {
+
+        private String path;
+
+        private String reason;
+    }
+}
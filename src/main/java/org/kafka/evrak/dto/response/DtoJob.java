@@ -0,0 +1,42 @@
+package org.kafka.evrak.dto.response;
+
+import lombok.Data;
+import org.kafka.evrak.enums.JobPriority;
+import org.kafka.evrak.enums.JobStatus;
+import org.kafka.evrak.enums.JobType;
+
+import java.time.LocalDateTime;
+
+@Data
+public class DtoJob {
+
+    private Long id;
+
+    private LocalDateTime createdAt;
+
+    private JobType type;
+
+    private JobStatus status;
+
+    private JobPriority priority;
+
+    private Long targetId;
+
+    private Long totalItems;
+
+    private long processedItems;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    // Saniyede işlenen öğe sayısı
+    private Double throughput;
+
+    // Tahmini kalan süre (saniye)
+    private Long etaSeconds;
+
+    private String result;
+
+    private String errorMessage;
+}
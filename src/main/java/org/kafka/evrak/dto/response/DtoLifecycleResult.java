@@ -0,0 +1,29 @@
+package org.kafka.evrak.dto.response;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class DtoLifecycleResult {
+
+    // Durumu değiştirilen belge sayısı
+    private long updated;
+
+    // Bulunamayan ya da zaten hedef durumda olan belge sayısı
+    private long skipped;
+
+    // Dosyası bulunamadığı veya yeniden adlandırılamadığı için kaydı değiştirilmeyen belge sayısı
+    private long failed;
+
+    private List<DtoLifecycleFailure> failures = new ArrayList<>();
+
+    @Data
+    public static class DtoLifecycleFailure {
+
+        private Long documentId;
+
+        private String message;
+    }
+}
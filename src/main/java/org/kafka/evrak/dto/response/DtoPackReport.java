@@ -0,0 +1,26 @@
+package org.kafka.evrak.dto.response;
+
+import lombok.Data;
+
+@Data
+public class DtoPackReport {
+
+    private long packCount;
+
+    // Paket dosyalarının toplam boyutu (byte)
+    private long totalBytes;
+
+    // Paketlerde hâlâ bir belge kaydının gösterdiği içerik sayısı ve boyutu
+    private long liveDocuments;
+
+    private long liveBytes;
+
+    // Silinen ya da geri getirilen belgelerden kalan, yeniden paketlemeyle geri kazanılabilecek alan
+    private long deadBytes;
+
+    // Canlı içerik oranı pack.min-live-ratio altına düşen paket sayısı
+    private long repackCandidates;
+
+    // Paketlenmeyi bekleyen (pack.min-inactive-age süresinden uzun süredir pasif) belge sayısı
+    private long pendingDocuments;
+}
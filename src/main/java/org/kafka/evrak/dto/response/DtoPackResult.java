@@ -0,0 +1,41 @@
+package org.kafka.evrak.dto.response;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class DtoPackResult {
+
+    // Yazılan yeni paket sayısı
+    private long packsWritten;
+
+    // Pakete taşınan (paketleme) ya da yeni pakete kopyalanan (yeniden paketleme) belge sayısı
+    private long documentsPacked;
+
+    // İşlem sırasında kaydı değiştiği (ör. geri getirildiği) için atlanan belge sayısı
+    private long skipped;
+
+    // Dosyası bulunamayan belge sayısı
+    private long missingFiles;
+
+    // Pakete yazılamayan belge sayısı
+    private long failed;
+
+    // Silinen (canlı içeriği kalmamış ya da yeniden paketlenmiş) paket sayısı
+    private long packsRemoved;
+
+    // Silinen paketlerle geri kazanılan alan (byte)
+    private long bytesReclaimed;
+
+    private List<DtoPackFailure> failures = new ArrayList<>();
+
+    @Data
+    public static class DtoPackFailure {
+
+        private Long documentId;
+
+        private String message;
+    }
+}
@@ -0,0 +1,29 @@
+package org.kafka.evrak.dto.response;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class DtoPurgeResult {
+
+    // Veritabanından silinen belge sayısı
+    private long deleted;
+
+    // Dosyası zaten bulunmayan (kaydı yine de silinen) belge sayısı
+    private long missingFiles;
+
+    // Dosyası silinemediği için kaydı korunan belge sayısı; işlem tekrar çalıştırılarak devam edilebilir
+    private long failed;
+
+    private List<DtoPurgeFailure> failures = new ArrayList<>();
+
+    @Data
+    public static class DtoPurgeFailure {
+
+        private Long documentId;
+
+        private String message;
+    }
+}
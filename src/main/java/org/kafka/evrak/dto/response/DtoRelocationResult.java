@@ -0,0 +1,32 @@
+package org.kafka.evrak.dto.response;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class DtoRelocationResult {
+
+    // Yeni yerleşime taşınan belge sayısı
+    private long moved;
+
+    // İşlem sırasında değiştiği (ör. arşivlendiği) için atlanan belge sayısı; tekrar çalıştırıldığında işlenir
+    private long skipped;
+
+    // Dosyası bulunamayan belge sayısı
+    private long missingFiles;
+
+    // Dosyası taşınamayan belge sayısı
+    private long failed;
+
+    private List<DtoRelocationFailure> failures = new ArrayList<>();
+
+    @Data
+    public static class DtoRelocationFailure {
+
+        private Long documentId;
+
+        private String message;
+    }
+}
@@ -0,0 +1,24 @@
+package org.kafka.evrak.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Cursor tabanlı (keyset) sayfalama sonucu.
+ * Toplam kayıt sayısı hesaplanmaz; sonraki sayfa için nextCursor gönderilir.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DtoSlice<T> {
+
+    private List<T> items;
+
+    // Sonraki sayfa için opak devam anahtarı (son sayfada null)
+    private String nextCursor;
+
+    private boolean hasNext;
+}
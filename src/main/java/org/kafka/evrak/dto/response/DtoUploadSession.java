@@ -0,0 +1,24 @@
+package org.kafka.evrak.dto.response;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class DtoUploadSession {
+
+    private Long id;
+
+    private Long companyId;
+
+    private String filename;
+
+    private int totalChunks;
+
+    private Long totalSize;
+
+    private List<Integer> receivedChunks;
+
+    private LocalDateTime expiresAt;
+}
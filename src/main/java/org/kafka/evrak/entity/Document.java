@@ -31,6 +31,42 @@ public class Document extends BaseEntity {
     @Column(name = "description", length = 250)
     private String description;
 
-    @ManyToOne
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    // Dosya şirket klasöründe gzip ile sıkıştırılmış olarak mı saklanıyor
+    @Column(name = "compressed", nullable = false)
+    private boolean compressed;
+
+    // Diskteki boyut (sıkıştırılmamış dosyalarda null; fileSize her zaman özgün boyuttur)
+    @Column(name = "stored_size")
+    private Long storedSize;
+
+    // Şirket klasöründeki alt klasör derinliği (0: düz yerleşim, bkz. StoragePathResolver)
+    @Column(name = "storage_depth", nullable = false)
+    private int storageDepth;
+
+    // Belge bir paket dosyasına taşındıysa paketin id'si, içerik konumu ve uzunluğu (bkz. PackService).
+    // Uzunluk diskteki boyuttur; sıkıştırılmış belgelerde gzip içeriğin boyutudur.
+    @Column(name = "pack_id")
+    private Long packId;
+
+    @Column(name = "pack_offset")
+    private Long packOffset;
+
+    @Column(name = "pack_length")
+    private Long packLength;
+
+    // SHA-256 (hex)
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    // Listelemeler projeksiyon kullanır; şirket yalnızca gerçekten erişildiğinde yüklenir.
+    @ManyToOne(fetch = FetchType.LAZY)
     private Company company;
+
+    // Tekilleştirilmiş depolamada içeriğin tutulduğu blob (yoksa dosya şirket klasöründedir)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "blob_id")
+    private DocumentBlob blob;
 }
@@ -0,0 +1,33 @@
+package org.kafka.evrak.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * İçerik adresli depolamada tek bir benzersiz dosya içeriğini temsil eder.
+ * Aynı içeriğe sahip tüm belgeler bu kaydı referans alır; refCount sıfıra
+ * indiğinde blob dosyası ve kaydı silinir.
+ */
+@Entity
+@Table(name = "document_blob")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentBlob extends BaseEntity {
+
+    // SHA-256 (hex)
+    @Column(name = "content_hash", length = 64, nullable = false, unique = true)
+    private String contentHash;
+
+    @Column(name = "size", nullable = false)
+    private long size;
+
+    @Column(name = "ref_count", nullable = false)
+    private long refCount;
+}
@@ -0,0 +1,29 @@
+package org.kafka.evrak.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Pasif belgelerin art arda yazıldığı, yazıldıktan sonra değişmeyen paket dosyası (bkz. PackService).
+ */
+@Entity
+@Table(name = "document_pack")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentPack extends BaseEntity {
+
+    // Paket dosyasının boyutu (dizin ve kapanış kaydı dahil)
+    @Column(name = "size", nullable = false)
+    private long size;
+
+    // Pakete yazılan belge sayısı; silinen ya da geri getirilen belgeler bu sayıdan düşülmez
+    @Column(name = "entry_count", nullable = false)
+    private int entryCount;
+}
@@ -0,0 +1,64 @@
+package org.kafka.evrak.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.kafka.evrak.enums.JobPriority;
+import org.kafka.evrak.enums.JobStatus;
+import org.kafka.evrak.enums.JobType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Arka planda çalıştırılan uzun süreli işlem kaydı.
+ * Uygulama yeniden başladığında QUEUED ve RUNNING durumundaki işler tekrar kuyruğa alınır.
+ */
+@Entity
+@Table(name = "job")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class Job extends BaseEntity {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", length = 50, nullable = false)
+    private JobType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private JobStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "priority", length = 10, nullable = false)
+    private JobPriority priority;
+
+    // İşlemin hedef kaydı (ör. şirket id'si)
+    @Column(name = "target_id")
+    private Long targetId;
+
+    // İşleme özel parametreler (JSON)
+    @Column(name = "parameters", columnDefinition = "text")
+    private String parameters;
+
+    @Column(name = "total_items")
+    private Long totalItems;
+
+    @Column(name = "processed_items", nullable = false)
+    private long processedItems;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    // İşlem sonucu (JSON)
+    @Column(name = "result", columnDefinition = "text")
+    private String result;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+}
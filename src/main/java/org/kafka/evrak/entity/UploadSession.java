@@ -0,0 +1,49 @@
+package org.kafka.evrak.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.kafka.evrak.enums.DocumentCategory;
+
+import java.time.LocalDateTime;
+
+/**
+ * Parçalı (resumable) yükleme oturumu.
+ * Parçalar uploads/.sessions/<id>/ altında tutulur; oturum tamamlanınca veya süresi dolunca silinir.
+ */
+@Entity
+@Table(name = "upload_session")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSession extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Company company;
+
+    @Column(name = "document_name", length = 100, nullable = false)
+    private String documentName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "category", length = 5)
+    private DocumentCategory category;
+
+    @Column(name = "description", length = 250)
+    private String description;
+
+    @Column(name = "filename", length = 255, nullable = false)
+    private String filename;
+
+    @Column(name = "total_chunks", nullable = false)
+    private int totalChunks;
+
+    // Beyan edilen toplam boyut (byte); bu özellikten önce açılan oturumlarda boştur.
+    @Column(name = "total_size")
+    private Long totalSize;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
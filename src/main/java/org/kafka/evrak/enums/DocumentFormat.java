@@ -8,34 +8,46 @@ import lombok.Getter;
 @Getter
 public enum DocumentFormat {
 
-    PDF(".pdf"),
-    DOC(".doc"),
-    DOCX(".docx"),
-    XLS(".xls"),
-    XLSX(".xlsx"),
-    PPT(".ppt"),
-    PPTX(".pptx"),
-    TXT(".txt"),
-    CSV(".csv"),
-    RTF(".rtf"),
-    ODT(".odt"),
-    HTML(".html"),
-    XML(".xml"),
-    JSON(".json"),
-    ZIP(".zip"),
-    RAR(".rar"),
-    TAR(".tar"),
-    GZ(".gz"),
-    JPEG(".jpeg"),
-    JPG(".jpg"),
-    PNG(".png"),
-    GIF(".gif"),
-    BMP(".bmp"),
-    SVG(".svg");
+    PDF(".pdf", "application/pdf", false, false),
+    DOC(".doc", "application/msword", false, false),
+    DOCX(".docx", "application/vnd.openxmlformats-officedocument.wordprocessingml.document", true, false),
+    XLS(".xls", "application/vnd.ms-excel", false, false),
+    XLSX(".xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", true, false),
+    PPT(".ppt", "application/vnd.ms-powerpoint", false, false),
+    PPTX(".pptx", "application/vnd.openxmlformats-officedocument.presentationml.presentation", true, false),
+    TXT(".txt", "text/plain", false, true),
+    CSV(".csv", "text/csv", false, true),
+    RTF(".rtf", "application/rtf", false, true),
+    ODT(".odt", "application/vnd.oasis.opendocument.text", true, false),
+    HTML(".html", "text/html", false, true),
+    XML(".xml", "application/xml", false, true),
+    JSON(".json", "application/json", false, true),
+    ZIP(".zip", "application/zip", true, false),
+    RAR(".rar", "application/vnd.rar", true, false),
+    TAR(".tar", "application/x-tar", false, false),
+    GZ(".gz", "application/gzip", true, false),
+    JPEG(".jpeg", "image/jpeg", true, false),
+    JPG(".jpg", "image/jpeg", true, false),
+    PNG(".png", "image/png", true, false),
+    GIF(".gif", "image/gif", true, false),
+    BMP(".bmp", "image/bmp", false, false),
+    SVG(".svg", "image/svg+xml", false, true);
 
     private final String extension;
 
-    DocumentFormat(String extension) {
+    // İndirme yanıtında kullanılan Content-Type
+    private final String contentType;
+
+    // İçerik zaten sıkıştırılmış mı (arşivlenirken yeniden sıkıştırılmaz)
+    private final boolean compressed;
+
+    // Metin tabanlı mı (depoda sıkıştırma açıksa yazılırken gzip ile sıkıştırılır)
+    private final boolean textLike;
+
+    DocumentFormat(String extension, String contentType, boolean compressed, boolean textLike) {
         this.extension = extension;
+        this.contentType = contentType;
+        this.compressed = compressed;
+        this.textLike = textLike;
     }
 }
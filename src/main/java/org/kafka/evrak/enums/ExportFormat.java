@@ -0,0 +1,23 @@
+package org.kafka.evrak.enums;
+
+import lombok.Getter;
+
+/**
+ * Belge üst verisi dışa aktarma formatı.
+ */
+@Getter
+public enum ExportFormat {
+
+    // Satır başına bir JSON nesnesi
+    NDJSON(".ndjson", "application/x-ndjson"),
+    CSV(".csv", "text/csv;charset=UTF-8");
+
+    private final String extension;
+
+    private final String contentType;
+
+    ExportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+}
@@ -0,0 +1,14 @@
+package org.kafka.evrak.enums;
+
+/**
+ * Arşiv içe aktarımında dosyaların yerine konma şekli. Her iki modda da dosya kopyalanmaz;
+ * önce şirket klasörüne hard link oluşturulur (kaynak ve uploads aynı dosya sisteminde olmalıdır).
+ */
+public enum ImportTransferMode {
+
+    // Kayıt oluşturulduktan sonra kaynak dosya silinir.
+    MOVE,
+
+    // Kaynak dosya yerinde bırakılır.
+    HARD_LINK
+}
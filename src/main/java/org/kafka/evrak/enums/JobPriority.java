@@ -0,0 +1,11 @@
+package org.kafka.evrak.enums;
+
+/**
+ * İş önceliği. Kuyrukta önce yüksek öncelikli işler çalıştırılır (tanım sırasına göre).
+ */
+public enum JobPriority {
+
+    HIGH,
+    NORMAL,
+    LOW
+}
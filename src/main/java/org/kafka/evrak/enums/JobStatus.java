@@ -0,0 +1,9 @@
+package org.kafka.evrak.enums;
+
+public enum JobStatus {
+
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
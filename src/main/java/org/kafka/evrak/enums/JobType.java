@@ -0,0 +1,20 @@
+package org.kafka.evrak.enums;
+
+/**
+ * Arka planda çalıştırılabilen uzun süreli işlem türleri.
+ */
+public enum JobType {
+
+    PURGE_ACTIVE_DOCUMENTS,
+    PURGE_INACTIVE_DOCUMENTS,
+    ARCHIVE_COMPANY,
+    RESTORE_COMPANY,
+    ARCHIVE_IMPORT,
+    COMPRESS_DOCUMENTS,
+    RELOCATE_DOCUMENTS,
+    MIGRATE_COMPANY_FOLDERS,
+    DEACTIVATE_DOCUMENTS,
+    ACTIVATE_DOCUMENTS,
+    PACK_DOCUMENTS,
+    REPACK_DOCUMENTS
+}
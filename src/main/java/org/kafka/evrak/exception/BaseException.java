@@ -2,7 +2,14 @@ package org.kafka.evrak.exception;
 
 public class BaseException extends RuntimeException{
 
+    private final MessageType messageType;
+
     public BaseException(ErrorMessage errorMessage) {
         super(errorMessage.prepareErrorMessage());
+        this.messageType = errorMessage.getMessageType();
+    }
+
+    public MessageType getMessageType() {
+        return messageType;
     }
-}
\ No newline at end of file
+}
@@ -34,6 +34,18 @@ public enum MessageType {
     FILE_DELETE_FAILED("3010", "Dosya silinirken hata oluştu."), // Yeni eklenen hata
     NO_ACTIVE_DOCUMENTS_FOUND("3011", "No active documents found for this company."),
     NO_INACTIVE_DOCUMENTS_FOUND("3012", "No inactive documents found for this company."),
+    DEDUP_STORAGE_DISABLED("3013", "Tekilleştirilmiş depolama modu etkin değil."),
+    BLOB_NOT_FOUND("3014", "Bu içerik özetine sahip dosya sunucuda bulunamadı."),
+    UPLOAD_SESSION_EXPIRED("3015", "Yükleme oturumunun süresi dolmuş."),
+    UPLOAD_CHUNK_INVALID("3016", "Geçersiz parça numarası."),
+    UPLOAD_INCOMPLETE("3017", "Yükleme oturumunda eksik parçalar var."),
+    IMPORT_SOURCE_INVALID("3018", "İçe aktarılacak arşiv klasörü geçersiz."),
+    COMPRESSION_DISABLED("3019", "Depoda sıkıştırma modu etkin değil."),
+    PREVIEW_NOT_AVAILABLE("3020", "Belge için önizleme oluşturulamadı."),
+    LIFECYCLE_CRITERIA_INVALID("3021", "Toplu işlem için belge ID listesi ya da filtreden yalnızca biri verilmelidir."),
+    FILE_NAME_INVALID("3022", "Geçersiz dosya adı."),
+    UPLOAD_SESSION_BUSY("3023", "Yükleme oturumu tamamlanıyor."),
+    UPLOAD_SIZE_EXCEEDED("3024", "Yükleme boyutu sınırı aşıldı."),
 
 
     // Kategori Hataları
@@ -46,6 +58,12 @@ public enum MessageType {
     REFRESH_TOKEN_NOT_FOUND("8003", "Refresh token bulunamadı"),
     REFRESH_TOKEN_IS_EXPIRED("8004", "Refresh token süresi bitmiş"),
 
+    // Sayfalama Hataları
+    INVALID_PAGE_CURSOR("9001", "Geçersiz sayfalama anahtarı (cursor)."),
+
+    // Kapasite Hataları
+    SERVER_BUSY("9100", "Sunucu şu anda yoğun, lütfen tekrar deneyin."),
+
     // Genel Hata (9999)
     GENERAL_EXCEPTION("9999", "Genel bir hata oluştu");
 
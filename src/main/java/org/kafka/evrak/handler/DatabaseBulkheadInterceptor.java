@@ -0,0 +1,66 @@
+package org.kafka.evrak.handler;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.kafka.evrak.config.ConcurrencyConfig;
+import org.kafka.evrak.exception.BaseException;
+import org.kafka.evrak.exception.ErrorMessage;
+import org.kafka.evrak.exception.MessageType;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Veritabanı kullanan istekler için eşzamanlılık sınırı (bulkhead).
+ * Sanal iş parçacıklarıyla Tomcat'in iş parçacığı sınırı ortadan kalktığında binlerce istek
+ * bağlantı havuzunda (HikariCP) beklemeye başlar. Bu sınır, kapasite dolduğunda isteği kısa bir
+ * beklemeden sonra SERVER_BUSY ile reddeder; böylece kuyruk havuza taşınmaz.
+ * Dosya aktaran uçlar (indirme/yükleme) bağlantıyı yalnızca kısa sorgular için kullandığından
+ * ve süreleri istemci hızına bağlı olduğundan sınır dışında tutulur (bkz. WebConfig).
+ */
+public class DatabaseBulkheadInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = DatabaseBulkheadInterceptor.class.getName() + ".PERMIT";
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMillis;
+
+    public DatabaseBulkheadInterceptor(ConcurrencyConfig concurrencyConfig) {
+        this.permits = new Semaphore(concurrencyConfig.getMaxDatabaseRequests());
+        this.acquireTimeoutMillis = concurrencyConfig.getAcquireTimeout().toMillis();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws InterruptedException {
+        // Asenkron devam (ASYNC) dispatch'lerinde izin ilk dispatch'te alınıp bırakılmıştır.
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.SERVER_BUSY, "Too many concurrent requests, please retry."));
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        release(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        release(request);
+    }
+
+    private void release(HttpServletRequest request) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permits.release();
+        }
+    }
+}
@@ -8,7 +8,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.kafka.evrak.exception.BaseException;
+import org.kafka.evrak.exception.MessageType;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -21,8 +25,32 @@ import org.springframework.web.context.request.WebRequest;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    // Yük nedeniyle reddedilen isteklerde (SERVER_BUSY) istemcinin yeniden denemeden önce beklemesi önerilen süre
+    private static final String RETRY_AFTER_SECONDS = "5";
+
+    private final MeterRegistry meterRegistry;
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @ExceptionHandler(value = {BaseException.class})
     public ResponseEntity<ApiError<?>> handleBaseException(BaseException ex, WebRequest request) {
+        // Etiket MessageType enum'undan gelir; zaman serisi sayısı sınırlıdır.
+        Counter.builder("evrak.errors")
+                .description("Errors returned to clients by message type")
+                .tag("type", ex.getMessageType() != null ? ex.getMessageType().name() : "UNKNOWN")
+                .register(meterRegistry)
+                .increment();
+        // Yük atma (bulkhead, önizleme ve dışa aktarma sınırları) geçicidir: 503 + Retry-After ile
+        // istemci ve vekil sunucular isteği yeniden deneyebilir. Diğer hatalar istek hatasıdır (400).
+        if (ex.getMessageType() == MessageType.SERVER_BUSY) {
+            ApiError<String> apiError = createApiError(ex.getMessage(), request);
+            apiError.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                    .body(apiError);
+        }
         return ResponseEntity.badRequest().body(createApiError(ex.getMessage(), request));
     }
 
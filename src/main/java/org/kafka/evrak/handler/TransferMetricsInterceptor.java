@@ -0,0 +1,55 @@
+package org.kafka.evrak.handler;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.kafka.evrak.service.StorageMetrics;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Dosya indirme yanıtlarının boyutunu, süresini ve hızını StorageMetrics'e yazar.
+ * Boyut yanıtın Content-Length başlığından okunur; başlığı olmayan (ör. 304) yanıtlar sayılmaz.
+ * Tomcat sendfile ile gönderilen gövde istek tamamlandıktan sonra yazıldığından
+ * bu yanıtlarda yalnızca boyut kaydedilir.
+ */
+public class TransferMetricsInterceptor implements HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = TransferMetricsInterceptor.class.getName() + ".START";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+
+    private final StorageMetrics storageMetrics;
+
+    public TransferMetricsInterceptor(StorageMetrics storageMetrics) {
+        this.storageMetrics = storageMetrics;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.REQUEST && HttpMethod.GET.matches(request.getMethod())) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(request.getAttribute(START_ATTRIBUTE) instanceof Long start) || ex != null) {
+            return;
+        }
+        request.removeAttribute(START_ATTRIBUTE);
+        String contentLength = response.getHeader(HttpHeaders.CONTENT_LENGTH);
+        if (contentLength == null || response.getStatus() >= 300) {
+            return;
+        }
+        long bytes;
+        try {
+            bytes = Long.parseLong(contentLength);
+        } catch (NumberFormatException e) {
+            return;
+        }
+        boolean sendfile = request.getAttribute(SENDFILE_FILENAME_ATTR) != null;
+        storageMetrics.recordDownload(bytes, sendfile ? null : System.nanoTime() - start);
+    }
+}
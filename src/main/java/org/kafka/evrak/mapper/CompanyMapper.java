@@ -1,5 +1,6 @@
 package org.kafka.evrak.mapper;
 
+import org.kafka.evrak.dto.projection.CompanySummary;
 import org.kafka.evrak.dto.request.DtoCompanyIU;
 import org.kafka.evrak.dto.response.DtoCompany;
 import org.kafka.evrak.entity.Company;
@@ -20,5 +21,7 @@ public interface CompanyMapper {
 
     DtoCompany toDto(Company company);
 
+    DtoCompany toDto(CompanySummary summary);
+
     List<DtoCompany> toDtoList(List<Company> companyList);
 }
@@ -1,5 +1,6 @@
 package org.kafka.evrak.mapper;
 
+import org.kafka.evrak.dto.projection.DocumentSummary;
 import org.kafka.evrak.dto.request.DtoCompanyIU;
 import org.kafka.evrak.dto.request.DtoDocumentIU;
 import org.kafka.evrak.dto.response.DtoCompany;
@@ -20,11 +21,24 @@ public interface DocumentMapper {
     @Mapping(target = "active", ignore = true)
     @Mapping(target = "type", ignore = true)
     @Mapping(target = "company", ignore = true)
+    @Mapping(target = "fileSize", ignore = true)
+    @Mapping(target = "contentHash", ignore = true)
+    @Mapping(target = "blob", ignore = true)
+    @Mapping(target = "compressed", ignore = true)
+    @Mapping(target = "storedSize", ignore = true)
+    @Mapping(target = "storageDepth", ignore = true)
+    @Mapping(target = "packId", ignore = true)
+    @Mapping(target = "packOffset", ignore = true)
+    @Mapping(target = "packLength", ignore = true)
     Document toEntity(DtoDocumentIU dto);
 
     @Mapping(target = "dtoCompany", ignore = true)
     DtoDocument toDto(Document document);
 
+    // Şirket alanları gerekiyorsa servis katmanında tek seferde eklenir.
+    @Mapping(target = "dtoCompany", ignore = true)
+    DtoDocument toDto(DocumentSummary summary);
+
     @Mapping(target = "dtoCompany", ignore = true)
     List<DtoDocument> toDtoList(List<Document> documentList);
 }
@@ -0,0 +1,14 @@
+package org.kafka.evrak.mapper;
+
+import org.kafka.evrak.dto.response.DtoJob;
+import org.kafka.evrak.entity.Job;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface JobMapper {
+
+    @Mapping(target = "throughput", ignore = true)
+    @Mapping(target = "etaSeconds", ignore = true)
+    DtoJob toDto(Job job);
+}
@@ -0,0 +1,14 @@
+package org.kafka.evrak.mapper;
+
+import org.kafka.evrak.dto.response.DtoUploadSession;
+import org.kafka.evrak.entity.UploadSession;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface UploadSessionMapper {
+
+    @Mapping(target = "companyId", source = "company.id")
+    @Mapping(target = "receivedChunks", ignore = true)
+    DtoUploadSession toDto(UploadSession uploadSession);
+}
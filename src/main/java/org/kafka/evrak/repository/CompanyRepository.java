@@ -1,17 +1,62 @@
 package org.kafka.evrak.repository;
 
+import org.kafka.evrak.dto.projection.CompanyFolderRow;
+import org.kafka.evrak.dto.projection.CompanySummary;
 import org.kafka.evrak.entity.Company;
 import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface CompanyRepository extends JpaRepository<Company, Long> {
 
     Optional<Company> findByNameAndIsActive(String name, boolean isActive);
 
-    Page<Company> findByIsActive(boolean isActive, Pageable pageable);
+    // Listeleme için entity yerine yalnızca yanıttaki kolonlar seçilir.
+    @Query(value = "SELECT new org.kafka.evrak.dto.projection.CompanySummary(c.id, c.createdAt, c.name) " +
+            "FROM Company c WHERE c.isActive = :active",
+            countQuery = "SELECT COUNT(c) FROM Company c WHERE c.isActive = :active")
+    Page<CompanySummary> findByIsActive(@Param("active") boolean isActive, Pageable pageable);
+
+    // Keyset (seek) sayfalama: OFFSET ve COUNT kullanmadan son görülen id'den devam eder.
+    @Query("SELECT new org.kafka.evrak.dto.projection.CompanySummary(c.id, c.createdAt, c.name) " +
+            "FROM Company c WHERE c.isActive = :active " +
+            "AND (:afterId IS NULL OR c.id < :afterId) ORDER BY c.id DESC")
+    List<CompanySummary> seekByIsActive(@Param("active") boolean active,
+                                 @Param("afterId") Long afterId,
+                                 Pageable pageable);
 
     // Artık güncelleme sırasında duplicate kontrolü için ayrı bir metod kullanmaya gerek kalmıyor.
     boolean existsByNameAndIsActive(String name, boolean isActive);
+
+    @Query("SELECT new org.kafka.evrak.dto.projection.CompanySummary(c.id, c.createdAt, c.name) " +
+            "FROM Company c WHERE c.id = :id")
+    Optional<CompanySummary> findSummaryById(@Param("id") Long id);
+
+    @Query("SELECT new org.kafka.evrak.dto.projection.CompanySummary(c.id, c.createdAt, c.name) " +
+            "FROM Company c WHERE c.name = :name AND c.isActive = :active")
+    Optional<CompanySummary> findSummaryByNameAndIsActive(@Param("name") String name, @Param("active") boolean active);
+
+    // Klasörü henüz id tabanlı yola (<kök>/<id>) taşınmamış şirketler; keyset ile id sırasında okunur.
+    @Query("SELECT new org.kafka.evrak.dto.projection.CompanyFolderRow(c.id, c.folderPath) " +
+            "FROM Company c WHERE c.id > :afterId " +
+            "AND c.folderPath <> CONCAT(:root, CAST(c.id AS String)) ORDER BY c.id")
+    List<CompanyFolderRow> findFolderMigrationCandidates(@Param("root") String root,
+                                                         @Param("afterId") Long afterId,
+                                                         Pageable pageable);
+
+    @Query("SELECT COUNT(c) FROM Company c " +
+            "WHERE c.folderPath <> CONCAT(:root, CAST(c.id AS String))")
+    long countFolderMigrationCandidates(@Param("root") String root);
+
+    // Kayıt okunduktan sonra klasör yolu değiştiyse 0 döner.
+    @Modifying
+    @Query("UPDATE Company c SET c.folderPath = :folderPath WHERE c.id = :id AND c.folderPath = :currentFolderPath")
+    int updateFolderPath(@Param("id") Long id,
+                         @Param("currentFolderPath") String currentFolderPath,
+                         @Param("folderPath") String folderPath);
 }
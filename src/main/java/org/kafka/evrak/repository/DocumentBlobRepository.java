@@ -0,0 +1,18 @@
+package org.kafka.evrak.repository;
+
+import jakarta.persistence.LockModeType;
+import org.kafka.evrak.entity.DocumentBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface DocumentBlobRepository extends JpaRepository<DocumentBlob, Long> {
+
+    // Referans sayacı güncellemeleri için satır kilidi alınır.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM DocumentBlob b WHERE b.contentHash = :contentHash")
+    Optional<DocumentBlob> findByContentHashForUpdate(@Param("contentHash") String contentHash);
+}
@@ -0,0 +1,16 @@
+package org.kafka.evrak.repository;
+
+import org.kafka.evrak.entity.DocumentPack;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface DocumentPackRepository extends JpaRepository<DocumentPack, Long> {
+
+    // Paket yalnızca hiçbir belge onu göstermiyorsa silinir; aksi halde 0 döner.
+    @Modifying
+    @Query("DELETE FROM DocumentPack p WHERE p.id = :id " +
+            "AND NOT EXISTS (SELECT 1 FROM Document d WHERE d.packId = p.id)")
+    int deleteIfUnreferenced(@Param("id") Long id);
+}
@@ -1,26 +1,51 @@
 package org.kafka.evrak.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.kafka.evrak.dto.projection.CompressionTotals;
+import org.kafka.evrak.dto.projection.DocumentExportRow;
+import org.kafka.evrak.dto.projection.DocumentFileRef;
+import org.kafka.evrak.dto.projection.DocumentLifecycleRow;
+import org.kafka.evrak.dto.projection.DocumentLocationRow;
+import org.kafka.evrak.dto.projection.DocumentSummary;
+import org.kafka.evrak.dto.projection.PackEntryRow;
+import org.kafka.evrak.dto.projection.PackUsage;
 import org.kafka.evrak.entity.Document;
 import org.kafka.evrak.enums.DocumentCategory;
+import org.kafka.evrak.enums.DocumentFormat;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface DocumentRepository extends JpaRepository<Document, Long> {
 
-    List<Document> findByCompanyIdAndIsActive(Long companyId, boolean isActive);
-
-    @Query("SELECT d FROM Document d WHERE d.company.id = :companyId AND d.isActive = :active " +
+    /*
+     * Listeleme sorguları entity yerine DocumentSummary projeksiyonu seçer: yalnızca yanıtta kullanılan
+     * kolonlar okunur, entity / snapshot oluşturulmaz ve şirket için JOIN yapılmaz (d.company.id FK kolonudur).
+     */
+    @Query(value = "SELECT new org.kafka.evrak.dto.projection.DocumentSummary(" +
+            "d.id, d.createdAt, d.type, d.category, d.description, d.fileSize, d.contentHash) " +
+            "FROM Document d WHERE d.company.id = :companyId AND d.isActive = :active " +
+            "AND (:name IS NULL OR LOWER(d.name) LIKE LOWER(CONCAT('%', :name, '%'))) " +
+            "AND (:startDate IS NULL OR d.createdAt >= :startDate) " +
+            "AND (:endDate IS NULL OR d.createdAt <= :endDate) " +
+            "AND (:category IS NULL OR d.category = :category)",
+            countQuery = "SELECT COUNT(d) FROM Document d WHERE d.company.id = :companyId AND d.isActive = :active " +
             "AND (:name IS NULL OR LOWER(d.name) LIKE LOWER(CONCAT('%', :name, '%'))) " +
             "AND (:startDate IS NULL OR d.createdAt >= :startDate) " +
             "AND (:endDate IS NULL OR d.createdAt <= :endDate) " +
             "AND (:category IS NULL OR d.category = :category)")
-    Page<Document> filterDocuments(@Param("companyId") Long companyId,
+    Page<DocumentSummary> filterDocuments(@Param("companyId") Long companyId,
                                    @Param("active") boolean active,
                                    @Param("name") String name,
                                    @Param("startDate") LocalDateTime startDate,
@@ -28,6 +53,292 @@ public interface DocumentRepository extends JpaRepository<Document, Long> {
                                    @Param("category") DocumentCategory category,
                                    Pageable pageable);
 
+    /*
+     * Ad araması için ayrılmış sorgular: ad koşulu "IS NULL OR" ile sarılmadığından
+     * PostgreSQL, genel (generic) planlarda da (company_id, lower(name)) trigram indeksini kullanabilir.
+     */
+    @Query(value = "SELECT new org.kafka.evrak.dto.projection.DocumentSummary(" +
+            "d.id, d.createdAt, d.type, d.category, d.description, d.fileSize, d.contentHash) " +
+            "FROM Document d WHERE d.company.id = :companyId AND d.isActive = :active " +
+            "AND LOWER(d.name) LIKE LOWER(CONCAT('%', :name, '%')) " +
+            "AND (:startDate IS NULL OR d.createdAt >= :startDate) " +
+            "AND (:endDate IS NULL OR d.createdAt <= :endDate) " +
+            "AND (:category IS NULL OR d.category = :category)",
+            countQuery = "SELECT COUNT(d) FROM Document d WHERE d.company.id = :companyId AND d.isActive = :active " +
+            "AND LOWER(d.name) LIKE LOWER(CONCAT('%', :name, '%')) " +
+            "AND (:startDate IS NULL OR d.createdAt >= :startDate) " +
+            "AND (:endDate IS NULL OR d.createdAt <= :endDate) " +
+            "AND (:category IS NULL OR d.category = :category)")
+    Page<DocumentSummary> searchDocumentsByName(@Param("companyId") Long companyId,
+                                         @Param("active") boolean active,
+                                         @Param("name") String name,
+                                         @Param("startDate") LocalDateTime startDate,
+                                         @Param("endDate") LocalDateTime endDate,
+                                         @Param("category") DocumentCategory category,
+                                         Pageable pageable);
+
+    @Query("SELECT new org.kafka.evrak.dto.projection.DocumentSummary(" +
+            "d.id, d.createdAt, d.type, d.category, d.description, d.fileSize, d.contentHash) " +
+            "FROM Document d WHERE d.company.id = :companyId AND d.isActive = :active " +
+            "AND (:afterId IS NULL OR d.id < :afterId) " +
+            "AND LOWER(d.name) LIKE LOWER(CONCAT('%', :name, '%')) " +
+            "AND (:startDate IS NULL OR d.createdAt >= :startDate) " +
+            "AND (:endDate IS NULL OR d.createdAt <= :endDate) " +
+            "AND (:category IS NULL OR d.category = :category) " +
+            "ORDER BY d.id DESC")
+    List<DocumentSummary> seekDocumentsByName(@Param("companyId") Long companyId,
+                                       @Param("active") boolean active,
+                                       @Param("afterId") Long afterId,
+                                       @Param("name") String name,
+                                       @Param("startDate") LocalDateTime startDate,
+                                       @Param("endDate") LocalDateTime endDate,
+                                       @Param("category") DocumentCategory category,
+                                       Pageable pageable);
+
+    // Keyset (seek) sayfalama: OFFSET ve COUNT kullanmadan son görülen id'den devam eder.
+    @Query("SELECT new org.kafka.evrak.dto.projection.DocumentSummary(" +
+            "d.id, d.createdAt, d.type, d.category, d.description, d.fileSize, d.contentHash) " +
+            "FROM Document d WHERE d.company.id = :companyId AND d.isActive = :active " +
+            "AND (:afterId IS NULL OR d.id < :afterId) " +
+            "AND (:name IS NULL OR LOWER(d.name) LIKE LOWER(CONCAT('%', :name, '%'))) " +
+            "AND (:startDate IS NULL OR d.createdAt >= :startDate) " +
+            "AND (:endDate IS NULL OR d.createdAt <= :endDate) " +
+            "AND (:category IS NULL OR d.category = :category) " +
+            "ORDER BY d.id DESC")
+    List<DocumentSummary> seekDocuments(@Param("companyId") Long companyId,
+                                 @Param("active") boolean active,
+                                 @Param("afterId") Long afterId,
+                                 @Param("name") String name,
+                                 @Param("startDate") LocalDateTime startDate,
+                                 @Param("endDate") LocalDateTime endDate,
+                                 @Param("category") DocumentCategory category,
+                                 Pageable pageable);
+
+    // Toplu silme için keyset ile partiler halinde sadece dosya konum bilgisi okunur.
+    @Query("SELECT new org.kafka.evrak.dto.projection.DocumentFileRef(" +
+            "d.id, d.name, b.contentHash, d.storageDepth, d.packId) " +
+            "FROM Document d LEFT JOIN d.blob b " +
+            "WHERE d.company.id = :companyId AND d.isActive = :active AND d.id > :afterId ORDER BY d.id")
+    List<DocumentFileRef> findFileRefsBatch(@Param("companyId") Long companyId,
+                                            @Param("active") boolean active,
+                                            @Param("afterId") Long afterId,
+                                            Pageable pageable);
+
+    // Toplu arşivleme/geri getirme: filtreye uyan belgeler keyset ile id sırasında partiler halinde okunur.
+    @Query("SELECT new org.kafka.evrak.dto.projection.DocumentLifecycleRow(" +
+            "d.id, c.id, c.folderPath, d.name, b.contentHash, d.storageDepth, d.packId, d.packOffset, d.packLength) " +
+            "FROM Document d JOIN d.company c LEFT JOIN d.blob b " +
+            "WHERE c.id = :companyId AND d.isActive = :active AND d.id > :afterId " +
+            "AND (:name IS NULL OR LOWER(d.name) LIKE LOWER(CONCAT('%', :name, '%'))) " +
+            "AND (:startDate IS NULL OR d.createdAt >= :startDate) " +
+            "AND (:endDate IS NULL OR d.createdAt <= :endDate) " +
+            "AND (:category IS NULL OR d.category = :category) " +
+            "ORDER BY d.id")
+    List<DocumentLifecycleRow> findLifecycleBatch(@Param("companyId") Long companyId,
+                                                  @Param("active") boolean active,
+                                                  @Param("afterId") Long afterId,
+                                                  @Param("name") String name,
+                                                  @Param("startDate") LocalDateTime startDate,
+                                                  @Param("endDate") LocalDateTime endDate,
+                                                  @Param("category") DocumentCategory category,
+                                                  Pageable pageable);
+
+    @Query("SELECT new org.kafka.evrak.dto.projection.DocumentLifecycleRow(" +
+            "d.id, c.id, c.folderPath, d.name, b.contentHash, d.storageDepth, d.packId, d.packOffset, d.packLength) " +
+            "FROM Document d JOIN d.company c LEFT JOIN d.blob b " +
+            "WHERE d.id IN :ids AND d.isActive = :active ORDER BY d.id")
+    List<DocumentLifecycleRow> findLifecycleRowsByIds(@Param("ids") Collection<Long> ids,
+                                                      @Param("active") boolean active);
+
+    // Toplu durum değişikliğinden önce hâlâ beklenen durumdaki satırlar kilitlenir; UPDATE tam olarak bunları
+    // değiştirir ve dosyası taşınıp kaydı değişmeyen belgeler geri alınabilir (JPQL'de skaler sorguda kilit yok).
+    @Query(value = "SELECT id FROM document WHERE id IN (:ids) AND is_active = :active FOR UPDATE", nativeQuery = true)
+    List<Long> lockIdsByActiveState(@Param("ids") Collection<Long> ids, @Param("active") boolean active);
+
+    // Yalnızca durum değişir; ad ve dosya olduğu gibi kalır (metadata-only arşivleme).
+    @Modifying
+    @Query("UPDATE Document d SET d.isActive = :active, d.updatedAt = LOCAL_DATETIME " +
+            "WHERE d.id IN :ids AND d.isActive <> :active")
+    int updateActiveState(@Param("ids") Collection<Long> ids, @Param("active") boolean active);
+
+    // Adına "archived_" öneki eklenerek arşivlenir; önek zaten varsa (metadata-only geri getirilmiş belge) korunur.
+    @Modifying
+    @Query("UPDATE Document d SET d.isActive = false, d.updatedAt = LOCAL_DATETIME, " +
+            "d.name = CASE WHEN SUBSTRING(d.name, 1, 9) = 'archived_' THEN d.name ELSE CONCAT('archived_', d.name) END " +
+            "WHERE d.id IN :ids AND d.isActive = true")
+    int archiveAll(@Param("ids") Collection<Long> ids);
+
+    // Adındaki "archived_" öneki kaldırılarak geri getirilir; önek yoksa (metadata-only arşivlenmiş belge) ad korunur.
+    // Paketteki belgeler çağırandan önce şirket klasörüne çıkarılmış olmalıdır; paket konumu temizlenir.
+    @Modifying
+    @Query("UPDATE Document d SET d.isActive = true, d.updatedAt = LOCAL_DATETIME, " +
+            "d.packId = NULL, d.packOffset = NULL, d.packLength = NULL, " +
+            "d.name = CASE WHEN SUBSTRING(d.name, 1, 9) = 'archived_' THEN SUBSTRING(d.name, 10) ELSE d.name END " +
+            "WHERE d.id IN :ids AND d.isActive = false")
+    int restoreAll(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new org.kafka.evrak.dto.projection.DocumentLocationRow(" +
+            "d.id, c.id, c.folderPath, d.name, d.type, d.contentHash, b.contentHash, d.isActive, " +
+            "d.compressed, d.fileSize, d.storedSize, d.storageDepth, d.packId, d.packOffset, d.packLength) " +
+            "FROM Document d JOIN d.company c LEFT JOIN d.blob b WHERE d.id = :id")
+    Optional<DocumentLocationRow> findLocationById(@Param("id") Long id);
+
+    /*
+     * Dışa aktarma için imleç (cursor) ile okuma: satırlar fetch size'lık gruplar halinde gelir,
+     * sonuç belleğe toplanmaz. Stream açık bir transaction içinde tüketilip kapatılmalıdır.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new org.kafka.evrak.dto.projection.DocumentExportRow(" +
+            "d.id, d.name, d.type, c.folderPath, b.contentHash, d.compressed, d.storageDepth, " +
+            "d.packId, d.packOffset, d.packLength) " +
+            "FROM Document d JOIN d.company c LEFT JOIN d.blob b " +
+            "WHERE c.id = :companyId AND d.isActive = :active " +
+            "AND (:name IS NULL OR LOWER(d.name) LIKE LOWER(CONCAT('%', :name, '%'))) " +
+            "AND (:startDate IS NULL OR d.createdAt >= :startDate) " +
+            "AND (:endDate IS NULL OR d.createdAt <= :endDate) " +
+            "AND (:category IS NULL OR d.category = :category) " +
+            "ORDER BY d.id")
+    Stream<DocumentExportRow> streamExportRows(@Param("companyId") Long companyId,
+                                               @Param("active") boolean active,
+                                               @Param("name") String name,
+                                               @Param("startDate") LocalDateTime startDate,
+                                               @Param("endDate") LocalDateTime endDate,
+                                               @Param("category") DocumentCategory category);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new org.kafka.evrak.dto.projection.DocumentExportRow(" +
+            "d.id, d.name, d.type, c.folderPath, b.contentHash, d.compressed, d.storageDepth, " +
+            "d.packId, d.packOffset, d.packLength) " +
+            "FROM Document d JOIN d.company c LEFT JOIN d.blob b WHERE d.id IN :ids ORDER BY d.id")
+    Stream<DocumentExportRow> streamExportRowsByIds(@Param("ids") Collection<Long> ids);
+
+    // Üst veri dışa aktarma: satırlar küçük olduğundan daha büyük fetch size ile daha az gidiş-dönüş yapılır.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "2000"))
+    @Query("SELECT new org.kafka.evrak.dto.projection.DocumentSummary(" +
+            "d.id, d.createdAt, d.type, d.category, d.description, d.fileSize, d.contentHash) " +
+            "FROM Document d WHERE d.company.id = :companyId AND d.isActive = :active " +
+            "AND (:name IS NULL OR LOWER(d.name) LIKE LOWER(CONCAT('%', :name, '%'))) " +
+            "AND (:startDate IS NULL OR d.createdAt >= :startDate) " +
+            "AND (:endDate IS NULL OR d.createdAt <= :endDate) " +
+            "AND (:category IS NULL OR d.category = :category) " +
+            "ORDER BY d.id")
+    Stream<DocumentSummary> streamSummaries(@Param("companyId") Long companyId,
+                                            @Param("active") boolean active,
+                                            @Param("name") String name,
+                                            @Param("startDate") LocalDateTime startDate,
+                                            @Param("endDate") LocalDateTime endDate,
+                                            @Param("category") DocumentCategory category);
+
+    // Sıkıştırma geçişi: henüz sıkıştırılmamış, şirket klasöründeki (blob'suz, paketsiz) belgeler keyset ile okunur.
+    @Query("SELECT new org.kafka.evrak.dto.projection.DocumentExportRow(" +
+            "d.id, d.name, d.type, c.folderPath, CAST(NULL AS String), d.compressed, d.storageDepth, " +
+            "d.packId, d.packOffset, d.packLength) " +
+            "FROM Document d JOIN d.company c " +
+            "WHERE d.compressed = false AND d.blob IS NULL AND d.packId IS NULL AND d.type IN :types AND d.id > :afterId " +
+            "ORDER BY d.id")
+    List<DocumentExportRow> findCompressionCandidates(@Param("types") Collection<DocumentFormat> types,
+                                                      @Param("afterId") Long afterId,
+                                                      Pageable pageable);
+
+    // Dosya yerinde değiştirilmeden önce kaydın hâlâ aynı dosyayı gösterdiği koşuluyla işaretlenir.
+    @Modifying
+    @Query("UPDATE Document d SET d.compressed = true, d.storedSize = :storedSize " +
+            "WHERE d.id = :id AND d.name = :name AND d.compressed = false AND d.blob IS NULL AND d.packId IS NULL")
+    int markCompressed(@Param("id") Long id, @Param("name") String name, @Param("storedSize") long storedSize);
+
+    @Query("SELECT new org.kafka.evrak.dto.projection.CompressionTotals(" +
+            "COUNT(d), COALESCE(SUM(d.fileSize), 0L), COALESCE(SUM(d.storedSize), 0L)) " +
+            "FROM Document d WHERE d.compressed = true")
+    CompressionTotals sumCompressed();
+
+    @Query("SELECT new org.kafka.evrak.dto.projection.CompressionTotals(" +
+            "COUNT(d), COALESCE(SUM(d.fileSize), 0L), COALESCE(SUM(d.fileSize), 0L)) " +
+            "FROM Document d WHERE d.compressed = false AND d.blob IS NULL AND d.packId IS NULL AND d.type IN :types")
+    CompressionTotals sumCompressionCandidates(@Param("types") Collection<DocumentFormat> types);
+
+    // Yerleşim geçişi: derinliği hedeften farklı, şirket klasöründeki (blob'suz, paketsiz) belgeler keyset ile okunur.
+    @Query("SELECT new org.kafka.evrak.dto.projection.DocumentExportRow(" +
+            "d.id, d.name, d.type, c.folderPath, CAST(NULL AS String), d.compressed, d.storageDepth, " +
+            "d.packId, d.packOffset, d.packLength) " +
+            "FROM Document d JOIN d.company c " +
+            "WHERE d.blob IS NULL AND d.packId IS NULL AND d.storageDepth <> :depth " +
+            "AND (:companyId IS NULL OR c.id = :companyId) " +
+            "AND d.id > :afterId ORDER BY d.id")
+    List<DocumentExportRow> findRelocationCandidates(@Param("depth") int depth,
+                                                     @Param("companyId") Long companyId,
+                                                     @Param("afterId") Long afterId,
+                                                     Pageable pageable);
+
+    @Query("SELECT COUNT(d) FROM Document d WHERE d.blob IS NULL AND d.packId IS NULL AND d.storageDepth <> :depth " +
+            "AND (:companyId IS NULL OR d.company.id = :companyId)")
+    long countRelocationCandidates(@Param("depth") int depth, @Param("companyId") Long companyId);
+
+    // Dosya taşınmadan önce kaydın hâlâ aynı adı ve derinliği gösterdiği koşuluyla güncellenir.
+    @Modifying
+    @Query("UPDATE Document d SET d.storageDepth = :depth " +
+            "WHERE d.id = :id AND d.name = :name AND d.storageDepth = :currentDepth AND d.blob IS NULL " +
+            "AND d.packId IS NULL")
+    int updateStorageDepth(@Param("id") Long id,
+                           @Param("name") String name,
+                           @Param("currentDepth") int currentDepth,
+                           @Param("depth") int depth);
+
+    // Paketleme: belirli süredir pasif olan, şirket klasöründeki (blob'suz, paketsiz) belgeler keyset ile okunur.
+    @Query("SELECT new org.kafka.evrak.dto.projection.DocumentExportRow(" +
+            "d.id, d.name, d.type, c.folderPath, CAST(NULL AS String), d.compressed, d.storageDepth, " +
+            "d.packId, d.packOffset, d.packLength) " +
+            "FROM Document d JOIN d.company c " +
+            "WHERE d.isActive = false AND d.blob IS NULL AND d.packId IS NULL " +
+            "AND COALESCE(d.updatedAt, d.createdAt) <= :inactiveBefore " +
+            "AND (:companyId IS NULL OR c.id = :companyId) AND d.id > :afterId ORDER BY d.id")
+    List<DocumentExportRow> findPackCandidates(@Param("inactiveBefore") LocalDateTime inactiveBefore,
+                                               @Param("companyId") Long companyId,
+                                               @Param("afterId") Long afterId,
+                                               Pageable pageable);
+
+    @Query("SELECT COUNT(d) FROM Document d " +
+            "WHERE d.isActive = false AND d.blob IS NULL AND d.packId IS NULL " +
+            "AND COALESCE(d.updatedAt, d.createdAt) <= :inactiveBefore " +
+            "AND (:companyId IS NULL OR d.company.id = :companyId)")
+    long countPackCandidates(@Param("inactiveBefore") LocalDateTime inactiveBefore,
+                             @Param("companyId") Long companyId);
+
+    // Dosya pakete kopyalandıktan sonra kaydın hâlâ aynı (pasif, paketsiz) dosyayı gösterdiği koşuluyla güncellenir.
+    @Modifying
+    @Query("UPDATE Document d SET d.packId = :packId, d.packOffset = :offset, d.packLength = :length " +
+            "WHERE d.id = :id AND d.name = :name AND d.isActive = false AND d.blob IS NULL AND d.packId IS NULL")
+    int updatePackLocation(@Param("id") Long id,
+                           @Param("name") String name,
+                           @Param("packId") Long packId,
+                           @Param("offset") long offset,
+                           @Param("length") long length);
+
+    @Query("SELECT new org.kafka.evrak.dto.projection.PackEntryRow(d.id, d.packOffset, d.packLength) " +
+            "FROM Document d WHERE d.packId = :packId ORDER BY d.packOffset")
+    List<PackEntryRow> findPackEntries(@Param("packId") Long packId);
+
+    @Query("SELECT new org.kafka.evrak.dto.projection.PackUsage(d.packId, COUNT(d), COALESCE(SUM(d.packLength), 0L)) " +
+            "FROM Document d WHERE d.packId IS NOT NULL GROUP BY d.packId")
+    List<PackUsage> sumPackUsage();
+
+    // Yeniden paketleme: belge hâlâ eski paketteyse yeni pakete yönlendirilir.
+    @Modifying
+    @Query("UPDATE Document d SET d.packId = :packId, d.packOffset = :offset " +
+            "WHERE d.id = :id AND d.packId = :currentPackId")
+    int movePackEntry(@Param("id") Long id,
+                      @Param("currentPackId") Long currentPackId,
+                      @Param("packId") Long packId,
+                      @Param("offset") long offset);
+
+    // Tek DELETE ifadesiyle parti silme (entity yüklenmeden).
+    @Modifying
+    @Query("DELETE FROM Document d WHERE d.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
 
     boolean existsByCompanyIdAndIsActive(Long companyId, boolean isActive); // Yeni eklenen metod
+
+    long countByCompanyIdAndIsActive(Long companyId, boolean isActive);
+
+    // Özetle kayıt (save-by-hash) yalnızca şirketin kendi belgelerinde bulunan içerik için kullanılabilir.
+    boolean existsByCompanyIdAndBlobContentHash(Long companyId, String contentHash);
 }
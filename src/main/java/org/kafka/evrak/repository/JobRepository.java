@@ -0,0 +1,23 @@
+package org.kafka.evrak.repository;
+
+import org.kafka.evrak.entity.Job;
+import org.kafka.evrak.enums.JobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface JobRepository extends JpaRepository<Job, Long> {
+
+    List<Job> findByStatusInOrderByIdAsc(Collection<JobStatus> statuses);
+
+    // İlerleme bilgisi entity yüklenmeden güncellenir.
+    @Transactional
+    @Modifying
+    @Query("UPDATE Job j SET j.processedItems = :processed, j.totalItems = :total WHERE j.id = :id")
+    int updateProgress(@Param("id") Long id, @Param("processed") long processed, @Param("total") Long total);
+}
@@ -0,0 +1,35 @@
+package org.kafka.evrak.repository;
+
+import org.kafka.evrak.entity.UploadSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface UploadSessionRepository extends JpaRepository<UploadSession, Long> {
+
+    List<UploadSession> findByExpiresAtBefore(LocalDateTime time);
+
+    // Parça yüklendikçe oturum süresini uzatır.
+    @Transactional
+    @Modifying
+    @Query("UPDATE UploadSession s SET s.expiresAt = :expiresAt WHERE s.id = :id")
+    int extendExpiry(@Param("id") Long id, @Param("expiresAt") LocalDateTime expiresAt);
+
+    // Oturumu tamamlama için koşullu olarak sahiplenir (açık -> tamamlanıyor); yalnızca bir istek 1 alır.
+    // Süre de uzatılır, böylece tamamlama sürerken oturum temizlik görevince silinmez.
+    @Transactional
+    @Modifying
+    @Query("UPDATE UploadSession s SET s.isActive = false, s.expiresAt = :expiresAt WHERE s.id = :id AND s.isActive = true")
+    int claimForCompletion(@Param("id") Long id, @Param("expiresAt") LocalDateTime expiresAt);
+
+    // Tamamlama başarısız olursa oturum yeniden açılır.
+    @Transactional
+    @Modifying
+    @Query("UPDATE UploadSession s SET s.isActive = true WHERE s.id = :id")
+    int reopen(@Param("id") Long id);
+}
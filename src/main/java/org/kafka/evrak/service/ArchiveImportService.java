@@ -0,0 +1,405 @@
+package org.kafka.evrak.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.kafka.evrak.config.FileStorageConfig;
+import org.kafka.evrak.config.ImportConfig;
+import org.kafka.evrak.config.WorkerThreads;
+import org.kafka.evrak.dto.request.DtoArchiveImportIU;
+import org.kafka.evrak.dto.request.DtoCompanyIU;
+import org.kafka.evrak.dto.response.DtoImportReport;
+import org.kafka.evrak.dto.response.DtoJob;
+import org.kafka.evrak.entity.Company;
+import org.kafka.evrak.enums.DocumentFormat;
+import org.kafka.evrak.enums.ImportTransferMode;
+import org.kafka.evrak.enums.JobPriority;
+import org.kafka.evrak.enums.JobType;
+import org.kafka.evrak.exception.BaseException;
+import org.kafka.evrak.exception.ErrorMessage;
+import org.kafka.evrak.exception.MessageType;
+import org.kafka.evrak.repository.CompanyRepository;
+import org.kafka.evrak.service.job.JobService;
+import org.kafka.evrak.util.FileUtil;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Diskte şirket klasörleri halinde duran bir arşivi toplu olarak içe aktarır.
+ * - Kaynağın ilk seviye alt klasörleri şirket adıdır; aktif şirket yoksa saveCompany ile oluşturulur.
+ * - Şirket klasörleri paralel taranır; format uzantıdan belirlenir, uygun olmayan dosyalar raporlanır.
+ * - Dosyalar kopyalanmaz: şirket klasörüne hard link oluşturulur, MOVE modunda kayıt sonrası kaynak silinir.
+ * - Kayıtlar Hibernate'e uğramadan büyük JDBC batch'leri ile eklenir (id'ler document_seq'ten ayrılır).
+ * Bir parti eklenemezse o partinin linkleri geri alınır; kaynak dosyalar yerinde kalır.
+ */
+@Service
+@RequiredArgsConstructor
+public class ArchiveImportService {
+
+    private static final int MAX_REPORTED_REJECTIONS = 1000;
+
+    // Document.name uzunluğu (UUID + "_" + dosya adı bu sınırı aşmamalıdır)
+    private static final int MAX_STORED_NAME_LENGTH = 100;
+
+    private static final int MAX_DESCRIPTION_LENGTH = 250;
+
+    // BaseEntity SEQUENCE allocationSize ile aynı olmalıdır (bkz. V5__entity_id_sequences.sql)
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    private static final String INSERT_DOCUMENT_SQL = "INSERT INTO document "
+            + "(id, created_at, updated_at, is_active, name, type, category, description, file_size, company_id, "
+            + "storage_depth) VALUES (?, ?, ?, true, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final CompanyRepository companyRepository;
+    private final CompanyService companyService;
+    private final JobService jobService;
+    private final ImportConfig importConfig;
+    private final WorkerThreads workerThreads;
+    private final FileStorageConfig fileStorageConfig;
+    private final StoragePathResolver storagePathResolver;
+    private final JdbcTemplate jdbcTemplate;
+    private final ResultCacheService resultCacheService;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    private record ImportFile(Path source, String relativePath, String filename, DocumentFormat format, long size) {
+    }
+
+    private record LinkedFile(ImportFile file, Path target, String storedName) {
+    }
+
+    /**
+     * İçe aktarmayı arka plan işi olarak kuyruğa alır ve işi hemen döner.
+     */
+    public DtoJob submitImport(DtoArchiveImportIU dto) {
+        resolveSource(dto.getSourcePath());
+        try {
+            return jobService.submit(JobType.ARCHIVE_IMPORT, null, objectMapper.writeValueAsString(dto), JobPriority.LOW);
+        } catch (JsonProcessingException e) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.GENERAL_EXCEPTION, "Import parameters could not be serialized: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * @param progress her parti sonrası o ana kadar işlenen (aktarılan veya reddedilen) dosya sayısıyla çağrılır
+     */
+    public DtoImportReport importArchive(DtoArchiveImportIU dto, LongConsumer progress) {
+        Path source = resolveSource(dto.getSourcePath());
+        ImportState state = new ImportState(dto, source, progress);
+        long start = System.nanoTime();
+
+        List<Path> companyFolders = new ArrayList<>();
+        try (Stream<Path> entries = Files.list(source)) {
+            entries.forEach(entry -> {
+                if (Files.isDirectory(entry) && !entry.getFileName().toString().startsWith(".")) {
+                    companyFolders.add(entry);
+                } else {
+                    state.reject(entry, "Not inside a company folder.");
+                }
+            });
+        } catch (IOException e) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.IMPORT_SOURCE_INVALID, "Source directory could not be listed: " + e.getMessage()));
+        }
+
+        try (ExecutorService pool = workerThreads.newFixedPool("import-", importConfig.getParallelism())) {
+            List<CompletableFuture<Void>> tasks = new ArrayList<>(companyFolders.size());
+            for (Path companyFolder : companyFolders) {
+                tasks.add(CompletableFuture.runAsync(() -> importCompanyFolder(companyFolder, state), pool));
+            }
+            CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+        }
+        progress.accept(state.processed.get());
+
+        DtoImportReport report = new DtoImportReport();
+        report.setDryRun(dto.isDryRun());
+        report.setCompaniesCreated(state.companiesCreated.get());
+        report.setCompaniesMatched(state.companiesMatched.get());
+        report.setFilesImported(state.imported.get());
+        report.setFilesRejected(state.rejected.get());
+        report.setBytesImported(state.bytes.get());
+        report.setSourcesNotRemoved(state.sourcesNotRemoved.get());
+        report.setRejections(new ArrayList<>(state.rejections));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        report.setElapsedMillis(elapsedMillis);
+        report.setFilesPerSecond(elapsedMillis == 0 ? 0 : state.imported.get() * 1000.0 / elapsedMillis);
+        return report;
+    }
+
+    private void importCompanyFolder(Path folder, ImportState state) {
+        Company company;
+        try {
+            company = resolveCompany(folder.getFileName().toString(), state);
+        } catch (BaseException e) {
+            rejectTree(folder, e.getMessage(), state);
+            return;
+        }
+
+        List<ImportFile> batch = new ArrayList<>(importConfig.getBatchSize());
+        try (Stream<Path> paths = Files.walk(folder)) {
+            Iterator<Path> iterator = paths.filter(Files::isRegularFile).iterator();
+            while (iterator.hasNext()) {
+                ImportFile file = inspectFile(iterator.next(), state);
+                if (file == null) {
+                    continue;
+                }
+                batch.add(file);
+                if (batch.size() >= importConfig.getBatchSize()) {
+                    importBatch(batch, company, state);
+                    batch.clear();
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            state.reject(folder, "Folder could not be read completely: " + e.getMessage());
+        }
+        if (!batch.isEmpty()) {
+            importBatch(batch, company, state);
+        }
+    }
+
+    /**
+     * Klasör adına karşılık gelen aktif şirketi döner, yoksa oluşturur.
+     * Dry run'da şirket oluşturulmaz ve null döner.
+     */
+    private Company resolveCompany(String companyName, ImportState state) {
+        if (companyName.length() > 100) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.GENERAL_EXCEPTION, "Company name cannot exceed 100 characters."));
+        }
+        Company existing = companyRepository.findByNameAndIsActive(companyName, true).orElse(null);
+        if (existing == null && companyRepository.existsByNameAndIsActive(companyName, false)) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.INACTIVE_COMPANY_ALREADY_EXISTS,
+                    "Company '" + companyName + "' is archived; restore it before importing."));
+        }
+        if (existing != null) {
+            state.companiesMatched.incrementAndGet();
+        } else if (state.dto.isDryRun()) {
+            state.companiesCreated.incrementAndGet();
+            return null;
+        } else {
+            DtoCompanyIU companyIU = new DtoCompanyIU();
+            companyIU.setName(companyName);
+            Long companyId = companyService.saveCompany(companyIU).getId();
+            existing = companyRepository.findById(companyId).orElseThrow();
+            state.companiesCreated.incrementAndGet();
+        }
+        if (!Files.isDirectory(Paths.get(existing.getFolderPath()))) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.COMPANY_FOLDER_NOT_FOUND, "Company folder not found: " + existing.getFolderPath()));
+        }
+        return existing;
+    }
+
+    private ImportFile inspectFile(Path path, ImportState state) {
+        String filename = path.getFileName().toString();
+        if (filename.startsWith(".")) {
+            state.reject(path, "Hidden file.");
+            return null;
+        }
+        if (filename.length() + 33 > MAX_STORED_NAME_LENGTH) {
+            state.reject(path, "File name is too long.");
+            return null;
+        }
+        try {
+            DocumentFormat format = FileUtil.resolveFormat(filename);
+            return new ImportFile(path, state.source.relativize(path).toString(), filename, format, Files.size(path));
+        } catch (BaseException e) {
+            state.reject(path, e.getMessage());
+        } catch (IOException e) {
+            state.reject(path, "File could not be read: " + e.getMessage());
+        }
+        return null;
+    }
+
+    private void importBatch(List<ImportFile> batch, Company company, ImportState state) {
+        if (state.dto.isDryRun()) {
+            batch.forEach(file -> state.accept(file.size()));
+            state.reportProgress();
+            return;
+        }
+
+        // Dosyaları şirket klasörüne bağla (kopyalama yok).
+        Path companyFolder = Paths.get(company.getFolderPath());
+        List<LinkedFile> linked = new ArrayList<>(batch.size());
+        for (ImportFile file : batch) {
+            String storedName = FileUtil.newStoredName(file.filename());
+            try {
+                Path target = storagePathResolver.prepareTarget(companyFolder, storedName);
+                Files.createLink(target, file.source());
+                linked.add(new LinkedFile(file, target, storedName));
+            } catch (IOException | UnsupportedOperationException e) {
+                state.reject(file.source(), "Hard link failed (source and uploads must share a file system): "
+                        + e.getMessage());
+            }
+        }
+        if (linked.isEmpty()) {
+            state.reportProgress();
+            return;
+        }
+
+        // Kayıtları tek transaction'da JDBC batch olarak ekle; hata olursa linkleri geri al.
+        try {
+            insertDocuments(linked, company, state.dto);
+        } catch (RuntimeException e) {
+            for (LinkedFile file : linked) {
+                deleteQuietly(file.target());
+                state.reject(file.file().source(), "Insert failed: " + e.getMessage());
+            }
+            state.reportProgress();
+            return;
+        }
+
+        for (LinkedFile file : linked) {
+            state.accept(file.file().size());
+            if (state.dto.getMode() == ImportTransferMode.MOVE && !deleteQuietly(file.file().source())) {
+                state.sourcesNotRemoved.incrementAndGet();
+            }
+        }
+        state.reportProgress();
+    }
+
+    private void insertDocuments(List<LinkedFile> files, Company company, DtoArchiveImportIU dto) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            List<Long> ids = allocateDocumentIds(files.size());
+            List<Object[]> rows = new ArrayList<>(files.size());
+            for (int i = 0; i < files.size(); i++) {
+                LinkedFile file = files.get(i);
+                String description = "Imported from " + file.file().relativePath();
+                rows.add(new Object[]{
+                        ids.get(i), now, now, file.storedName(), file.file().format().name(), dto.getCategory().name(),
+                        description.length() > MAX_DESCRIPTION_LENGTH
+                                ? description.substring(0, MAX_DESCRIPTION_LENGTH) : description,
+                        file.file().size(), company.getId(), storagePathResolver.getDepth()});
+            }
+            jdbcTemplate.batchUpdate(INSERT_DOCUMENT_SQL, rows);
+            resultCacheService.documentsChanged(company.getId());
+        });
+    }
+
+    /**
+     * Hibernate'in "pooled" optimizer'ı ile aynı anlamda id ayırır:
+     * her nextval değeri v için (v - 49 .. v) aralığı bu işleme aittir.
+     */
+    private List<Long> allocateDocumentIds(int count) {
+        int blocks = (count + ID_ALLOCATION_SIZE - 1) / ID_ALLOCATION_SIZE;
+        List<Long> upperBounds = jdbcTemplate.queryForList(
+                "SELECT nextval('document_seq') FROM generate_series(1, ?)", Long.class, blocks);
+        List<Long> ids = new ArrayList<>(count);
+        for (Long upperBound : upperBounds) {
+            for (long id = upperBound - ID_ALLOCATION_SIZE + 1; id <= upperBound && ids.size() < count; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private void rejectTree(Path folder, String reason, ImportState state) {
+        try (Stream<Path> paths = Files.walk(folder)) {
+            paths.filter(Files::isRegularFile).forEach(path -> state.reject(path, reason));
+        } catch (IOException | UncheckedIOException e) {
+            state.reject(folder, reason);
+        }
+        state.reportProgress();
+    }
+
+    private Path resolveSource(String sourcePath) {
+        String allowedRoot = importConfig.getAllowedRoot();
+        if (allowedRoot == null || allowedRoot.isBlank()) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.IMPORT_SOURCE_INVALID, "Archive import is disabled. Set import.allowed-root first."));
+        }
+        Path root = Paths.get(allowedRoot).toAbsolutePath().normalize();
+        Path source = Paths.get(sourcePath).toAbsolutePath().normalize();
+        if (!source.startsWith(root)) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.IMPORT_SOURCE_INVALID, "Source must be under " + root));
+        }
+        if (source.startsWith(fileStorageConfig.getUploadsPath().toAbsolutePath().normalize())) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.IMPORT_SOURCE_INVALID, "Source cannot be inside the uploads folder."));
+        }
+        if (!Files.isDirectory(source)) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.IMPORT_SOURCE_INVALID, "Source directory not found: " + source));
+        }
+        return source;
+    }
+
+    private static boolean deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Paralel çalışan klasör görevlerinin ortak sayaçları.
+     */
+    private static final class ImportState {
+
+        private final DtoArchiveImportIU dto;
+        private final Path source;
+        private final LongConsumer progress;
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong bytes = new AtomicLong();
+        private final AtomicLong sourcesNotRemoved = new AtomicLong();
+        private final AtomicLong companiesCreated = new AtomicLong();
+        private final AtomicLong companiesMatched = new AtomicLong();
+        private final AtomicInteger reportedRejections = new AtomicInteger();
+        private final ConcurrentLinkedQueue<DtoImportReport.DtoImportRejection> rejections = new ConcurrentLinkedQueue<>();
+
+        private ImportState(DtoArchiveImportIU dto, Path source, LongConsumer progress) {
+            this.dto = dto;
+            this.source = source;
+            this.progress = progress;
+        }
+
+        private void accept(long size) {
+            imported.incrementAndGet();
+            bytes.addAndGet(size);
+            processed.incrementAndGet();
+        }
+
+        private void reject(Path path, String reason) {
+            rejected.incrementAndGet();
+            processed.incrementAndGet();
+            if (reportedRejections.incrementAndGet() <= MAX_REPORTED_REJECTIONS) {
+                DtoImportReport.DtoImportRejection rejection = new DtoImportReport.DtoImportRejection();
+                rejection.setPath(source.relativize(path).toString());
+                rejection.setReason(reason);
+                rejections.add(rejection);
+            }
+        }
+
+        private void reportProgress() {
+            progress.accept(processed.get());
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package org.kafka.evrak.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.kafka.evrak.config.FileStorageConfig;
+import org.kafka.evrak.entity.DocumentBlob;
+import org.kafka.evrak.exception.BaseException;
+import org.kafka.evrak.exception.ErrorMessage;
+import org.kafka.evrak.exception.MessageType;
+import org.kafka.evrak.repository.DocumentBlobRepository;
+import org.kafka.evrak.util.FileUtil;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * İçerik adresli (content-addressed) blob deposu.
+ * Her benzersiz içerik uploads/.blobs/ab/cd/<sha256> altında bir kez saklanır,
+ * belgeler bu içeriği referans sayımı ile paylaşır.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BlobStoreService {
+
+    private final DocumentBlobRepository documentBlobRepository;
+    private final FileStorageConfig fileStorageConfig;
+
+    public Path getBlobPath(String contentHash) {
+        return fileStorageConfig.getBlobsPath()
+                .resolve(contentHash.substring(0, 2))
+                .resolve(contentHash.substring(2, 4))
+                .resolve(contentHash);
+    }
+
+    /**
+     * Yükleme sırasında içeriğin yazılacağı geçici dosya yolunu döner.
+     * Geçici alan blob alanıyla aynı dosya sisteminde olduğundan taşıma atomiktir.
+     */
+    public Path newTempPath() {
+        Path tempDir = fileStorageConfig.getBlobsPath().resolve("tmp");
+        try {
+            Files.createDirectories(tempDir);
+        } catch (IOException e) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.FOLDER_CREATION_FAILED, "Blob temp folder creation error: " + e.getMessage()));
+        }
+        return tempDir.resolve(UUID.randomUUID().toString().replace("-", ""));
+    }
+
+    /**
+     * Geçici dosyaya yazılmış içeriği depoya alır.
+     * - Aynı özete sahip blob varsa referans sayısı artırılır, geçici dosya silinir.
+     * - Yoksa geçici dosya blob yoluna taşınır ve yeni kayıt oluşturulur.
+     * Aynı yeni içerik eşzamanlı yüklenirse ikinci kayıt benzersizlik kısıtına takılır;
+     * çağıran taraf bu durumda {@link #acquireExisting(String)} ile devam etmelidir.
+     */
+    @Transactional
+    public DocumentBlob acquire(Path tempFile, FileUtil.StoredFile storedFile) {
+        DocumentBlob existing = documentBlobRepository.findByContentHashForUpdate(storedFile.contentHash())
+                .orElse(null);
+        try {
+            if (existing != null) {
+                Files.deleteIfExists(tempFile);
+                existing.setRefCount(existing.getRefCount() + 1);
+                return documentBlobRepository.save(existing);
+            }
+            Path blobPath = getBlobPath(storedFile.contentHash());
+            Files.createDirectories(blobPath.getParent());
+            Files.move(tempFile, blobPath, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.FOLDER_CREATION_FAILED, "Failed to store blob: " + storedFile.contentHash()
+                    + " | " + e.getMessage()));
+        }
+        DocumentBlob blob = new DocumentBlob();
+        blob.setContentHash(storedFile.contentHash());
+        blob.setSize(storedFile.size());
+        blob.setRefCount(1);
+        return documentBlobRepository.saveAndFlush(blob);
+    }
+
+    /**
+     * Sunucuda zaten bulunan içeriğe yeni bir referans ekler (byte gönderilmeden kayıt için).
+     */
+    @Transactional
+    public DocumentBlob acquireExisting(String contentHash) {
+        DocumentBlob blob = documentBlobRepository.findByContentHashForUpdate(contentHash)
+                .orElseThrow(() -> new BaseException(new ErrorMessage(
+                        MessageType.BLOB_NOT_FOUND, "No blob for hash: " + contentHash)));
+        blob.setRefCount(blob.getRefCount() + 1);
+        return documentBlobRepository.save(blob);
+    }
+
+    /**
+     * Blob üzerindeki bir referansı bırakır. Son referans ise dosya ve kayıt silinir.
+     */
+    @Transactional
+    public void release(DocumentBlob blob) {
+        release(blob.getContentHash(), 1);
+    }
+
+    /**
+     * Blob üzerindeki verilen sayıda referansı bırakır. Referans kalmazsa dosya ve kayıt silinir.
+     * Dosya, satır kilidi tutulurken geçici alana taşınır ve ancak commit sonrasında silinir; transaction geri
+     * alınırsa yerine taşınır. Böylece geri alınan bir silme içeriği kaybettirmez, aynı içeriği eşzamanlı
+     * yükleyen bir istek de kilidi bıraktıktan sonra blob'u yeniden oluşturur.
+     */
+    @Transactional
+    public void release(String contentHash, long references) {
+        DocumentBlob locked = documentBlobRepository.findByContentHashForUpdate(contentHash)
+                .orElse(null);
+        if (locked == null) {
+            return;
+        }
+        if (locked.getRefCount() > references) {
+            locked.setRefCount(locked.getRefCount() - references);
+            documentBlobRepository.save(locked);
+            return;
+        }
+        Path blobPath = getBlobPath(locked.getContentHash());
+        Path removedPath = newTempPath();
+        try {
+            if (Files.exists(blobPath)) {
+                Files.move(blobPath, removedPath, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.FILE_DELETE_FAILED, "Failed to delete blob: " + locked.getContentHash()));
+        }
+        documentBlobRepository.delete(locked);
+        afterCompletion(committed -> {
+            try {
+                if (committed) {
+                    Files.deleteIfExists(removedPath);
+                } else if (Files.exists(removedPath)) {
+                    Files.move(removedPath, blobPath, StandardCopyOption.ATOMIC_MOVE);
+                }
+            } catch (IOException e) {
+                log.warn("Failed to {} blob {}", committed ? "delete" : "restore", contentHash, e);
+            }
+        });
+    }
+
+    private static void afterCompletion(Consumer<Boolean> action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.accept(status == STATUS_COMMITTED);
+                }
+            });
+        } else {
+            action.accept(true);
+        }
+    }
+}
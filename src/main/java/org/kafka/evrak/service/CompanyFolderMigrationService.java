@@ -0,0 +1,250 @@
+package org.kafka.evrak.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.kafka.evrak.config.FileStorageConfig;
+import org.kafka.evrak.config.MetadataCacheConfig;
+import org.kafka.evrak.dto.projection.CompanyFolderRow;
+import org.kafka.evrak.dto.response.DtoCompanyFolderMigrationResult;
+import org.kafka.evrak.dto.response.DtoJob;
+import org.kafka.evrak.enums.JobPriority;
+import org.kafka.evrak.enums.JobType;
+import org.kafka.evrak.exception.BaseException;
+import org.kafka.evrak.exception.ErrorMessage;
+import org.kafka.evrak.exception.MessageType;
+import org.kafka.evrak.repository.CompanyRepository;
+import org.kafka.evrak.service.job.JobService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Eski sürümlerde şirket adına göre adlandırılan klasörleri (uploads/<ad>, uploads/archived_<ad>)
+ * id tabanlı klasörlere (uploads/.companies/<id>) taşır; uygulama çalışırken yapılabilir.
+ * - Her klasör, folder_path kaydının güncellendiği transaction içinde tek bir atomik yeniden adlandırmayla taşınır;
+ *   commit başarısız olursa klasör eski yerine geri alınır.
+ * - Eski yolda yeni klasöre işaret eden bir sembolik bağlantı bırakılır; önbellekteki ya da işlem sırasında
+ *   eski yolu kullanan okuma ve yazmalar bu bağlantı üzerinden yeni klasöre ulaşır.
+ *   Bağlantılar, önbellek süresi (metadata-cache.ttl) dolduktan sonraki ilk çalıştırmada kaldırılır.
+ * Geçişten sonra şirket adı değişikliği ve arşivleme yalnızca kaydı günceller.
+ */
+@Slf4j
+@Service
+public class CompanyFolderMigrationService {
+
+    private static final int BATCH_SIZE = 100;
+
+    private static final int MAX_REPORTED_FAILURES = 1000;
+
+    private static final String ARCHIVED_PREFIX = "archived_";
+
+    private final CompanyRepository companyRepository;
+    private final FileStorageConfig fileStorageConfig;
+    private final MetadataCacheConfig metadataCacheConfig;
+    private final StoragePathResolver storagePathResolver;
+    private final MetadataCacheService metadataCacheService;
+    private final JobService jobService;
+    private final TransactionTemplate transactionTemplate;
+
+    public CompanyFolderMigrationService(CompanyRepository companyRepository,
+                                         FileStorageConfig fileStorageConfig,
+                                         MetadataCacheConfig metadataCacheConfig,
+                                         StoragePathResolver storagePathResolver,
+                                         MetadataCacheService metadataCacheService,
+                                         JobService jobService,
+                                         PlatformTransactionManager transactionManager) {
+        this.companyRepository = companyRepository;
+        this.fileStorageConfig = fileStorageConfig;
+        this.metadataCacheConfig = metadataCacheConfig;
+        this.storagePathResolver = storagePathResolver;
+        this.metadataCacheService = metadataCacheService;
+        this.jobService = jobService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public DtoJob submitMigration() {
+        return jobService.submit(JobType.MIGRATE_COMPANY_FOLDERS, null, null, JobPriority.LOW);
+    }
+
+    public long countMigrationCandidates() {
+        return companyRepository.countFolderMigrationCandidates(rootPrefix());
+    }
+
+    /**
+     * @param progress her parti sonrası o ana kadar işlenen şirket sayısıyla çağrılır
+     */
+    public DtoCompanyFolderMigrationResult migrate(LongConsumer progress) {
+        try {
+            Files.createDirectories(fileStorageConfig.getCompaniesPath());
+        } catch (IOException e) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.FOLDER_CREATION_FAILED,
+                    "Folder creation error | Path: " + fileStorageConfig.getCompaniesPath() + " | Details: " + e.getMessage()));
+        }
+
+        String root = rootPrefix();
+        DtoCompanyFolderMigrationResult result = new DtoCompanyFolderMigrationResult();
+        long afterId = 0L;
+        long processed = 0L;
+        while (true) {
+            List<CompanyFolderRow> batch = companyRepository.findFolderMigrationCandidates(
+                    root, afterId, PageRequest.of(0, BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            afterId = batch.get(batch.size() - 1).id();
+            for (CompanyFolderRow row : batch) {
+                relocate(row, result);
+            }
+            processed += batch.size();
+            progress.accept(processed);
+        }
+        result.setLinksRemoved(removeExpiredLinks());
+        log.info("Company folder migration finished: {} moved, {} skipped, {} missing, {} failed, {} links removed",
+                result.getMoved(), result.getSkipped(), result.getMissingFolders(), result.getFailed(),
+                result.getLinksRemoved());
+        return result;
+    }
+
+    private void relocate(CompanyFolderRow row, DtoCompanyFolderMigrationResult result) {
+        Path target = storagePathResolver.companyFolder(row.id());
+        Path source = findLegacyFolder(row.folderPath());
+        // Klasör önceki bir çalıştırmada taşınmış ama kayıt güncellenememiş olabilir; bu durumda yalnızca kayıt güncellenir.
+        if (source == null && !Files.isDirectory(target)) {
+            result.setMissingFolders(result.getMissingFolders() + 1);
+            addFailure(result, row.id(), "Company folder not found: " + row.folderPath());
+            return;
+        }
+
+        boolean[] moved = {false};
+        boolean[] updated = {false};
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (companyRepository.updateFolderPath(row.id(), row.folderPath(), target.toString()) != 1) {
+                    status.setRollbackOnly();
+                    return;
+                }
+                if (source != null) {
+                    try {
+                        Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    moved[0] = true;
+                    linkLegacyPath(source, target);
+                }
+                updated[0] = true;
+            });
+        } catch (RuntimeException e) {
+            if (moved[0]) {
+                moveBack(target, source);
+            }
+            result.setFailed(result.getFailed() + 1);
+            addFailure(result, row.id(), "Failed to move company folder: " + row.folderPath() + " | " + e.getMessage());
+            return;
+        }
+
+        if (!updated[0]) {
+            result.setSkipped(result.getSkipped() + 1);
+            return;
+        }
+        metadataCacheService.invalidateCompany(row.id());
+        result.setMoved(result.getMoved() + 1);
+    }
+
+    /**
+     * Kayıttaki klasörü, yoksa "archived_" önekli eşini döner (bkz. CompanyService.deleteCompanyPermanently).
+     * Bağlantılar klasör sayılmaz; bağlantı varsa klasör zaten taşınmıştır.
+     */
+    private Path findLegacyFolder(String folderPath) {
+        Path folder = Paths.get(folderPath);
+        if (Files.isDirectory(folder, LinkOption.NOFOLLOW_LINKS)) {
+            return folder;
+        }
+        Path parent = folder.getParent();
+        if (parent != null) {
+            Path archived = parent.resolve(ARCHIVED_PREFIX + folder.getFileName());
+            if (Files.isDirectory(archived, LinkOption.NOFOLLOW_LINKS)) {
+                return archived;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Dosya sistemi sembolik bağlantıyı desteklemiyorsa bağlantısız devam edilir; bu durumda eski yolu
+     * önbellekte tutan istekler commit sonrası geçersiz kılınan önbellekten yeni yolu okur.
+     */
+    private void linkLegacyPath(Path source, Path target) {
+        try {
+            Files.createSymbolicLink(source, target);
+        } catch (IOException | UnsupportedOperationException e) {
+            log.warn("Could not leave a compatibility link at {}: {}", source, e.getMessage());
+        }
+    }
+
+    private void moveBack(Path target, Path source) {
+        try {
+            if (Files.isSymbolicLink(source)) {
+                Files.delete(source);
+            }
+            Files.move(target, source, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error("Failed to move {} back to {}; the next migration run will pick the folder up from its new path",
+                    target, source, e);
+        }
+    }
+
+    /**
+     * uploads altındaki, id tabanlı bir klasöre işaret eden ve önbellek süresinden daha eski bağlantıları kaldırır.
+     */
+    private long removeExpiredLinks() {
+        Path companiesPath = fileStorageConfig.getCompaniesPath();
+        Instant expiry = Instant.now().minus(metadataCacheConfig.getTtl());
+        long removed = 0;
+        try (Stream<Path> entries = Files.list(fileStorageConfig.getUploadsPath())) {
+            for (Path entry : (Iterable<Path>) entries::iterator) {
+                if (!Files.isSymbolicLink(entry)) {
+                    continue;
+                }
+                Path target = entry.resolveSibling(Files.readSymbolicLink(entry)).normalize();
+                Instant createdAt = Files.getLastModifiedTime(entry, LinkOption.NOFOLLOW_LINKS).toInstant();
+                if (target.startsWith(companiesPath) && createdAt.isBefore(expiry)) {
+                    Files.delete(entry);
+                    removed++;
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Failed to remove expired company folder links: {}", e.getMessage());
+        }
+        return removed;
+    }
+
+    private String rootPrefix() {
+        return fileStorageConfig.getCompaniesPath().toString() + File.separator;
+    }
+
+    private void addFailure(DtoCompanyFolderMigrationResult result, Long companyId, String message) {
+        if (result.getFailures().size() >= MAX_REPORTED_FAILURES) {
+            return;
+        }
+        DtoCompanyFolderMigrationResult.DtoCompanyFolderFailure failure =
+                new DtoCompanyFolderMigrationResult.DtoCompanyFolderFailure();
+        failure.setCompanyId(companyId);
+        failure.setMessage(message);
+        result.getFailures().add(failure);
+    }
+}
@@ -0,0 +1,7 @@
+package org.kafka.evrak.service;
+
+/**
+ * Önbellekte tutulan şirket bilgisi. folderExists, kaydın önbelleğe alındığı andaki klasör kontrolüdür.
+ */
+public record CompanyMetadata(Long id, String name, String folderPath, boolean active, boolean folderExists) {
+}
@@ -1,17 +1,23 @@
 package org.kafka.evrak.service;
 
 import lombok.RequiredArgsConstructor;
-import org.kafka.evrak.config.FileStorageConfig;
+import org.kafka.evrak.dto.projection.CompanySummary;
 import org.kafka.evrak.dto.request.DtoCompanyIU;
 import org.kafka.evrak.dto.response.DtoCompany;
+import org.kafka.evrak.dto.response.DtoJob;
+import org.kafka.evrak.dto.response.DtoSlice;
 import org.kafka.evrak.entity.Company;
-import org.kafka.evrak.entity.Document;
+import org.kafka.evrak.enums.JobPriority;
+import org.kafka.evrak.enums.JobType;
 import org.kafka.evrak.exception.BaseException;
 import org.kafka.evrak.exception.ErrorMessage;
 import org.kafka.evrak.exception.MessageType;
 import org.kafka.evrak.mapper.CompanyMapper;
 import org.kafka.evrak.repository.CompanyRepository;
 import org.kafka.evrak.repository.DocumentRepository;
+import org.kafka.evrak.service.job.JobService;
+import org.kafka.evrak.util.FileUtil;
+import org.kafka.evrak.util.RepositoryUtil;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -20,8 +26,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.*;
-import java.nio.file.attribute.BasicFileAttributes;
 import java.util.List;
 
 @Service
@@ -30,35 +36,40 @@ public class CompanyService {
 
     private final CompanyRepository companyRepository;
     private final CompanyMapper companyMapper;
-    private final FileStorageConfig fileStorageConfig;
 
     // DocumentRepository'yi de enjekte ediyoruz.
     private final DocumentRepository documentRepository;
 
-    // Base directory for company folders (application.properties'tan alınıyor)
-    private Path getUploadsDir() {
-        return fileStorageConfig.getUploadsPath();
+    private final JobService jobService;
+    private final MetadataCacheService metadataCacheService;
+    private final ResultCacheService resultCacheService;
+    private final StoragePathResolver storagePathResolver;
+    private final StorageMetrics storageMetrics;
+
+    private boolean exists(Path path) {
+        return storageMetrics.time("exists", () -> Files.exists(path));
     }
 
     /**
-     * Yardımcı metod: Belirtilen firma adına göre klasör oluşturur.
+     * Yardımcı metod: Firmanın id'sine göre klasörünü oluşturur. Klasör adı firma adından bağımsızdır,
+     * böylece ad değişikliği ve arşivleme dosya sistemine dokunmaz.
      */
-    private String createCompanyFolder(String companyName) {
+    private String createCompanyFolder(Long companyId) {
         try {
-            Path companyFolder = getUploadsDir().resolve(companyName);
-            Files.createDirectories(companyFolder);
+            Path companyFolder = storagePathResolver.companyFolder(companyId);
+            storageMetrics.time("create_directories", () -> Files.createDirectories(companyFolder));
             return companyFolder.toString();
         } catch (IOException e) {
             throw new BaseException(new ErrorMessage(
                     MessageType.FOLDER_CREATION_FAILED,
-                    "Folder creation error | Company: " + companyName + " | Details: " + e.getMessage()));
+                    "Folder creation error | Company id: " + companyId + " | Details: " + e.getMessage()));
         }
     }
 
     /**
      * Yeni firma kaydı oluşturur.
      * Aynı isimde aktif ya da pasif firma varsa hata fırlatılır.
-     * Kayıt sonrası "uploads" klasörü altında firma adına göre alt klasör oluşturulur.
+     * Kayıt sonrası "uploads/.companies" altında firma id'sine göre alt klasör oluşturulur.
      */
     @Transactional
     public DtoCompany saveCompany(DtoCompanyIU dto) {
@@ -77,10 +88,10 @@ public class CompanyService {
                     "Inactive company with name '" + companyName + "' already exists."));
         }
 
-        Company company = companyMapper.toEntity(dto);
-        String folderPath = createCompanyFolder(companyName);
-        company.setFolderPath(folderPath);
-        Company savedCompany = companyRepository.save(company);
+        // id sequence'tan save sırasında alınır; INSERT flush'a kadar ertelendiği için klasör yolu aynı INSERT'e girer.
+        Company savedCompany = companyRepository.save(companyMapper.toEntity(dto));
+        savedCompany.setFolderPath(createCompanyFolder(savedCompany.getId()));
+        resultCacheService.companyChanged(savedCompany.getId());
         return companyMapper.toDto(savedCompany);
     }
 
@@ -88,7 +99,7 @@ public class CompanyService {
      * Firma güncelleme işlemi:
      * - Eğer güncelleme isteğinde gönderilen firma adı, mevcut şirketin adıyla aynıysa hata fırlatılır.
      * - Farklı bir isim girildiyse, önce duplicate kontrolü yapılır; eğer aynı isimde aktif veya pasif firma varsa hata fırlatılır.
-     * - Ardından klasör adı yeniden adlandırılır ve şirketin adı güncellenir.
+     * - Ardından yalnızca şirketin adı güncellenir; klasör id'ye göre adlandırıldığı için dosya sistemine dokunulmaz.
      */
     @Transactional
     public DtoCompany updateCompany(Long companyId, DtoCompanyIU dto) {
@@ -117,36 +128,17 @@ public class CompanyService {
                     "Inactive company with name '" + newCompanyName + "' already exists."));
         }
 
-        // Klasör yeniden adlandırma
-        String oldFolderPath = company.getFolderPath();
-        String newFolderPath = renameFolder(oldFolderPath, newCompanyName);
-        company.setFolderPath(newFolderPath);
         company.setName(newCompanyName);
         Company updatedCompany = companyRepository.save(company);
+        metadataCacheService.invalidateCompanyMetadata(companyId);
+        resultCacheService.companyChanged(companyId);
         return companyMapper.toDto(updatedCompany);
     }
 
-    /**
-     * Yardımcı metod: Var olan klasörün adını yenisiyle değiştirir.
-     */
-    private String renameFolder(String oldFolderPath, String newFolderName) {
-        try {
-            Path oldPath = Paths.get(oldFolderPath);
-            Path newPath = oldPath.getParent().resolve(newFolderName);
-            Files.move(oldPath, newPath);
-            return newPath.toString();
-        } catch (IOException e) {
-            throw new BaseException(new ErrorMessage(
-                    MessageType.FOLDER_RENAME_FAILED,
-                    "Folder rename error | Old path: " + oldFolderPath
-                            + " | New name: " + newFolderName + " | Details: " + e.getMessage()));
-        }
-    }
-
     /**
      * Firma silme (soft delete) işlemi:
      * - Firma isActive false yapılır.
-     * - Klasör adının önüne "archived_" eklenir.
+     * - Klasör yerinde kalır; arşiv durumu yalnızca kayıtta tutulur.
      */
     @Transactional
     public Long deactivateCompany(Long companyId) {
@@ -159,23 +151,17 @@ public class CompanyService {
                     "Company is already inactive."));
         }
 
-        String oldFolderPath = company.getFolderPath();
-        Path oldPath = Paths.get(oldFolderPath);
-        String folderName = oldPath.getFileName().toString();
-        if (!folderName.startsWith("archived_")) {
-            String archivedFolderName = "archived_" + folderName;
-            String newFolderPath = renameFolder(oldFolderPath, archivedFolderName);
-            company.setFolderPath(newFolderPath);
-        }
         company.setActive(false);
         Company savedCompany = companyRepository.save(company);
+        metadataCacheService.invalidateCompanyMetadata(companyId);
+        resultCacheService.companyChanged(companyId);
         return savedCompany.getId();
     }
 
     /**
      * Arşivden firma geri getirme işlemi:
      * - Firma isActive true yapılır.
-     * - Klasör adının önündeki "archived_" kaldırılır.
+     * - Klasör yerinde kalır (eski sürümde "archived_" önekiyle yeniden adlandırılmış klasörler de kayıttaki yolla okunur).
      */
     @Transactional
     public Long activateCompany(Long companyId) {
@@ -188,37 +174,87 @@ public class CompanyService {
                     "Company is already active."));
         }
 
-        String oldFolderPath = company.getFolderPath();
-        Path oldPath = Paths.get(oldFolderPath);
-        String folderName = oldPath.getFileName().toString();
-        if (folderName.startsWith("archived_")) {
-            String restoredFolderName = folderName.substring("archived_".length());
-            String newFolderPath = renameFolder(oldFolderPath, restoredFolderName);
-            company.setFolderPath(newFolderPath);
-        }
         company.setActive(true);
         Company restoredCompany = companyRepository.save(company);
+        metadataCacheService.invalidateCompanyMetadata(companyId);
+        resultCacheService.companyChanged(companyId);
         return restoredCompany.getId();
     }
 
+    /**
+     * Firma arşivleme işlemini arka plan işi olarak kuyruğa alır ve işi hemen döner.
+     */
+    public DtoJob submitDeactivateCompany(Long companyId) {
+        if (!getCompany(companyId).isActive()) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.COMPANY_ALREADY_INACTIVE,
+                    "Company is already inactive."));
+        }
+        return jobService.submit(JobType.ARCHIVE_COMPANY, companyId, null, JobPriority.NORMAL);
+    }
+
+    /**
+     * Firmayı arşivden geri getirme işlemini arka plan işi olarak kuyruğa alır ve işi hemen döner.
+     */
+    public DtoJob submitActivateCompany(Long companyId) {
+        if (getCompany(companyId).isActive()) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.COMPANY_ALREADY_ACTIVE,
+                    "Company is already active."));
+        }
+        return jobService.submit(JobType.RESTORE_COMPANY, companyId, null, JobPriority.NORMAL);
+    }
+
+    private Company getCompany(Long companyId) {
+        return companyRepository.findById(companyId)
+                .orElseThrow(() -> new BaseException(new ErrorMessage(
+                        MessageType.NO_RECORD_EXIST, "Company not found.")));
+    }
+
     /**
      * Aktif firmaları veritabanından DESC sıralı olarak getirir.
+     * Aynı sayfa, firmalarda bir değişiklik olana kadar önbellekten döner.
      */
-    @Transactional(readOnly = true)
     public Page<DtoCompany> getAllActiveCompanies(int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("id").descending());
-        Page<Company> companyPage = companyRepository.findByIsActive(true, pageable);
-        return companyPage.map(companyMapper::toDto);
+        return resultCacheService.getCompanyPage(List.of(true, page, size),
+                () -> companyRepository.findByIsActive(true, pageable).map(companyMapper::toDto));
     }
 
     /**
      * Pasif (inaktif) firmaları veritabanından DESC sıralı olarak getirir.
      */
-    @Transactional(readOnly = true)
     public Page<DtoCompany> getAllInactiveCompanies(int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("id").descending());
-        Page<Company> companyPage = companyRepository.findByIsActive(false, pageable);
-        return companyPage.map(companyMapper::toDto);
+        return resultCacheService.getCompanyPage(List.of(false, page, size),
+                () -> companyRepository.findByIsActive(false, pageable).map(companyMapper::toDto));
+    }
+
+    /**
+     * Firma listesinin güncel ETag değerini döner (veritabanına gitmez).
+     */
+    public String getCompanyListETag() {
+        return resultCacheService.getCompanyListETag();
+    }
+
+    /**
+     * Aktif firmaları cursor tabanlı (keyset) sayfalama ile getirir; COUNT sorgusu çalıştırılmaz.
+     */
+    @Transactional(readOnly = true)
+    public DtoSlice<DtoCompany> seekActiveCompanies(String cursor, int size) {
+        List<CompanySummary> companies = companyRepository.seekByIsActive(true, RepositoryUtil.decodeCursor(cursor),
+                RepositoryUtil.seekPage(size));
+        return RepositoryUtil.toSlice(companies, size, CompanySummary::id, companyMapper::toDto);
+    }
+
+    /**
+     * Pasif firmaları cursor tabanlı (keyset) sayfalama ile getirir; COUNT sorgusu çalıştırılmaz.
+     */
+    @Transactional(readOnly = true)
+    public DtoSlice<DtoCompany> seekInactiveCompanies(String cursor, int size) {
+        List<CompanySummary> companies = companyRepository.seekByIsActive(false, RepositoryUtil.decodeCursor(cursor),
+                RepositoryUtil.seekPage(size));
+        return RepositoryUtil.toSlice(companies, size, CompanySummary::id, companyMapper::toDto);
     }
 
     /**
@@ -226,7 +262,7 @@ public class CompanyService {
      */
     @Transactional(readOnly = true)
     public DtoCompany getActiveCompaniesByName(String name) {
-        Company company = companyRepository.findByNameAndIsActive(name, true)
+        CompanySummary company = companyRepository.findSummaryByNameAndIsActive(name, true)
                 .orElseThrow(() -> new BaseException(new ErrorMessage(
                         MessageType.NO_RECORD_EXIST, "Active company with name '" + name + "' not found.")));
         return companyMapper.toDto(company);
@@ -237,7 +273,7 @@ public class CompanyService {
      */
     @Transactional(readOnly = true)
     public DtoCompany getInactiveCompaniesByName(String name) {
-        Company company = companyRepository.findByNameAndIsActive(name, false)
+        CompanySummary company = companyRepository.findSummaryByNameAndIsActive(name, false)
                 .orElseThrow(() -> new BaseException(new ErrorMessage(
                         MessageType.NO_RECORD_EXIST, "Inactive company with name '" + name + "' not found.")));
         return companyMapper.toDto(company);
@@ -256,16 +292,14 @@ public class CompanyService {
                         MessageType.NO_RECORD_EXIST, "Company not found.")));
 
         // Şirkete ait aktif evrakları kontrol et
-        List<Document> activeDocs = documentRepository.findByCompanyIdAndIsActive(companyId, true);
-        if (!activeDocs.isEmpty()) {
+        if (documentRepository.existsByCompanyIdAndIsActive(companyId, true)) {
             throw new BaseException(new ErrorMessage(
                     MessageType.COMPANY_CONTAINS_ACTIVE_DOCUMENTS,
                     "Company contains active documents and cannot be deleted permanently."));
         }
 
         // Şirkete ait pasif evrakları kontrol et
-        List<Document> inactiveDocs = documentRepository.findByCompanyIdAndIsActive(companyId, false);
-        if (!inactiveDocs.isEmpty()) {
+        if (documentRepository.existsByCompanyIdAndIsActive(companyId, false)) {
             throw new BaseException(new ErrorMessage(
                     MessageType.COMPANY_CONTAINS_INACTIVE_DOCUMENTS,
                     "Company contains inactive documents and cannot be deleted permanently."));
@@ -273,26 +307,32 @@ public class CompanyService {
 
         // Şirketin dosya sistemindeki klasörünü silmek üzere yolunu belirle
         Path folderPath = Paths.get(company.getFolderPath());
-        if (!Files.exists(folderPath)) {
+        if (!exists(folderPath)) {
             // Eğer normal klasör bulunamazsa, "archived_" önekli klasörü kontrol et
             Path parent = folderPath.getParent();
             if (parent != null) {
                 folderPath = parent.resolve("archived_" + folderPath.getFileName().toString());
             }
-            if (!Files.exists(folderPath)) {
+            if (!exists(folderPath)) {
                 throw new BaseException(new ErrorMessage(
                         MessageType.COMPANY_FOLDER_NOT_FOUND, "Company folder not found in file system."));
             }
         }
 
-        // Klasörün boş olup olmadığını kontrol et
-        try (var entries = Files.list(folderPath)) {
-            if (entries.findFirst().isPresent()) {
+        // Klasörün boş olup olmadığını kontrol et; alt klasör yerleşiminden kalan boş klasörler dosya sayılmaz.
+        Path inspectedPath = folderPath;
+        try {
+            boolean containsFiles = storageMetrics.time("walk", () -> {
+                try (var entries = Files.walk(inspectedPath)) {
+                    return entries.anyMatch(path -> !Files.isDirectory(path));
+                }
+            });
+            if (containsFiles) {
                 throw new BaseException(new ErrorMessage(
                         MessageType.COMPANY_FOLDER_NOT_EMPTY,
                         "Company folder is not empty. Deletion aborted for security reasons."));
             }
-        } catch (IOException e) {
+        } catch (IOException | UncheckedIOException e) {
             throw new BaseException(new ErrorMessage(
                     MessageType.FOLDER_RENAME_FAILED,
                     "Failed to inspect company folder: " + e.getMessage()));
@@ -300,7 +340,7 @@ public class CompanyService {
 
         // Klasör boşsa, sil
         try {
-            Files.delete(folderPath);
+            storageMetrics.run("delete_recursively", () -> FileUtil.deleteRecursively(inspectedPath));
         } catch (IOException e) {
             throw new BaseException(new ErrorMessage(
                     MessageType.FOLDER_RENAME_FAILED,
@@ -309,6 +349,8 @@ public class CompanyService {
 
         // Şirketi veritabanından sil
         companyRepository.delete(company);
+        metadataCacheService.invalidateCompany(companyId);
+        resultCacheService.companyChanged(companyId);
         return companyId;
     }
 
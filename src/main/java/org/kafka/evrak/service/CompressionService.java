@@ -0,0 +1,321 @@
+package org.kafka.evrak.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.kafka.evrak.config.FileStorageConfig;
+import org.kafka.evrak.dto.projection.CompressionTotals;
+import org.kafka.evrak.dto.projection.DocumentExportRow;
+import org.kafka.evrak.dto.response.DtoCompressionReport;
+import org.kafka.evrak.dto.response.DtoCompressionResult;
+import org.kafka.evrak.dto.response.DtoJob;
+import org.kafka.evrak.enums.DocumentFormat;
+import org.kafka.evrak.enums.JobPriority;
+import org.kafka.evrak.enums.JobType;
+import org.kafka.evrak.exception.BaseException;
+import org.kafka.evrak.exception.ErrorMessage;
+import org.kafka.evrak.exception.MessageType;
+import org.kafka.evrak.repository.DocumentRepository;
+import org.kafka.evrak.service.job.JobService;
+import org.kafka.evrak.util.FileUtil;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+
+/**
+ * Metin tabanlı belgelerin depoda gzip ile sıkıştırılması (file.compression-enabled).
+ * - Yeni yüklenen metin belgeleri yazılırken tek geçişte sıkıştırılır; boyut ve özet özgün içeriğe aittir.
+ * - gzip, sıkıştırılmış dosyanın istemciye "Content-Encoding: gzip" ile olduğu gibi gönderilebilmesi için seçildi;
+ *   düşük seviyede (varsayılan 1) metinlerde yüksek oran ve düşük CPU maliyeti sağlar.
+ * - Tekilleştirilmiş (blob) içerik sıkıştırılmaz; blob deposu özgün içeriğin özetiyle adreslenir.
+ * - Mevcut dosyalar COMPRESS_DOCUMENTS işiyle keyset partiler halinde yerinde sıkıştırılır.
+ */
+@Slf4j
+@Service
+public class CompressionService {
+
+    private static final int MIGRATION_BATCH_SIZE = 500;
+
+    private static final int MAX_REPORTED_FAILURES = 1000;
+
+    private static final String COMPRESSING_SUFFIX = ".gz";
+
+    private static final Set<DocumentFormat> TEXT_FORMATS = EnumSet.copyOf(Arrays.stream(DocumentFormat.values())
+            .filter(DocumentFormat::isTextLike)
+            .toList());
+
+    private final FileStorageConfig fileStorageConfig;
+    private final DocumentRepository documentRepository;
+    private final MetadataCacheService metadataCacheService;
+    private final StoragePathResolver storagePathResolver;
+    private final JobService jobService;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+    // Açılıştan beri sıkıştırılan içerik (yükleme ve geçiş işi birlikte)
+    private final LongAdder compressedFiles = new LongAdder();
+    private final LongAdder inputBytes = new LongAdder();
+    private final LongAdder outputBytes = new LongAdder();
+    private final LongAdder cpuNanos = new LongAdder();
+    private final LongAdder decompressedReads = new LongAdder();
+
+    public CompressionService(FileStorageConfig fileStorageConfig,
+                              DocumentRepository documentRepository,
+                              MetadataCacheService metadataCacheService,
+                              StoragePathResolver storagePathResolver,
+                              JobService jobService,
+                              PlatformTransactionManager transactionManager) {
+        this.fileStorageConfig = fileStorageConfig;
+        this.documentRepository = documentRepository;
+        this.metadataCacheService = metadataCacheService;
+        this.storagePathResolver = storagePathResolver;
+        this.jobService = jobService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Bu formattaki yeni bir belgenin şirket klasörüne sıkıştırılarak yazılıp yazılmayacağı.
+     */
+    public boolean shouldCompress(DocumentFormat format) {
+        return fileStorageConfig.isCompressionEnabled() && format != null && format.isTextLike();
+    }
+
+    /**
+     * Akışı gzip ile sıkıştırarak hedefe atomik olarak yazar; harcanan CPU süresi rapora eklenir.
+     */
+    public FileUtil.StoredFile write(InputStream in, Path target) throws IOException {
+        long cpuStart = currentCpuNanos();
+        long wallStart = System.nanoTime();
+        FileUtil.StoredFile storedFile = FileUtil.writeCompressedAtomically(in, target, getLevel());
+        long cpuEnd = currentCpuNanos();
+        // CPU süresi ölçülemiyorsa (ör. sanal iş parçacığı) geçen süre üst sınır olarak kullanılır.
+        cpuNanos.add(cpuStart >= 0 && cpuEnd >= 0 ? cpuEnd - cpuStart : System.nanoTime() - wallStart);
+        compressedFiles.increment();
+        inputBytes.add(storedFile.size());
+        outputBytes.add(storedFile.storedSize());
+        return storedFile;
+    }
+
+    /**
+     * Dosyayı özgün içeriğiyle okuyan akış döner; sıkıştırılmış dosyalar okunurken açılır.
+     */
+    public InputStream open(Path path, boolean compressed) throws IOException {
+        if (!compressed) {
+            return Files.newInputStream(path);
+        }
+        decompressedReads.increment();
+        return FileUtil.newGzipInputStream(path);
+    }
+
+    /**
+     * Saklanan içeriği (ör. paket dosyasındaki bir kaydı) okuyan akışı özgün içerik akışına çevirir.
+     */
+    public InputStream open(InputStream stored, boolean compressed) throws IOException {
+        if (!compressed) {
+            return stored;
+        }
+        decompressedReads.increment();
+        return FileUtil.newGzipInputStream(stored);
+    }
+
+    /**
+     * Mevcut metin belgelerini sıkıştıran geçiş işini kuyruğa alır.
+     */
+    public DtoJob submitMigration() {
+        if (!fileStorageConfig.isCompressionEnabled()) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.COMPRESSION_DISABLED, "Compression migration requires file.compression-enabled=true."));
+        }
+        return jobService.submit(JobType.COMPRESS_DOCUMENTS, null, null, JobPriority.LOW);
+    }
+
+    public long countMigrationCandidates() {
+        return documentRepository.sumCompressionCandidates(TEXT_FORMATS).count();
+    }
+
+    /**
+     * Henüz sıkıştırılmamış metin belgelerini yerinde sıkıştırır.
+     * - Dosya önce aynı klasörde geçici bir ada sıkıştırılır; özgünden küçük değilse bırakılır.
+     * - Kayıt aynı dosyayı gösterdiği ve dosya okunduktan sonra değişmediği sürece, kaydın güncellendiği
+     *   transaction içinde geçici dosya özgünün üzerine atomik olarak taşınır.
+     * - Commit başarısız olursa dosya tekrar açılarak eski haline getirilir.
+     * Tekrar çalıştırıldığında yalnızca kalan belgeler işlenir.
+     *
+     * @param progress her parti sonrası o ana kadar işlenen belge sayısıyla çağrılır
+     */
+    public DtoCompressionResult migrate(LongConsumer progress) {
+        DtoCompressionResult result = new DtoCompressionResult();
+        long afterId = 0L;
+        long processed = 0L;
+        while (true) {
+            List<DocumentExportRow> batch = documentRepository.findCompressionCandidates(
+                    TEXT_FORMATS, afterId, PageRequest.of(0, MIGRATION_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            afterId = batch.get(batch.size() - 1).id();
+            for (DocumentExportRow row : batch) {
+                migrateFile(row, result);
+            }
+            processed += batch.size();
+            progress.accept(processed);
+        }
+        log.info("Compression migration finished: {} compressed, {} skipped, {} missing, {} failed, {} bytes saved",
+                result.getCompressed(), result.getSkipped(), result.getMissingFiles(), result.getFailed(),
+                result.getOriginalBytes() - result.getStoredBytes());
+        return result;
+    }
+
+    private void migrateFile(DocumentExportRow row, DtoCompressionResult result) {
+        Path source = storagePathResolver.locate(row.folderPath(), row.name(), row.storageDepth());
+        Path compressedPath = source.resolveSibling("." + row.name() + COMPRESSING_SUFFIX);
+        boolean[] replaced = {false};
+        FileUtil.StoredFile storedFile;
+        try {
+            BasicFileAttributes before = Files.readAttributes(source, BasicFileAttributes.class);
+            try (InputStream in = Files.newInputStream(source)) {
+                storedFile = write(in, compressedPath);
+            }
+            if (storedFile.storedSize() >= storedFile.size()) {
+                result.setSkipped(result.getSkipped() + 1);
+                return;
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                if (documentRepository.markCompressed(row.id(), row.name(), storedFile.storedSize()) != 1
+                        || !unchanged(source, before)) {
+                    status.setRollbackOnly();
+                    return;
+                }
+                try {
+                    Files.move(compressedPath, source, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                replaced[0] = true;
+            });
+        } catch (NoSuchFileException e) {
+            result.setMissingFiles(result.getMissingFiles() + 1);
+            return;
+        } catch (IOException | RuntimeException e) {
+            if (replaced[0]) {
+                restore(source);
+                replaced[0] = false;
+            }
+            result.setFailed(result.getFailed() + 1);
+            addFailure(result, row.id(), "Failed to compress file: " + row.name() + " | " + e.getMessage());
+            return;
+        } finally {
+            deleteQuietly(compressedPath);
+        }
+
+        if (!replaced[0]) {
+            result.setSkipped(result.getSkipped() + 1);
+            return;
+        }
+        metadataCacheService.invalidateDocument(row.id());
+        result.setCompressed(result.getCompressed() + 1);
+        result.setOriginalBytes(result.getOriginalBytes() + storedFile.size());
+        result.setStoredBytes(result.getStoredBytes() + storedFile.storedSize());
+    }
+
+    /**
+     * Dosya okunduktan sonra değiştirildiyse (ör. arşivleme sırasında yeniden adlandırma) sıkıştırmadan vazgeçilir.
+     */
+    private boolean unchanged(Path source, BasicFileAttributes before) {
+        try {
+            BasicFileAttributes now = Files.readAttributes(source, BasicFileAttributes.class);
+            return now.size() == before.size() && now.lastModifiedTime().equals(before.lastModifiedTime());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Kaydı güncellenemeyen dosyayı tekrar açarak özgün haline getirir.
+     */
+    private void restore(Path source) {
+        try (InputStream in = FileUtil.newGzipInputStream(source)) {
+            FileUtil.writeAtomically(in, source);
+        } catch (IOException e) {
+            log.error("Failed to restore compressed file {}; its record still points to uncompressed content",
+                    source, e);
+        }
+    }
+
+    /**
+     * Depodaki sıkıştırma durumu ve açılıştan beri harcanan CPU süresi.
+     */
+    public DtoCompressionReport getReport() {
+        CompressionTotals compressed = documentRepository.sumCompressed();
+        CompressionTotals pending = documentRepository.sumCompressionCandidates(TEXT_FORMATS);
+
+        DtoCompressionReport report = new DtoCompressionReport();
+        report.setEnabled(fileStorageConfig.isCompressionEnabled());
+        report.setLevel(getLevel());
+        report.setCompressedDocuments(compressed.count());
+        report.setOriginalBytes(compressed.originalBytes());
+        report.setStoredBytes(compressed.storedBytes());
+        report.setSavedBytes(compressed.originalBytes() - compressed.storedBytes());
+        report.setRatio(compressed.originalBytes() == 0
+                ? 1.0 : (double) compressed.storedBytes() / compressed.originalBytes());
+        report.setPendingDocuments(pending.count());
+        report.setPendingBytes(pending.originalBytes());
+
+        long cpu = cpuNanos.sum();
+        long input = inputBytes.sum();
+        report.setCompressedFilesSinceStartup(compressedFiles.sum());
+        report.setInputBytesSinceStartup(input);
+        report.setOutputBytesSinceStartup(outputBytes.sum());
+        report.setCompressionCpuMillis(cpu / 1_000_000);
+        report.setCompressionMbPerCpuSecond(cpu == 0 ? 0 : (input / (1024.0 * 1024.0)) / (cpu / 1e9));
+        report.setDecompressedReadsSinceStartup(decompressedReads.sum());
+        return report;
+    }
+
+    private int getLevel() {
+        return Math.max(1, Math.min(9, fileStorageConfig.getCompressionLevel()));
+    }
+
+    private long currentCpuNanos() {
+        try {
+            return threadMXBean.isCurrentThreadCpuTimeSupported() ? threadMXBean.getCurrentThreadCpuTime() : -1;
+        } catch (UnsupportedOperationException e) {
+            return -1;
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete temporary file {}", path, e);
+        }
+    }
+
+    private void addFailure(DtoCompressionResult result, Long documentId, String message) {
+        if (result.getFailures().size() >= MAX_REPORTED_FAILURES) {
+            return;
+        }
+        DtoCompressionResult.DtoCompressionFailure failure = new DtoCompressionResult.DtoCompressionFailure();
+        failure.setDocumentId(documentId);
+        failure.setMessage(message);
+        result.getFailures().add(failure);
+    }
+}
@@ -0,0 +1,27 @@
+package org.kafka.evrak.service;
+
+import org.kafka.evrak.repository.DocumentRepository;
+
+import java.util.Collection;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Doğrulanmış ve izni alınmış bir dışa aktarma isteği.
+ * Sonuç, {@link DocumentExportService} üzerindeki write metotlarıyla yanıt akışına yazılır;
+ * izin {@link #close()} ile bırakılır (yazma bitince, ya da yazma hiç başlamazsa async işlem tamamlanınca).
+ *
+ * @param <T> okunan satır tipi (ZIP için DocumentExportRow, üst veri için DocumentSummary)
+ * @param requestedIds ID listesiyle istenmişse istenen ID'ler (bulunamayanlar rapora yazılır), aksi halde null
+ * @param release izni bırakır; birden çok çağrılabilir, izin yalnızca bir kez bırakılır
+ */
+public record DocumentExport<T>(String filename,
+                                Function<DocumentRepository, Stream<T>> rows,
+                                Collection<Long> requestedIds,
+                                Runnable release) implements AutoCloseable {
+
+    @Override
+    public void close() {
+        release.run();
+    }
+}
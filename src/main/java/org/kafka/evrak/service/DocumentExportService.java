@@ -0,0 +1,306 @@
+package org.kafka.evrak.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.kafka.evrak.config.ExportConfig;
+import org.kafka.evrak.dto.projection.DocumentExportRow;
+import org.kafka.evrak.dto.projection.DocumentSummary;
+import org.kafka.evrak.dto.request.DtoDocumentFilter;
+import org.kafka.evrak.enums.DocumentCategory;
+import org.kafka.evrak.enums.ExportFormat;
+import org.kafka.evrak.exception.BaseException;
+import org.kafka.evrak.exception.ErrorMessage;
+import org.kafka.evrak.exception.MessageType;
+import org.kafka.evrak.repository.CompanyRepository;
+import org.kafka.evrak.repository.DocumentRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Belgeleri ZIP arşivi, üst verilerini NDJSON / CSV olarak doğrudan yanıt akışına yazar.
+ * - Satırlar imleçle (fetch size) okunur; sonuç bellekte veya diskte biriktirilmez.
+ * - Zaten sıkıştırılmış formatlar (ZIP, RAR, GZ, JPEG, PNG, OOXML...) sıkıştırma yapılmadan eklenir.
+ * - Dosyası bulunamayan veya ID'si olmayan belgeler arşivin sonundaki EXPORT_ERRORS.txt'ye yazılır.
+ */
+@Slf4j
+@Service
+public class DocumentExportService {
+
+    private static final String ERRORS_ENTRY = "EXPORT_ERRORS.txt";
+    private static final String CSV_HEADER = "id,createdAt,type,category,description,fileSize,contentHash\n";
+
+    // Kayıtlı ad: [archived_]<32 haneli uuid>_<orijinal ad>
+    private static final Pattern STORED_NAME_PREFIX = Pattern.compile("^(archived_)?[0-9a-f]{32}_");
+
+    private final DocumentRepository documentRepository;
+    private final CompanyRepository companyRepository;
+    private final BlobStoreService blobStoreService;
+    private final CompressionService compressionService;
+    private final StoragePathResolver storagePathResolver;
+    private final PackStore packStore;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Semaphore permits;
+
+    public DocumentExportService(DocumentRepository documentRepository,
+                                 CompanyRepository companyRepository,
+                                 BlobStoreService blobStoreService,
+                                 CompressionService compressionService,
+                                 StoragePathResolver storagePathResolver,
+                                 PackStore packStore,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 ExportConfig exportConfig) {
+        this.documentRepository = documentRepository;
+        this.companyRepository = companyRepository;
+        this.blobStoreService = blobStoreService;
+        this.compressionService = compressionService;
+        this.storagePathResolver = storagePathResolver;
+        this.packStore = packStore;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.permits = new Semaphore(exportConfig.getMaxConcurrent());
+    }
+
+    /**
+     * Filtre kriterlerine uyan belgeler için ZIP dışa aktarmayı hazırlar (DtoDocumentFilter ile aynı kriterler).
+     */
+    public DocumentExport<DocumentExportRow> prepareFilteredExport(DtoDocumentFilter filter, boolean active) {
+        Long companyId = filter.getCompanyId();
+        String name = DocumentService.getNameQuery(filter.getName());
+        DocumentCategory category = validateFilter(filter);
+        return new DocumentExport<>(exportName(companyId, active) + ".zip",
+                repository -> repository.streamExportRows(companyId, active, name,
+                        filter.getStartDate(), filter.getEndDate(), category),
+                null, acquirePermit());
+    }
+
+    /**
+     * Verilen belge ID'leri için ZIP dışa aktarmayı hazırlar.
+     */
+    public DocumentExport<DocumentExportRow> prepareExportByIds(List<Long> documentIds) {
+        Set<Long> ids = new LinkedHashSet<>(documentIds);
+        return new DocumentExport<>("documents.zip", repository -> repository.streamExportRowsByIds(ids), ids,
+                acquirePermit());
+    }
+
+    /**
+     * Filtre kriterlerine uyan belgelerin üst verisi için NDJSON / CSV dışa aktarmayı hazırlar.
+     */
+    public DocumentExport<DocumentSummary> prepareMetadataExport(DtoDocumentFilter filter, boolean active,
+                                                                 ExportFormat format) {
+        Long companyId = filter.getCompanyId();
+        String name = DocumentService.getNameQuery(filter.getName());
+        DocumentCategory category = validateFilter(filter);
+        return new DocumentExport<>(exportName(companyId, active) + format.getExtension(),
+                repository -> repository.streamSummaries(companyId, active, name,
+                        filter.getStartDate(), filter.getEndDate(), category),
+                null, acquirePermit());
+    }
+
+    /**
+     * Arşivi yazar. Yanıt başlıkları gönderildikten sonra çalıştığından hatalar yalnızca loglanır
+     * ve bağlantı kesilir; istemci eksik arşivi bozuk olarak görür.
+     */
+    public void write(DocumentExport<DocumentExportRow> export, OutputStream out) throws IOException {
+        try {
+            ZipOutputStream zip = new ZipOutputStream(out);
+            List<String> errors = new ArrayList<>();
+            // Bulunamayan ID'leri raporlamak için yalnızca ID listesiyle istenen aktarmada tutulur.
+            Set<Long> found = export.requestedIds() != null ? new HashSet<>() : null;
+            streamRows(export, row -> {
+                if (found != null) {
+                    found.add(row.id());
+                }
+                writeEntry(zip, row, errors);
+            });
+            if (found != null) {
+                export.requestedIds().stream()
+                        .filter(id -> !found.contains(id))
+                        .forEach(id -> errors.add(id + "\tDocument not found."));
+            }
+            if (!errors.isEmpty()) {
+                zip.setLevel(Deflater.DEFAULT_COMPRESSION);
+                zip.putNextEntry(new ZipEntry(ERRORS_ENTRY));
+                zip.write(String.join("\n", errors).getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+            zip.finish();
+            zip.flush();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Document export '{}' aborted: {}", export.filename(), e.getMessage());
+            throw e;
+        } finally {
+            export.close();
+        }
+    }
+
+    /**
+     * Üst veriyi satır satır yazar; her satır okunduğu anda çıktıya aktarılır, bellek kullanımı
+     * sonuç boyutundan bağımsızdır.
+     */
+    public void writeMetadata(DocumentExport<DocumentSummary> export, ExportFormat format, OutputStream out)
+            throws IOException {
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            if (format == ExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                streamRows(export, row -> writeLine(writer, toCsv(row)));
+            } else {
+                ObjectWriter json = objectMapper.writerFor(DocumentSummary.class);
+                streamRows(export, row -> {
+                    try {
+                        writeLine(writer, json.writeValueAsString(row));
+                    } catch (JsonProcessingException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            writer.flush();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Metadata export '{}' aborted: {}", export.filename(), e.getMessage());
+            throw e;
+        } finally {
+            export.close();
+        }
+    }
+
+    /**
+     * Satırları salt okunur bir transaction içinde imleçle okuyup tek tek işler.
+     * İşleyicinin fırlattığı UncheckedIOException, asıl IOException olarak dışarı iletilir.
+     */
+    private <T> void streamRows(DocumentExport<T> export, Consumer<T> consumer) throws IOException {
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<T> rows = export.rows().apply(documentRepository)) {
+                    rows.forEach(consumer);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void writeLine(Writer writer, String line) {
+        try {
+            writer.write(line);
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String toCsv(DocumentSummary row) {
+        return row.id() + ","
+                + csvValue(row.createdAt()) + ","
+                + csvValue(row.type()) + ","
+                + csvValue(row.category()) + ","
+                + csvValue(row.description()) + ","
+                + csvValue(row.fileSize()) + ","
+                + csvValue(row.contentHash());
+    }
+
+    // RFC 4180: virgül, tırnak veya satır sonu içeren alanlar tırnak içine alınır.
+    private static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    private DocumentCategory validateFilter(DtoDocumentFilter filter) {
+        if (!companyRepository.existsById(filter.getCompanyId())) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.NO_RECORD_EXIST, "Company not found for id: " + filter.getCompanyId()));
+        }
+        return DocumentService.getDocumentCategory(filter.getCategory());
+    }
+
+    private static String exportName(Long companyId, boolean active) {
+        return "company-" + companyId + (active ? "-active" : "-inactive");
+    }
+
+    private void writeEntry(ZipOutputStream zip, DocumentExportRow row, List<String> errors) {
+        Path path = row.blobHash() != null
+                ? blobStoreService.getBlobPath(row.blobHash())
+                : row.packId() != null
+                ? packStore.getPackPath(row.packId())
+                : storagePathResolver.locate(row.folderPath(), row.name(), row.storageDepth());
+        // Dosya önce açılır; açılamazsa yarım bir kayıt yazılmadan rapora eklenir.
+        // Depoda sıkıştırılmış dosyalar arşive özgün içerikleriyle yazılır.
+        InputStream content;
+        try {
+            content = row.packId() != null
+                    ? compressionService.open(packStore.openEntry(path, row.packOffset(), row.packLength()), row.compressed())
+                    : compressionService.open(path, row.compressed());
+        } catch (NoSuchFileException e) {
+            errors.add(row.id() + "\tFile not found: " + row.name());
+            return;
+        } catch (IOException e) {
+            errors.add(row.id() + "\tFile not readable: " + row.name());
+            return;
+        }
+        try (content) {
+            ZipEntry entry = new ZipEntry(row.id() + "_" + STORED_NAME_PREFIX.matcher(row.name()).replaceFirst(""));
+            entry.setLastModifiedTime(Files.getLastModifiedTime(path));
+            zip.setLevel(row.type() != null && row.type().isCompressed()
+                    ? Deflater.NO_COMPRESSION : Deflater.DEFAULT_COMPRESSION);
+            zip.putNextEntry(entry);
+            content.transferTo(zip);
+            zip.closeEntry();
+        } catch (IOException e) {
+            // Yanıt akışına yazılamıyor (ör. istemci bağlantıyı kapattı): dışa aktarma durdurulur.
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Eşzamanlı dışa aktarma iznini yanıt oluşturulmadan önce alır; izin yoksa SERVER_BUSY normal hata yanıtı
+     * olarak döner. Dönen işlem izni bırakır ve birden çok kez çağrılabilir (yazma sonu ve async tamamlanma).
+     */
+    private Runnable acquirePermit() {
+        if (!permits.tryAcquire()) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.SERVER_BUSY, "Too many exports in progress, please retry later."));
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+    }
+}
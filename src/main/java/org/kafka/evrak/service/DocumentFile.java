@@ -0,0 +1,27 @@
+package org.kafka.evrak.service;
+
+import org.kafka.evrak.enums.DocumentFormat;
+
+import java.nio.file.Path;
+
+/**
+ * İndirme için çözümlenmiş belge dosyası bilgisi.
+ * eTag, belge id'si ve içerik özetinden (yoksa boyut + değişiklik zamanından) türetilir;
+ * arşivleme gibi yalnızca ad değiştiren işlemlerde değişmez.
+ * compressed true ise dosya gzip olarak saklanır: contentLength diskteki, decodedLength özgün içeriğin boyutudur.
+ * packOffset null değilse path bir paket dosyasıdır ve içerik bu konumdan başlar (bkz. PackStore).
+ */
+public record DocumentFile(Path path,
+                           String filename,
+                           DocumentFormat format,
+                           long contentLength,
+                           long lastModified,
+                           String eTag,
+                           boolean compressed,
+                           long decodedLength,
+                           Long packOffset) {
+
+    public boolean packed() {
+        return packOffset != null;
+    }
+}
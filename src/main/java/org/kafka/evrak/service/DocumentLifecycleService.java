@@ -0,0 +1,325 @@
+package org.kafka.evrak.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.kafka.evrak.config.LifecycleConfig;
+import org.kafka.evrak.config.WorkerThreads;
+import org.kafka.evrak.dto.projection.DocumentLifecycleRow;
+import org.kafka.evrak.dto.request.DtoDocumentFilter;
+import org.kafka.evrak.dto.request.DtoDocumentLifecycleIU;
+import org.kafka.evrak.dto.response.DtoJob;
+import org.kafka.evrak.dto.response.DtoLifecycleResult;
+import org.kafka.evrak.enums.DocumentCategory;
+import org.kafka.evrak.enums.JobPriority;
+import org.kafka.evrak.enums.JobType;
+import org.kafka.evrak.exception.BaseException;
+import org.kafka.evrak.exception.ErrorMessage;
+import org.kafka.evrak.exception.MessageType;
+import org.kafka.evrak.repository.DocumentRepository;
+import org.kafka.evrak.service.job.JobService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.LongConsumer;
+
+/**
+ * Belgeleri ID listesine ya da filtreye göre toplu olarak arşivler (deactivate) veya geri getirir (activate).
+ * - Belgeler partiler halinde okunur; entity yüklenmez.
+ * - Dosyalar sınırlı sayıda iş parçacığıyla paralel yeniden adlandırılır ("archived_" öneki);
+ *   metadataOnly modunda dosyalara hiç dokunulmaz, yalnızca durum değişir.
+ * - Paketteki belgeler arşivlenirken yeniden adlandırılmaz; geri getirilirken şirket klasörüne çıkarılır.
+ * - Her parti ayrı bir transaction'da tek UPDATE ifadesiyle güncellenir; commit başarısız olursa
+ *   yeniden adlandırılan dosyalar eski adlarına döndürülür.
+ * - Dosyası bulunamayan ya da yeniden adlandırılamayan belgelerin kaydı değiştirilmez ve hata olarak raporlanır.
+ * İşlem idempotenttir; tekrar çalıştırıldığında yalnızca henüz hedef durumda olmayan belgeler işlenir.
+ */
+@Slf4j
+@Service
+public class DocumentLifecycleService {
+
+    private static final int MAX_REPORTED_FAILURES = 1000;
+
+    private static final String ARCHIVED_PREFIX = "archived_";
+
+    private final DocumentRepository documentRepository;
+    private final StoragePathResolver storagePathResolver;
+    private final PackStore packStore;
+    private final MetadataCacheService metadataCacheService;
+    private final ResultCacheService resultCacheService;
+    private final LifecycleConfig lifecycleConfig;
+    private final WorkerThreads workerThreads;
+    private final JobService jobService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public DocumentLifecycleService(DocumentRepository documentRepository,
+                                    StoragePathResolver storagePathResolver,
+                                    PackStore packStore,
+                                    MetadataCacheService metadataCacheService,
+                                    ResultCacheService resultCacheService,
+                                    LifecycleConfig lifecycleConfig,
+                                    WorkerThreads workerThreads,
+                                    JobService jobService,
+                                    ObjectMapper objectMapper,
+                                    PlatformTransactionManager transactionManager) {
+        this.documentRepository = documentRepository;
+        this.storagePathResolver = storagePathResolver;
+        this.packStore = packStore;
+        this.metadataCacheService = metadataCacheService;
+        this.resultCacheService = resultCacheService;
+        this.lifecycleConfig = lifecycleConfig;
+        this.workerThreads = workerThreads;
+        this.jobService = jobService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * source null ise target paketten çıkarılmış bir dosyadır; geri alınırken silinir.
+     */
+    private record Rename(Long documentId, Path source, Path target) {
+    }
+
+    private record RenameOutcome(Rename rename, String error) {
+    }
+
+    public DtoLifecycleResult deactivate(DtoDocumentLifecycleIU dto) {
+        return apply(dto, false, processed -> { });
+    }
+
+    public DtoLifecycleResult activate(DtoDocumentLifecycleIU dto) {
+        return apply(dto, true, processed -> { });
+    }
+
+    /**
+     * Toplu işlemi arka plan işi olarak kuyruğa alır ve işi hemen döner.
+     */
+    public DtoJob submit(DtoDocumentLifecycleIU dto, boolean activate) {
+        validate(dto);
+        try {
+            return jobService.submit(activate ? JobType.ACTIVATE_DOCUMENTS : JobType.DEACTIVATE_DOCUMENTS,
+                    null, objectMapper.writeValueAsString(dto), JobPriority.NORMAL);
+        } catch (JsonProcessingException e) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.GENERAL_EXCEPTION, "Lifecycle parameters could not be serialized: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * @param activate true ise pasif belgeler geri getirilir, false ise aktif belgeler arşivlenir
+     * @param progress her parti sonrası o ana kadar işlenen belge sayısıyla çağrılır
+     */
+    public DtoLifecycleResult apply(DtoDocumentLifecycleIU dto, boolean activate, LongConsumer progress) {
+        validate(dto);
+        DtoLifecycleResult result = new DtoLifecycleResult();
+        int batchSize = lifecycleConfig.getBatchSize();
+        long processed = 0L;
+
+        try (ExecutorService pool = dto.isMetadataOnly()
+                ? null
+                : workerThreads.newFixedPool("lifecycle-", lifecycleConfig.getParallelism())) {
+            if (hasIds(dto)) {
+                List<Long> ids = List.copyOf(new LinkedHashSet<>(dto.getDocumentIds()));
+                for (int from = 0; from < ids.size(); from += batchSize) {
+                    List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + batchSize));
+                    // Aktif (arşivlenecek) ya da pasif (geri getirilecek) olanlar okunur; kalanlar atlanır.
+                    List<DocumentLifecycleRow> batch = documentRepository.findLifecycleRowsByIds(chunk, !activate);
+                    result.setSkipped(result.getSkipped() + chunk.size() - batch.size());
+                    applyBatch(batch, activate, pool, result);
+                    processed += chunk.size();
+                    progress.accept(processed);
+                }
+            } else {
+                DtoDocumentFilter filter = dto.getFilter();
+                String name = DocumentService.getNameQuery(filter.getName());
+                DocumentCategory category = DocumentService.getDocumentCategory(filter.getCategory());
+                long afterId = 0L;
+                while (true) {
+                    List<DocumentLifecycleRow> batch = documentRepository.findLifecycleBatch(
+                            filter.getCompanyId(), !activate, afterId, name, filter.getStartDate(),
+                            filter.getEndDate(), category, PageRequest.of(0, batchSize));
+                    if (batch.isEmpty()) {
+                        break;
+                    }
+                    afterId = batch.get(batch.size() - 1).id();
+                    applyBatch(batch, activate, pool, result);
+                    processed += batch.size();
+                    progress.accept(processed);
+                }
+            }
+        }
+        log.info("Bulk {} finished: {} updated, {} skipped, {} failed", activate ? "activation" : "deactivation",
+                result.getUpdated(), result.getSkipped(), result.getFailed());
+        return result;
+    }
+
+    /**
+     * @param pool dosya yeniden adlandırma havuzu; metadataOnly modunda null'dır
+     */
+    private void applyBatch(List<DocumentLifecycleRow> batch, boolean activate, ExecutorService pool,
+                            DtoLifecycleResult result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        // Dosyaları paralel yeniden adlandır; blob'a bağlı (paylaşımlı) dosyalara ve zaten doğru adlı dosyalara dokunulmaz.
+        List<Long> updatableIds = new ArrayList<>(batch.size());
+        List<Rename> renamed = new ArrayList<>();
+        if (pool == null) {
+            batch.forEach(row -> updatableIds.add(row.id()));
+        } else {
+            List<CompletableFuture<RenameOutcome>> outcomes = new ArrayList<>(batch.size());
+            for (DocumentLifecycleRow row : batch) {
+                outcomes.add(needsRename(row, activate)
+                        ? CompletableFuture.supplyAsync(() -> rename(row, activate), pool)
+                        : CompletableFuture.completedFuture(new RenameOutcome(null, null)));
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                DocumentLifecycleRow row = batch.get(i);
+                RenameOutcome outcome = outcomes.get(i).join();
+                if (outcome.error() != null) {
+                    result.setFailed(result.getFailed() + 1);
+                    addFailure(result, row.id(), outcome.error());
+                    continue;
+                }
+                if (outcome.rename() != null) {
+                    renamed.add(outcome.rename());
+                }
+                updatableIds.add(row.id());
+            }
+        }
+        if (updatableIds.isEmpty()) {
+            return;
+        }
+
+        Set<Long> companyIds = new HashSet<>();
+        batch.forEach(row -> companyIds.add(row.companyId()));
+        Set<Long> updatedIds;
+        try {
+            updatedIds = transactionTemplate.execute(status -> {
+                // Okunduktan sonra başka bir istekle durumu değişen belgeler kilitlenmez ve güncellenmez.
+                List<Long> lockedIds = documentRepository.lockIdsByActiveState(updatableIds, !activate);
+                if (lockedIds.isEmpty()) {
+                    return Set.<Long>of();
+                }
+                if (pool == null) {
+                    documentRepository.updateActiveState(lockedIds, activate);
+                } else if (activate) {
+                    documentRepository.restoreAll(lockedIds);
+                } else {
+                    documentRepository.archiveAll(lockedIds);
+                }
+                metadataCacheService.invalidateDocuments(lockedIds);
+                companyIds.forEach(resultCacheService::documentsChanged);
+                return new HashSet<>(lockedIds);
+            });
+        } catch (RuntimeException e) {
+            renamed.forEach(rename -> moveBack(rename.target(), rename.source()));
+            result.setFailed(result.getFailed() + updatableIds.size());
+            updatableIds.forEach(id -> addFailure(result, id, "Failed to update document state: " + e.getMessage()));
+            return;
+        }
+        // Kaydı güncellenmeyen belgelerin dosyaları eski adına döner; aksi halde kayıt ile dosya adı ayrışır.
+        renamed.stream()
+                .filter(rename -> !updatedIds.contains(rename.documentId()))
+                .forEach(rename -> moveBack(rename.target(), rename.source()));
+        result.setUpdated(result.getUpdated() + updatedIds.size());
+        result.setSkipped(result.getSkipped() + updatableIds.size() - updatedIds.size());
+    }
+
+    private boolean needsRename(DocumentLifecycleRow row, boolean activate) {
+        if (row.blobHash() != null) {
+            return false;
+        }
+        if (row.packId() != null) {
+            return activate;
+        }
+        return row.name().startsWith(ARCHIVED_PREFIX) == activate;
+    }
+
+    private RenameOutcome rename(DocumentLifecycleRow row, boolean activate) {
+        if (row.packId() != null) {
+            return extract(row);
+        }
+        Path source = storagePathResolver.locate(row.folderPath(), row.name(), row.storageDepth());
+        if (!Files.exists(source)) {
+            return new RenameOutcome(null, "File not found: " + row.name());
+        }
+        String targetName = activate
+                ? row.name().substring(ARCHIVED_PREFIX.length())
+                : ARCHIVED_PREFIX + row.name();
+        Path target = source.resolveSibling(targetName);
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+            return new RenameOutcome(new Rename(row.id(), source, target), null);
+        } catch (IOException e) {
+            return new RenameOutcome(null, "Failed to rename file: " + row.name() + " | " + e.getMessage());
+        }
+    }
+
+    private RenameOutcome extract(DocumentLifecycleRow row) {
+        String targetName = row.name().startsWith(ARCHIVED_PREFIX)
+                ? row.name().substring(ARCHIVED_PREFIX.length())
+                : row.name();
+        Path target = storagePathResolver.resolve(row.folderPath(), targetName, row.storageDepth());
+        try {
+            Files.createDirectories(target.getParent());
+            packStore.extract(packStore.getPackPath(row.packId()), row.packOffset(), row.packLength(), target);
+            return new RenameOutcome(new Rename(row.id(), null, target), null);
+        } catch (IOException e) {
+            return new RenameOutcome(null, "Failed to extract file from pack: " + row.name() + " | " + e.getMessage());
+        }
+    }
+
+    private void moveBack(Path target, Path source) {
+        if (source == null) {
+            try {
+                Files.deleteIfExists(target);
+            } catch (IOException e) {
+                log.warn("Failed to delete extracted file {}", target, e);
+            }
+            return;
+        }
+        try {
+            Files.move(target, source, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.error("Failed to rename {} back to {}; the record still points at the original name", target, source, e);
+        }
+    }
+
+    private void validate(DtoDocumentLifecycleIU dto) {
+        if (hasIds(dto) == (dto.getFilter() != null)) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.LIFECYCLE_CRITERIA_INVALID,
+                    "Provide either documentIds or filter, but not both."));
+        }
+    }
+
+    private static boolean hasIds(DtoDocumentLifecycleIU dto) {
+        return dto.getDocumentIds() != null && !dto.getDocumentIds().isEmpty();
+    }
+
+    private void addFailure(DtoLifecycleResult result, Long documentId, String message) {
+        if (result.getFailures().size() >= MAX_REPORTED_FAILURES) {
+            return;
+        }
+        DtoLifecycleResult.DtoLifecycleFailure failure = new DtoLifecycleResult.DtoLifecycleFailure();
+        failure.setDocumentId(documentId);
+        failure.setMessage(message);
+        result.getFailures().add(failure);
+    }
+}
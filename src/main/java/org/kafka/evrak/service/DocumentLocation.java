@@ -0,0 +1,37 @@
+package org.kafka.evrak.service;
+
+import org.kafka.evrak.enums.DocumentFormat;
+
+import java.nio.file.Path;
+
+/**
+ * Önbellekte tutulan belge → dosya yolu eşlemesi.
+ * Paketteki belgelerde path paket dosyasıdır; içerik packOffset konumunda packLength uzunluğundadır.
+ */
+public record DocumentLocation(Long id,
+                               Long companyId,
+                               Path path,
+                               String name,
+                               DocumentFormat format,
+                               String contentHash,
+                               boolean active,
+                               boolean compressed,
+                               Long fileSize,
+                               Long storedSize,
+                               Long packOffset,
+                               Long packLength) {
+
+    public boolean packed() {
+        return packOffset != null;
+    }
+
+    /**
+     * Diskteki dosyanın beklenen boyutu; bilinmiyorsa null.
+     */
+    public Long expectedStoredSize() {
+        if (packed()) {
+            return packLength;
+        }
+        return compressed ? storedSize : fileSize;
+    }
+}
@@ -0,0 +1,146 @@
+package org.kafka.evrak.service;
+
+import lombok.RequiredArgsConstructor;
+import org.kafka.evrak.config.PurgeConfig;
+import org.kafka.evrak.config.WorkerThreads;
+import org.kafka.evrak.dto.projection.DocumentFileRef;
+import org.kafka.evrak.dto.response.DtoPurgeResult;
+import org.kafka.evrak.entity.Company;
+import org.kafka.evrak.repository.DocumentRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.LongConsumer;
+
+/**
+ * Bir şirketin aktif veya pasif belgelerini toplu ve kalıcı olarak siler.
+ * - Belgeler keyset ile partiler halinde okunur; entity yüklenmez.
+ * - Dosyalar sınırlı sayıda iş parçacığıyla paralel silinir.
+ * - Her parti ayrı bir transaction'da tek DELETE ifadesiyle silinir.
+ * - Dosyası zaten olmayan belgeler hata sayılmaz; dosyası silinemeyen belgelerin kaydı korunur.
+ *   İşlem yarıda kalırsa tekrar çalıştırılması kalan belgelerden devam etmesini sağlar.
+ */
+@Service
+@RequiredArgsConstructor
+public class DocumentPurgeService {
+
+    private static final int MAX_REPORTED_FAILURES = 1000;
+
+    private final DocumentRepository documentRepository;
+    private final BlobStoreService blobStoreService;
+    private final MetadataCacheService metadataCacheService;
+    private final PreviewService previewService;
+    private final StoragePathResolver storagePathResolver;
+    private final ResultCacheService resultCacheService;
+    private final PurgeConfig purgeConfig;
+    private final WorkerThreads workerThreads;
+    private final PlatformTransactionManager transactionManager;
+
+    private enum FileOutcome { DELETED, MISSING, FAILED }
+
+    public DtoPurgeResult purge(Company company, boolean active) {
+        return purge(company, active, processed -> { });
+    }
+
+    /**
+     * @param progress her parti sonrası o ana kadar işlenen belge sayısıyla çağrılır
+     */
+    public DtoPurgeResult purge(Company company, boolean active, LongConsumer progress) {
+        String companyFolder = company.getFolderPath();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        DtoPurgeResult result = new DtoPurgeResult();
+        long afterId = 0L;
+        long processed = 0L;
+
+        try (ExecutorService pool = workerThreads.newFixedPool("purge-", purgeConfig.getParallelism())) {
+            while (true) {
+                List<DocumentFileRef> batch = documentRepository.findFileRefsBatch(
+                        company.getId(), active, afterId, PageRequest.of(0, purgeConfig.getBatchSize()));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                afterId = batch.get(batch.size() - 1).id();
+
+                // Şirket klasöründeki dosyaları paralel sil
+                List<CompletableFuture<FileOutcome>> outcomes = new ArrayList<>(batch.size());
+                for (DocumentFileRef ref : batch) {
+                    // Blob ve paketteki içerik paylaşımlıdır; yalnızca kayıt silinir.
+                    outcomes.add(ref.blobHash() != null || ref.packId() != null
+                            ? CompletableFuture.completedFuture(FileOutcome.DELETED)
+                            : CompletableFuture.supplyAsync(() -> deleteFile(companyFolder, ref), pool));
+                }
+
+                List<Long> deletableIds = new ArrayList<>(batch.size());
+                Map<String, Long> blobReferences = new HashMap<>();
+                for (int i = 0; i < batch.size(); i++) {
+                    DocumentFileRef ref = batch.get(i);
+                    FileOutcome outcome = outcomes.get(i).join();
+                    if (outcome == FileOutcome.FAILED) {
+                        result.setFailed(result.getFailed() + 1);
+                        addFailure(result, ref.id(), "Failed to delete file: " + ref.name());
+                        continue;
+                    }
+                    if (outcome == FileOutcome.MISSING) {
+                        result.setMissingFiles(result.getMissingFiles() + 1);
+                    }
+                    deletableIds.add(ref.id());
+                    if (ref.blobHash() != null) {
+                        blobReferences.merge(ref.blobHash(), 1L, Long::sum);
+                    }
+                }
+
+                // Kayıtları tek ifadeyle sil, blob referanslarını aynı transaction'da bırak
+                if (!deletableIds.isEmpty()) {
+                    Integer deleted = transactionTemplate.execute(status -> {
+                        int count = documentRepository.deleteAllByIdIn(deletableIds);
+                        blobReferences.forEach(blobStoreService::release);
+                        metadataCacheService.invalidateDocuments(deletableIds);
+                        previewService.delete(deletableIds);
+                        resultCacheService.documentsChanged(company.getId());
+                        return count;
+                    });
+                    result.setDeleted(result.getDeleted() + (deleted == null ? 0 : deleted));
+                }
+
+                processed += batch.size();
+                progress.accept(processed);
+            }
+        }
+        return result;
+    }
+
+    private FileOutcome deleteFile(String companyFolder, DocumentFileRef ref) {
+        try {
+            if (Files.deleteIfExists(storagePathResolver.locate(companyFolder, ref.name(), ref.storageDepth()))) {
+                return FileOutcome.DELETED;
+            }
+            // Kayıt adı ile dosya adı uyuşmuyorsa "archived_" önekli dosyayı da dene
+            return Files.deleteIfExists(
+                    storagePathResolver.locate(companyFolder, "archived_" + ref.name(), ref.storageDepth()))
+                    ? FileOutcome.DELETED
+                    : FileOutcome.MISSING;
+        } catch (IOException e) {
+            return FileOutcome.FAILED;
+        }
+    }
+
+    private void addFailure(DtoPurgeResult result, Long documentId, String message) {
+        if (result.getFailures().size() >= MAX_REPORTED_FAILURES) {
+            return;
+        }
+        DtoPurgeResult.DtoPurgeFailure failure = new DtoPurgeResult.DtoPurgeFailure();
+        failure.setDocumentId(documentId);
+        failure.setMessage(message);
+        result.getFailures().add(failure);
+    }
+}
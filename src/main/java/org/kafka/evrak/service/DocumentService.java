@@ -2,21 +2,37 @@ package org.kafka.evrak.service;
 
 import lombok.RequiredArgsConstructor;
 import org.kafka.evrak.config.FileStorageConfig;
+import org.kafka.evrak.config.UploadSessionConfig;
+import org.kafka.evrak.config.WorkerThreads;
+import org.kafka.evrak.dto.projection.DocumentSummary;
 import org.kafka.evrak.dto.request.DtoDocumentFilter;
 import org.kafka.evrak.dto.request.DtoDocumentIU;
+import org.kafka.evrak.dto.response.DtoBatchUploadResult;
+import org.kafka.evrak.dto.response.DtoCompany;
 import org.kafka.evrak.dto.response.DtoDocument;
+import org.kafka.evrak.dto.response.DtoJob;
+import org.kafka.evrak.dto.response.DtoPurgeResult;
+import org.kafka.evrak.dto.response.DtoSlice;
 import org.kafka.evrak.entity.Company;
 import org.kafka.evrak.entity.Document;
+import org.kafka.evrak.entity.DocumentBlob;
 import org.kafka.evrak.enums.DocumentCategory;
 import org.kafka.evrak.enums.DocumentFormat;
+import org.kafka.evrak.enums.JobPriority;
+import org.kafka.evrak.enums.JobType;
 import org.kafka.evrak.exception.BaseException;
 import org.kafka.evrak.exception.ErrorMessage;
 import org.kafka.evrak.exception.MessageType;
+import org.kafka.evrak.mapper.CompanyMapper;
 import org.kafka.evrak.mapper.DocumentMapper;
 import org.kafka.evrak.repository.CompanyRepository;
 import org.kafka.evrak.repository.DocumentRepository;
+import org.kafka.evrak.service.job.JobService;
+import org.kafka.evrak.util.FileUtil;
+import org.kafka.evrak.util.RepositoryUtil;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -26,9 +42,18 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -37,66 +62,360 @@ public class DocumentService {
     private final DocumentRepository documentRepository;
     private final CompanyRepository companyRepository;
     private final DocumentMapper documentMapper;
+    private final CompanyMapper companyMapper;
     private final FileStorageConfig fileStorageConfig;
+    private final BlobStoreService blobStoreService;
+    private final DocumentPurgeService documentPurgeService;
+    private final JobService jobService;
+    private final UploadSessionConfig uploadSessionConfig;
+    private final MetadataCacheService metadataCacheService;
+    private final ResultCacheService resultCacheService;
+    private final WorkerThreads workerThreads;
+    private final CompressionService compressionService;
+    private final PreviewService previewService;
+    private final StoragePathResolver storagePathResolver;
+    private final PackStore packStore;
+    private final StorageMetrics storageMetrics;
 
-    @Transactional
+    /**
+     * Belge kaydı oluşturur (multipart yükleme).
+     * Dosya sisteme yazılırken veritabanı transaction'ı açık tutulmaz;
+     * böylece büyük yüklemeler süresince bağlantı havuzu meşgul edilmez.
+     */
     public DtoDocument saveDocument(DtoDocumentIU dto, MultipartFile file) {
-        // İlgili şirketin varlığını kontrol et.
-        Company company = companyRepository.findById(dto.getCompanyId())
-                .orElseThrow(() -> new BaseException(new ErrorMessage(
-                        MessageType.NO_RECORD_EXIST, "Company not found for id: " + dto.getCompanyId())));
-
-        // Şirket klasörünün varlığını kontrol et.
-        Path companyFolder = Paths.get(company.getFolderPath());
-        if (!Files.exists(companyFolder)) {
+        try (InputStream content = file.getInputStream()) {
+            return storeDocument(dto, file.getOriginalFilename(), content);
+        } catch (IOException e) {
             throw new BaseException(new ErrorMessage(
-                    MessageType.COMPANY_FOLDER_NOT_FOUND, "Company folder not found. Please add company first."));
+                    MessageType.FOLDER_CREATION_FAILED, "Failed to read uploaded file: " + e.getMessage()));
         }
+    }
+
+    /**
+     * Belge kaydı oluşturur (akış ile yükleme).
+     * İstek gövdesi geçici dosyaya alınmadan, tek geçişte doğrudan şirket klasörüne yazılır.
+     * Boyut, format ve içerik özeti (SHA-256) aynı geçişte belirlenir.
+     */
+    public DtoDocument saveDocumentStream(DtoDocumentIU dto, String originalFilename, InputStream content) {
+        return storeDocument(dto, originalFilename, content);
+    }
+
+    /**
+     * Parçalı yükleme oturumunun parçalarını birleştirerek belge kaydı oluşturur.
+     * Tekilleştirme kapalıysa parçalar yeniden okunmadan (transferTo / taşıma) birleştirilir;
+     * bu durumda içerik özeti hesaplanmaz.
+     */
+    public DtoDocument saveDocumentFromChunks(DtoDocumentIU dto, String originalFilename, List<Path> chunks) {
+        return storeDocument(dto, originalFilename, (target, hashRequired, compress) -> {
+            if (!compress) {
+                return FileUtil.concatAtomically(chunks, target, hashRequired);
+            }
+            try (InputStream content = FileUtil.openConcatenated(chunks)) {
+                return compressionService.write(content, target);
+            }
+        });
+    }
+
+    private DtoDocument storeDocument(DtoDocumentIU dto, String originalFilename, InputStream content) {
+        return storeDocument(dto, originalFilename,
+                (target, hashRequired, compress) -> writeContent(content, target, compress));
+    }
+
+    /**
+     * İçeriği hedef yola yazan strateji. hashRequired true ise dönen sonuçta özet bulunmalıdır;
+     * compress true ise içerik gzip ile sıkıştırılarak yazılmalıdır (bkz. CompressionService).
+     */
+    @FunctionalInterface
+    private interface ContentWriter {
+        FileUtil.StoredFile write(Path target, boolean hashRequired, boolean compress) throws IOException;
+    }
+
+    private FileUtil.StoredFile writeContent(InputStream content, Path target, boolean compress) throws IOException {
+        return compress
+                ? compressionService.write(content, target)
+                : FileUtil.writeAtomically(content, target);
+    }
+
+    private DtoDocument storeDocument(DtoDocumentIU dto, String originalFilename, ContentWriter writer) {
+        // İlgili şirketin ve klasörünün varlığını kontrol et (önbellekten).
+        CompanyMetadata company = getUploadTarget(dto.getCompanyId());
 
-        // Dosya adı kontrolü
-        String originalFilename = file.getOriginalFilename();
-        if (originalFilename == null || originalFilename.trim().isEmpty()) {
+        Path companyFolder = Paths.get(company.folderPath());
+        Document document = prepareDocument(dto, companyRepository.getReferenceById(company.id()), companyFolder,
+                originalFilename, writer);
+        Document savedDocument;
+        try {
+            savedDocument = documentRepository.save(document);
+        } catch (RuntimeException e) {
+            // Kayıt eklenemezse yazılan dosya silinir / alınan blob referansı bırakılır.
+            discardStoredContent(document, companyFolder);
+            throw e;
+        }
+        resultCacheService.documentsChanged(company.id());
+        previewService.schedule(savedDocument.getId(), savedDocument.getType());
+        return documentMapper.toDto(savedDocument);
+    }
+
+    /**
+     * Yükleme yapılacak şirketi döner. Klasörü bulunamayan şirket önbellekte tutulmaz,
+     * böylece klasör sonradan oluşturulursa bir sonraki istekte tekrar kontrol edilir.
+     */
+    private CompanyMetadata getUploadTarget(Long companyId) {
+        CompanyMetadata company = metadataCacheService.getCompany(companyId);
+        if (!company.folderExists()) {
+            metadataCacheService.invalidateCompany(companyId);
             throw new BaseException(new ErrorMessage(
-                    MessageType.GENERAL_EXCEPTION, "File name is empty."));
+                    MessageType.COMPANY_FOLDER_NOT_FOUND, "Company folder not found. Please add company first."));
         }
+        return company;
+    }
+
+    /**
+     * Dosyayı depoya yazar ve kaydedilmeye hazır (henüz kaydedilmemiş) Document entity'sini döner.
+     * Şirket ve klasör kontrolleri çağıran tarafta yapılmış olmalıdır; company bir referans (proxy) olabilir.
+     */
+    private Document prepareDocument(DtoDocumentIU dto, Company company, Path companyFolder,
+                                     String originalFilename, ContentWriter writer) {
+        // Dosya adı kontrolü: tüm yükleme yolları (multipart, akış, parçalı, toplu) buradan geçer.
+        String filename = FileUtil.sanitizeFilename(originalFilename);
 
         // Benzersiz dosya adı oluştur (UUID + _ + original ad)
-        String uniqueNumber = UUID.randomUUID().toString().replace("-", "");
-        String storedFilename = uniqueNumber + "_" + originalFilename;
+        String storedFilename = FileUtil.newStoredName(filename);
 
         // Dosyanın uzantısını alıp, DocumentFormat belirleyin.
-        int dotIndex = originalFilename.lastIndexOf('.');
-        if (dotIndex < 0 || dotIndex == originalFilename.length() - 1) {
+        DocumentFormat format = FileUtil.resolveFormat(filename);
+
+        // Dosyayı şirket klasörü altına (alt klasör yerleşimine göre) benzersiz isimle yazın (geçici ad + atomik taşıma).
+        // Tekilleştirme açıksa içerik blob deposuna alınır, aynı içerik ikinci kez saklanmaz.
+        // Sıkıştırma açıksa metin belgeleri şirket klasörüne gzip olarak yazılır.
+        FileUtil.StoredFile storedFile;
+        DocumentBlob blob = null;
+        boolean compress = false;
+        try {
+            long start = System.nanoTime();
+            if (fileStorageConfig.isDedupEnabled()) {
+                Path tempPath = blobStoreService.newTempPath();
+                storedFile = storageMetrics.time("write", () -> writer.write(tempPath, true, false));
+                blob = acquireBlob(tempPath, storedFile);
+            } else {
+                compress = compressionService.shouldCompress(format);
+                Path target = storagePathResolver.prepareTarget(companyFolder, storedFilename);
+                boolean compressed = compress;
+                storedFile = storageMetrics.time("write", () -> writer.write(target, false, compressed));
+            }
+            storageMetrics.recordUpload(storedFile.size(), System.nanoTime() - start, company.getId());
+        } catch (IOException e) {
             throw new BaseException(new ErrorMessage(
-                    MessageType.GENERAL_EXCEPTION, "File does not have a valid extension."));
+                    MessageType.FOLDER_CREATION_FAILED, "Failed to store file: " + storedFilename + " | " + e.getMessage()));
         }
-        String ext = originalFilename.substring(dotIndex + 1).toUpperCase();
-        DocumentFormat format;
-        try {
-            format = DocumentFormat.valueOf(ext);
-        } catch (IllegalArgumentException e) {
+
+        // Document entity'sini oluşturun.
+        Document document = documentMapper.toEntity(dto);
+        document.setName(storedFilename); // Benzersiz ismi kaydet
+        document.setType(format);
+        document.setFileSize(storedFile.size());
+        document.setContentHash(storedFile.contentHash());
+        document.setCompressed(compress);
+        document.setStoredSize(compress ? storedFile.storedSize() : null);
+        document.setBlob(blob);
+        document.setStorageDepth(blob == null ? storagePathResolver.getDepth() : 0);
+        document.setCompany(company);
+        return document;
+    }
+
+    /**
+     * Birden çok belgeyi tek istekte kaydeder (dosyalar ve bilgileri sıra ile eşleşir).
+     * - Şirketler tek sorguyla yüklenir, klasör kontrolü şirket başına bir kez yapılır.
+     * - Dosyalar sınırlı sayıda iş parçacığıyla paralel yazılır.
+     * - Kayıtlar tek transaction'da JDBC batch olarak eklenir (SEQUENCE id + hibernate.jdbc.batch_size).
+     * Her dosya için ayrı sonuç döner; bir dosyanın hatası diğerlerini etkilemez.
+     */
+    public List<DtoBatchUploadResult> saveDocumentBatch(List<DtoDocumentIU> dtos, List<MultipartFile> files) {
+        if (dtos.size() != files.size()) {
             throw new BaseException(new ErrorMessage(
-                    MessageType.GENERAL_EXCEPTION, "Unsupported file format: " + ext));
+                    MessageType.GENERAL_EXCEPTION,
+                    "Document count (" + dtos.size() + ") does not match file count (" + files.size() + ")."));
+        }
+        if (files.size() > uploadSessionConfig.getBatchMaxFiles()) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.GENERAL_EXCEPTION, "A batch cannot exceed " + uploadSessionConfig.getBatchMaxFiles() + " files."));
+        }
+        if (files.isEmpty()) {
+            return List.of();
+        }
+
+        // Şirketleri (önbellekten) yükle, klasörlerini bir kez kontrol et.
+        Map<Long, CompanyMetadata> companies = new HashMap<>();
+        Map<Long, BaseException> companyErrors = new HashMap<>();
+        for (Long companyId : dtos.stream().map(DtoDocumentIU::getCompanyId).collect(Collectors.toSet())) {
+            try {
+                companies.put(companyId, getUploadTarget(companyId));
+            } catch (BaseException e) {
+                companyErrors.put(companyId, e);
+            }
         }
 
-        // Dosyayı şirket klasörü altına benzersiz isimle kopyalayın.
-        Path targetPath = companyFolder.resolve(storedFilename);
+        // Dosyaları paralel yaz.
+        List<CompletableFuture<Document>> prepared = new ArrayList<>(files.size());
+        int parallelism = Math.min(uploadSessionConfig.getBatchParallelism(), files.size());
+        try (ExecutorService pool = workerThreads.newFixedPool("upload-batch-", parallelism)) {
+            for (int i = 0; i < files.size(); i++) {
+                DtoDocumentIU dto = dtos.get(i);
+                MultipartFile file = files.get(i);
+                prepared.add(CompletableFuture.supplyAsync(
+                        () -> prepareBatchDocument(dto, file, companies, companyErrors), pool));
+            }
+        }
+
+        List<DtoBatchUploadResult> results = new ArrayList<>(files.size());
+        List<Document> documents = new ArrayList<>(files.size());
+        List<DtoBatchUploadResult> pending = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            DtoBatchUploadResult result = new DtoBatchUploadResult();
+            result.setIndex(i);
+            result.setFilename(files.get(i).getOriginalFilename());
+            try {
+                documents.add(prepared.get(i).join());
+                pending.add(result);
+            } catch (CompletionException e) {
+                result.setErrorMessage(e.getCause().getMessage());
+            }
+            results.add(result);
+        }
+
+        // Kayıtları toplu ekle; başarısız olursa yazılan dosyaları geri al.
+        if (!documents.isEmpty()) {
+            List<Document> savedDocuments;
+            try {
+                savedDocuments = documentRepository.saveAll(documents);
+            } catch (RuntimeException e) {
+                documents.forEach(document -> discardStoredContent(document,
+                        Paths.get(companies.get(document.getCompany().getId()).folderPath())));
+                throw new BaseException(new ErrorMessage(
+                        MessageType.GENERAL_EXCEPTION, "Failed to save document batch: " + e.getMessage()));
+            }
+            companies.keySet().forEach(resultCacheService::documentsChanged);
+            for (int i = 0; i < savedDocuments.size(); i++) {
+                previewService.schedule(savedDocuments.get(i).getId(), savedDocuments.get(i).getType());
+                pending.get(i).setSuccess(true);
+                pending.get(i).setDocument(documentMapper.toDto(savedDocuments.get(i)));
+            }
+        }
+        return results;
+    }
+
+    private Document prepareBatchDocument(DtoDocumentIU dto, MultipartFile file,
+                                          Map<Long, CompanyMetadata> companies, Map<Long, BaseException> companyErrors) {
+        CompanyMetadata company = companies.get(dto.getCompanyId());
+        if (company == null) {
+            throw companyErrors.get(dto.getCompanyId());
+        }
+        return prepareDocument(dto, companyRepository.getReferenceById(company.id()), Paths.get(company.folderPath()),
+                file.getOriginalFilename(), (target, hashRequired, compress) -> {
+                    try (InputStream content = file.getInputStream()) {
+                        return writeContent(content, target, compress);
+                    }
+                });
+    }
+
+    /**
+     * Kaydı oluşturulamayan belgenin yazılmış içeriğini geri alır.
+     */
+    private void discardStoredContent(Document document, Path companyFolder) {
         try {
-            Files.copy(file.getInputStream(), targetPath, StandardCopyOption.REPLACE_EXISTING);
-        } catch (IOException e) {
+            if (document.getBlob() != null) {
+                blobStoreService.release(document.getBlob());
+            } else {
+                Path path = storagePathResolver.resolve(companyFolder, document.getName(), document.getStorageDepth());
+                storageMetrics.time("delete", () -> Files.deleteIfExists(path));
+            }
+        } catch (IOException | RuntimeException e) {
+            // Geri alma en iyi çabadır; asıl hata çağırana iletilir.
+        }
+    }
+
+    /**
+     * Şirkette zaten bulunan bir içerik için (SHA-256 özetiyle) byte göndermeden belge kaydı oluşturur.
+     * Sadece tekilleştirilmiş depolama modunda ve içerik aynı şirketin bir belgesine bağlıysa kullanılabilir.
+     */
+    @Transactional
+    public DtoDocument saveDocumentByHash(DtoDocumentIU dto, String originalFilename, String contentHash) {
+        if (!fileStorageConfig.isDedupEnabled()) {
             throw new BaseException(new ErrorMessage(
-                    MessageType.FOLDER_CREATION_FAILED, "Failed to store file: " + storedFilename + " | " + e.getMessage()));
+                    MessageType.DEDUP_STORAGE_DISABLED, "Saving by content hash requires file.dedup-enabled=true."));
+        }
+        Company company = companyRepository.findById(dto.getCompanyId())
+                .orElseThrow(() -> new BaseException(new ErrorMessage(
+                        MessageType.NO_RECORD_EXIST, "Company not found for id: " + dto.getCompanyId())));
+        String filename = FileUtil.sanitizeFilename(originalFilename);
+        DocumentFormat format = FileUtil.resolveFormat(filename);
+        // Kısayol yalnızca şirketin kendi belgelerinde bulunan içerik için geçerlidir; özeti bilmek
+        // başka bir şirketin içeriğine erişim sağlamamalıdır. Diğer durumlar "bulunamadı" olarak yanıtlanır.
+        String hash = normalizeContentHash(contentHash);
+        if (!documentRepository.existsByCompanyIdAndBlobContentHash(company.getId(), hash)) {
+            throw new BaseException(new ErrorMessage(MessageType.BLOB_NOT_FOUND, "No blob for hash: " + hash));
         }
+        DocumentBlob blob = blobStoreService.acquireExisting(hash);
 
-        // Document entity'sini oluşturun.
         Document document = documentMapper.toEntity(dto);
-        document.setName(storedFilename); // Benzersiz ismi kaydet
+        document.setName(FileUtil.newStoredName(filename));
         document.setType(format);
+        document.setFileSize(blob.getSize());
+        document.setContentHash(blob.getContentHash());
+        document.setBlob(blob);
         document.setCompany(company);
         Document savedDocument = documentRepository.save(document);
+        resultCacheService.documentsChanged(company.getId());
+        previewService.schedule(savedDocument.getId(), savedDocument.getType());
         return documentMapper.toDto(savedDocument);
     }
 
+    /**
+     * Verilen SHA-256 özetine sahip içeriğin şirketin belgelerinde olup olmadığını döner.
+     * İstemci, true dönerse dosyayı göndermeden {@link #saveDocumentByHash} kullanabilir.
+     */
+    @Transactional(readOnly = true)
+    public boolean existsByContentHash(Long companyId, String contentHash) {
+        if (!fileStorageConfig.isDedupEnabled()) {
+            return false;
+        }
+        return documentRepository.existsByCompanyIdAndBlobContentHash(companyId, normalizeContentHash(contentHash));
+    }
+
+    private DocumentBlob acquireBlob(Path tempPath, FileUtil.StoredFile storedFile) {
+        try {
+            return blobStoreService.acquire(tempPath, storedFile);
+        } catch (DataIntegrityViolationException e) {
+            // Aynı içerik eşzamanlı olarak ilk kez yüklendi; diğer isteğin oluşturduğu blob'a referans ekle.
+            return blobStoreService.acquireExisting(storedFile.contentHash());
+        }
+    }
+
+    private String normalizeContentHash(String contentHash) {
+        String hash = contentHash == null ? "" : contentHash.trim().toLowerCase();
+        if (!hash.matches("[0-9a-f]{64}")) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.GENERAL_EXCEPTION, "Content hash must be a SHA-256 hex string."));
+        }
+        return hash;
+    }
+
+    /**
+     * Belgenin dosya sistemindeki yolunu döner.
+     * Blob'a bağlı belgelerde içerik adresli yol, diğerlerinde şirket klasörü altındaki yerleşime göre yol kullanılır.
+     */
+    private Path resolveDocumentPath(Document document) {
+        if (document.getBlob() != null) {
+            return blobStoreService.getBlobPath(document.getBlob().getContentHash());
+        }
+        return storagePathResolver.locate(
+                document.getCompany().getFolderPath(), document.getName(), document.getStorageDepth());
+    }
+
+    private boolean exists(Path path) {
+        return storageMetrics.time("exists", () -> Files.exists(path));
+    }
+
     /**
      * Belge silme (soft delete) işlemi:
      * - Document entity'sinde isActive false yapılır.
@@ -112,18 +431,26 @@ public class DocumentService {
                     MessageType.DOCUMENT_ALREADY_INACTIVE, "Document is already inactive."));
         }
 
-        Company company = document.getCompany();
-        Path filePath = Paths.get(company.getFolderPath()).resolve(document.getName());
-        Path archivedPath = filePath.getParent().resolve("archived_" + filePath.getFileName().toString());
-        try {
-            Files.move(filePath, archivedPath, StandardCopyOption.REPLACE_EXISTING);
-        } catch (IOException e) {
-            throw new BaseException(new ErrorMessage(
-                    MessageType.FOLDER_RENAME_FAILED, "Failed to archive document file: " + e.getMessage()));
+        // Blob'a bağlı belgelerin dosyası paylaşımlıdır; yalnızca kayıt güncellenir.
+        // Ad zaten önekliyse (metadata-only geri getirilmiş belge) ya da içerik paketteyse dosya adı değiştirilmez.
+        boolean prefixed = document.getName().startsWith("archived_");
+        if (document.getBlob() == null && document.getPackId() == null && !prefixed) {
+            Path filePath = resolveDocumentPath(document);
+            Path archivedPath = filePath.getParent().resolve("archived_" + filePath.getFileName().toString());
+            try {
+                storageMetrics.time("move", () -> Files.move(filePath, archivedPath, StandardCopyOption.REPLACE_EXISTING));
+            } catch (IOException e) {
+                throw new BaseException(new ErrorMessage(
+                        MessageType.FOLDER_RENAME_FAILED, "Failed to archive document file: " + e.getMessage()));
+            }
         }
         document.setActive(false);
-        document.setName("archived_" + document.getName());
+        if (!prefixed) {
+            document.setName("archived_" + document.getName());
+        }
         Document savedDocument = documentRepository.save(document);
+        metadataCacheService.invalidateDocument(documentId);
+        resultCacheService.documentsChanged(document.getCompany().getId());
         return savedDocument.getId();
     }
 
@@ -142,91 +469,218 @@ public class DocumentService {
                     MessageType.DOCUMENT_ALREADY_ACTIVE, "Document is already active."));
         }
 
-        Company company = document.getCompany();
-        Path filePath = Paths.get(company.getFolderPath()).resolve(document.getName());
-        String currentName = filePath.getFileName().toString();
-        if (!currentName.startsWith("archived_")) {
-            throw new BaseException(new ErrorMessage(
-                    MessageType.GENERAL_EXCEPTION, "Document file does not have archived prefix."));
-        }
-        String restoredName = currentName.substring("archived_".length());
-        Path restoredPath = filePath.getParent().resolve(restoredName);
-        try {
-            Files.move(filePath, restoredPath, StandardCopyOption.REPLACE_EXISTING);
-        } catch (IOException e) {
-            throw new BaseException(new ErrorMessage(
-                    MessageType.FOLDER_RENAME_FAILED, "Failed to restore document file: " + e.getMessage()));
+        // Öneksiz ad, metadata-only arşivlenmiş belgedir; yalnızca durum geri alınır.
+        String currentName = document.getName();
+        boolean prefixed = currentName.startsWith("archived_");
+        String restoredName = prefixed ? currentName.substring("archived_".length()) : currentName;
+        // Blob'a bağlı belgelerin dosyası paylaşımlıdır; yalnızca kayıt güncellenir.
+        if (document.getBlob() == null && document.getPackId() != null) {
+            // Paketteki belge şirket klasörüne çıkarılır; paketteki kopya yeniden paketlemede geri kazanılır.
+            Path restoredPath = storagePathResolver.resolve(
+                    document.getCompany().getFolderPath(), restoredName, document.getStorageDepth());
+            try {
+                storageMetrics.time("create_directories", () -> Files.createDirectories(restoredPath.getParent()));
+                storageMetrics.time("extract", () -> packStore.extract(packStore.getPackPath(document.getPackId()),
+                        document.getPackOffset(), document.getPackLength(), restoredPath));
+            } catch (IOException e) {
+                throw new BaseException(new ErrorMessage(
+                        MessageType.FOLDER_RENAME_FAILED, "Failed to restore document from pack: " + e.getMessage()));
+            }
+            document.setPackId(null);
+            document.setPackOffset(null);
+            document.setPackLength(null);
+        } else if (document.getBlob() == null && prefixed) {
+            Path filePath = resolveDocumentPath(document);
+            Path restoredPath = filePath.getParent().resolve(restoredName);
+            try {
+                storageMetrics.time("move", () -> Files.move(filePath, restoredPath, StandardCopyOption.REPLACE_EXISTING));
+            } catch (IOException e) {
+                throw new BaseException(new ErrorMessage(
+                        MessageType.FOLDER_RENAME_FAILED, "Failed to restore document file: " + e.getMessage()));
+            }
         }
         document.setActive(true);
         document.setName(restoredName);
         Document savedDocument = documentRepository.save(document);
+        metadataCacheService.invalidateDocument(documentId);
+        resultCacheService.documentsChanged(document.getCompany().getId());
         return savedDocument.getId();
     }
 
     /**
      * Belirli bir şirketin aktif belgelerini, filtre kriterlerine göre getirir.
      * Filtreleme: name (kısmı), createdAt aralığı, category (GELEN/GIDEN).
-     * Sonuçlar id'ye göre DESC sıralanır.
+     * Sonuçlar id'ye göre DESC sıralanır. Aynı sorgu, şirketin belgeleri değişene kadar önbellekten döner.
      */
-    @Transactional(readOnly = true)
     public Page<DtoDocument> filterActiveDocuments(DtoDocumentFilter filter, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("id").descending());
-        Page<Document> documentPage = documentRepository.filterDocuments(
-                filter.getCompanyId(),
-                true,
-                filter.getName(),
-                filter.getStartDate(),
-                filter.getEndDate(),
-                getDocumentCategory(filter.getCategory()),
-                pageable
-        );
-        return documentPage.map(documentMapper::toDto);
+        return filterDocuments(filter, true, page, size);
     }
 
     /**
      * Belirli bir şirketin pasif belgelerini, filtre kriterlerine göre getirir.
      * Filtreleme: name (kısmı), createdAt aralığı, category (GELEN/GIDEN).
-     * Sonuçlar id'ye göre DESC sıralanır.
+     * Sonuçlar id'ye göre DESC sıralanır. Aynı sorgu, şirketin belgeleri değişene kadar önbellekten döner.
      */
-    @Transactional(readOnly = true)
     public Page<DtoDocument> filterInactiveDocuments(DtoDocumentFilter filter, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("id").descending());
-        Page<Document> documentPage = documentRepository.filterDocuments(
-                filter.getCompanyId(),
-                false,
-                filter.getName(),
-                filter.getStartDate(),
-                filter.getEndDate(),
-                getDocumentCategory(filter.getCategory()),
-                pageable
-        );
-        return documentPage.map(documentMapper::toDto);
+        return filterDocuments(filter, false, page, size);
     }
 
 
     /**
-     * Belge ID'sine göre dosya (file) bilgisini Resource olarak döner.
-     * Bu metot, dosya sistemindeki belge dosyasını erişime açar.
+     * Aktif belgeleri cursor tabanlı (keyset) sayfalama ile getirir.
+     * COUNT sorgusu çalıştırılmaz; derin sayfalar da ilk sayfa kadar hızlıdır.
      */
     @Transactional(readOnly = true)
-    public Resource getDocumentFile(Long documentId) {
-        Document document = documentRepository.findById(documentId)
-                .orElseThrow(() -> new BaseException(new ErrorMessage(
-                        MessageType.NO_RECORD_EXIST, "Document not found.")));
-        Company company = document.getCompany();
-        Path filePath = Paths.get(company.getFolderPath()).resolve(document.getName());
-        try {
-            Resource resource = new UrlResource(filePath.toUri());
-            if (resource.exists() && resource.isReadable()) {
-                return resource;
-            } else {
+    public DtoSlice<DtoDocument> seekActiveDocuments(DtoDocumentFilter filter, String cursor, int size) {
+        return seekDocuments(filter, true, cursor, size);
+    }
+
+    /**
+     * Pasif belgeleri cursor tabanlı (keyset) sayfalama ile getirir.
+     */
+    @Transactional(readOnly = true)
+    public DtoSlice<DtoDocument> seekInactiveDocuments(DtoDocumentFilter filter, String cursor, int size) {
+        return seekDocuments(filter, false, cursor, size);
+    }
+
+    private DtoSlice<DtoDocument> seekDocuments(DtoDocumentFilter filter, boolean active, String cursor, int size) {
+        String name = getNameQuery(filter.getName());
+        Long afterId = RepositoryUtil.decodeCursor(cursor);
+        DocumentCategory category = getDocumentCategory(filter.getCategory());
+        List<DocumentSummary> documents = name != null
+                ? documentRepository.seekDocumentsByName(filter.getCompanyId(), active, afterId, name,
+                        filter.getStartDate(), filter.getEndDate(), category, RepositoryUtil.seekPage(size))
+                : documentRepository.seekDocuments(filter.getCompanyId(), active, afterId, null,
+                        filter.getStartDate(), filter.getEndDate(), category, RepositoryUtil.seekPage(size));
+        DtoSlice<DtoDocument> slice = RepositoryUtil.toSlice(documents, size,
+                DocumentSummary::id, documentMapper::toDto);
+        attachCompany(slice.getItems(), filter);
+        return slice;
+    }
+
+    /**
+     * Ad verilmişse trigram indeksini kullanabilen ayrı arama sorgusu, verilmemişse genel filtre çalıştırılır.
+     */
+    private Page<DtoDocument> filterDocuments(DtoDocumentFilter filter, boolean active, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by("id").descending());
+        String name = getNameQuery(filter.getName());
+        DocumentCategory category = getDocumentCategory(filter.getCategory());
+        List<Object> params = Arrays.asList(active, name, filter.getStartDate(), filter.getEndDate(), category,
+                filter.isIncludeCompany(), page, size);
+        return resultCacheService.getDocumentPage(filter.getCompanyId(), params, () -> {
+            Page<DocumentSummary> documentPage = name != null
+                    ? documentRepository.searchDocumentsByName(filter.getCompanyId(), active, name,
+                            filter.getStartDate(), filter.getEndDate(), category, pageable)
+                    : documentRepository.filterDocuments(filter.getCompanyId(), active, null,
+                            filter.getStartDate(), filter.getEndDate(), category, pageable);
+            Page<DtoDocument> result = documentPage.map(documentMapper::toDto);
+            attachCompany(result.getContent(), filter);
+            return result;
+        });
+    }
+
+    /**
+     * İstenmişse şirket bilgisini ekler. Filtre tek bir şirkete ait olduğundan şirket satır başına
+     * JOIN ile değil, sayfa başına tek bir projeksiyon sorgusuyla okunur ve tüm belgelerde paylaşılır.
+     */
+    private void attachCompany(List<DtoDocument> documents, DtoDocumentFilter filter) {
+        if (!filter.isIncludeCompany() || documents.isEmpty()) {
+            return;
+        }
+        DtoCompany company = companyRepository.findSummaryById(filter.getCompanyId())
+                .map(companyMapper::toDto)
+                .orElse(null);
+        documents.forEach(document -> document.setDtoCompany(company));
+    }
+
+    /**
+     * Şirketin belge listesinin güncel ETag değerini döner (veritabanına gitmez).
+     */
+    public String getDocumentListETag(Long companyId) {
+        return resultCacheService.getDocumentListETag(companyId);
+    }
+
+    // Boş veya sadece boşluktan oluşan ad araması filtre uygulanmamış sayılır.
+    static String getNameQuery(String name) {
+        return name == null || name.isBlank() ? null : name.trim();
+    }
+
+    /**
+     * Belge ID'sine göre indirilecek dosyanın yolunu ve önbellek doğrulayıcılarını döner.
+     * Konum bilgisi önbellekten okunur; sık indirilen belgelerde veritabanına gidilmez.
+     * Dosyanın kendisi controller katmanında (Range / koşullu GET desteğiyle) sunulur.
+     */
+    public DocumentFile getDocumentFile(Long documentId) {
+        DocumentLocation location = metadataCacheService.getDocumentLocation(documentId);
+        BasicFileAttributes attributes = readFileAttributes(location);
+        if (attributes == null || !matchesStoredSize(location, attributes)) {
+            // Dosya, konum önbelleğe alındıktan sonra taşınmış (yerleşim geçişi, paketleme) veya
+            // değiştirilmiş (sıkıştırma geçişi) olabilir; konum bir kez veritabanından yeniden çözülür.
+            metadataCacheService.invalidateDocument(documentId);
+            location = metadataCacheService.getDocumentLocation(documentId);
+            attributes = readFileAttributes(location);
+            if (attributes == null) {
+                metadataCacheService.invalidateDocument(documentId);
                 throw new BaseException(new ErrorMessage(
                         MessageType.GENERAL_EXCEPTION, "File not found or not readable."));
             }
+        }
+        long contentLength = location.packed() ? location.packLength() : attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        String validator = location.contentHash() != null
+                ? location.contentHash().substring(0, 16)
+                : Long.toHexString(contentLength) + "-" + Long.toHexString(lastModified);
+        return new DocumentFile(location.path(), location.name(), location.format(),
+                contentLength, lastModified, "\"" + location.id() + "-" + validator + "\"",
+                location.compressed(), location.compressed() ? location.fileSize() : contentLength,
+                location.packOffset());
+    }
+
+    private static boolean matchesStoredSize(DocumentLocation location, BasicFileAttributes attributes) {
+        Long expectedSize = location.expectedStoredSize();
+        if (location.packed()) {
+            return location.packOffset() + expectedSize <= attributes.size();
+        }
+        return expectedSize == null || expectedSize == attributes.size();
+    }
+
+    private BasicFileAttributes readFileAttributes(DocumentLocation location) {
+        try {
+            return storageMetrics.time("read_attributes",
+                    () -> Files.readAttributes(location.path(), BasicFileAttributes.class));
         } catch (IOException e) {
-            throw new BaseException(new ErrorMessage(
-                    MessageType.GENERAL_EXCEPTION, "Error reading file: " + e.getMessage()));
+            return null;
+        }
+    }
+
+    /**
+     * Görsel belgenin önizlemesini döner; henüz oluşturulmadıysa ilk istekte oluşturulur.
+     */
+    public PreviewFile getDocumentPreview(Long documentId) {
+        return previewService.getPreview(documentId);
+    }
+
+    /**
+     * İndirilecek dosyayı özgün içeriğiyle okuyan akış döner (sıkıştırılmış dosyalar okunurken açılır).
+     */
+    public InputStream openDocumentContent(DocumentFile documentFile) throws IOException {
+        if (documentFile.packed()) {
+            return storageMetrics.time("open", () -> compressionService.open(
+                    getStoredResource(documentFile).getInputStream(), documentFile.compressed()));
+        }
+        return storageMetrics.time("open", () -> compressionService.open(documentFile.path(), documentFile.compressed()));
+    }
+
+    /**
+     * Dosyayı diskte saklandığı haliyle (sıkıştırılmışsa gzip) sunan Resource döner.
+     * Paketteki belgeler paket dosyası üzerinden bellek eşlemeli okunur.
+     */
+    public Resource getStoredResource(DocumentFile documentFile) throws IOException {
+        if (documentFile.packed()) {
+            return packStore.openResource(documentFile.path(), documentFile.packOffset(),
+                    documentFile.contentLength(), documentFile.filename());
         }
+        return new FileSystemResource(documentFile.path());
     }
 
     @Transactional
@@ -236,23 +690,45 @@ public class DocumentService {
                 .orElseThrow(() -> new BaseException(new ErrorMessage(
                         MessageType.NO_RECORD_EXIST, "Document not found.")));
 
+        // Blob'a bağlı belgede kayıt silinir ve blob referansı bırakılır (son referanssa dosya silinir).
+        if (document.getBlob() != null) {
+            DocumentBlob blob = document.getBlob();
+            documentRepository.delete(document);
+            blobStoreService.release(blob);
+            metadataCacheService.invalidateDocument(documentId);
+            resultCacheService.documentsChanged(document.getCompany().getId());
+            previewService.delete(List.of(documentId));
+            return documentId;
+        }
+
         Company company = document.getCompany();
 
+        // Paketteki belgede yalnızca kayıt silinir; paketteki kopya yeniden paketlemede geri kazanılır.
+        if (document.getPackId() != null) {
+            documentRepository.delete(document);
+            metadataCacheService.invalidateDocument(documentId);
+            resultCacheService.documentsChanged(company.getId());
+            previewService.delete(List.of(documentId));
+            return documentId;
+        }
+
         // İlk olarak, veritabanındaki isme göre dosya yolunu oluştur
-        Path filePath = Paths.get(company.getFolderPath()).resolve(document.getName());
+        Path filePath = resolveDocumentPath(document);
 
         // Dosya mevcut değilse, "archived_" eki ile de kontrol edelim
-        if (!Files.exists(filePath)) {
-            filePath = Paths.get(company.getFolderPath()).resolve("archived_" + document.getName());
-            if (!Files.exists(filePath)) {
+        if (!exists(filePath)) {
+            filePath = storagePathResolver.locate(
+                    company.getFolderPath(), "archived_" + document.getName(), document.getStorageDepth());
+            if (!exists(filePath)) {
                 throw new BaseException(new ErrorMessage(
                         MessageType.NO_RECORD_EXIST, "Document file not found on file system."));
             }
         }
 
         // Dosya sisteminden silme işlemi
+        Path deletedPath = filePath;
         try {
-            Files.delete(filePath);
+            storageMetrics.run("delete", () -> Files.delete(deletedPath));
         } catch (IOException e) {
             throw new BaseException(new ErrorMessage(
                     MessageType.DOCUMENT_DELETION_FAILED, "Failed to delete document file: " + e.getMessage()));
@@ -260,72 +736,63 @@ public class DocumentService {
 
         // Belgeyi veritabanından kalıcı olarak sil
         documentRepository.delete(document);
+        metadataCacheService.invalidateDocument(documentId);
+        resultCacheService.documentsChanged(company.getId());
+        previewService.delete(List.of(documentId));
 
         return documentId;
     }
 
-    @Transactional
-    public int deleteAllActiveDocuments(Long companyId) {
-        Company company = companyRepository.findById(companyId)
-                .orElseThrow(() -> new BaseException(new ErrorMessage(
-                        MessageType.NO_RECORD_EXIST, "Company not found for id: " + companyId)));
+    /**
+     * Bir şirkete ait tüm aktif belgeleri kalıcı olarak siler (partiler halinde, bkz. DocumentPurgeService).
+     */
+    public DtoPurgeResult deleteAllActiveDocuments(Long companyId) {
+        return documentPurgeService.purge(getCompanyForPurge(companyId, true), true);
+    }
 
-        // Aktif doküman var mı kontrol et
-        if (!documentRepository.existsByCompanyIdAndIsActive(companyId, true)) {
-            throw new BaseException(new ErrorMessage(
-                    MessageType.NO_ACTIVE_DOCUMENTS_FOUND, "No active documents found for company: " + companyId));
-        }
+    /**
+     * Bir şirkete ait tüm pasif belgeleri kalıcı olarak siler (partiler halinde, bkz. DocumentPurgeService).
+     */
+    public DtoPurgeResult deleteAllInactiveDocuments(Long companyId) {
+        return documentPurgeService.purge(getCompanyForPurge(companyId, false), false);
+    }
 
-        List<Document> documents = documentRepository.findByCompanyIdAndIsActive(companyId, true);
-        deleteDocumentsAndFiles(company, documents);
-        return documents.size();
+    /**
+     * Aktif belgelerin toplu silinmesini arka plan işi olarak kuyruğa alır ve işi hemen döner.
+     */
+    public DtoJob submitDeleteAllActiveDocuments(Long companyId) {
+        getCompanyForPurge(companyId, true);
+        return jobService.submit(JobType.PURGE_ACTIVE_DOCUMENTS, companyId, null, JobPriority.LOW);
     }
 
-    @Transactional
-    public int deleteAllInactiveDocuments(Long companyId) {
+    /**
+     * Pasif belgelerin toplu silinmesini arka plan işi olarak kuyruğa alır ve işi hemen döner.
+     */
+    public DtoJob submitDeleteAllInactiveDocuments(Long companyId) {
+        getCompanyForPurge(companyId, false);
+        return jobService.submit(JobType.PURGE_INACTIVE_DOCUMENTS, companyId, null, JobPriority.LOW);
+    }
+
+    private Company getCompanyForPurge(Long companyId, boolean active) {
         Company company = companyRepository.findById(companyId)
                 .orElseThrow(() -> new BaseException(new ErrorMessage(
                         MessageType.NO_RECORD_EXIST, "Company not found for id: " + companyId)));
 
-        // Pasif doküman var mı kontrol et
-        if (!documentRepository.existsByCompanyIdAndIsActive(companyId, false)) {
-            throw new BaseException(new ErrorMessage(
-                    MessageType.NO_INACTIVE_DOCUMENTS_FOUND, "No inactive documents found for company: " + companyId));
-        }
-
-        List<Document> documents = documentRepository.findByCompanyIdAndIsActive(companyId, false);
-        deleteDocumentsAndFiles(company, documents);
-        return documents.size();
-    }
-
-    private void deleteDocumentsAndFiles(Company company, List<Document> documents) {
-        Path companyFolder = Paths.get(company.getFolderPath());
-
-        for (Document doc : documents) {
-            Path filePath = companyFolder.resolve(doc.getName());
-
-            // Dosya var mı kontrol et
-            if (Files.exists(filePath)) {
-                try {
-                    Files.delete(filePath);
-                } catch (IOException e) {
-                    throw new BaseException(new ErrorMessage(
-                            MessageType.FILE_DELETE_FAILED, "Failed to delete file: " + doc.getName()));
-                }
-            } else {
-                // Dosya yoksa özel hata fırlat
-                throw new BaseException(new ErrorMessage(
-                        MessageType.FILE_NOT_FOUND, "File not found: " + doc.getName()));
-            }
+        // Silinecek doküman var mı kontrol et
+        if (!documentRepository.existsByCompanyIdAndIsActive(companyId, active)) {
+            throw active
+                    ? new BaseException(new ErrorMessage(
+                            MessageType.NO_ACTIVE_DOCUMENTS_FOUND, "No active documents found for company: " + companyId))
+                    : new BaseException(new ErrorMessage(
+                            MessageType.NO_INACTIVE_DOCUMENTS_FOUND, "No inactive documents found for company: " + companyId));
         }
-
-        documentRepository.deleteAll(documents);
+        return company;
     }
 
 
     // Yardımcı metod: Gelen category string'ini DocumentCategory enum'ına dönüştürür.
 // Eğer geçerli (GELEN veya GIDEN) değilse hata fırlatır.
-    private DocumentCategory getDocumentCategory(String categoryStr) {
+    static DocumentCategory getDocumentCategory(String categoryStr) {
         if (categoryStr == null || categoryStr.trim().isEmpty()) {
             throw new BaseException(new ErrorMessage(
                     MessageType.DOCUMENT_CATEGORY_INVALID, "Document category must be provided (GELEN/GIDEN)."));
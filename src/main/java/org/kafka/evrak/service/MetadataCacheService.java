@@ -0,0 +1,183 @@
+package org.kafka.evrak.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.kafka.evrak.config.MetadataCacheConfig;
+import org.kafka.evrak.dto.projection.DocumentLocationRow;
+import org.kafka.evrak.dto.response.DtoCacheStats;
+import org.kafka.evrak.entity.Company;
+import org.kafka.evrak.exception.BaseException;
+import org.kafka.evrak.exception.ErrorMessage;
+import org.kafka.evrak.exception.MessageType;
+import org.kafka.evrak.repository.CompanyRepository;
+import org.kafka.evrak.repository.DocumentRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Şirket bilgileri ve belge → dosya yolu eşlemeleri için süreli, bellek sınırlı önbellek.
+ * - Yükleme her seferinde şirket kaydını ve klasörünü kontrol etmez.
+ * - Sık indirilen belgeler veritabanına hiç gitmeden çözülür.
+ * Kayıtlar, değişiklik yapan servis metotlarında hem hemen hem de transaction commit'inden sonra
+ * geçersiz kılınır; böylece commit öncesi okunan eski değer önbellekte kalmaz.
+ */
+@Service
+public class MetadataCacheService {
+
+    private final CompanyRepository companyRepository;
+    private final DocumentRepository documentRepository;
+    private final BlobStoreService blobStoreService;
+    private final StoragePathResolver storagePathResolver;
+    private final PackStore packStore;
+
+    private final Cache<Long, CompanyMetadata> companies;
+    private final Cache<Long, DocumentLocation> documents;
+
+    public MetadataCacheService(CompanyRepository companyRepository,
+                                DocumentRepository documentRepository,
+                                BlobStoreService blobStoreService,
+                                StoragePathResolver storagePathResolver,
+                                PackStore packStore,
+                                MetadataCacheConfig metadataCacheConfig) {
+        this.companyRepository = companyRepository;
+        this.documentRepository = documentRepository;
+        this.blobStoreService = blobStoreService;
+        this.storagePathResolver = storagePathResolver;
+        this.packStore = packStore;
+        this.companies = Caffeine.newBuilder()
+                .expireAfterWrite(metadataCacheConfig.getTtl())
+                .maximumWeight(metadataCacheConfig.getCompanyMaxSize().toBytes())
+                .weigher((Long id, CompanyMetadata company) ->
+                        64 + 2 * (company.name().length() + company.folderPath().length()))
+                .recordStats()
+                .build();
+        this.documents = Caffeine.newBuilder()
+                .expireAfterWrite(metadataCacheConfig.getTtl())
+                .maximumWeight(metadataCacheConfig.getDocumentMaxSize().toBytes())
+                .weigher((Long id, DocumentLocation document) ->
+                        128 + 2 * (document.path().toString().length() + document.name().length()))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Şirket bilgisini döner; önbellekte yoksa veritabanından yükler. Şirket yoksa hata fırlatır.
+     */
+    public CompanyMetadata getCompany(Long companyId) {
+        CompanyMetadata company = companies.get(companyId, this::loadCompany);
+        if (company == null) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.NO_RECORD_EXIST, "Company not found for id: " + companyId));
+        }
+        return company;
+    }
+
+    /**
+     * Belgenin dosya konumunu döner; önbellekte yoksa tek bir projeksiyon sorgusuyla yükler.
+     */
+    public DocumentLocation getDocumentLocation(Long documentId) {
+        DocumentLocation location = documents.get(documentId, this::loadDocumentLocation);
+        if (location == null) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.NO_RECORD_EXIST, "Document not found."));
+        }
+        return location;
+    }
+
+    /**
+     * Şirketi ve ona ait tüm belge konumlarını geçersiz kılar (klasör adı değiştiğinde yollar da değişir).
+     */
+    public void invalidateCompany(Long companyId) {
+        runNowAndAfterCommit(() -> {
+            companies.invalidate(companyId);
+            documents.asMap().values().removeIf(location -> location.companyId().equals(companyId));
+        });
+    }
+
+    /**
+     * Yalnızca şirket kaydını geçersiz kılar (ad ya da durum değiştiğinde); klasör yolu değişmediği için
+     * belge konumları geçerli kalır.
+     */
+    public void invalidateCompanyMetadata(Long companyId) {
+        runNowAndAfterCommit(() -> companies.invalidate(companyId));
+    }
+
+    public void invalidateDocument(Long documentId) {
+        runNowAndAfterCommit(() -> documents.invalidate(documentId));
+    }
+
+    public void invalidateDocuments(Collection<Long> documentIds) {
+        List<Long> ids = List.copyOf(documentIds);
+        runNowAndAfterCommit(() -> documents.invalidateAll(ids));
+    }
+
+    public void invalidateAll() {
+        companies.invalidateAll();
+        documents.invalidateAll();
+    }
+
+    public List<DtoCacheStats> getStats() {
+        return List.of(toStats("companies", companies), toStats("documentLocations", documents));
+    }
+
+    private CompanyMetadata loadCompany(Long companyId) {
+        Company company = companyRepository.findById(companyId).orElse(null);
+        if (company == null) {
+            return null;
+        }
+        return new CompanyMetadata(company.getId(), company.getName(), company.getFolderPath(),
+                company.isActive(), Files.isDirectory(Paths.get(company.getFolderPath())));
+    }
+
+    private DocumentLocation loadDocumentLocation(Long documentId) {
+        DocumentLocationRow row = documentRepository.findLocationById(documentId).orElse(null);
+        if (row == null) {
+            return null;
+        }
+        Path path;
+        if (row.blobHash() != null) {
+            path = blobStoreService.getBlobPath(row.blobHash());
+        } else if (row.packId() != null) {
+            path = packStore.getPackPath(row.packId());
+        } else {
+            path = storagePathResolver.locate(row.folderPath(), row.name(), row.storageDepth());
+        }
+        return new DocumentLocation(row.id(), row.companyId(), path, row.name(), row.type(),
+                row.contentHash(), row.active(), row.compressed(), row.fileSize(), row.storedSize(),
+                row.packOffset(), row.packLength());
+    }
+
+    private void runNowAndAfterCommit(Runnable invalidation) {
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+
+    static DtoCacheStats toStats(String name, Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        DtoCacheStats dto = new DtoCacheStats();
+        dto.setName(name);
+        dto.setSize(cache.estimatedSize());
+        dto.setWeight(cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L));
+        dto.setHitCount(stats.hitCount());
+        dto.setMissCount(stats.missCount());
+        dto.setHitRate(stats.hitRate());
+        dto.setEvictionCount(stats.evictionCount());
+        dto.setLoadFailureCount(stats.loadFailureCount());
+        return dto;
+    }
+}
@@ -0,0 +1,499 @@
+package org.kafka.evrak.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.kafka.evrak.config.FileStorageConfig;
+import org.kafka.evrak.config.PackConfig;
+import org.kafka.evrak.dto.projection.DocumentExportRow;
+import org.kafka.evrak.dto.projection.PackEntryRow;
+import org.kafka.evrak.dto.projection.PackUsage;
+import org.kafka.evrak.dto.response.DtoJob;
+import org.kafka.evrak.dto.response.DtoPackReport;
+import org.kafka.evrak.dto.response.DtoPackResult;
+import org.kafka.evrak.entity.DocumentPack;
+import org.kafka.evrak.enums.JobPriority;
+import org.kafka.evrak.enums.JobType;
+import org.kafka.evrak.exception.BaseException;
+import org.kafka.evrak.exception.ErrorMessage;
+import org.kafka.evrak.exception.MessageType;
+import org.kafka.evrak.repository.CompanyRepository;
+import org.kafka.evrak.repository.DocumentPackRepository;
+import org.kafka.evrak.repository.DocumentRepository;
+import org.kafka.evrak.service.job.JobService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Uzun süredir pasif olan belgeleri büyük, yalnızca sona eklenen paket dosyalarına taşır (cold storage).
+ * - Paketleme: belgeler keyset ile okunur ve pack.max-pack-size dolana kadar aynı pakete kopyalanır.
+ *   Paket, belge kayıtlarının paketi göstermeye başladığı transaction içinde son adına taşınır;
+ *   şirket klasöründeki dosyalar ancak commit sonrası silinir. Kaydı işlem sırasında değişen belgeler atlanır.
+ * - Okuma: belge kaydındaki konum ve uzunlukla paket üzerinden bellek eşlemeli okunur (bkz. PackStore).
+ * - Geri getirme: belge şirket klasörüne çıkarılır, paketteki kopyası ölü alana dönüşür.
+ * - Yeniden paketleme (GC): canlı içeriği kalmamış paketler silinir; canlı oranı pack.min-live-ratio altındaki
+ *   paketlerin canlı kayıtları yeni bir pakete kopyalanır ve eski paket silinir.
+ * Her iki iş de tekrar çalıştırılabilir; yarım kalan paket yazımları geçici dosya olarak kalır ve bir günden
+ * eskiyse sonraki bir çalıştırmada temizlenir (aynı anda çalışan başka bir işin dosyasına dokunulmaz).
+ */
+@Slf4j
+@Service
+public class PackService {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final int MAX_REPORTED_FAILURES = 1000;
+
+    // Paket başına dizin girdisi (id, konum, uzunluk) ve kapanış kaydı boyutu
+    private static final int INDEX_ENTRY_SIZE = 24;
+
+    private static final int FOOTER_SIZE = 16;
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final Duration STALE_TEMP_AGE = Duration.ofDays(1);
+
+    private final DocumentRepository documentRepository;
+    private final DocumentPackRepository documentPackRepository;
+    private final CompanyRepository companyRepository;
+    private final StoragePathResolver storagePathResolver;
+    private final PackStore packStore;
+    private final MetadataCacheService metadataCacheService;
+    private final FileStorageConfig fileStorageConfig;
+    private final PackConfig packConfig;
+    private final JobService jobService;
+    private final TransactionTemplate transactionTemplate;
+
+    public PackService(DocumentRepository documentRepository,
+                       DocumentPackRepository documentPackRepository,
+                       CompanyRepository companyRepository,
+                       StoragePathResolver storagePathResolver,
+                       PackStore packStore,
+                       MetadataCacheService metadataCacheService,
+                       FileStorageConfig fileStorageConfig,
+                       PackConfig packConfig,
+                       JobService jobService,
+                       PlatformTransactionManager transactionManager) {
+        this.documentRepository = documentRepository;
+        this.documentPackRepository = documentPackRepository;
+        this.companyRepository = companyRepository;
+        this.storagePathResolver = storagePathResolver;
+        this.packStore = packStore;
+        this.metadataCacheService = metadataCacheService;
+        this.fileStorageConfig = fileStorageConfig;
+        this.packConfig = packConfig;
+        this.jobService = jobService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    private record PackedEntry(Long documentId, String name, Path source, long offset, long length) {
+    }
+
+    /**
+     * Yazılmakta olan paket: geçici dosya ve içine yazılan kayıtlar.
+     */
+    private static final class PendingPack {
+
+        private final Path temp;
+        private final PackStore.Writer writer;
+        private final List<PackedEntry> entries = new ArrayList<>();
+
+        private PendingPack(Path temp, PackStore.Writer writer) {
+            this.temp = temp;
+            this.writer = writer;
+        }
+
+        private long projectedSize(long nextLength) throws IOException {
+            return writer.position() + nextLength + (long) (entries.size() + 1) * INDEX_ENTRY_SIZE + FOOTER_SIZE;
+        }
+    }
+
+    /**
+     * Paketleme işini kuyruğa alır. companyId null ise tüm şirketler işlenir.
+     */
+    public DtoJob submitCompaction(Long companyId) {
+        if (companyId != null && !companyRepository.existsById(companyId)) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.NO_RECORD_EXIST, "Company not found for id: " + companyId));
+        }
+        return jobService.submit(JobType.PACK_DOCUMENTS, companyId, null, JobPriority.LOW);
+    }
+
+    public DtoJob submitRepack() {
+        return jobService.submit(JobType.REPACK_DOCUMENTS, null, null, JobPriority.LOW);
+    }
+
+    public long countCompactionCandidates(Long companyId) {
+        return documentRepository.countPackCandidates(inactiveBefore(), companyId);
+    }
+
+    public long countPacks() {
+        return documentPackRepository.count();
+    }
+
+    /**
+     * @param progress her parti sonrası o ana kadar işlenen belge sayısıyla çağrılır
+     */
+    public DtoPackResult compact(Long companyId, LongConsumer progress) {
+        preparePacksFolder();
+        LocalDateTime inactiveBefore = inactiveBefore();
+        long maxPackSize = getMaxPackSize();
+        DtoPackResult result = new DtoPackResult();
+        PendingPack pending = null;
+        long afterId = 0L;
+        long processed = 0L;
+        try {
+            while (true) {
+                List<DocumentExportRow> batch = documentRepository.findPackCandidates(
+                        inactiveBefore, companyId, afterId, PageRequest.of(0, BATCH_SIZE));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                afterId = batch.get(batch.size() - 1).id();
+                for (DocumentExportRow row : batch) {
+                    Path source = storagePathResolver.locate(row.folderPath(), row.name(), row.storageDepth());
+                    long length;
+                    try {
+                        length = Files.size(source);
+                    } catch (NoSuchFileException e) {
+                        result.setMissingFiles(result.getMissingFiles() + 1);
+                        continue;
+                    } catch (IOException e) {
+                        result.setFailed(result.getFailed() + 1);
+                        addFailure(result, row.id(), "File not readable: " + row.name() + " | " + e.getMessage());
+                        continue;
+                    }
+                    // Tek başına paket sınırını aşan dosyalar şirket klasöründe kalır.
+                    if (PackStore.HEADER_SIZE + length + INDEX_ENTRY_SIZE + FOOTER_SIZE > maxPackSize) {
+                        result.setSkipped(result.getSkipped() + 1);
+                        continue;
+                    }
+                    if (pending != null && pending.projectedSize(length) > maxPackSize) {
+                        commitPack(pending, result);
+                        pending = null;
+                    }
+                    if (pending == null) {
+                        pending = openPack();
+                    }
+                    try {
+                        long offset = pending.writer.append(row.id(), source);
+                        pending.entries.add(new PackedEntry(row.id(), row.name(), source, offset, length));
+                    } catch (IOException e) {
+                        // Yarım kalan kopya pakette ölü alan olarak kalır.
+                        result.setFailed(result.getFailed() + 1);
+                        addFailure(result, row.id(), "Failed to copy file into pack: " + row.name() + " | " + e.getMessage());
+                    }
+                }
+                processed += batch.size();
+                progress.accept(processed);
+            }
+            if (pending != null) {
+                commitPack(pending, result);
+                pending = null;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (pending != null) {
+                discard(pending);
+            }
+        }
+        log.info("Pack compaction finished: {} packs, {} documents packed, {} skipped, {} missing, {} failed",
+                result.getPacksWritten(), result.getDocumentsPacked(), result.getSkipped(),
+                result.getMissingFiles(), result.getFailed());
+        return result;
+    }
+
+    /**
+     * @param progress her paket sonrası o ana kadar işlenen paket sayısıyla çağrılır
+     */
+    public DtoPackResult repack(LongConsumer progress) {
+        preparePacksFolder();
+        Map<Long, PackUsage> usage = documentRepository.sumPackUsage().stream()
+                .collect(Collectors.toMap(PackUsage::packId, Function.identity()));
+        List<DocumentPack> packs = documentPackRepository.findAll(Sort.by("id"));
+        DtoPackResult result = new DtoPackResult();
+        long processed = 0L;
+        for (DocumentPack pack : packs) {
+            PackUsage live = usage.get(pack.getId());
+            if (live == null) {
+                removePack(pack, result);
+            } else if (live.liveBytes() < pack.getSize() * packConfig.getMinLiveRatio()) {
+                rewritePack(pack, result);
+            }
+            processed++;
+            progress.accept(processed);
+        }
+        log.info("Repack finished: {} packs written, {} packs removed, {} bytes reclaimed, {} failed",
+                result.getPacksWritten(), result.getPacksRemoved(), result.getBytesReclaimed(), result.getFailed());
+        return result;
+    }
+
+    public DtoPackReport getReport() {
+        Map<Long, PackUsage> usage = documentRepository.sumPackUsage().stream()
+                .collect(Collectors.toMap(PackUsage::packId, Function.identity()));
+        DtoPackReport report = new DtoPackReport();
+        for (DocumentPack pack : documentPackRepository.findAll()) {
+            PackUsage live = usage.get(pack.getId());
+            long liveBytes = live == null ? 0 : live.liveBytes();
+            report.setPackCount(report.getPackCount() + 1);
+            report.setTotalBytes(report.getTotalBytes() + pack.getSize());
+            report.setLiveDocuments(report.getLiveDocuments() + (live == null ? 0 : live.liveCount()));
+            report.setLiveBytes(report.getLiveBytes() + liveBytes);
+            if (liveBytes < pack.getSize() * packConfig.getMinLiveRatio()) {
+                report.setRepackCandidates(report.getRepackCandidates() + 1);
+            }
+        }
+        report.setDeadBytes(report.getTotalBytes() - report.getLiveBytes());
+        report.setPendingDocuments(countCompactionCandidates(null));
+        return report;
+    }
+
+    private void commitPack(PendingPack pending, DtoPackResult result) {
+        List<PackedEntry> entries = pending.entries;
+        long size;
+        try {
+            size = pending.writer.finish();
+            pending.writer.close();
+        } catch (IOException e) {
+            discard(pending);
+            failAll(result, entries, "Failed to write pack: " + e.getMessage());
+            return;
+        }
+        if (entries.isEmpty()) {
+            deleteQuietly(pending.temp);
+            return;
+        }
+
+        List<Long> packedIds = new ArrayList<>(entries.size());
+        List<PackedEntry> packed = new ArrayList<>(entries.size());
+        Path[] packPath = {null};
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Belge kayıtları paketi yabancı anahtarla gösterdiğinden paket satırı önce yazılır.
+                DocumentPack pack = documentPackRepository.saveAndFlush(new DocumentPack(size, entries.size()));
+                for (PackedEntry entry : entries) {
+                    if (documentRepository.updatePackLocation(entry.documentId(), entry.name(), pack.getId(),
+                            entry.offset(), entry.length()) == 1) {
+                        packed.add(entry);
+                        packedIds.add(entry.documentId());
+                    }
+                }
+                if (packed.isEmpty()) {
+                    status.setRollbackOnly();
+                    return;
+                }
+                Path target = packStore.getPackPath(pack.getId());
+                try {
+                    Files.move(pending.temp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                packPath[0] = target;
+            });
+        } catch (RuntimeException e) {
+            deleteQuietly(packPath[0] != null ? packPath[0] : pending.temp);
+            failAll(result, entries, "Failed to register pack: " + e.getMessage());
+            return;
+        }
+        if (packPath[0] == null) {
+            deleteQuietly(pending.temp);
+            result.setSkipped(result.getSkipped() + entries.size());
+            return;
+        }
+
+        result.setPacksWritten(result.getPacksWritten() + 1);
+        result.setDocumentsPacked(result.getDocumentsPacked() + packed.size());
+        result.setSkipped(result.getSkipped() + entries.size() - packed.size());
+        metadataCacheService.invalidateDocuments(packedIds);
+        // Kayıtlar artık paketi gösteriyor; şirket klasöründeki kopyalar silinebilir.
+        for (PackedEntry entry : packed) {
+            try {
+                Files.deleteIfExists(entry.source());
+            } catch (IOException e) {
+                log.warn("Packed document {} could not be removed from {}: {}",
+                        entry.documentId(), entry.source(), e.getMessage());
+            }
+        }
+    }
+
+    private void rewritePack(DocumentPack oldPack, DtoPackResult result) {
+        Path oldPath = packStore.getPackPath(oldPack.getId());
+        List<PackEntryRow> entries = documentRepository.findPackEntries(oldPack.getId());
+        PendingPack pending;
+        long[] offsets = new long[entries.size()];
+        long size;
+        try {
+            pending = openPack();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            for (int i = 0; i < entries.size(); i++) {
+                PackEntryRow entry = entries.get(i);
+                offsets[i] = pending.writer.append(entry.id(), oldPath, entry.offset(), entry.length());
+            }
+            size = pending.writer.finish();
+            pending.writer.close();
+        } catch (IOException e) {
+            discard(pending);
+            result.setFailed(result.getFailed() + entries.size());
+            addFailure(result, null, "Failed to repack pack " + oldPack.getId() + ": " + e.getMessage());
+            return;
+        }
+
+        List<Long> movedIds = new ArrayList<>(entries.size());
+        boolean[] oldRemoved = {false};
+        Path[] packPath = {null};
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                DocumentPack pack = documentPackRepository.saveAndFlush(new DocumentPack(size, entries.size()));
+                for (int i = 0; i < entries.size(); i++) {
+                    Long documentId = entries.get(i).id();
+                    if (documentRepository.movePackEntry(documentId, oldPack.getId(), pack.getId(), offsets[i]) == 1) {
+                        movedIds.add(documentId);
+                    }
+                }
+                if (movedIds.isEmpty()) {
+                    status.setRollbackOnly();
+                    return;
+                }
+                Path target = packStore.getPackPath(pack.getId());
+                try {
+                    Files.move(pending.temp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                packPath[0] = target;
+                oldRemoved[0] = documentPackRepository.deleteIfUnreferenced(oldPack.getId()) == 1;
+            });
+        } catch (RuntimeException e) {
+            deleteQuietly(packPath[0] != null ? packPath[0] : pending.temp);
+            result.setFailed(result.getFailed() + entries.size());
+            addFailure(result, null, "Failed to register repacked pack " + oldPack.getId() + ": " + e.getMessage());
+            return;
+        }
+        if (packPath[0] == null) {
+            // Kayıtların hepsi bu arada paketten çıkmış; eski paket bir sonraki çalıştırmada silinir.
+            deleteQuietly(pending.temp);
+            result.setSkipped(result.getSkipped() + entries.size());
+            return;
+        }
+
+        result.setPacksWritten(result.getPacksWritten() + 1);
+        result.setDocumentsPacked(result.getDocumentsPacked() + movedIds.size());
+        result.setSkipped(result.getSkipped() + entries.size() - movedIds.size());
+        metadataCacheService.invalidateDocuments(movedIds);
+        if (oldRemoved[0]) {
+            deletePackFile(oldPath);
+            result.setPacksRemoved(result.getPacksRemoved() + 1);
+            result.setBytesReclaimed(result.getBytesReclaimed() + oldPack.getSize() - size);
+        }
+    }
+
+    private void removePack(DocumentPack pack, DtoPackResult result) {
+        Integer removed = transactionTemplate.execute(status -> documentPackRepository.deleteIfUnreferenced(pack.getId()));
+        if (removed != null && removed == 1) {
+            deletePackFile(packStore.getPackPath(pack.getId()));
+            result.setPacksRemoved(result.getPacksRemoved() + 1);
+            result.setBytesReclaimed(result.getBytesReclaimed() + pack.getSize());
+        }
+    }
+
+    /**
+     * Paket klasörünü oluşturur ve önceki çalıştırmalardan kalan yarım paketleri siler.
+     */
+    private void preparePacksFolder() {
+        Path packsPath = fileStorageConfig.getPacksPath();
+        Instant staleBefore = Instant.now().minus(STALE_TEMP_AGE);
+        try {
+            Files.createDirectories(packsPath);
+            try (var entries = Files.list(packsPath)) {
+                entries.filter(path -> path.getFileName().toString().endsWith(TEMP_SUFFIX))
+                        .filter(path -> isModifiedBefore(path, staleBefore))
+                        .forEach(this::deleteQuietly);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.FOLDER_CREATION_FAILED,
+                    "Pack folder could not be prepared: " + packsPath + " | Details: " + e.getMessage()));
+        }
+    }
+
+    private static boolean isModifiedBefore(Path path, Instant instant) {
+        try {
+            return Files.getLastModifiedTime(path).toInstant().isBefore(instant);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private PendingPack openPack() throws IOException {
+        Path temp = fileStorageConfig.getPacksPath().resolve("pack-" + UUID.randomUUID() + TEMP_SUFFIX);
+        return new PendingPack(temp, packStore.newWriter(temp));
+    }
+
+    private void discard(PendingPack pending) {
+        try {
+            pending.writer.close();
+        } catch (IOException e) {
+            log.debug("Failed to close pack writer {}", pending.temp, e);
+        }
+        deleteQuietly(pending.temp);
+    }
+
+    private void deletePackFile(Path pack) {
+        packStore.evict(pack);
+        deleteQuietly(pack);
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete {}: {}", path, e.getMessage());
+        }
+    }
+
+    private LocalDateTime inactiveBefore() {
+        return LocalDateTime.now().minus(packConfig.getMinInactiveAge());
+    }
+
+    // Paketler tek parça eşlendiğinden boyut int sınırını aşamaz.
+    private long getMaxPackSize() {
+        return Math.min(packConfig.getMaxPackSize().toBytes(), Integer.MAX_VALUE);
+    }
+
+    private void failAll(DtoPackResult result, List<PackedEntry> entries, String message) {
+        result.setFailed(result.getFailed() + entries.size());
+        entries.forEach(entry -> addFailure(result, entry.documentId(), message));
+    }
+
+    private void addFailure(DtoPackResult result, Long documentId, String message) {
+        if (result.getFailures().size() >= MAX_REPORTED_FAILURES) {
+            return;
+        }
+        DtoPackResult.DtoPackFailure failure = new DtoPackResult.DtoPackFailure();
+        failure.setDocumentId(documentId);
+        failure.setMessage(message);
+        result.getFailures().add(failure);
+    }
+}
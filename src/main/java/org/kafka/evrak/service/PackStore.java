@@ -0,0 +1,268 @@
+package org.kafka.evrak.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.kafka.evrak.config.FileStorageConfig;
+import org.kafka.evrak.config.PackConfig;
+import org.kafka.evrak.util.FileUtil;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Paket dosyalarının biçimi, yazımı ve bellek eşlemeli (mmap) okunması.
+ * Biçim: [başlık: magic, sürüm][içerikler art arda][dizin: (belge id, konum, uzunluk) x n][kapanış: dizin konumu, n, magic].
+ * Okumalar dizini kullanmaz; konum ve uzunluk belge kaydından gelir. Dizin, veritabanı olmadan
+ * paketin içeriğini doğrulamak ya da kurtarmak içindir.
+ * Paketler yazıldıktan sonra değişmez; eşlemeler önbellekte tutulur ve silinen paketlerde bile
+ * açık eşlemeler eşleme bırakılana kadar okunabilir kalır.
+ */
+@Component
+public class PackStore {
+
+    static final int MAGIC = 0x45564b50; // "EVKP"
+
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 8;
+
+    private final FileStorageConfig fileStorageConfig;
+    private final Cache<Path, MappedByteBuffer> mappings;
+
+    public PackStore(FileStorageConfig fileStorageConfig, PackConfig packConfig) {
+        this.fileStorageConfig = fileStorageConfig;
+        this.mappings = Caffeine.newBuilder()
+                .maximumSize(packConfig.getMaxMappedPacks())
+                .build();
+    }
+
+    public Path getPackPath(Long packId) {
+        return fileStorageConfig.getPacksPath().resolve(packId + ".pack");
+    }
+
+    /**
+     * Paketteki kaydı, eşlenmiş bellek üzerinden okuyan akış döner (kopyalama ya da sistem çağrısı yapılmaz).
+     */
+    public InputStream openEntry(Path pack, long offset, long length) throws IOException {
+        return new ByteBufferInputStream(slice(pack, offset, length));
+    }
+
+    /**
+     * Kaydı Spring Resource olarak döner; her getInputStream çağrısı yeni bir akış açtığından
+     * Range istekleri (ResourceRegion) de desteklenir.
+     */
+    public Resource openResource(Path pack, long offset, long length, String filename) throws IOException {
+        return new PackEntryResource(slice(pack, offset, length), pack + "@" + offset, filename);
+    }
+
+    /**
+     * Kaydı şirket klasöründeki bir dosyaya atomik olarak çıkarır.
+     */
+    public FileUtil.StoredFile extract(Path pack, long offset, long length, Path target) throws IOException {
+        try (InputStream in = openEntry(pack, offset, length)) {
+            return FileUtil.writeAtomically(in, target);
+        }
+    }
+
+    /**
+     * Silinen ya da yeniden paketlenen paketin eşlemesini önbellekten çıkarır.
+     */
+    public void evict(Path pack) {
+        mappings.invalidate(pack);
+    }
+
+    public Writer newWriter(Path target) throws IOException {
+        return new Writer(target);
+    }
+
+    private ByteBuffer slice(Path pack, long offset, long length) throws IOException {
+        MappedByteBuffer mapped;
+        try {
+            mapped = mappings.get(pack, PackStore::map);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (offset < HEADER_SIZE || length < 0 || offset + length > mapped.capacity()) {
+            throw new IOException("Pack entry out of bounds: " + pack + " @" + offset + "+" + length);
+        }
+        return mapped.slice((int) offset, (int) length);
+    }
+
+    private static MappedByteBuffer map(Path pack) {
+        try (FileChannel channel = FileChannel.open(pack, StandardOpenOption.READ)) {
+            // Eşleme kanal kapatıldıktan sonra da geçerlidir.
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Yeni bir paket dosyasını sıralı olarak yazar. finish çağrılmadan kapatılan dosya eksiktir ve silinmelidir.
+     */
+    public static final class Writer implements AutoCloseable {
+
+        private final FileChannel channel;
+        private final List<long[]> index = new ArrayList<>();
+
+        private Writer(Path target) throws IOException {
+            this.channel = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip();
+            writeFully(header);
+        }
+
+        public long position() throws IOException {
+            return channel.position();
+        }
+
+        /**
+         * Dosyanın tamamını pakete ekler ve kaydın konumunu döner.
+         */
+        public long append(Long documentId, Path source) throws IOException {
+            try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+                return append(documentId, in, 0, in.size());
+            }
+        }
+
+        /**
+         * Başka bir paketteki kaydı bu pakete kopyalar ve yeni konumunu döner.
+         */
+        public long append(Long documentId, Path pack, long offset, long length) throws IOException {
+            try (FileChannel in = FileChannel.open(pack, StandardOpenOption.READ)) {
+                return append(documentId, in, offset, length);
+            }
+        }
+
+        private long append(Long documentId, FileChannel in, long offset, long length) throws IOException {
+            long position = channel.position();
+            long copied = 0;
+            while (copied < length) {
+                long transferred = in.transferTo(offset + copied, length - copied, channel);
+                if (transferred <= 0) {
+                    throw new IOException("Unexpected end of source while packing document " + documentId);
+                }
+                copied += transferred;
+            }
+            index.add(new long[]{documentId, position, length});
+            return position;
+        }
+
+        /**
+         * Dizini ve kapanış kaydını yazar, içeriği diske zorlar ve paketin boyutunu döner.
+         */
+        public long finish() throws IOException {
+            long indexOffset = channel.position();
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            for (long[] entry : index) {
+                if (buffer.remaining() < 24) {
+                    writeFully(buffer.flip());
+                    buffer.clear();
+                }
+                buffer.putLong(entry[0]).putLong(entry[1]).putLong(entry[2]);
+            }
+            writeFully(buffer.flip());
+            writeFully(ByteBuffer.allocate(16).putLong(indexOffset).putInt(index.size()).putInt(MAGIC).flip());
+            channel.force(true);
+            return channel.position();
+        }
+
+        public int getEntryCount() {
+            return index.size();
+        }
+
+        private void writeFully(ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    private static final class PackEntryResource extends AbstractResource {
+
+        private final ByteBuffer content;
+        private final String description;
+        private final String filename;
+
+        private PackEntryResource(ByteBuffer content, String description, String filename) {
+            this.content = content;
+            this.description = description;
+            this.filename = filename;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new ByteBufferInputStream(content.duplicate());
+        }
+
+        @Override
+        public long contentLength() {
+            return content.capacity();
+        }
+
+        @Override
+        public String getFilename() {
+            return filename;
+        }
+
+        @Override
+        public String getDescription() {
+            return "pack entry [" + description + "]";
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package org.kafka.evrak.service;
+
+import java.nio.file.Path;
+
+/**
+ * İndirme için çözümlenmiş önizleme (JPEG) dosyası bilgisi.
+ */
+public record PreviewFile(Path path,
+                          long contentLength,
+                          long lastModified,
+                          String eTag) {
+}
@@ -0,0 +1,334 @@
+package org.kafka.evrak.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.kafka.evrak.config.FileStorageConfig;
+import org.kafka.evrak.config.PreviewConfig;
+import org.kafka.evrak.config.WorkerThreads;
+import org.kafka.evrak.enums.DocumentFormat;
+import org.kafka.evrak.exception.BaseException;
+import org.kafka.evrak.exception.ErrorMessage;
+import org.kafka.evrak.exception.MessageType;
+import org.kafka.evrak.repository.DocumentRepository;
+import org.kafka.evrak.util.FileUtil;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.FileImageInputStream;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Görsel belgeler (JPEG, PNG, GIF, BMP) için küçük önizleme (JPEG) üretir.
+ * - Önizleme, belge kaydı commit edildikten sonra sınırlı kuyruklu küçük bir havuzda oluşturulur;
+ *   kuyruk doluysa görev bırakılır ve önizleme ilk istendiğinde oluşturulur.
+ * - Yalnızca JDK'daki ImageIO / Java2D kullanılır. Büyük görseller alt örnekleme (subsampling) ile okunur,
+ *   böylece tam çözünürlüklü görüntü belleğe alınmaz; piksel sınırını aşan görsellerin önizlemesi oluşturulmaz.
+ * - Önizlemeler uploads/.previews altında belge id'sine göre tutulur ve kalıcı silmede kaldırılır.
+ * - Aynı belge için eşzamanlı istekler tek bir üretimi bekler.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PreviewService {
+
+    private static final Set<DocumentFormat> IMAGE_FORMATS = EnumSet.of(
+            DocumentFormat.JPEG, DocumentFormat.JPG, DocumentFormat.PNG, DocumentFormat.GIF, DocumentFormat.BMP);
+
+    private static final String PREVIEW_EXTENSION = ".jpg";
+
+    // Klasör başına en fazla önizleme sayısı
+    private static final long FOLDER_FANOUT = 1000;
+
+    private static final float JPEG_QUALITY = 0.8f;
+
+    private final FileStorageConfig fileStorageConfig;
+    private final PreviewConfig previewConfig;
+    private final MetadataCacheService metadataCacheService;
+    private final DocumentRepository documentRepository;
+    private final WorkerThreads workerThreads;
+    private final PackStore packStore;
+
+    private final Map<Long, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void start() {
+        executor = new ThreadPoolExecutor(previewConfig.getParallelism(), previewConfig.getParallelism(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(previewConfig.getQueueCapacity()),
+                workerThreads.factory("preview-"));
+    }
+
+    @PreDestroy
+    void stop() {
+        // Yarıda kalan önizlemeler ilk istendiklerinde tekrar oluşturulur.
+        executor.shutdownNow();
+    }
+
+    public static boolean supports(DocumentFormat format) {
+        return format != null && IMAGE_FORMATS.contains(format);
+    }
+
+    /**
+     * Belgenin önizlemesini arka planda oluşturur.
+     * Aktif bir transaction içinde çağrılırsa görev commit sonrasında kuyruğa alınır.
+     */
+    public void schedule(Long documentId, DocumentFormat format) {
+        if (!supports(format)) {
+            return;
+        }
+        afterCommit(() -> {
+            try {
+                submit(documentId);
+            } catch (RejectedExecutionException e) {
+                log.debug("Preview queue is full, preview of document {} will be created on first request", documentId);
+            }
+        });
+    }
+
+    /**
+     * Kalıcı olarak silinen belgelerin önizlemelerini (commit sonrasında) siler.
+     */
+    public void delete(Collection<Long> documentIds) {
+        List<Long> ids = List.copyOf(documentIds);
+        afterCommit(() -> ids.forEach(this::deleteQuietly));
+    }
+
+    /**
+     * Belgenin önizlemesini döner; henüz yoksa oluşturulmasını bekler.
+     */
+    public PreviewFile getPreview(Long documentId) {
+        DocumentLocation location = metadataCacheService.getDocumentLocation(documentId);
+        if (!supports(location.format())) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.PREVIEW_NOT_AVAILABLE, "Previews are only available for image documents."));
+        }
+        Path path = getPreviewPath(documentId);
+        BasicFileAttributes attributes = readAttributes(path);
+        if (attributes == null) {
+            path = await(submitOrBusy(documentId));
+            attributes = readAttributes(path);
+            if (attributes == null) {
+                throw new BaseException(new ErrorMessage(
+                        MessageType.PREVIEW_NOT_AVAILABLE, "Preview was removed while it was being created."));
+            }
+        }
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        return new PreviewFile(path, attributes.size(), lastModified,
+                "\"" + documentId + "-p" + Long.toHexString(attributes.size()) + "-" + Long.toHexString(lastModified) + "\"");
+    }
+
+    private CompletableFuture<Path> submit(Long documentId) {
+        CompletableFuture<Path> created = new CompletableFuture<>();
+        CompletableFuture<Path> existing = inFlight.putIfAbsent(documentId, created);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    created.complete(generate(documentId));
+                } catch (Throwable e) {
+                    log.debug("Failed to create preview of document {}: {}", documentId, e.getMessage());
+                    created.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(documentId, created);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(documentId, created);
+            throw e;
+        }
+        return created;
+    }
+
+    private CompletableFuture<Path> submitOrBusy(Long documentId) {
+        try {
+            return submit(documentId);
+        } catch (RejectedExecutionException e) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.SERVER_BUSY, "Too many previews are being created, please retry later."));
+        }
+    }
+
+    private Path await(CompletableFuture<Path> future) {
+        try {
+            return future.get(previewConfig.getGenerateTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.SERVER_BUSY, "Preview is still being created, please retry later."));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BaseException(new ErrorMessage(
+                    MessageType.SERVER_BUSY, "Preview request was interrupted."));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof BaseException baseException) {
+                throw baseException;
+            }
+            throw new BaseException(new ErrorMessage(
+                    MessageType.PREVIEW_NOT_AVAILABLE, "Failed to create preview: " + e.getCause().getMessage()));
+        }
+    }
+
+    private Path generate(Long documentId) throws IOException {
+        Path target = getPreviewPath(documentId);
+        if (Files.exists(target)) {
+            return target;
+        }
+        DocumentLocation location = metadataCacheService.getDocumentLocation(documentId);
+        byte[] jpeg = encodeJpeg(createThumbnail(location));
+
+        Files.createDirectories(target.getParent());
+        FileUtil.writeAtomically(new ByteArrayInputStream(jpeg), target);
+        // Belge üretim sırasında silindiyse önizleme sahipsiz kalmasın.
+        if (!documentRepository.existsById(documentId)) {
+            deleteQuietly(documentId);
+        }
+        return target;
+    }
+
+    private BufferedImage createThumbnail(DocumentLocation location) throws IOException {
+        try (ImageInputStream input = openImageInput(location)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new BaseException(new ErrorMessage(
+                        MessageType.PREVIEW_NOT_AVAILABLE, "Image content could not be recognized."));
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > previewConfig.getMaxSourcePixels()) {
+                    throw new BaseException(new ErrorMessage(
+                            MessageType.PREVIEW_NOT_AVAILABLE, "Image is too large for a preview."));
+                }
+                // Hedef boyutun iki katına kadar alt örnekleme: bellek ve CPU tasarrufu, kabul edilebilir kalite.
+                int size = previewConfig.getSize();
+                int step = Math.max(1, Math.max(width, height) / (size * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return scale(reader.read(0, param), size);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private ImageInputStream openImageInput(DocumentLocation location) throws IOException {
+        if (location.packed()) {
+            // Paketteki görsel, paketin eşlenmiş bölgesinden bellek önbellekli akışla okunur.
+            return new MemoryCacheImageInputStream(
+                    packStore.openEntry(location.path(), location.packOffset(), location.packLength()));
+        }
+        return new FileImageInputStream(location.path().toFile());
+    }
+
+    private static BufferedImage scale(BufferedImage source, int size) {
+        double ratio = Math.min(1.0, (double) size / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        // JPEG saydamlık desteklemediğinden saydam alanlar beyaz zemine çizilir.
+        BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = thumbnail.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return thumbnail;
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(32 * 1024);
+        try (MemoryCacheImageOutputStream output = new MemoryCacheImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private Path getPreviewPath(Long documentId) {
+        return fileStorageConfig.getPreviewsPath()
+                .resolve(Long.toString(documentId / FOLDER_FANOUT))
+                .resolve(documentId + PREVIEW_EXTENSION);
+    }
+
+    private static BasicFileAttributes readAttributes(Path path) {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.PREVIEW_NOT_AVAILABLE, "Preview is not readable: " + e.getMessage()));
+        }
+    }
+
+    private void deleteQuietly(Long documentId) {
+        try {
+            Files.deleteIfExists(getPreviewPath(documentId));
+        } catch (IOException e) {
+            log.warn("Failed to delete preview of document {}", documentId, e);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
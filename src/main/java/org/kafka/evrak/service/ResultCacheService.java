@@ -0,0 +1,125 @@
+package org.kafka.evrak.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.kafka.evrak.config.ResultCacheConfig;
+import org.kafka.evrak.dto.response.DtoCacheStats;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Sık yoklanan liste uç noktaları için sürüm tabanlı sonuç önbelleği.
+ * - Her şirketin belgeleri için ve şirket listesi için birer sürüm sayacı tutulur;
+ *   yazma işlemleri ilgili sayacı transaction tamamlandıktan sonra artırır.
+ * - Sonuçlar (sorgu, parametreler, sürüm) anahtarıyla saklanır; sürüm değişince eski kayıtlar
+ *   bir daha eşleşmez ve boyut sınırı / boşta kalma süresiyle tahliye edilir.
+ * - ETag sürümden türetilir; değişmemiş listeler için veritabanına gidilmeden 304 dönülebilir.
+ */
+@Service
+public class ResultCacheService {
+
+    // Uygulama her başladığında değişir; yeniden başlatma öncesine ait ETag'ler eşleşmez.
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Map<Long, AtomicLong> documentVersions = new ConcurrentHashMap<>();
+    private final AtomicLong companyVersion = new AtomicLong();
+    private final Cache<ResultKey, Page<?>> results;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private record ResultKey(String scope, Long companyId, List<Object> params, long version) {
+    }
+
+    public ResultCacheService(ResultCacheConfig resultCacheConfig, PlatformTransactionManager transactionManager) {
+        this.results = Caffeine.newBuilder()
+                .maximumWeight(resultCacheConfig.getMaxElements())
+                .weigher((ResultKey key, Page<?> page) -> page.getNumberOfElements() + 1)
+                .expireAfterAccess(resultCacheConfig.getIdleTtl())
+                .recordStats()
+                .build();
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public String getDocumentListETag(Long companyId) {
+        return "\"d" + companyId + "-" + epoch + "-" + documentVersion(companyId).get() + "\"";
+    }
+
+    public String getCompanyListETag() {
+        return "\"c-" + epoch + "-" + companyVersion.get() + "\"";
+    }
+
+    /**
+     * Şirketin belge listesini önbellekten döner; yoksa loader'ı salt okunur bir transaction'da çalıştırır.
+     * Sürüm sorgudan önce okunur: eşzamanlı bir yazma olursa sonuç eski sürümle saklanır ve bir daha kullanılmaz.
+     *
+     * @param params sorguyu belirleyen tüm parametreler (sayfa ve boyut dahil); null değer içerebilir
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Page<T> getDocumentPage(Long companyId, List<Object> params, Supplier<Page<T>> loader) {
+        ResultKey key = new ResultKey("documents", companyId, params, documentVersion(companyId).get());
+        return (Page<T>) results.get(key, k -> readOnlyTransaction.execute(status -> loader.get()));
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Page<T> getCompanyPage(List<Object> params, Supplier<Page<T>> loader) {
+        ResultKey key = new ResultKey("companies", null, params, companyVersion.get());
+        return (Page<T>) results.get(key, k -> readOnlyTransaction.execute(status -> loader.get()));
+    }
+
+    /**
+     * Şirketin belgeleri değişti: belge listesi sürümü artırılır.
+     */
+    public void documentsChanged(Long companyId) {
+        runAfterCompletion(() -> documentVersion(companyId).incrementAndGet());
+    }
+
+    /**
+     * Şirket kaydı değişti: şirket listesi ve (klasör / durum değişmiş olabileceğinden) belge listesi sürümü artırılır.
+     */
+    public void companyChanged(Long companyId) {
+        runAfterCompletion(() -> {
+            companyVersion.incrementAndGet();
+            documentVersion(companyId).incrementAndGet();
+        });
+    }
+
+    public void invalidateAll() {
+        results.invalidateAll();
+    }
+
+    public DtoCacheStats getStats() {
+        return MetadataCacheService.toStats("listResults", results);
+    }
+
+    // Sayaçlar şirket silinse de tutulur; aynı ETag'in farklı içerikle yeniden üretilmesini önler.
+    private AtomicLong documentVersion(Long companyId) {
+        return documentVersions.computeIfAbsent(companyId, id -> new AtomicLong());
+    }
+
+    /**
+     * Commit'ten önce artırılan sürüm, henüz commit edilmemiş (eski) veriyi yeni sürümle önbelleğe
+     * aldırabilir; bu yüzden aktif transaction varsa artış tamamlandıktan sonra yapılır.
+     */
+    private void runAfterCompletion(Runnable bump) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    bump.run();
+                }
+            });
+        } else {
+            bump.run();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package org.kafka.evrak.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.kafka.evrak.dto.projection.DocumentExportRow;
+import org.kafka.evrak.dto.response.DtoJob;
+import org.kafka.evrak.dto.response.DtoRelocationResult;
+import org.kafka.evrak.enums.JobPriority;
+import org.kafka.evrak.enums.JobType;
+import org.kafka.evrak.exception.BaseException;
+import org.kafka.evrak.exception.ErrorMessage;
+import org.kafka.evrak.exception.MessageType;
+import org.kafka.evrak.repository.CompanyRepository;
+import org.kafka.evrak.repository.DocumentRepository;
+import org.kafka.evrak.service.job.JobService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * Şirket klasörlerindeki belge dosyalarını geçerli alt klasör yerleşimine (file.fanout-depth) taşır.
+ * - Belgeler keyset ile partiler halinde okunur; uygulama çalışırken yapılabilir.
+ * - Her dosya, derinliğinin güncellendiği transaction içinde aynı dosya sisteminde atomik olarak taşınır;
+ *   commit başarısız olursa dosya eski yerine geri alınır.
+ * - Kaydı işlem sırasında değişen (ör. arşivlenen) belgeler atlanır ve bir sonraki çalıştırmada işlenir.
+ * Geçiş sırasında okumalar StoragePathResolver.locate ile iki yerleşimde de dosyayı bulur.
+ */
+@Slf4j
+@Service
+public class StorageLayoutService {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final int MAX_REPORTED_FAILURES = 1000;
+
+    private final DocumentRepository documentRepository;
+    private final CompanyRepository companyRepository;
+    private final StoragePathResolver storagePathResolver;
+    private final MetadataCacheService metadataCacheService;
+    private final JobService jobService;
+    private final TransactionTemplate transactionTemplate;
+
+    public StorageLayoutService(DocumentRepository documentRepository,
+                                CompanyRepository companyRepository,
+                                StoragePathResolver storagePathResolver,
+                                MetadataCacheService metadataCacheService,
+                                JobService jobService,
+                                PlatformTransactionManager transactionManager) {
+        this.documentRepository = documentRepository;
+        this.companyRepository = companyRepository;
+        this.storagePathResolver = storagePathResolver;
+        this.metadataCacheService = metadataCacheService;
+        this.jobService = jobService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Yerleşim geçişini kuyruğa alır. companyId null ise tüm şirketler işlenir.
+     */
+    public DtoJob submitMigration(Long companyId) {
+        if (companyId != null && !companyRepository.existsById(companyId)) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.NO_RECORD_EXIST, "Company not found for id: " + companyId));
+        }
+        return jobService.submit(JobType.RELOCATE_DOCUMENTS, companyId, null, JobPriority.LOW);
+    }
+
+    public long countMigrationCandidates(Long companyId) {
+        return documentRepository.countRelocationCandidates(storagePathResolver.getDepth(), companyId);
+    }
+
+    /**
+     * @param progress her parti sonrası o ana kadar işlenen belge sayısıyla çağrılır
+     */
+    public DtoRelocationResult migrate(Long companyId, LongConsumer progress) {
+        int depth = storagePathResolver.getDepth();
+        DtoRelocationResult result = new DtoRelocationResult();
+        long afterId = 0L;
+        long processed = 0L;
+        while (true) {
+            List<DocumentExportRow> batch = documentRepository.findRelocationCandidates(
+                    depth, companyId, afterId, PageRequest.of(0, BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            afterId = batch.get(batch.size() - 1).id();
+            for (DocumentExportRow row : batch) {
+                relocate(row, depth, result);
+            }
+            processed += batch.size();
+            progress.accept(processed);
+        }
+        log.info("Storage layout migration to depth {} finished: {} moved, {} skipped, {} missing, {} failed",
+                depth, result.getMoved(), result.getSkipped(), result.getMissingFiles(), result.getFailed());
+        return result;
+    }
+
+    private void relocate(DocumentExportRow row, int depth, DtoRelocationResult result) {
+        Path source = storagePathResolver.locate(row.folderPath(), row.name(), row.storageDepth());
+        if (!Files.exists(source)) {
+            result.setMissingFiles(result.getMissingFiles() + 1);
+            return;
+        }
+        Path target = storagePathResolver.resolve(row.folderPath(), row.name(), depth);
+        boolean[] moved = {false};
+        boolean[] updated = {false};
+        try {
+            Files.createDirectories(target.getParent());
+            transactionTemplate.executeWithoutResult(status -> {
+                if (documentRepository.updateStorageDepth(row.id(), row.name(), row.storageDepth(), depth) != 1) {
+                    status.setRollbackOnly();
+                    return;
+                }
+                // Dosya önceki bir çalıştırmada taşınmış olabilir; bu durumda yalnızca kayıt güncellenir.
+                if (!source.equals(target)) {
+                    try {
+                        Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    moved[0] = true;
+                }
+                updated[0] = true;
+            });
+        } catch (IOException | RuntimeException e) {
+            if (moved[0]) {
+                moveBack(target, source);
+            }
+            result.setFailed(result.getFailed() + 1);
+            addFailure(result, row.id(), "Failed to move file: " + row.name() + " | " + e.getMessage());
+            return;
+        }
+
+        if (!updated[0]) {
+            result.setSkipped(result.getSkipped() + 1);
+            return;
+        }
+        metadataCacheService.invalidateDocument(row.id());
+        result.setMoved(result.getMoved() + 1);
+    }
+
+    private void moveBack(Path target, Path source) {
+        try {
+            Files.move(target, source, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error("Failed to move {} back to {}; the file will be found through the layout fallback",
+                    target, source, e);
+        }
+    }
+
+    private void addFailure(DtoRelocationResult result, Long documentId, String message) {
+        if (result.getFailures().size() >= MAX_REPORTED_FAILURES) {
+            return;
+        }
+        DtoRelocationResult.DtoRelocationFailure failure = new DtoRelocationResult.DtoRelocationFailure();
+        failure.setDocumentId(documentId);
+        failure.setMessage(message);
+        result.getFailures().add(failure);
+    }
+}
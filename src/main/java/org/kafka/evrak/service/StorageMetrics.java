@@ -0,0 +1,119 @@
+package org.kafka.evrak.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.kafka.evrak.config.MetricsConfig;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dosya sistemi çağrıları ve yükleme / indirme aktarımları için Micrometer metrikleri.
+ * Etiketler sınırlı kümelerden gelir (işlem adı, sonuç, aktarım yönü); şirket etiketi
+ * yalnızca metrics.company-tags açıkken yükleme metriklerine eklenir.
+ * Repository sorguları Spring Boot'un spring.data.repository.invocations metriğiyle ölçülür.
+ */
+@Component
+public class StorageMetrics {
+
+    private static final String FILES = "evrak.files";
+    private static final String TRANSFER_SIZE = "evrak.transfer.size";
+    private static final String TRANSFER_DURATION = "evrak.transfer.duration";
+    private static final String TRANSFER_THROUGHPUT = "evrak.transfer.throughput";
+
+    private final MeterRegistry registry;
+    private final MetricsConfig metricsConfig;
+
+    public StorageMetrics(MeterRegistry registry, MetricsConfig metricsConfig) {
+        this.registry = registry;
+        this.metricsConfig = metricsConfig;
+    }
+
+    /**
+     * Dosya sistemi çağrısı; hata fırlatmayan çağrılarda E, RuntimeException olarak çıkarılır.
+     */
+    @FunctionalInterface
+    public interface FileCall<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    @FunctionalInterface
+    public interface FileAction<E extends Exception> {
+        void run() throws E;
+    }
+
+    /**
+     * Çağrının süresini evrak.files zamanlayıcısına operation ve outcome (success / error) etiketleriyle yazar.
+     */
+    public <T, E extends Exception> T time(String operation, FileCall<T, E> call) throws E {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "error";
+        try {
+            T result = call.call();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(Timer.builder(FILES)
+                    .description("File system calls")
+                    .tags("operation", operation, "outcome", outcome)
+                    .register(registry));
+        }
+    }
+
+    public <E extends Exception> void run(String operation, FileAction<E> action) throws E {
+        time(operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Depoya yazılan belgenin boyutunu, yazma süresini ve hızını kaydeder.
+     */
+    public void recordUpload(long bytes, long durationNanos, Long companyId) {
+        Tags tags = Tags.of("direction", "upload");
+        if (metricsConfig.isCompanyTags() && companyId != null) {
+            tags = tags.and("company", companyId.toString());
+        }
+        record(tags, bytes, durationNanos);
+    }
+
+    /**
+     * İndirilen içeriğin boyutunu kaydeder; süre biliniyorsa (sendfile dışı) süre ve hız da kaydedilir.
+     */
+    public void recordDownload(long bytes, Long durationNanos) {
+        Tags tags = Tags.of("direction", "download");
+        if (durationNanos == null) {
+            sizeSummary(tags).record(bytes);
+            return;
+        }
+        record(tags, bytes, durationNanos);
+    }
+
+    private void record(Tags tags, long bytes, long durationNanos) {
+        sizeSummary(tags).record(bytes);
+        Timer.builder(TRANSFER_DURATION)
+                .description("Document transfer duration")
+                .tags(tags)
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+        if (durationNanos > 0) {
+            DistributionSummary.builder(TRANSFER_THROUGHPUT)
+                    .description("Document transfer rate")
+                    .baseUnit("bytes_per_second")
+                    .tags(tags)
+                    .register(registry)
+                    .record(bytes * 1_000_000_000.0 / durationNanos);
+        }
+    }
+
+    private DistributionSummary sizeSummary(Tags tags) {
+        return DistributionSummary.builder(TRANSFER_SIZE)
+                .description("Transferred document size")
+                .baseUnit("bytes")
+                .tags(tags)
+                .register(registry);
+    }
+}
@@ -0,0 +1,114 @@
+package org.kafka.evrak.service;
+
+import lombok.RequiredArgsConstructor;
+import org.kafka.evrak.config.FileStorageConfig;
+import org.kafka.evrak.exception.BaseException;
+import org.kafka.evrak.exception.ErrorMessage;
+import org.kafka.evrak.exception.MessageType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.zip.CRC32;
+
+/**
+ * Şirket klasöründeki belge dosyalarının yolunu çözer.
+ * - depth 0: dosya doğrudan şirket klasöründedir (eski düz yerleşim).
+ * - depth n: dosya, kayıtlı adın CRC32 özetinin ilk n baytına göre n seviye alt klasöre dağıtılır
+ *   (ör. depth 2: <şirket>/3f/a0/<ad>); her seviye en fazla 256 klasör içerir.
+ * Özet "archived_" öneki atılarak hesaplanır; arşivleme/geri alma dosyayı aynı klasörde yeniden adlandırır.
+ * Her belgenin yerleşim derinliği kaydında (storage_depth) tutulur, böylece geçiş sırasında iki yerleşim birlikte çalışır.
+ * Şirket klasörleri şirket adıyla değil değişmeyen id'siyle adlandırılır (<uploads>/.companies/<id>);
+ * eski, ada göre adlandırılmış klasörler company.folder_path kaydı üzerinden okunmaya devam eder.
+ */
+@Component
+@RequiredArgsConstructor
+public class StoragePathResolver {
+
+    public static final int MAX_DEPTH = 3;
+
+    private static final String ARCHIVED_PREFIX = "archived_";
+
+    private final FileStorageConfig fileStorageConfig;
+    private final StorageMetrics storageMetrics;
+
+    /**
+     * Yeni yazılan belgelerin yerleşim derinliği.
+     */
+    public int getDepth() {
+        return Math.max(0, Math.min(MAX_DEPTH, fileStorageConfig.getFanoutDepth()));
+    }
+
+    /**
+     * Şirketin id tabanlı klasör yolu. Şirket adı ya da durumu değişse de bu yol değişmez.
+     */
+    public Path companyFolder(Long companyId) {
+        return fileStorageConfig.getCompaniesPath().resolve(companyId.toString());
+    }
+
+    public boolean isCompanyFolder(String folderPath, Long companyId) {
+        return folderPath != null && Paths.get(folderPath).equals(companyFolder(companyId));
+    }
+
+    public Path resolve(String companyFolder, String storedName, int depth) {
+        return resolve(Paths.get(companyFolder), storedName, depth);
+    }
+
+    public Path resolve(Path companyFolder, String storedName, int depth) {
+        if (depth <= 0) {
+            return companyFolder.resolve(storedName);
+        }
+        String shardKey = storedName.startsWith(ARCHIVED_PREFIX)
+                ? storedName.substring(ARCHIVED_PREFIX.length())
+                : storedName;
+        CRC32 crc = new CRC32();
+        crc.update(shardKey.getBytes(StandardCharsets.UTF_8));
+        long hash = crc.getValue();
+        Path folder = companyFolder;
+        for (int level = 0; level < Math.min(depth, MAX_DEPTH); level++) {
+            folder = folder.resolve(String.format("%02x", (hash >>> (24 - 8 * level)) & 0xFF));
+        }
+        return folder.resolve(storedName);
+    }
+
+    /**
+     * Yeni bir belge dosyasının (geçerli derinlikle) yazılacağı yolu döner; alt klasörleri oluşturur.
+     * Yol şirket klasörünün dışına çözülürse hiçbir klasör oluşturulmadan hata fırlatılır.
+     */
+    public Path prepareTarget(Path companyFolder, String storedName) throws IOException {
+        Path target = resolve(companyFolder, storedName, getDepth());
+        if (!target.normalize().startsWith(companyFolder.normalize())
+                || target.normalize().equals(companyFolder.normalize())) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.FILE_NAME_INVALID, "File name resolves outside the company folder: " + storedName));
+        }
+        if (!target.getParent().equals(companyFolder)) {
+            storageMetrics.time("mkdir", () -> Files.createDirectories(target.getParent()));
+        }
+        return target;
+    }
+
+    /**
+     * Kayıttaki derinliğe göre dosyayı bulur. Dosya orada yoksa (ör. yarıda kalan bir geçiş ya da
+     * eski bir kopyayla yazılan kayıt) geçerli derinlik ve düz yerleşim de denenir;
+     * hiçbirinde yoksa kayıttaki yol döner. Yedek yolların kontrolü ayrı etiketle (exists-fallback) ölçülür.
+     */
+    public Path locate(String companyFolder, String storedName, int depth) {
+        Path recorded = resolve(companyFolder, storedName, depth);
+        if (storageMetrics.time("exists", () -> Files.exists(recorded))) {
+            return recorded;
+        }
+        for (int candidate : new int[]{getDepth(), 0}) {
+            if (candidate != depth) {
+                Path path = resolve(companyFolder, storedName, candidate);
+                if (storageMetrics.time("exists-fallback", () -> Files.exists(path))) {
+                    return path;
+                }
+            }
+        }
+        return recorded;
+    }
+}
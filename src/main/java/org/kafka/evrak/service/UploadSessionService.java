@@ -0,0 +1,283 @@
+package org.kafka.evrak.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.kafka.evrak.config.FileStorageConfig;
+import org.kafka.evrak.config.UploadSessionConfig;
+import org.kafka.evrak.dto.request.DtoDocumentIU;
+import org.kafka.evrak.dto.request.DtoUploadSessionIU;
+import org.kafka.evrak.dto.response.DtoDocument;
+import org.kafka.evrak.dto.response.DtoUploadSession;
+import org.kafka.evrak.entity.Company;
+import org.kafka.evrak.entity.UploadSession;
+import org.kafka.evrak.exception.BaseException;
+import org.kafka.evrak.exception.ErrorMessage;
+import org.kafka.evrak.exception.MessageType;
+import org.kafka.evrak.mapper.UploadSessionMapper;
+import org.kafka.evrak.repository.CompanyRepository;
+import org.kafka.evrak.repository.UploadSessionRepository;
+import org.kafka.evrak.util.FileUtil;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Parçalı (resumable) yükleme oturumlarını yönetir.
+ * - Parçalar herhangi bir sırada ve paralel yüklenebilir; her parça ayrı dosyaya atomik yazılır.
+ * - Parça boyutu upload.max-chunk-size ile, toplam boyut oturum açılırken beyan edilen totalSize ile sınırlıdır.
+ * - Tamamlama adımında parçalar şirket klasöründe birleştirilip belge kaydı oluşturulur.
+ * - Süresi dolan oturumlar zamanlanmış görevle temizlenir.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UploadSessionService {
+
+    private static final String CHUNK_SUFFIX = ".chunk";
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final CompanyRepository companyRepository;
+    private final UploadSessionMapper uploadSessionMapper;
+    private final DocumentService documentService;
+    private final FileStorageConfig fileStorageConfig;
+    private final UploadSessionConfig uploadSessionConfig;
+
+    @Transactional
+    public DtoUploadSession createSession(DtoUploadSessionIU dto) {
+        DtoDocumentIU documentIU = dto.getDocument();
+        Company company = companyRepository.findById(documentIU.getCompanyId())
+                .orElseThrow(() -> new BaseException(new ErrorMessage(
+                        MessageType.NO_RECORD_EXIST, "Company not found for id: " + documentIU.getCompanyId())));
+        if (!Files.exists(Paths.get(company.getFolderPath()))) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.COMPANY_FOLDER_NOT_FOUND, "Company folder not found. Please add company first."));
+        }
+        if (dto.getTotalChunks() > uploadSessionConfig.getMaxChunks()) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.UPLOAD_CHUNK_INVALID, "Total chunks cannot exceed " + uploadSessionConfig.getMaxChunks()));
+        }
+        long maxChunkSize = uploadSessionConfig.getMaxChunkSize().toBytes();
+        if (dto.getTotalSize() > dto.getTotalChunks() * maxChunkSize) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.UPLOAD_SIZE_EXCEEDED,
+                    "Total size cannot exceed total chunks x " + maxChunkSize + " bytes per chunk."));
+        }
+        // Geçersiz dosya adları ve desteklenmeyen formatlar oturum açılırken reddedilir.
+        String filename = FileUtil.sanitizeFilename(dto.getFilename());
+        FileUtil.resolveFormat(filename);
+
+        UploadSession session = new UploadSession();
+        session.setCompany(company);
+        session.setDocumentName(documentIU.getName());
+        session.setCategory(documentIU.getCategory());
+        session.setDescription(documentIU.getDescription());
+        session.setFilename(filename);
+        session.setTotalChunks(dto.getTotalChunks());
+        session.setTotalSize(dto.getTotalSize());
+        session.setExpiresAt(LocalDateTime.now().plus(uploadSessionConfig.getSessionTtl()));
+        UploadSession savedSession = uploadSessionRepository.save(session);
+
+        try {
+            Files.createDirectories(getSessionFolder(savedSession.getId()));
+        } catch (IOException e) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.FOLDER_CREATION_FAILED, "Upload session folder creation error: " + e.getMessage()));
+        }
+        return toDto(savedSession);
+    }
+
+    /**
+     * Bir parçayı yükler. Aynı parça tekrar gönderilirse öncekinin yerine geçer.
+     * Parça, yapılandırılan parça boyutunu ve diğer parçalarla birlikte beyan edilen toplam boyutu aşamaz;
+     * sınır aşılırsa yazma yarıda kesilir ve parça kaydedilmez.
+     * Parça yazılırken veritabanı transaction'ı açık tutulmaz.
+     */
+    public Integer putChunk(Long sessionId, int index, InputStream content) {
+        UploadSession session = getOpenSession(sessionId);
+        if (index < 0 || index >= session.getTotalChunks()) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.UPLOAD_CHUNK_INVALID, "Chunk index must be between 0 and " + (session.getTotalChunks() - 1)));
+        }
+        long maxBytes = uploadSessionConfig.getMaxChunkSize().toBytes();
+        if (session.getTotalSize() != null) {
+            maxBytes = Math.min(maxBytes, session.getTotalSize() - getReceivedBytes(sessionId, index));
+        }
+        long limit = maxBytes;
+        try {
+            FileUtil.writeAtomically(FileUtil.limit(content, limit, () -> new BaseException(new ErrorMessage(
+                    MessageType.UPLOAD_SIZE_EXCEEDED, "Chunk " + index + " exceeds the remaining " + limit + " bytes."))),
+                    getChunkPath(sessionId, index));
+        } catch (IOException e) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.FOLDER_CREATION_FAILED, "Failed to store chunk " + index + " | " + e.getMessage()));
+        }
+        uploadSessionRepository.extendExpiry(sessionId, LocalDateTime.now().plus(uploadSessionConfig.getSessionTtl()));
+        return index;
+    }
+
+    @Transactional(readOnly = true)
+    public DtoUploadSession getSession(Long sessionId) {
+        return toDto(getOpenSession(sessionId));
+    }
+
+    /**
+     * Tüm parçalar yüklendiyse belgeyi oluşturur, ardından oturumu ve parçalarını siler.
+     * Oturum önce koşullu bir UPDATE ile sahiplenilir; eşzamanlı tamamlama isteklerinden yalnızca biri
+     * devam eder, diğerleri UPLOAD_SESSION_BUSY alır. Tamamlama başarısız olursa oturum yeniden açılır.
+     */
+    public DtoDocument completeSession(Long sessionId) {
+        UploadSession session = getOpenSession(sessionId);
+        if (uploadSessionRepository.claimForCompletion(
+                sessionId, LocalDateTime.now().plus(uploadSessionConfig.getSessionTtl())) == 0) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.UPLOAD_SESSION_BUSY, "Upload session is already being completed."));
+        }
+        DtoDocument document;
+        try {
+            document = createDocument(session);
+        } catch (RuntimeException e) {
+            uploadSessionRepository.reopen(sessionId);
+            throw e;
+        }
+        deleteSession(session);
+        return document;
+    }
+
+    private DtoDocument createDocument(UploadSession session) {
+        Long sessionId = session.getId();
+        List<Integer> received = listReceivedChunks(sessionId);
+        if (received.size() != session.getTotalChunks()) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.UPLOAD_INCOMPLETE,
+                    "Received " + received.size() + " of " + session.getTotalChunks() + " chunks."));
+        }
+        // Paralel parça yüklemeleri toplam sınırı ayrı ayrı denetlediğinden toplam burada kesinleşir.
+        long receivedBytes = getReceivedBytes(sessionId, -1);
+        if (session.getTotalSize() != null && receivedBytes != session.getTotalSize()) {
+            throw new BaseException(new ErrorMessage(
+                    receivedBytes > session.getTotalSize() ? MessageType.UPLOAD_SIZE_EXCEEDED : MessageType.UPLOAD_INCOMPLETE,
+                    "Received " + receivedBytes + " of " + session.getTotalSize() + " bytes."));
+        }
+
+        List<Path> chunks = new ArrayList<>(session.getTotalChunks());
+        for (int i = 0; i < session.getTotalChunks(); i++) {
+            chunks.add(getChunkPath(sessionId, i));
+        }
+
+        DtoDocumentIU documentIU = new DtoDocumentIU();
+        documentIU.setName(session.getDocumentName());
+        documentIU.setCategory(session.getCategory());
+        documentIU.setDescription(session.getDescription());
+        documentIU.setCompanyId(session.getCompany().getId());
+
+        return documentService.saveDocumentFromChunks(documentIU, session.getFilename(), chunks);
+    }
+
+    public Long abortSession(Long sessionId) {
+        UploadSession session = uploadSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new BaseException(new ErrorMessage(
+                        MessageType.NO_RECORD_EXIST, "Upload session not found.")));
+        deleteSession(session);
+        return sessionId;
+    }
+
+    /**
+     * Süresi dolmuş (terk edilmiş) oturumları ve parçalarını temizler.
+     * Bir oturum silinemezse loglanır ve diğerlerine devam edilir; bir sonraki çalışmada yeniden denenir.
+     */
+    @Scheduled(fixedDelayString = "${upload.gc-interval:PT15M}")
+    public void purgeExpiredSessions() {
+        for (UploadSession session : uploadSessionRepository.findByExpiresAtBefore(LocalDateTime.now())) {
+            try {
+                deleteSession(session);
+            } catch (RuntimeException e) {
+                log.warn("Failed to purge expired upload session {}", session.getId(), e);
+            }
+        }
+    }
+
+    private void deleteSession(UploadSession session) {
+        try {
+            FileUtil.deleteRecursively(getSessionFolder(session.getId()));
+        } catch (IOException e) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.FILE_DELETE_FAILED, "Failed to delete upload session folder: " + e.getMessage()));
+        }
+        uploadSessionRepository.delete(session);
+    }
+
+    private UploadSession getOpenSession(Long sessionId) {
+        UploadSession session = uploadSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new BaseException(new ErrorMessage(
+                        MessageType.NO_RECORD_EXIST, "Upload session not found.")));
+        if (session.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.UPLOAD_SESSION_EXPIRED, "Upload session expired at " + session.getExpiresAt()));
+        }
+        if (!session.isActive()) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.UPLOAD_SESSION_BUSY, "Upload session is being completed."));
+        }
+        return session;
+    }
+
+    private DtoUploadSession toDto(UploadSession session) {
+        DtoUploadSession dto = uploadSessionMapper.toDto(session);
+        dto.setReceivedChunks(listReceivedChunks(session.getId()));
+        return dto;
+    }
+
+    private List<Integer> listReceivedChunks(Long sessionId) {
+        Path folder = getSessionFolder(sessionId);
+        if (!Files.exists(folder)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(folder)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(CHUNK_SUFFIX) && !name.startsWith("."))
+                    .map(name -> Integer.parseInt(name.substring(0, name.length() - CHUNK_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.GENERAL_EXCEPTION, "Failed to list upload chunks: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Oturum klasöründeki parçaların toplam boyutunu döner; excludedIndex numaralı parça sayılmaz (-1: hepsi).
+     */
+    private long getReceivedBytes(Long sessionId, int excludedIndex) {
+        long total = 0;
+        for (Integer index : listReceivedChunks(sessionId)) {
+            if (index == excludedIndex) {
+                continue;
+            }
+            try {
+                total += Files.size(getChunkPath(sessionId, index));
+            } catch (IOException e) {
+                throw new BaseException(new ErrorMessage(
+                        MessageType.GENERAL_EXCEPTION, "Failed to read upload chunk size: " + e.getMessage()));
+            }
+        }
+        return total;
+    }
+
+    private Path getSessionFolder(Long sessionId) {
+        return fileStorageConfig.getSessionsPath().resolve(String.valueOf(sessionId));
+    }
+
+    private Path getChunkPath(Long sessionId, int index) {
+        return getSessionFolder(sessionId).resolve(index + CHUNK_SUFFIX);
+    }
+}
@@ -0,0 +1,50 @@
+package org.kafka.evrak.service.job;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.kafka.evrak.dto.request.DtoArchiveImportIU;
+import org.kafka.evrak.entity.Job;
+import org.kafka.evrak.enums.JobType;
+import org.kafka.evrak.exception.BaseException;
+import org.kafka.evrak.exception.ErrorMessage;
+import org.kafka.evrak.exception.MessageType;
+import org.kafka.evrak.service.ArchiveImportService;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Arşiv içe aktarma işi.
+ * Yarıda kalan bir içe aktarma, HARD_LINK modunda aynı dosyaları tekrar ekleyeceği için otomatik
+ * devam ettirilmez; MOVE modunda yeniden gönderildiğinde yalnızca kaynakta kalan dosyalar işlenir.
+ */
+@Component
+@RequiredArgsConstructor
+public class ArchiveImportJobHandler implements JobHandler {
+
+    private final ArchiveImportService archiveImportService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Set<JobType> getTypes() {
+        return Set.of(JobType.ARCHIVE_IMPORT);
+    }
+
+    @Override
+    public Object execute(Job job, JobProgress progress) {
+        DtoArchiveImportIU dto;
+        try {
+            dto = objectMapper.readValue(job.getParameters(), DtoArchiveImportIU.class);
+        } catch (JsonProcessingException e) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.GENERAL_EXCEPTION, "Invalid import parameters: " + e.getMessage()));
+        }
+        return archiveImportService.importArchive(dto, progress::setProcessed);
+    }
+
+    @Override
+    public boolean isResumable() {
+        return false;
+    }
+}
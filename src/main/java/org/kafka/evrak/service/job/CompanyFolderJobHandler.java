@@ -0,0 +1,31 @@
+package org.kafka.evrak.service.job;
+
+import lombok.RequiredArgsConstructor;
+import org.kafka.evrak.entity.Job;
+import org.kafka.evrak.enums.JobType;
+import org.kafka.evrak.service.CompanyFolderMigrationService;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Ada göre adlandırılmış şirket klasörlerini id tabanlı klasörlere taşıyan tek seferlik geçiş işi.
+ * Yeniden çalıştırıldığında yalnızca henüz taşınmamış şirketler işlenir.
+ */
+@Component
+@RequiredArgsConstructor
+public class CompanyFolderJobHandler implements JobHandler {
+
+    private final CompanyFolderMigrationService companyFolderMigrationService;
+
+    @Override
+    public Set<JobType> getTypes() {
+        return Set.of(JobType.MIGRATE_COMPANY_FOLDERS);
+    }
+
+    @Override
+    public Object execute(Job job, JobProgress progress) {
+        progress.setTotal(companyFolderMigrationService.countMigrationCandidates());
+        return companyFolderMigrationService.migrate(progress::setProcessed);
+    }
+}
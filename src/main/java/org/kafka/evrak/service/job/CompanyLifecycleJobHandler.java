@@ -0,0 +1,50 @@
+package org.kafka.evrak.service.job;
+
+import lombok.RequiredArgsConstructor;
+import org.kafka.evrak.entity.Company;
+import org.kafka.evrak.entity.Job;
+import org.kafka.evrak.enums.JobType;
+import org.kafka.evrak.exception.BaseException;
+import org.kafka.evrak.exception.ErrorMessage;
+import org.kafka.evrak.exception.MessageType;
+import org.kafka.evrak.repository.CompanyRepository;
+import org.kafka.evrak.service.CompanyService;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Firma arşivleme / arşivden geri getirme işi.
+ * Firma zaten hedef durumdaysa (ör. yeniden başlatma sonrası tekrar çalıştırma) iş başarılı sayılır.
+ */
+@Component
+@RequiredArgsConstructor
+public class CompanyLifecycleJobHandler implements JobHandler {
+
+    private final CompanyRepository companyRepository;
+    private final CompanyService companyService;
+
+    @Override
+    public Set<JobType> getTypes() {
+        return Set.of(JobType.ARCHIVE_COMPANY, JobType.RESTORE_COMPANY);
+    }
+
+    @Override
+    public Object execute(Job job, JobProgress progress) {
+        boolean archive = job.getType() == JobType.ARCHIVE_COMPANY;
+        Company company = companyRepository.findById(job.getTargetId())
+                .orElseThrow(() -> new BaseException(new ErrorMessage(
+                        MessageType.NO_RECORD_EXIST, "Company not found for id: " + job.getTargetId())));
+
+        progress.setTotal(1);
+        if (company.isActive() == archive) {
+            if (archive) {
+                companyService.deactivateCompany(company.getId());
+            } else {
+                companyService.activateCompany(company.getId());
+            }
+        }
+        progress.setProcessed(1);
+        return company.getId();
+    }
+}
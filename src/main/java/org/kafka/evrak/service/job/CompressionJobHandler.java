@@ -0,0 +1,31 @@
+package org.kafka.evrak.service.job;
+
+import lombok.RequiredArgsConstructor;
+import org.kafka.evrak.entity.Job;
+import org.kafka.evrak.enums.JobType;
+import org.kafka.evrak.service.CompressionService;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Mevcut metin belgelerini depoda sıkıştıran geçiş işi.
+ * Yeniden çalıştırıldığında yalnızca henüz sıkıştırılmamış belgeler işlenir.
+ */
+@Component
+@RequiredArgsConstructor
+public class CompressionJobHandler implements JobHandler {
+
+    private final CompressionService compressionService;
+
+    @Override
+    public Set<JobType> getTypes() {
+        return Set.of(JobType.COMPRESS_DOCUMENTS);
+    }
+
+    @Override
+    public Object execute(Job job, JobProgress progress) {
+        progress.setTotal(compressionService.countMigrationCandidates());
+        return compressionService.migrate(progress::setProcessed);
+    }
+}
@@ -0,0 +1,45 @@
+package org.kafka.evrak.service.job;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.kafka.evrak.dto.request.DtoDocumentLifecycleIU;
+import org.kafka.evrak.entity.Job;
+import org.kafka.evrak.enums.JobType;
+import org.kafka.evrak.exception.BaseException;
+import org.kafka.evrak.exception.ErrorMessage;
+import org.kafka.evrak.exception.MessageType;
+import org.kafka.evrak.service.DocumentLifecycleService;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Belgeleri toplu arşivleme / geri getirme işi.
+ * Yeniden çalıştırıldığında yalnızca henüz hedef durumda olmayan belgeler işlenir.
+ */
+@Component
+@RequiredArgsConstructor
+public class DocumentLifecycleJobHandler implements JobHandler {
+
+    private final DocumentLifecycleService documentLifecycleService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Set<JobType> getTypes() {
+        return Set.of(JobType.DEACTIVATE_DOCUMENTS, JobType.ACTIVATE_DOCUMENTS);
+    }
+
+    @Override
+    public Object execute(Job job, JobProgress progress) {
+        DtoDocumentLifecycleIU dto;
+        try {
+            dto = objectMapper.readValue(job.getParameters(), DtoDocumentLifecycleIU.class);
+        } catch (JsonProcessingException e) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.GENERAL_EXCEPTION, "Invalid lifecycle parameters: " + e.getMessage()));
+        }
+        return documentLifecycleService.apply(dto, job.getType() == JobType.ACTIVATE_DOCUMENTS,
+                progress::setProcessed);
+    }
+}
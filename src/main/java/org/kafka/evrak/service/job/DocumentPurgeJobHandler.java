@@ -0,0 +1,44 @@
+package org.kafka.evrak.service.job;
+
+import lombok.RequiredArgsConstructor;
+import org.kafka.evrak.entity.Company;
+import org.kafka.evrak.entity.Job;
+import org.kafka.evrak.enums.JobType;
+import org.kafka.evrak.exception.BaseException;
+import org.kafka.evrak.exception.ErrorMessage;
+import org.kafka.evrak.exception.MessageType;
+import org.kafka.evrak.repository.CompanyRepository;
+import org.kafka.evrak.repository.DocumentRepository;
+import org.kafka.evrak.service.DocumentPurgeService;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Bir şirketin aktif/pasif belgelerini toplu silen iş.
+ * Yeniden çalıştırıldığında yalnızca kalan belgeler işlenir.
+ */
+@Component
+@RequiredArgsConstructor
+public class DocumentPurgeJobHandler implements JobHandler {
+
+    private final CompanyRepository companyRepository;
+    private final DocumentRepository documentRepository;
+    private final DocumentPurgeService documentPurgeService;
+
+    @Override
+    public Set<JobType> getTypes() {
+        return Set.of(JobType.PURGE_ACTIVE_DOCUMENTS, JobType.PURGE_INACTIVE_DOCUMENTS);
+    }
+
+    @Override
+    public Object execute(Job job, JobProgress progress) {
+        boolean active = job.getType() == JobType.PURGE_ACTIVE_DOCUMENTS;
+        Company company = companyRepository.findById(job.getTargetId())
+                .orElseThrow(() -> new BaseException(new ErrorMessage(
+                        MessageType.NO_RECORD_EXIST, "Company not found for id: " + job.getTargetId())));
+
+        progress.setTotal(documentRepository.countByCompanyIdAndIsActive(company.getId(), active));
+        return documentPurgeService.purge(company, active, progress::setProcessed);
+    }
+}
@@ -0,0 +1,29 @@
+package org.kafka.evrak.service.job;
+
+import org.kafka.evrak.entity.Job;
+import org.kafka.evrak.enums.JobType;
+
+import java.util.Set;
+
+/**
+ * Bir veya daha fazla iş türünü çalıştıran bileşen.
+ * Yeniden başlatma sonrası aynı iş tekrar çalıştırılabileceğinden işlemler tekrar edilebilir olmalıdır;
+ * olamıyorsa {@link #isResumable()} false dönmelidir.
+ */
+public interface JobHandler {
+
+    Set<JobType> getTypes();
+
+    /**
+     * İşi çalıştırır ve sonucu (JSON'a çevrilecek nesne) döner.
+     */
+    Object execute(Job job, JobProgress progress);
+
+    /**
+     * false ise yeniden başlatma sırasında yarıda kalan (RUNNING) iş tekrar çalıştırılmaz, FAILED olarak işaretlenir.
+     * Kuyrukta bekleyen (QUEUED) işler her durumda çalıştırılır.
+     */
+    default boolean isResumable() {
+        return true;
+    }
+}
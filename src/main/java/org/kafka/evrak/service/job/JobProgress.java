@@ -0,0 +1,11 @@
+package org.kafka.evrak.service.job;
+
+/**
+ * Çalışan bir işin ilerlemesini bildirmesi için kullanılır.
+ */
+public interface JobProgress {
+
+    void setTotal(long total);
+
+    void setProcessed(long processed);
+}
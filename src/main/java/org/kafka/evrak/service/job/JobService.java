@@ -0,0 +1,279 @@
+package org.kafka.evrak.service.job;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.kafka.evrak.config.JobConfig;
+import org.kafka.evrak.config.WorkerThreads;
+import org.kafka.evrak.dto.response.DtoJob;
+import org.kafka.evrak.entity.Job;
+import org.kafka.evrak.enums.JobPriority;
+import org.kafka.evrak.enums.JobStatus;
+import org.kafka.evrak.enums.JobType;
+import org.kafka.evrak.exception.BaseException;
+import org.kafka.evrak.exception.ErrorMessage;
+import org.kafka.evrak.exception.MessageType;
+import org.kafka.evrak.mapper.JobMapper;
+import org.kafka.evrak.repository.JobRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Uzun süreli işlemleri (toplu silme, firma arşivleme vb.) HTTP isteğinden ayırarak arka planda çalıştırır.
+ * - İş kaydı veritabanına QUEUED olarak yazılır ve id'si hemen döner.
+ * - İşler sabit boyutlu bir havuzda, önceliğe ve geliş sırasına göre çalıştırılır.
+ *   Havuz küçük tutulduğundan toplu işler Tomcat iş parçacıklarını ve bağlantı havuzunu tüketmez.
+ * - İlerleme en fazla saniyede bir kaydedilir; durum sorgusunda hız ve tahmini kalan süre hesaplanır.
+ * - Uygulama yeniden başladığında QUEUED ve RUNNING durumundaki işler tekrar kuyruğa alınır.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JobService {
+
+    private static final long PROGRESS_INTERVAL_MILLIS = 1000;
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JobRepository jobRepository;
+    private final JobMapper jobMapper;
+    private final JobConfig jobConfig;
+    private final WorkerThreads workerThreads;
+    private final ObjectMapper objectMapper;
+    // İşleyiciler servisleri (dolayısıyla bu servisi) kullanabildiği için çalışma anında çözülür.
+    private final ObjectProvider<JobHandler> jobHandlers;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final Set<Long> enqueuedJobIds = ConcurrentHashMap.newKeySet();
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void start() {
+        executor = new ThreadPoolExecutor(jobConfig.getWorkers(), jobConfig.getWorkers(),
+                0L, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>(),
+                workerThreads.factory("job-worker-"));
+    }
+
+    @PreDestroy
+    void stop() {
+        // Yarıda kalan işler RUNNING olarak kalır ve bir sonraki açılışta devam ettirilir.
+        executor.shutdownNow();
+    }
+
+    /**
+     * Yeni bir işi kaydedip kuyruğa alır.
+     * Aktif bir transaction içinde çağrılırsa iş, commit sonrasında kuyruğa alınır.
+     */
+    public DtoJob submit(JobType type, Long targetId, String parameters, JobPriority priority) {
+        Job job = new Job();
+        job.setType(type);
+        job.setStatus(JobStatus.QUEUED);
+        job.setPriority(priority);
+        job.setTargetId(targetId);
+        job.setParameters(parameters);
+        Job savedJob = jobRepository.save(job);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(savedJob);
+                }
+            });
+        } else {
+            enqueue(savedJob);
+        }
+        return toDto(savedJob);
+    }
+
+    public DtoJob getJob(Long jobId) {
+        Job job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new BaseException(new ErrorMessage(
+                        MessageType.NO_RECORD_EXIST, "Job not found for id: " + jobId)));
+        return toDto(job);
+    }
+
+    /**
+     * Yeniden başlatma öncesinde tamamlanmamış işleri tekrar kuyruğa alır.
+     * Tekrar çalıştırılabilir işlerde RUNNING işler baştan başlatılır.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingJobs() {
+        List<Job> pendingJobs = jobRepository.findByStatusInOrderByIdAsc(List.of(JobStatus.QUEUED, JobStatus.RUNNING));
+        for (Job job : pendingJobs) {
+            if (job.getStatus() == JobStatus.RUNNING && !findHandler(job.getType()).isResumable()) {
+                job.setStatus(JobStatus.FAILED);
+                job.setErrorMessage("Interrupted by application restart. Submit the job again to continue.");
+                job.setFinishedAt(LocalDateTime.now());
+                jobRepository.save(job);
+                continue;
+            }
+            enqueue(job);
+        }
+        if (!pendingJobs.isEmpty()) {
+            log.info("Found {} pending job(s) after restart.", pendingJobs.size());
+        }
+    }
+
+    private void enqueue(Job job) {
+        if (enqueuedJobIds.add(job.getId())) {
+            executor.execute(new JobTask(job.getId(), job.getPriority(), sequence.incrementAndGet()));
+        }
+    }
+
+    private void runJob(Long jobId) {
+        Job job = jobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() == JobStatus.COMPLETED || job.getStatus() == JobStatus.FAILED) {
+            return;
+        }
+        job.setStatus(JobStatus.RUNNING);
+        job.setStartedAt(LocalDateTime.now());
+        job.setFinishedAt(null);
+        job.setProcessedItems(0);
+        job.setErrorMessage(null);
+        job = jobRepository.save(job);
+
+        TrackedProgress progress = new TrackedProgress(jobId, job.getTotalItems());
+        try {
+            Object result = findHandler(job.getType()).execute(job, progress);
+            job.setResult(result == null ? null : objectMapper.writeValueAsString(result));
+            job.setStatus(JobStatus.COMPLETED);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.error("Job {} ({}) failed", jobId, job.getType(), e);
+            job.setStatus(JobStatus.FAILED);
+            job.setErrorMessage(truncate(e.getMessage()));
+        }
+        job.setTotalItems(progress.total);
+        job.setProcessedItems(progress.processed);
+        job.setFinishedAt(LocalDateTime.now());
+        jobRepository.save(job);
+    }
+
+    private JobHandler findHandler(JobType type) {
+        return jobHandlers.orderedStream()
+                .filter(handler -> handler.getTypes().contains(type))
+                .findFirst()
+                .orElseThrow(() -> new BaseException(new ErrorMessage(
+                        MessageType.GENERAL_EXCEPTION, "No handler for job type: " + type)));
+    }
+
+    private DtoJob toDto(Job job) {
+        DtoJob dto = jobMapper.toDto(job);
+        if (job.getStartedAt() == null || job.getProcessedItems() <= 0) {
+            return dto;
+        }
+        LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now();
+        long elapsedMillis = Duration.between(job.getStartedAt(), end).toMillis();
+        if (elapsedMillis <= 0) {
+            return dto;
+        }
+        double throughput = job.getProcessedItems() * 1000.0 / elapsedMillis;
+        dto.setThroughput(throughput);
+        if (job.getStatus() == JobStatus.RUNNING && job.getTotalItems() != null) {
+            long remaining = Math.max(0, job.getTotalItems() - job.getProcessedItems());
+            dto.setEtaSeconds(Math.round(remaining / throughput));
+        }
+        return dto;
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    /**
+     * Kuyruk elemanı: önce önceliğe, eşitse geliş sırasına göre sıralanır.
+     */
+    private final class JobTask implements Runnable, Comparable<JobTask> {
+
+        private final Long jobId;
+        private final JobPriority priority;
+        private final long order;
+
+        private JobTask(Long jobId, JobPriority priority, long order) {
+            this.jobId = jobId;
+            this.priority = priority;
+            this.order = order;
+        }
+
+        @Override
+        public void run() {
+            try {
+                runJob(jobId);
+            } catch (RuntimeException e) {
+                // Durum kaydedilemediyse iş bir sonraki açılışta tekrar denenir.
+                log.error("Job {} could not be processed", jobId, e);
+            } finally {
+                enqueuedJobIds.remove(jobId);
+            }
+        }
+
+        @Override
+        public int compareTo(JobTask other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(order, other.order);
+        }
+    }
+
+    /**
+     * İşleyicinin bildirdiği ilerlemeyi tutar ve belirli aralıklarla veritabanına yazar.
+     */
+    private final class TrackedProgress implements JobProgress {
+
+        private final Long jobId;
+        private volatile Long total;
+        private volatile long processed;
+        private final ReentrantLock flushLock = new ReentrantLock();
+        private long lastFlush;
+
+        private TrackedProgress(Long jobId, Long total) {
+            this.jobId = jobId;
+            this.total = total;
+        }
+
+        @Override
+        public void setTotal(long total) {
+            this.total = total;
+            flush();
+        }
+
+        @Override
+        public void setProcessed(long processed) {
+            this.processed = processed;
+            if (System.currentTimeMillis() - lastFlush >= PROGRESS_INTERVAL_MILLIS) {
+                flush();
+            }
+        }
+
+        // synchronized yerine kilit: JDBC çağrısı sırasında sanal iş parçacığı taşıyıcıya sabitlenmez (pinning).
+        private void flush() {
+            flushLock.lock();
+            try {
+                lastFlush = System.currentTimeMillis();
+                jobRepository.updateProgress(jobId, processed, total);
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.kafka.evrak.service.job;
+
+import lombok.RequiredArgsConstructor;
+import org.kafka.evrak.entity.Job;
+import org.kafka.evrak.enums.JobType;
+import org.kafka.evrak.service.PackService;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Pasif belgeleri paket dosyalarına taşıyan (targetId null ise tüm şirketler) ve
+ * paketlerdeki ölü alanı geri kazanan işler. Yeniden çalıştırıldığında kalan iş işlenir.
+ */
+@Component
+@RequiredArgsConstructor
+public class PackJobHandler implements JobHandler {
+
+    private final PackService packService;
+
+    @Override
+    public Set<JobType> getTypes() {
+        return Set.of(JobType.PACK_DOCUMENTS, JobType.REPACK_DOCUMENTS);
+    }
+
+    @Override
+    public Object execute(Job job, JobProgress progress) {
+        if (job.getType() == JobType.REPACK_DOCUMENTS) {
+            progress.setTotal(packService.countPacks());
+            return packService.repack(progress::setProcessed);
+        }
+        progress.setTotal(packService.countCompactionCandidates(job.getTargetId()));
+        return packService.compact(job.getTargetId(), progress::setProcessed);
+    }
+}
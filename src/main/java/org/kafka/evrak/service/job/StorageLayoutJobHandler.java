@@ -0,0 +1,31 @@
+package org.kafka.evrak.service.job;
+
+import lombok.RequiredArgsConstructor;
+import org.kafka.evrak.entity.Job;
+import org.kafka.evrak.enums.JobType;
+import org.kafka.evrak.service.StorageLayoutService;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Belge dosyalarını geçerli alt klasör yerleşimine taşıyan iş (targetId null ise tüm şirketler).
+ * Yeniden çalıştırıldığında yalnızca henüz taşınmamış belgeler işlenir.
+ */
+@Component
+@RequiredArgsConstructor
+public class StorageLayoutJobHandler implements JobHandler {
+
+    private final StorageLayoutService storageLayoutService;
+
+    @Override
+    public Set<JobType> getTypes() {
+        return Set.of(JobType.RELOCATE_DOCUMENTS);
+    }
+
+    @Override
+    public Object execute(Job job, JobProgress progress) {
+        progress.setTotal(storageLayoutService.countMigrationCandidates(job.getTargetId()));
+        return storageLayoutService.migrate(job.getTargetId(), progress::setProcessed);
+    }
+}
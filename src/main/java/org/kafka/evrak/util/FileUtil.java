@@ -1,4 +1,361 @@
 package org.kafka.evrak.util;
 
+import org.kafka.evrak.enums.DocumentFormat;
+import org.kafka.evrak.exception.BaseException;
+import org.kafka.evrak.exception.ErrorMessage;
+import org.kafka.evrak.exception.MessageType;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
 public class FileUtil {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String TEMP_SUFFIX = ".part";
+
+    private FileUtil() {
+    }
+
+    /**
+     * Yazma sonucunda elde edilen dosya boyutu ve SHA-256 özeti.
+     * size ve contentHash her zaman özgün içeriğe aittir; storedSize diskteki (sıkıştırılmış olabilir) boyuttur.
+     */
+    public record StoredFile(long size, String contentHash, long storedSize) {
+
+        public StoredFile(long size, String contentHash) {
+            this(size, contentHash, size);
+        }
+    }
+
+    /**
+     * Akıştaki veriyi tek geçişte hedef dosyaya yazar.
+     * - Veri önce aynı klasörde bu yazmaya özgü geçici bir isme (".<ad>.<uuid>.part") FileChannel ile yazılır.
+     * - Boyut ve SHA-256 özeti yazma sırasında hesaplanır, dosya ikinci kez okunmaz.
+     * - Yazma bitince geçici dosya atomik olarak hedef isme taşınır; hata durumunda silinir.
+     */
+    public static StoredFile writeAtomically(InputStream in, Path target) throws IOException {
+        Path tempPath = tempPathFor(target);
+        MessageDigest digest = newSha256();
+        long size = 0;
+        boolean moved = false;
+        try {
+            try (FileChannel channel = FileChannel.open(tempPath,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                    ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                    while (chunk.hasRemaining()) {
+                        channel.write(chunk);
+                    }
+                    size += read;
+                }
+                channel.force(false);
+            }
+            Files.move(tempPath, target, StandardCopyOption.ATOMIC_MOVE);
+            moved = true;
+        } finally {
+            if (!moved) {
+                Files.deleteIfExists(tempPath);
+            }
+        }
+        return new StoredFile(size, HexFormat.of().formatHex(digest.digest()));
+    }
+
+    /**
+     * Akıştan en fazla maxBytes okunmasına izin verir; sınır aşılırsa onExceeded ile üretilen hata fırlatılır.
+     * Yazma yöntemleri hata durumunda geçici dosyayı sildiğinden yarım içerik hedefe taşınmaz.
+     */
+    public static InputStream limit(InputStream in, long maxBytes, Supplier<? extends RuntimeException> onExceeded) {
+        return new FilterInputStream(in) {
+            private long remaining = maxBytes;
+
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b != -1) {
+                    consume(1);
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int read = super.read(buffer, offset, length);
+                if (read > 0) {
+                    consume(read);
+                }
+                return read;
+            }
+
+            private void consume(long bytes) {
+                remaining -= bytes;
+                if (remaining < 0) {
+                    throw onExceeded.get();
+                }
+            }
+        };
+    }
+
+    /**
+     * Akıştaki veriyi gzip ile sıkıştırarak hedef dosyaya atomik olarak yazar (bkz. writeAtomically).
+     * Boyut ve SHA-256 özeti sıkıştırılmamış içerik üzerinden hesaplanır.
+     */
+    public static StoredFile writeCompressedAtomically(InputStream in, Path target, int level) throws IOException {
+        Path tempPath = tempPathFor(target);
+        MessageDigest digest = newSha256();
+        long size = 0;
+        long storedSize;
+        boolean moved = false;
+        try {
+            try (FileChannel channel = FileChannel.open(tempPath,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+                 GZIPOutputStream gzip = newGzipOutputStream(Channels.newOutputStream(channel), level)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                    gzip.write(buffer, 0, read);
+                    size += read;
+                }
+                gzip.finish();
+                channel.force(false);
+                storedSize = channel.size();
+            }
+            Files.move(tempPath, target, StandardCopyOption.ATOMIC_MOVE);
+            moved = true;
+        } finally {
+            if (!moved) {
+                Files.deleteIfExists(tempPath);
+            }
+        }
+        return new StoredFile(size, HexFormat.of().formatHex(digest.digest()), storedSize);
+    }
+
+    /**
+     * Parça dosyalarını sırasıyla okuyan tek bir akış döner; her parça sırası gelince açılır.
+     */
+    public static InputStream openConcatenated(List<Path> parts) {
+        Iterator<Path> iterator = parts.iterator();
+        return new SequenceInputStream(new Enumeration<>() {
+            @Override
+            public boolean hasMoreElements() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public InputStream nextElement() {
+                try {
+                    return Files.newInputStream(iterator.next());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        });
+    }
+
+    /**
+     * gzip ile sıkıştırılmış dosyayı açık metin olarak okuyan akış döner.
+     */
+    public static InputStream newGzipInputStream(Path path) throws IOException {
+        return newGzipInputStream(Files.newInputStream(path));
+    }
+
+    /**
+     * gzip içeriği okuyan akışı açık metin akışına çevirir; başlık okunamazsa verilen akış kapatılır.
+     */
+    public static InputStream newGzipInputStream(InputStream raw) throws IOException {
+        try {
+            return new GZIPInputStream(raw, BUFFER_SIZE);
+        } catch (IOException e) {
+            raw.close();
+            throw e;
+        }
+    }
+
+    private static GZIPOutputStream newGzipOutputStream(OutputStream out, int level) throws IOException {
+        return new GZIPOutputStream(out, BUFFER_SIZE) {
+            {
+                def.setLevel(level);
+            }
+        };
+    }
+
+    /**
+     * Parça dosyalarını sırasıyla birleştirip hedef dosyayı atomik olarak oluşturur.
+     * - Özet gerekmiyorsa parçalar FileChannel.transferTo ile çekirdek içinde kopyalanır
+     *   (veri kullanıcı alanına okunmaz); tek parça varsa doğrudan taşınır.
+     * - Özet gerekiyorsa parçalar bir kez okunur, boyut ve SHA-256 aynı geçişte hesaplanır.
+     * Özet hesaplanmadığında dönen contentHash null'dır.
+     */
+    public static StoredFile concatAtomically(List<Path> parts, Path target, boolean computeHash) throws IOException {
+        if (parts.size() == 1 && !computeHash) {
+            long size = Files.size(parts.get(0));
+            Files.move(parts.get(0), target, StandardCopyOption.ATOMIC_MOVE);
+            return new StoredFile(size, null);
+        }
+        Path tempPath = tempPathFor(target);
+        MessageDigest digest = computeHash ? newSha256() : null;
+        long size = 0;
+        boolean moved = false;
+        try {
+            try (FileChannel out = FileChannel.open(tempPath,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = digest != null ? ByteBuffer.allocate(BUFFER_SIZE) : null;
+                for (Path part : parts) {
+                    try (FileChannel in = FileChannel.open(part, StandardOpenOption.READ)) {
+                        if (digest == null) {
+                            long count = in.size();
+                            long position = 0;
+                            while (position < count) {
+                                position += in.transferTo(position, count - position, out);
+                            }
+                            size += count;
+                        } else {
+                            while (in.read(buffer) != -1) {
+                                buffer.flip();
+                                digest.update(buffer.array(), 0, buffer.limit());
+                                while (buffer.hasRemaining()) {
+                                    size += out.write(buffer);
+                                }
+                                buffer.clear();
+                            }
+                        }
+                    }
+                }
+                out.force(false);
+            }
+            Files.move(tempPath, target, StandardCopyOption.ATOMIC_MOVE);
+            moved = true;
+        } finally {
+            if (!moved) {
+                Files.deleteIfExists(tempPath);
+            }
+        }
+        return new StoredFile(size, digest == null ? null : HexFormat.of().formatHex(digest.digest()));
+    }
+
+    /**
+     * Klasörü içindekilerle birlikte siler. Klasör yoksa bir şey yapmaz.
+     */
+    public static void deleteRecursively(Path folder) throws IOException {
+        if (!Files.exists(folder)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(folder)) {
+            List<Path> ordered = paths.sorted(Comparator.reverseOrder()).toList();
+            for (Path path : ordered) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * Her yazma kendi geçici dosyasını kullanır (".<ad>.<uuid>.part"); aynı hedefe eşzamanlı ya da yeniden
+     * denenen yazmalar birbirinin geçici dosyasını ezmez veya silmez, tamamlanan son yazma hedefte kalır.
+     */
+    private static Path tempPathFor(Path target) {
+        return target.resolveSibling("." + target.getFileName() + "." + UUID.randomUUID().toString().replace("-", "")
+                + TEMP_SUFFIX);
+    }
+
+    /**
+     * Belgenin depodaki benzersiz adı: <32 haneli uuid>_<orijinal ad>.
+     * Orijinal ad önce sanitizeFilename ile yalın dosya adına indirgenir.
+     */
+    public static String newStoredName(String originalFilename) {
+        return UUID.randomUUID().toString().replace("-", "") + "_" + sanitizeFilename(originalFilename);
+    }
+
+    /**
+     * İstemciden gelen dosya adını yalın dosya adına indirger (ör. "klasor/a.pdf" -> "a.pdf").
+     * Kontrol karakteri, ters bölü ya da ".." bileşeni içeren adlar reddedilir;
+     * böylece kayıtlı ad şirket klasörü dışına çözülemez.
+     */
+    public static String sanitizeFilename(String originalFilename) {
+        if (originalFilename == null || originalFilename.isBlank()) {
+            throw invalidFilename("File name is empty.");
+        }
+        String name = originalFilename.trim();
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isISOControl(c) || c == '\\') {
+                throw invalidFilename("File name contains illegal characters.");
+            }
+        }
+        Path path;
+        try {
+            path = Paths.get(name);
+        } catch (InvalidPathException e) {
+            throw invalidFilename("File name is not a valid path: " + e.getReason());
+        }
+        for (Path element : path) {
+            if (element.toString().equals("..")) {
+                throw invalidFilename("File name must not contain '..' segments.");
+            }
+        }
+        Path fileName = path.getFileName();
+        if (fileName == null || fileName.toString().equals(".") || fileName.toString().isBlank()) {
+            throw invalidFilename("File name is empty.");
+        }
+        return fileName.toString();
+    }
+
+    private static BaseException invalidFilename(String detail) {
+        return new BaseException(new ErrorMessage(MessageType.FILE_NAME_INVALID, detail));
+    }
+
+    /**
+     * Dosya adının uzantısından DocumentFormat belirler.
+     * Uzantı yoksa veya desteklenmiyorsa hata fırlatır.
+     */
+    public static DocumentFormat resolveFormat(String originalFilename) {
+        int dotIndex = originalFilename.lastIndexOf('.');
+        if (dotIndex < 0 || dotIndex == originalFilename.length() - 1) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.GENERAL_EXCEPTION, "File does not have a valid extension."));
+        }
+        String ext = originalFilename.substring(dotIndex + 1).toUpperCase();
+        try {
+            return DocumentFormat.valueOf(ext);
+        } catch (IllegalArgumentException e) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.GENERAL_EXCEPTION, "Unsupported file format: " + ext));
+        }
+    }
+
+    public static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
 }
@@ -1,4 +1,67 @@
 package org.kafka.evrak.util;
 
+import org.kafka.evrak.dto.response.DtoSlice;
+import org.kafka.evrak.exception.BaseException;
+import org.kafka.evrak.exception.ErrorMessage;
+import org.kafka.evrak.exception.MessageType;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
 public class RepositoryUtil {
+
+    private static final String CURSOR_PREFIX = "id:";
+
+    private RepositoryUtil() {
+    }
+
+    /**
+     * Keyset sorgusu için sayfa isteği: sayfa boyutundan bir fazla kayıt istenir,
+     * fazladan gelen kayıt sonraki sayfanın varlığını gösterir. Sıralama sorgunun kendisindedir
+     * ve List dönen sorgularda COUNT çalıştırılmaz.
+     */
+    public static Pageable seekPage(int size) {
+        return PageRequest.of(0, size + 1);
+    }
+
+    /**
+     * Son görülen id'yi opak bir devam anahtarına dönüştürür.
+     */
+    public static String encodeCursor(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Devam anahtarını çözer; anahtar yoksa (ilk sayfa) null döner.
+     */
+    public static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!value.startsWith(CURSOR_PREFIX)) {
+                throw new IllegalArgumentException(value);
+            }
+            return Long.parseLong(value.substring(CURSOR_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new BaseException(new ErrorMessage(
+                    MessageType.INVALID_PAGE_CURSOR, "Invalid cursor: " + cursor));
+        }
+    }
+
+    /**
+     * seekPage ile alınan satırlardan sayfa sonucunu oluşturur.
+     */
+    public static <E, D> DtoSlice<D> toSlice(List<E> rows, int size, Function<E, Long> idOf, Function<E, D> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> pageRows = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? encodeCursor(idOf.apply(pageRows.get(pageRows.size() - 1))) : null;
+        return new DtoSlice<>(pageRows.stream().map(mapper).toList(), nextCursor, hasNext);
+    }
 }
@@ -0,0 +1,51 @@
+-- Hibernate (ddl-auto=update) ile oluşturulmuş mevcut veritabanlarında da
+-- çalışabilmesi için tüm ifadeler idempotent yazılmıştır.
+
+CREATE TABLE IF NOT EXISTS company (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6),
+    is_active   BOOLEAN      NOT NULL,
+    name        VARCHAR(100) NOT NULL,
+    folder_path VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS document_blob (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at   TIMESTAMP(6) NOT NULL,
+    updated_at   TIMESTAMP(6),
+    is_active    BOOLEAN      NOT NULL,
+    content_hash VARCHAR(64)  NOT NULL UNIQUE,
+    size         BIGINT       NOT NULL,
+    ref_count    BIGINT       NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS document (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at   TIMESTAMP(6) NOT NULL,
+    updated_at   TIMESTAMP(6),
+    is_active    BOOLEAN      NOT NULL,
+    name         VARCHAR(100) NOT NULL,
+    type         VARCHAR(20),
+    category     VARCHAR(5),
+    description  VARCHAR(250),
+    company_id   BIGINT REFERENCES company (id)
+);
+
+ALTER TABLE document ADD COLUMN IF NOT EXISTS file_size BIGINT;
+ALTER TABLE document ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
+ALTER TABLE document ADD COLUMN IF NOT EXISTS blob_id BIGINT REFERENCES document_blob (id);
+
+CREATE TABLE IF NOT EXISTS upload_session (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at    TIMESTAMP(6) NOT NULL,
+    updated_at    TIMESTAMP(6),
+    is_active     BOOLEAN      NOT NULL,
+    company_id    BIGINT REFERENCES company (id),
+    document_name VARCHAR(100) NOT NULL,
+    category      VARCHAR(5),
+    description   VARCHAR(250),
+    filename      VARCHAR(255) NOT NULL,
+    total_chunks  INTEGER      NOT NULL,
+    expires_at    TIMESTAMP(6) NOT NULL
+);
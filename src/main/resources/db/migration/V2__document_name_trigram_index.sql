@@ -0,0 +1,9 @@
+-- Belge adında kısmi (LIKE '%...%') arama için trigram indeksi.
+-- btree_gin sayesinde company_id aynı GIN indeksinde tutulur; sorgu tek bir bitmap
+-- taramasıyla şirket + ad koşulunu birlikte daraltır. İndeks; kayıt, arşivleme
+-- (archived_ ad değişikliği) ve silme işlemlerinde veritabanı tarafından güncellenir.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+CREATE INDEX IF NOT EXISTS idx_document_company_name_trgm
+    ON document USING gin (company_id, lower(name) gin_trgm_ops);
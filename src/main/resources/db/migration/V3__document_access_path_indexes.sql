@@ -0,0 +1,31 @@
+-- Depo (repository) sorgularının erişim yollarına göre tasarlanmış indeks seti.
+-- Kontrol: QueryPlanTest (src/test)
+
+-- filterDocuments / seekDocuments / countByCompanyIdAndIsActive / existsByCompanyIdAndIsActive:
+-- company_id + is_active eşitliği, category filtresi ve "ORDER BY id DESC" sıralaması.
+-- Parametreli (generic) planlarda da kullanılabilmesi için kısmi değildir.
+CREATE INDEX IF NOT EXISTS idx_document_company_active_category_id
+    ON document (company_id, is_active, category, id DESC);
+
+-- Aktif belgelerde tarih aralığı filtresi ve sayım (COUNT) sorguları için kısmi, kapsayan indeks.
+CREATE INDEX IF NOT EXISTS idx_document_active_company_created
+    ON document (company_id, category, created_at)
+    INCLUDE (id)
+    WHERE is_active;
+
+-- Blob referansı olan belgelerin bulunması (referans bırakma / toplu silme).
+CREATE INDEX IF NOT EXISTS idx_document_blob
+    ON document (blob_id)
+    WHERE blob_id IS NOT NULL;
+
+-- findByNameAndIsActive / existsByNameAndIsActive
+CREATE INDEX IF NOT EXISTS idx_company_name_active
+    ON company (name, is_active);
+
+-- findByIsActive (sayfalı) / seekByIsActive
+CREATE INDEX IF NOT EXISTS idx_company_active_id
+    ON company (is_active, id DESC);
+
+-- Süresi dolan yükleme oturumlarının temizliği
+CREATE INDEX IF NOT EXISTS idx_upload_session_expires_at
+    ON upload_session (expires_at);
@@ -0,0 +1,24 @@
+-- Arka plan işleri (bkz. JobService).
+
+CREATE TABLE IF NOT EXISTS job (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at      TIMESTAMP(6) NOT NULL,
+    updated_at      TIMESTAMP(6),
+    is_active       BOOLEAN      NOT NULL,
+    type            VARCHAR(50)  NOT NULL,
+    status          VARCHAR(20)  NOT NULL,
+    priority        VARCHAR(10)  NOT NULL,
+    target_id       BIGINT,
+    parameters      TEXT,
+    total_items     BIGINT,
+    processed_items BIGINT       NOT NULL DEFAULT 0,
+    started_at      TIMESTAMP(6),
+    finished_at     TIMESTAMP(6),
+    result          TEXT,
+    error_message   VARCHAR(1000)
+);
+
+-- Açılışta tamamlanmamış işlerin bulunması için.
+CREATE INDEX IF NOT EXISTS idx_job_pending
+    ON job (status, id)
+    WHERE status IN ('QUEUED', 'RUNNING');
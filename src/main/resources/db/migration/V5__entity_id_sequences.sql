@@ -0,0 +1,19 @@
+-- Hibernate SEQUENCE id stratejisi için tablo başına sıralar (bkz. BaseEntity).
+-- Artış (50) Hibernate'in varsayılan allocationSize değeriyle aynı olmalıdır.
+-- "pooled" optimizer dönen değeri aralığın üst sınırı kabul ettiğinden sıra max(id) + 50'den başlatılır.
+-- Mevcut IDENTITY sütunları korunur; uygulama id'yi her zaman açıkça gönderir.
+
+CREATE SEQUENCE IF NOT EXISTS company_seq INCREMENT BY 50;
+SELECT setval('company_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM company), false);
+
+CREATE SEQUENCE IF NOT EXISTS document_blob_seq INCREMENT BY 50;
+SELECT setval('document_blob_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM document_blob), false);
+
+CREATE SEQUENCE IF NOT EXISTS document_seq INCREMENT BY 50;
+SELECT setval('document_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM document), false);
+
+CREATE SEQUENCE IF NOT EXISTS upload_session_seq INCREMENT BY 50;
+SELECT setval('upload_session_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM upload_session), false);
+
+CREATE SEQUENCE IF NOT EXISTS job_seq INCREMENT BY 50;
+SELECT setval('job_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM job), false);
@@ -0,0 +1,12 @@
+-- Depoda sıkıştırma (bkz. CompressionService).
+-- compressed: dosya şirket klasöründe gzip olarak saklanıyor.
+-- stored_size: diskteki boyut; file_size her zaman özgün (açılmış) içeriğin boyutudur.
+
+ALTER TABLE document ADD COLUMN IF NOT EXISTS compressed BOOLEAN NOT NULL DEFAULT false;
+ALTER TABLE document ADD COLUMN IF NOT EXISTS stored_size BIGINT;
+
+-- Geçiş işinin (COMPRESS_DOCUMENTS) keyset taraması: henüz sıkıştırılmamış, blob'a bağlı olmayan metin belgeleri.
+CREATE INDEX IF NOT EXISTS idx_document_compression_candidate
+    ON document (id)
+    WHERE NOT compressed AND blob_id IS NULL
+      AND type IN ('TXT', 'CSV', 'RTF', 'HTML', 'XML', 'JSON', 'SVG');
@@ -0,0 +1,4 @@
+-- Şirket klasöründe alt klasör yerleşimi (bkz. StoragePathResolver).
+-- 0: dosya doğrudan şirket klasöründe (mevcut kayıtlar); n: n seviye alt klasöre dağıtılmış.
+
+ALTER TABLE document ADD COLUMN IF NOT EXISTS storage_depth INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,23 @@
+-- Pasif belgeler için paket (pack) dosyaları (bkz. PackService).
+-- Paket dosyası <uploads>/.packs/<id>.pack yolundadır; belgeler kayıtlarındaki konum ve uzunlukla okunur.
+-- Paketteki canlı içerik ayrıca tutulmaz, document.pack_id üzerinden hesaplanır.
+
+CREATE SEQUENCE IF NOT EXISTS document_pack_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS document_pack (
+    id          BIGINT       PRIMARY KEY,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6),
+    is_active   BOOLEAN      NOT NULL,
+    size        BIGINT       NOT NULL,
+    entry_count INTEGER      NOT NULL
+);
+
+ALTER TABLE document ADD COLUMN IF NOT EXISTS pack_id BIGINT REFERENCES document_pack (id);
+ALTER TABLE document ADD COLUMN IF NOT EXISTS pack_offset BIGINT;
+ALTER TABLE document ADD COLUMN IF NOT EXISTS pack_length BIGINT;
+
+-- Paketlerin canlı içerik hesabı ve yeniden paketleme için.
+CREATE INDEX IF NOT EXISTS idx_document_pack
+    ON document (pack_id)
+    WHERE pack_id IS NOT NULL;
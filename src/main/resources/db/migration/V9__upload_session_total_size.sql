@@ -0,0 +1,4 @@
+-- Parçalı yükleme oturumunda beyan edilen toplam dosya boyutu (bkz. UploadSessionService.putChunk).
+-- Mevcut oturumlarda boş kalır; bu oturumlar yalnızca parça boyutu sınırıyla denetlenir.
+
+ALTER TABLE upload_session ADD COLUMN IF NOT EXISTS total_size BIGINT;
@@ -0,0 +1,218 @@
+package org.kafka.evrak.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.kafka.evrak.config.WorkerThreads;
+import org.kafka.evrak.dto.request.DtoCompanyIU;
+import org.kafka.evrak.dto.request.DtoDocumentIU;
+import org.kafka.evrak.enums.DocumentCategory;
+import org.kafka.evrak.service.CompanyService;
+import org.kafka.evrak.service.DocumentService;
+import org.kafka.evrak.support.BenchmarkResults;
+import org.kafka.evrak.support.PostgresIntegrationTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Eşzamanlı indirme/yükleme yük testi.
+ * Aynı anda çok sayıda yavaş okuyan indirme ve yükleme isteği gönderir; istek/saniye, hata sayısı ve
+ * gecikme yüzdeliklerini loglar ve sonuç dosyasına yazar. İki iş parçacığı modu (platform / virtual)
+ * ayrı Spring bağlamlarında ölçülür (PlatformThreads, VirtualThreads).
+ * Sabitlenme (pinning) kontrolü için JVM'e -Djdk.tracePinnedThreads=short eklenebilir.
+ */
+@Slf4j
+@Tag("benchmark")
+abstract class ConcurrencyLoadTest extends PostgresIntegrationTest {
+
+    private static final int CLIENTS = Integer.getInteger("load-bench.clients", 1000);
+    private static final int FILE_SIZE = Integer.getInteger("load-bench.file-size", 262144);
+
+    // İndirmede her 8 KB okumadan sonra beklenen süre (yavaş istemci)
+    private static final long SLOW_READ_DELAY_MILLIS = Long.getLong("load-bench.slow-read-delay-ms", 5L);
+
+    @TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+    static class PlatformThreads extends ConcurrencyLoadTest {
+    }
+
+    @TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+    static class VirtualThreads extends ConcurrencyLoadTest {
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CompanyService companyService;
+
+    @Autowired
+    private DocumentService documentService;
+
+    @Autowired
+    private WorkerThreads workerThreads;
+
+    private Long companyId;
+
+    private record Result(String name, int requests, int failures, long elapsedMillis, List<Long> latencies) {
+    }
+
+    @BeforeEach
+    void createCompany() {
+        DtoCompanyIU companyIU = new DtoCompanyIU();
+        companyIU.setName("load-test-" + System.nanoTime());
+        companyId = companyService.saveCompany(companyIU).getId();
+    }
+
+    @AfterEach
+    void deleteCompany() {
+        documentService.deleteAllActiveDocuments(companyId);
+        companyService.deleteCompanyPermanently(companyId);
+    }
+
+    @Test
+    void concurrentDownloadsAndUploads() {
+        String baseUrl = "http://localhost:" + port + "/api/documents";
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        byte[] content = new byte[FILE_SIZE];
+        new Random(42).nextBytes(content);
+        Long documentId = documentService.saveDocumentStream(
+                newDocument(), "load-test.pdf", new ByteArrayInputStream(content)).getId();
+
+        Result downloads = runConcurrently("download", i -> download(client, baseUrl + "/file/" + documentId));
+        Result uploads = runConcurrently("upload", i -> upload(client, baseUrl, content, i));
+
+        String mode = workerThreads.isVirtual() ? "virtual" : "platform";
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("mode", mode);
+        metrics.put("clients", CLIENTS);
+        metrics.put("fileSize", FILE_SIZE);
+        metrics.put("download", report(mode, downloads));
+        metrics.put("upload", report(mode, uploads));
+        BenchmarkResults.write("concurrency-load-" + mode, metrics);
+
+        // Reddedilen istekler (SERVER_BUSY) ölçümün parçasıdır; yalnızca tüm isteklerin sonuçlandığı doğrulanır.
+        assertEquals(CLIENTS, downloads.requests());
+        assertEquals(CLIENTS, uploads.requests());
+    }
+
+    private Result runConcurrently(String name, IntPredicate request) {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>(CLIENTS));
+        AtomicInteger failures = new AtomicInteger();
+        long start = System.nanoTime();
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                int index = i;
+                pool.execute(() -> {
+                    long requestStart = System.nanoTime();
+                    boolean success;
+                    try {
+                        success = request.test(index);
+                    } catch (RuntimeException e) {
+                        success = false;
+                    }
+                    if (success) {
+                        latencies.add((System.nanoTime() - requestStart) / 1_000_000);
+                    } else {
+                        failures.incrementAndGet();
+                    }
+                });
+            }
+        }
+        return new Result(name, CLIENTS, failures.get(), (System.nanoTime() - start) / 1_000_000, latencies);
+    }
+
+    private boolean download(HttpClient client, String url) {
+        try {
+            HttpResponse<InputStream> response = client.send(
+                    HttpRequest.newBuilder(URI.create(url)).GET().build(), HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                byte[] buffer = new byte[8192];
+                while (body.read(buffer) != -1) {
+                    Thread.sleep(SLOW_READ_DELAY_MILLIS);
+                }
+            }
+            return response.statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean upload(HttpClient client, String baseUrl, byte[] content, int index) {
+        URI uri = URI.create(baseUrl + "/save-stream?name=load-" + index + "&category=GELEN&companyId=" + companyId
+                + "&filename=load-" + index + ".pdf");
+        try {
+            HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri)
+                            .header("Content-Type", "application/octet-stream")
+                            .POST(HttpRequest.BodyPublishers.ofByteArray(content))
+                            .build(),
+                    HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Map<String, Object> report(String mode, Result result) {
+        List<Long> sorted = new ArrayList<>(result.latencies());
+        Collections.sort(sorted);
+        double requestsPerSecond = result.requests() * 1000.0 / Math.max(1, result.elapsedMillis());
+        log.info("load-test [{}] {}: {} requests, {} failed, {} req/sec, p50={} ms, p95={} ms, max={} ms",
+                mode, result.name(), result.requests(), result.failures(), String.format("%.1f", requestsPerSecond),
+                percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 1.0));
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("requests", result.requests());
+        report.put("failures", result.failures());
+        report.put("requestsPerSecond", requestsPerSecond);
+        report.put("p50Millis", percentile(sorted, 0.50));
+        report.put("p95Millis", percentile(sorted, 0.95));
+        report.put("maxMillis", percentile(sorted, 1.0));
+        return report;
+    }
+
+    private long percentile(List<Long> sorted, double percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.ceil(percentile * sorted.size()) - 1));
+    }
+
+    private DtoDocumentIU newDocument() {
+        DtoDocumentIU dto = new DtoDocumentIU();
+        dto.setName("load-test");
+        dto.setCategory(DocumentCategory.GELEN);
+        dto.setCompanyId(companyId);
+        return dto;
+    }
+}
@@ -0,0 +1,130 @@
+package org.kafka.evrak.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.kafka.evrak.dto.projection.DocumentSummary;
+import org.kafka.evrak.dto.request.DtoCompanyIU;
+import org.kafka.evrak.repository.DocumentRepository;
+import org.kafka.evrak.service.CompanyService;
+import org.kafka.evrak.support.BenchmarkResults;
+import org.kafka.evrak.support.PostgresIntegrationTest;
+import org.kafka.evrak.util.RepositoryUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Derin sayfa karşılaştırması: aynı sayfa OFFSET ile (/active, COUNT dahil) ve keyset ile (/active/seek)
+ * okunur; ilk sayfa ve derin sayfa için ortalama gecikme loglanır ve sonuç dosyasına yazılır.
+ * OFFSET'te gecikme sayfa derinliğiyle büyür, keyset'te sabit kalmalıdır. İki yolun aynı satırları
+ * döndürdüğü doğrulanır. Satır sayısı, sayfa derinliği ve tekrar sayısı -Dpage-bench.* ile değiştirilebilir.
+ */
+@Slf4j
+@Tag("benchmark")
+class DeepPageBenchmarkTest extends PostgresIntegrationTest {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int WARM_UP = 5;
+
+    private static final int ROWS = Integer.getInteger("page-bench.rows", 500_000);
+    private static final int DEEP_PAGE = Integer.getInteger("page-bench.deep-page", 10_000);
+    private static final int ITERATIONS = Integer.getInteger("page-bench.iterations", 20);
+
+    @Autowired
+    private CompanyService companyService;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long companyId;
+
+    @BeforeEach
+    void createRows() {
+        DtoCompanyIU companyIU = new DtoCompanyIU();
+        companyIU.setName("page-bench-" + System.nanoTime());
+        companyId = companyService.saveCompany(companyIU).getId();
+        jdbcTemplate.update("INSERT INTO document (id, created_at, updated_at, is_active, name, type, category, "
+                + "description, file_size, company_id) "
+                + "SELECT nextval('document_seq'), now(), now(), true, 'bench_' || g || '.pdf', 'PDF', 'GELEN', "
+                + "'page-bench row ' || g, 1024, ? FROM generate_series(1, ?) g", companyId, ROWS);
+        jdbcTemplate.execute("ANALYZE document");
+    }
+
+    @AfterEach
+    void deleteRows() {
+        jdbcTemplate.update("DELETE FROM document WHERE company_id = ?", companyId);
+        companyService.deleteCompanyPermanently(companyId);
+    }
+
+    @Test
+    void offsetVersusKeyset() {
+        // Derin sayfanın keyset karşılığı: bir önceki sayfanın son id'si (istemcinin cursor'ı).
+        Long deepAfterId = jdbcTemplate.queryForObject("SELECT id FROM document WHERE company_id = ? AND is_active "
+                + "ORDER BY id DESC OFFSET ? LIMIT 1", Long.class, companyId, (long) DEEP_PAGE * PAGE_SIZE - 1);
+
+        assertEquals(ids(offsetPage(DEEP_PAGE)), ids(keysetPage(deepAfterId)));
+
+        double offsetFirst = measure(() -> offsetPage(0));
+        double offsetDeep = measure(() -> offsetPage(DEEP_PAGE));
+        double keysetFirst = measure(() -> keysetPage(null));
+        double keysetDeep = measure(() -> keysetPage(deepAfterId));
+
+        log.info("page-bench: {} rows, page size {}, deep page {}", ROWS, PAGE_SIZE, DEEP_PAGE);
+        log.info("page-bench: offset -> first {} ms, deep {} ms", format(offsetFirst), format(offsetDeep));
+        log.info("page-bench: keyset -> first {} ms, deep {} ms", format(keysetFirst), format(keysetDeep));
+
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("rows", ROWS);
+        metrics.put("pageSize", PAGE_SIZE);
+        metrics.put("deepPage", DEEP_PAGE);
+        metrics.put("offsetFirstPageMillis", offsetFirst);
+        metrics.put("offsetDeepPageMillis", offsetDeep);
+        metrics.put("keysetFirstPageMillis", keysetFirst);
+        metrics.put("keysetDeepPageMillis", keysetDeep);
+        BenchmarkResults.write("deep-page", metrics);
+    }
+
+    private List<DocumentSummary> offsetPage(int page) {
+        return documentRepository.filterDocuments(companyId, true, null, null, null, null,
+                PageRequest.of(page, PAGE_SIZE, Sort.by("id").descending())).getContent();
+    }
+
+    private List<DocumentSummary> keysetPage(Long afterId) {
+        List<DocumentSummary> rows = documentRepository.seekDocuments(companyId, true, afterId, null, null, null, null,
+                RepositoryUtil.seekPage(PAGE_SIZE));
+        return rows.subList(0, Math.min(PAGE_SIZE, rows.size()));
+    }
+
+    private double measure(Supplier<List<DocumentSummary>> read) {
+        for (int i = 0; i < WARM_UP; i++) {
+            read.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            assertEquals(PAGE_SIZE, read.get().size());
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / ITERATIONS;
+    }
+
+    private static List<Long> ids(List<DocumentSummary> rows) {
+        return rows.stream().map(DocumentSummary::id).toList();
+    }
+
+    private static String format(double millis) {
+        return String.format("%.2f", millis);
+    }
+}
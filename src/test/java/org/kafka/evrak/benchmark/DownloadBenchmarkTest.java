@@ -0,0 +1,192 @@
+package org.kafka.evrak.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kafka.evrak.dto.request.DtoCompanyIU;
+import org.kafka.evrak.dto.request.DtoDocumentIU;
+import org.kafka.evrak.enums.DocumentCategory;
+import org.kafka.evrak.service.CompanyService;
+import org.kafka.evrak.service.DocumentService;
+import org.kafka.evrak.support.BenchmarkResults;
+import org.kafka.evrak.support.PostgresIntegrationTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * İndirme yolu karşılaştırması: aynı dosya Tomcat sendfile (zero-copy) açıkken ve kapalıyken
+ * (Resource ile kullanıcı alanında kopyalama) GET /file/{id} ile indirilir; MB/saniye ve GB başına
+ * süreç CPU süresi loglanır ve sonuç dosyasına yazılır. İki mod ayrı Spring bağlamlarında ölçülür (Sendfile, Copy).
+ * İstemci aynı JVM'de çalıştığından CPU süresi istemcinin okumasını da içerir; bu pay iki modda aynıdır.
+ * Dosya boyutu, indirme sayısı ve eşzamanlı istemci sayısı -Ddownload-bench.* ile değiştirilebilir.
+ */
+@Slf4j
+@Tag("benchmark")
+abstract class DownloadBenchmarkTest extends PostgresIntegrationTest {
+
+    private static final int WARM_UP_DOWNLOADS = 5;
+
+    private static final int FILE_SIZE = Integer.getInteger("download-bench.file-size", 64 * 1024 * 1024);
+    private static final int DOWNLOADS = Integer.getInteger("download-bench.downloads", 50);
+    private static final int CLIENTS = Integer.getInteger("download-bench.clients", 4);
+
+    static class Sendfile extends DownloadBenchmarkTest {
+    }
+
+    @Import(CopyConfig.class)
+    static class Copy extends DownloadBenchmarkTest {
+    }
+
+    /**
+     * NIO bağlayıcısında sendfile'ı kapatır; denetleyici bu durumda Resource ile kopyalayarak gönderir.
+     */
+    @TestConfiguration
+    static class CopyConfig {
+
+        @Bean
+        WebServerFactoryCustomizer<TomcatServletWebServerFactory> disableSendfile() {
+            return factory -> factory.addConnectorCustomizers(
+                    connector -> connector.setProperty("useSendfile", "false"));
+        }
+    }
+
+    @TempDir
+    static Path sourceDir;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CompanyService companyService;
+
+    @Autowired
+    private DocumentService documentService;
+
+    private Long companyId;
+
+    private Long documentId;
+
+    @BeforeEach
+    void createDocument() throws IOException {
+        DtoCompanyIU companyIU = new DtoCompanyIU();
+        companyIU.setName("download-bench-" + System.nanoTime());
+        companyId = companyService.saveCompany(companyIU).getId();
+
+        Path source = sourceDir.resolve("download-bench.pdf");
+        byte[] block = new byte[64 * 1024];
+        Random random = new Random(42);
+        try (OutputStream out = Files.newOutputStream(source)) {
+            for (int written = 0; written < FILE_SIZE; written += block.length) {
+                random.nextBytes(block);
+                out.write(block, 0, Math.min(block.length, FILE_SIZE - written));
+            }
+        }
+        DtoDocumentIU dto = new DtoDocumentIU();
+        dto.setName("download-bench");
+        dto.setCategory(DocumentCategory.GELEN);
+        dto.setCompanyId(companyId);
+        try (InputStream content = Files.newInputStream(source)) {
+            documentId = documentService.saveDocumentStream(dto, "download-bench.pdf", content).getId();
+        }
+    }
+
+    @AfterEach
+    void deleteCompany() {
+        documentService.deleteAllActiveDocuments(companyId);
+        companyService.deleteCompanyPermanently(companyId);
+    }
+
+    @Test
+    void downloadThroughputAndCpu() throws Exception {
+        String mode = this instanceof Copy ? "copy" : "sendfile";
+        URI uri = URI.create("http://localhost:" + port + "/api/documents/file/" + documentId);
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        com.sun.management.OperatingSystemMXBean os =
+                (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+
+        download(client, uri, WARM_UP_DOWNLOADS);
+
+        long cpuBefore = os.getProcessCpuTime();
+        long start = System.nanoTime();
+        long bytes = download(client, uri, DOWNLOADS);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        double cpuSeconds = (os.getProcessCpuTime() - cpuBefore) / 1_000_000_000.0;
+
+        double gigabytes = bytes / (1024.0 * 1024 * 1024);
+        double megabytesPerSecond = bytes / (1024.0 * 1024) / seconds;
+        double cpuSecondsPerGigabyte = cpuSeconds / gigabytes;
+        log.info("download-bench [{}]: {} downloads of {} MB with {} clients -> {} MB/sec, {} CPU sec/GB", mode,
+                DOWNLOADS, FILE_SIZE / (1024 * 1024), CLIENTS, String.format("%.1f", megabytesPerSecond),
+                String.format("%.2f", cpuSecondsPerGigabyte));
+
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("mode", mode);
+        metrics.put("fileSize", FILE_SIZE);
+        metrics.put("downloads", DOWNLOADS);
+        metrics.put("clients", CLIENTS);
+        metrics.put("bytesPerSecond", bytes / seconds);
+        metrics.put("cpuSecondsPerGigabyte", cpuSecondsPerGigabyte);
+        BenchmarkResults.write("download-" + mode, metrics);
+
+        assertEquals((long) DOWNLOADS * FILE_SIZE, bytes);
+    }
+
+    /**
+     * İndirmeleri CLIENTS eşzamanlı istemciye dağıtır; alınan toplam bayt sayısını döner.
+     */
+    private long download(HttpClient client, URI uri, int count) throws Exception {
+        List<Future<Long>> results = new ArrayList<>(count);
+        try (ExecutorService pool = Executors.newFixedThreadPool(CLIENTS)) {
+            for (int i = 0; i < count; i++) {
+                results.add(pool.submit(() -> {
+                    HttpResponse<InputStream> response = client.send(
+                            HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.ofInputStream());
+                    assertEquals(200, response.statusCode());
+                    long received = 0;
+                    try (InputStream body = response.body()) {
+                        byte[] buffer = new byte[64 * 1024];
+                        int read;
+                        while ((read = body.read(buffer)) != -1) {
+                            received += read;
+                        }
+                    }
+                    return received;
+                }));
+            }
+        }
+        long total = 0;
+        for (Future<Long> result : results) {
+            total += result.get();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,170 @@
+package org.kafka.evrak.benchmark;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.kafka.evrak.dto.projection.DocumentSummary;
+import org.kafka.evrak.dto.request.DtoCompanyIU;
+import org.kafka.evrak.dto.response.DtoCompany;
+import org.kafka.evrak.dto.response.DtoDocument;
+import org.kafka.evrak.entity.Document;
+import org.kafka.evrak.mapper.CompanyMapper;
+import org.kafka.evrak.mapper.DocumentMapper;
+import org.kafka.evrak.repository.CompanyRepository;
+import org.kafka.evrak.repository.DocumentRepository;
+import org.kafka.evrak.service.CompanyService;
+import org.kafka.evrak.support.BenchmarkResults;
+import org.kafka.evrak.support.PostgresIntegrationTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Listeleme okuma yolu karşılaştırması (entity ve projeksiyon).
+ * Geçici bir şirkete SQL ile belge satırları ekler ve aynı sayfayı üç yoldan okur; sayfa başına ortalama
+ * gecikmeyi ve iş parçacığının ayırdığı heap miktarını loglar ve sonuç dosyasına yazar:
+ * - entity: önceki yol (Document entity'leri + EAGER şirket, ardından DtoDocument'a dönüştürme)
+ * - projection: DocumentSummary projeksiyonu
+ * - projection+company: projeksiyon ve sayfa başına tek şirket sorgusu (includeCompany=true)
+ */
+@Slf4j
+@Tag("benchmark")
+class ListingReadBenchmarkTest extends PostgresIntegrationTest {
+
+    private static final String ENTITY_QUERY = "SELECT d FROM Document d JOIN FETCH d.company "
+            + "WHERE d.company.id = :companyId AND d.isActive = true ORDER BY d.id DESC";
+    private static final String ENTITY_COUNT_QUERY = "SELECT COUNT(d) FROM Document d "
+            + "WHERE d.company.id = :companyId AND d.isActive = true";
+
+    private static final int ROWS = Integer.getInteger("listing-bench.rows", 1000);
+    private static final int WARM_UP = Integer.getInteger("listing-bench.warm-up", 50);
+    private static final int ITERATIONS = Integer.getInteger("listing-bench.iterations", 200);
+
+    @Autowired
+    private CompanyService companyService;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private DocumentMapper documentMapper;
+
+    @Autowired
+    private CompanyMapper companyMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long companyId;
+
+    private record Measurement(double millisPerPage, long bytesPerPage) {
+    }
+
+    @BeforeEach
+    void createRows() {
+        DtoCompanyIU companyIU = new DtoCompanyIU();
+        companyIU.setName("listing-bench-" + System.nanoTime());
+        companyId = companyService.saveCompany(companyIU).getId();
+        jdbcTemplate.update("INSERT INTO document (id, created_at, updated_at, is_active, name, type, category, "
+                + "description, file_size, company_id) "
+                + "SELECT nextval('document_seq'), now(), now(), true, 'bench_' || g || '.pdf', 'PDF', 'GELEN', "
+                + "'listing-bench row ' || g, 1024, ? FROM generate_series(1, ?) g", companyId, ROWS);
+    }
+
+    @AfterEach
+    void deleteRows() {
+        jdbcTemplate.update("DELETE FROM document WHERE company_id = ?", companyId);
+        companyService.deleteCompanyPermanently(companyId);
+    }
+
+    @Test
+    void entityVersusProjection() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        PageRequest page = PageRequest.of(0, ROWS, Sort.by("id").descending());
+
+        Measurement entity = measure(() -> readOnly.execute(status -> readEntities()));
+        Measurement projection = measure(() -> readOnly.execute(status -> readProjections(page, false)));
+        Measurement withCompany = measure(() -> readOnly.execute(status -> readProjections(page, true)));
+
+        log.info("listing-bench: page of {} rows, {} iterations after {} warm-up", ROWS, ITERATIONS, WARM_UP);
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("rows", ROWS);
+        metrics.put("iterations", ITERATIONS);
+        metrics.put("entity", report(" entity            ", entity));
+        metrics.put("projection", report(" projection        ", projection));
+        metrics.put("projectionWithCompany", report(" projection+company", withCompany));
+        BenchmarkResults.write("listing-read", metrics);
+    }
+
+    private List<DtoDocument> readEntities() {
+        entityManager.createQuery(ENTITY_COUNT_QUERY, Long.class)
+                .setParameter("companyId", companyId)
+                .getSingleResult();
+        List<Document> documents = entityManager.createQuery(ENTITY_QUERY, Document.class)
+                .setParameter("companyId", companyId)
+                .setMaxResults(ROWS)
+                .getResultList();
+        return documentMapper.toDtoList(documents);
+    }
+
+    private List<DtoDocument> readProjections(PageRequest page, boolean includeCompany) {
+        Page<DocumentSummary> summaries = documentRepository.filterDocuments(
+                companyId, true, null, null, null, null, page);
+        List<DtoDocument> documents = summaries.map(documentMapper::toDto).getContent();
+        if (includeCompany) {
+            DtoCompany company = companyRepository.findSummaryById(companyId).map(companyMapper::toDto).orElse(null);
+            documents.forEach(document -> document.setDtoCompany(company));
+        }
+        return documents;
+    }
+
+    private Measurement measure(Supplier<List<DtoDocument>> read) {
+        for (int i = 0; i < WARM_UP; i++) {
+            read.get();
+        }
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            assertEquals(ROWS, read.get().size());
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return new Measurement(elapsed / 1_000_000.0 / ITERATIONS, allocated / ITERATIONS);
+    }
+
+    private Map<String, Object> report(String name, Measurement measurement) {
+        log.info("listing-bench:{} -> {} ms/page, {} KB allocated/page", name,
+                String.format("%.2f", measurement.millisPerPage()), measurement.bytesPerPage() / 1024);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("millisPerPage", measurement.millisPerPage());
+        report.put("bytesAllocatedPerPage", measurement.bytesPerPage());
+        return report;
+    }
+}
@@ -0,0 +1,140 @@
+package org.kafka.evrak.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.kafka.evrak.dto.projection.DocumentSummary;
+import org.kafka.evrak.dto.request.DtoCompanyIU;
+import org.kafka.evrak.dto.request.DtoDocumentFilter;
+import org.kafka.evrak.enums.DocumentCategory;
+import org.kafka.evrak.enums.ExportFormat;
+import org.kafka.evrak.service.CompanyService;
+import org.kafka.evrak.service.DocumentExport;
+import org.kafka.evrak.service.DocumentExportService;
+import org.kafka.evrak.support.BenchmarkResults;
+import org.kafka.evrak.support.PostgresIntegrationTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Üst veri dışa aktarmanın sabit bellekle çalıştığını doğrular.
+ * Geçici bir şirkete SQL ile milyonlarca belge satırı ekler, NDJSON ve CSV aktarımını sayan bir çıktıya yazar;
+ * satır/saniye ve en yüksek heap kullanımını loglar ve sonuç dosyasına yazar. benchmarkTest görevi küçük bir
+ * heap ile çalıştığından sonuç boyutuyla büyüyen bir aktarım OutOfMemoryError ile başarısız olur.
+ */
+@Slf4j
+@Tag("benchmark")
+class MetadataExportBenchmarkTest extends PostgresIntegrationTest {
+
+    private static final int ROWS = Integer.getInteger("export-bench.rows", 2_000_000);
+
+    @Autowired
+    private CompanyService companyService;
+
+    @Autowired
+    private DocumentExportService documentExportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long companyId;
+
+    /**
+     * Yazılan baytları ve satır sonlarını sayar, içeriği saklamaz.
+     */
+    private static final class CountingOutputStream extends OutputStream {
+        private long bytes;
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) {
+            bytes += length;
+            for (int i = offset; i < offset + length; i++) {
+                if (buffer[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+
+    @BeforeEach
+    void createRows() {
+        DtoCompanyIU companyIU = new DtoCompanyIU();
+        companyIU.setName("export-bench-" + System.nanoTime());
+        companyId = companyService.saveCompany(companyIU).getId();
+        log.info("export-bench: inserting {} rows (max heap {} MB)", ROWS,
+                Runtime.getRuntime().maxMemory() / (1024 * 1024));
+        jdbcTemplate.update("INSERT INTO document (id, created_at, updated_at, is_active, name, type, category, "
+                + "description, file_size, company_id) "
+                + "SELECT nextval('document_seq'), now(), now(), true, 'bench_' || g || '.pdf', 'PDF', 'GELEN', "
+                + "'export-bench row ' || g || ', with \"quotes\"', 1024, ? FROM generate_series(1, ?) g",
+                companyId, ROWS);
+    }
+
+    @AfterEach
+    void deleteRows() {
+        jdbcTemplate.update("DELETE FROM document WHERE company_id = ?", companyId);
+        companyService.deleteCompanyPermanently(companyId);
+    }
+
+    @Test
+    void exportRunsInConstantMemory() throws IOException {
+        DtoDocumentFilter filter = new DtoDocumentFilter();
+        filter.setCompanyId(companyId);
+        filter.setCategory(DocumentCategory.GELEN.name());
+
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("rows", ROWS);
+        metrics.put("maxHeapBytes", Runtime.getRuntime().maxMemory());
+        metrics.put("ndjson", export(filter, ExportFormat.NDJSON, ROWS));
+        metrics.put("csv", export(filter, ExportFormat.CSV, ROWS + 1));
+        BenchmarkResults.write("metadata-export", metrics);
+    }
+
+    private Map<String, Object> export(DtoDocumentFilter filter, ExportFormat format, long expectedLines)
+            throws IOException {
+        System.gc();
+        ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        CountingOutputStream out = new CountingOutputStream();
+        DocumentExport<DocumentSummary> export = documentExportService.prepareMetadataExport(filter, true, format);
+        long start = System.nanoTime();
+        documentExportService.writeMetadata(export, format, out);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        long peakHeap = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                .sum();
+        log.info("export-bench: {} -> {} lines, {} MB, {} rows/sec, peak heap {} MB", format, out.lines,
+                out.bytes / (1024 * 1024), String.format("%.0f", ROWS / seconds), peakHeap / (1024 * 1024));
+        assertEquals(expectedLines, out.lines, format + " line count");
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("lines", out.lines);
+        report.put("bytes", out.bytes);
+        report.put("rowsPerSecond", ROWS / seconds);
+        report.put("peakHeapBytes", peakHeap);
+        return report;
+    }
+}
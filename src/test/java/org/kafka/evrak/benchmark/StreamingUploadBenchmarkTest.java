@@ -0,0 +1,168 @@
+package org.kafka.evrak.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kafka.evrak.dto.request.DtoCompanyIU;
+import org.kafka.evrak.dto.request.DtoDocumentIU;
+import org.kafka.evrak.enums.DocumentCategory;
+import org.kafka.evrak.repository.DocumentRepository;
+import org.kafka.evrak.service.CompanyService;
+import org.kafka.evrak.service.DocumentService;
+import org.kafka.evrak.support.BenchmarkResults;
+import org.kafka.evrak.support.PostgresIntegrationTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Büyük dosya yükleme hızı karşılaştırması: aynı dosya önce multipart (/save), sonra ham gövde (/save-stream)
+ * olarak HTTP üzerinden yüklenir; MB/saniye loglanır ve sonuç dosyasına yazılır.
+ * Multipart yolunda içerik önce sunucunun geçici dosyasına alınıp sonra şirket klasörüne kopyalanır,
+ * akış yolunda tek geçişte hedefe yazılır. Dosya boyutu ve yükleme sayısı -Dstream-bench.* ile değiştirilebilir.
+ */
+@Slf4j
+@Tag("benchmark")
+@TestPropertySource(properties = "spring.servlet.multipart.max-file-size=-1")
+class StreamingUploadBenchmarkTest extends PostgresIntegrationTest {
+
+    private static final int WARM_UP_UPLOADS = 2;
+
+    private static final int UPLOADS = Integer.getInteger("stream-bench.uploads", 10);
+    private static final int FILE_SIZE = Integer.getInteger("stream-bench.file-size", 32 * 1024 * 1024);
+
+    @TempDir
+    static Path sourceDir;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CompanyService companyService;
+
+    @Autowired
+    private DocumentService documentService;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    private Long companyId;
+
+    private Path source;
+
+    @BeforeEach
+    void createCompany() throws IOException {
+        DtoCompanyIU companyIU = new DtoCompanyIU();
+        companyIU.setName("stream-bench-" + System.nanoTime());
+        companyId = companyService.saveCompany(companyIU).getId();
+
+        // İstemci tarafı belleği ölçüme karışmasın diye içerik diskten gönderilir.
+        source = sourceDir.resolve("stream-bench.pdf");
+        byte[] block = new byte[64 * 1024];
+        Random random = new Random(42);
+        try (OutputStream out = Files.newOutputStream(source)) {
+            for (int written = 0; written < FILE_SIZE; written += block.length) {
+                random.nextBytes(block);
+                out.write(block, 0, Math.min(block.length, FILE_SIZE - written));
+            }
+        }
+    }
+
+    @AfterEach
+    void deleteCompany() {
+        documentService.deleteAllActiveDocuments(companyId);
+        companyService.deleteCompanyPermanently(companyId);
+    }
+
+    @Test
+    void multipartVersusStream() throws IOException, InterruptedException {
+        String baseUrl = "http://localhost:" + port + "/api/documents";
+        RestClient restClient = RestClient.create(baseUrl);
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        for (int i = 0; i < WARM_UP_UPLOADS; i++) {
+            uploadMultipart(restClient, i);
+            uploadStream(httpClient, baseUrl, i);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < UPLOADS; i++) {
+            uploadMultipart(restClient, i);
+        }
+        double multipart = megabytesPerSecond(System.nanoTime() - start);
+
+        start = System.nanoTime();
+        for (int i = 0; i < UPLOADS; i++) {
+            uploadStream(httpClient, baseUrl, i);
+        }
+        double stream = megabytesPerSecond(System.nanoTime() - start);
+
+        log.info("stream-bench: {} uploads of {} MB", UPLOADS, FILE_SIZE / (1024 * 1024));
+        log.info("stream-bench: /save        -> {} MB/sec", String.format("%.1f", multipart));
+        log.info("stream-bench: /save-stream -> {} MB/sec", String.format("%.1f", stream));
+
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("uploads", UPLOADS);
+        metrics.put("fileSize", FILE_SIZE);
+        metrics.put("multipartMegabytesPerSecond", multipart);
+        metrics.put("streamMegabytesPerSecond", stream);
+        BenchmarkResults.write("streaming-upload", metrics);
+
+        assertEquals(2L * (WARM_UP_UPLOADS + UPLOADS), documentRepository.countByCompanyIdAndIsActive(companyId, true));
+    }
+
+    private double megabytesPerSecond(long elapsedNanos) {
+        return (double) UPLOADS * FILE_SIZE / (1024 * 1024) / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    private void uploadMultipart(RestClient client, int index) {
+        MultipartBodyBuilder builder = new MultipartBodyBuilder();
+        builder.part("document", newDocument(index), MediaType.APPLICATION_JSON);
+        builder.part("file", new FileSystemResource(source)).filename("stream-" + index + ".pdf");
+        client.post().uri("/save")
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .body(builder.build())
+                .retrieve()
+                .toBodilessEntity();
+    }
+
+    private void uploadStream(HttpClient client, String baseUrl, int index) throws IOException, InterruptedException {
+        URI uri = URI.create(baseUrl + "/save-stream?name=stream-" + index + "&category=GELEN&companyId=" + companyId
+                + "&filename=stream-" + index + ".pdf");
+        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri)
+                        .header("Content-Type", MediaType.APPLICATION_OCTET_STREAM_VALUE)
+                        .POST(HttpRequest.BodyPublishers.ofFile(source))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+        assertEquals(200, response.statusCode());
+    }
+
+    private DtoDocumentIU newDocument(int index) {
+        DtoDocumentIU dto = new DtoDocumentIU();
+        dto.setName("stream-" + index);
+        dto.setCategory(DocumentCategory.GELEN);
+        dto.setCompanyId(companyId);
+        return dto;
+    }
+}
@@ -0,0 +1,144 @@
+package org.kafka.evrak.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.kafka.evrak.dto.request.DtoCompanyIU;
+import org.kafka.evrak.dto.request.DtoDocumentIU;
+import org.kafka.evrak.enums.DocumentCategory;
+import org.kafka.evrak.repository.DocumentRepository;
+import org.kafka.evrak.service.CompanyService;
+import org.kafka.evrak.service.DocumentService;
+import org.kafka.evrak.support.BenchmarkResults;
+import org.kafka.evrak.support.PostgresIntegrationTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.web.client.RestClient;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Yükleme hızı karşılaştırması: aynı sayıda belge önce tek tek (/save), sonra toplu (/save-batch)
+ * HTTP üzerinden yüklenir; saniyedeki belge sayısı loglanır ve sonuç dosyasına yazılır.
+ * Belge sayısı, parti boyutu ve dosya boyutu -Dupload-bench.* sistem özellikleriyle değiştirilebilir.
+ */
+@Slf4j
+@Tag("benchmark")
+class UploadThroughputBenchmarkTest extends PostgresIntegrationTest {
+
+    private static final int WARM_UP_DOCUMENTS = 50;
+
+    private static final int DOCUMENTS = Integer.getInteger("upload-bench.documents", 1000);
+    private static final int BATCH_SIZE = Integer.getInteger("upload-bench.batch-size", 100);
+    private static final int FILE_SIZE = Integer.getInteger("upload-bench.file-size", 16384);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CompanyService companyService;
+
+    @Autowired
+    private DocumentService documentService;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    private Long companyId;
+
+    @BeforeEach
+    void createCompany() {
+        DtoCompanyIU companyIU = new DtoCompanyIU();
+        companyIU.setName("upload-bench-" + System.nanoTime());
+        companyId = companyService.saveCompany(companyIU).getId();
+    }
+
+    @AfterEach
+    void deleteCompany() {
+        documentService.deleteAllActiveDocuments(companyId);
+        companyService.deleteCompanyPermanently(companyId);
+    }
+
+    @Test
+    void singleVersusBatchUpload() {
+        RestClient client = RestClient.create("http://localhost:" + port + "/api/documents");
+        byte[] content = new byte[FILE_SIZE];
+        new Random(42).nextBytes(content);
+
+        uploadSingle(client, content, WARM_UP_DOCUMENTS);
+        uploadBatches(client, content, WARM_UP_DOCUMENTS);
+
+        double single = measure(() -> uploadSingle(client, content, DOCUMENTS));
+        double batch = measure(() -> uploadBatches(client, content, DOCUMENTS));
+        log.info("upload-bench: {} documents of {} bytes", DOCUMENTS, FILE_SIZE);
+        log.info("upload-bench: /save       -> {} documents/sec", String.format("%.1f", single));
+        log.info("upload-bench: /save-batch -> {} documents/sec (batch size {})", String.format("%.1f", batch), BATCH_SIZE);
+
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("documents", DOCUMENTS);
+        metrics.put("fileSize", FILE_SIZE);
+        metrics.put("batchSize", BATCH_SIZE);
+        metrics.put("singleDocumentsPerSecond", single);
+        metrics.put("batchDocumentsPerSecond", batch);
+        BenchmarkResults.write("upload-throughput", metrics);
+
+        assertEquals(2L * (WARM_UP_DOCUMENTS + DOCUMENTS), documentRepository.countByCompanyIdAndIsActive(companyId, true));
+    }
+
+    private double measure(Runnable upload) {
+        long start = System.nanoTime();
+        upload.run();
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        return DOCUMENTS / seconds;
+    }
+
+    private void uploadSingle(RestClient client, byte[] content, int count) {
+        for (int i = 0; i < count; i++) {
+            MultipartBodyBuilder builder = new MultipartBodyBuilder();
+            builder.part("document", newDocument(i), MediaType.APPLICATION_JSON);
+            builder.part("file", new ByteArrayResource(content)).filename("bench-" + i + ".pdf");
+            client.post().uri("/save")
+                    .contentType(MediaType.MULTIPART_FORM_DATA)
+                    .body(builder.build())
+                    .retrieve()
+                    .toBodilessEntity();
+        }
+    }
+
+    private void uploadBatches(RestClient client, byte[] content, int count) {
+        for (int offset = 0; offset < count; offset += BATCH_SIZE) {
+            int size = Math.min(BATCH_SIZE, count - offset);
+            List<DtoDocumentIU> batch = new ArrayList<>(size);
+            MultipartBodyBuilder builder = new MultipartBodyBuilder();
+            for (int i = 0; i < size; i++) {
+                batch.add(newDocument(offset + i));
+                builder.part("files", new ByteArrayResource(content)).filename("bench-" + (offset + i) + ".pdf");
+            }
+            builder.part("documents", batch, MediaType.APPLICATION_JSON);
+            client.post().uri("/save-batch")
+                    .contentType(MediaType.MULTIPART_FORM_DATA)
+                    .body(builder.build())
+                    .retrieve()
+                    .toBodilessEntity();
+        }
+    }
+
+    private DtoDocumentIU newDocument(int index) {
+        DtoDocumentIU dto = new DtoDocumentIU();
+        dto.setName("bench-" + index);
+        dto.setCategory(DocumentCategory.GELEN);
+        dto.setCompanyId(companyId);
+        return dto;
+    }
+}
@@ -0,0 +1,203 @@
+package org.kafka.evrak.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kafka.evrak.dto.request.DtoCompanyIU;
+import org.kafka.evrak.dto.request.DtoDocumentIU;
+import org.kafka.evrak.enums.DocumentCategory;
+import org.kafka.evrak.service.CompanyService;
+import org.kafka.evrak.service.DocumentService;
+import org.kafka.evrak.support.PostgresIntegrationTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * /api/documents/file/{id} indirme uç noktasının HTTP doğruluk testleri: tekli Range, karşılanamayan aralık,
+ * If-Range, If-None-Match ve gzip saklanan dosyalarda Vary başlığı.
+ * Sıkıştırma açıktır; PDF olduğu gibi, metin dosyası gzip olarak saklanır.
+ */
+@TestPropertySource(properties = "file.compression-enabled=true")
+class DocumentDownloadTest extends PostgresIntegrationTest {
+
+    private static final int FILE_SIZE = 100 * 1024;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CompanyService companyService;
+
+    @Autowired
+    private DocumentService documentService;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    private Long companyId;
+
+    private byte[] content;
+
+    private Long documentId;
+
+    @BeforeEach
+    void createDocument() {
+        DtoCompanyIU companyIU = new DtoCompanyIU();
+        companyIU.setName("download-" + System.nanoTime());
+        companyId = companyService.saveCompany(companyIU).getId();
+
+        content = new byte[FILE_SIZE];
+        new Random(42).nextBytes(content);
+        documentId = save("download.pdf", content);
+    }
+
+    @AfterEach
+    void deleteCompany() {
+        documentService.deleteAllActiveDocuments(companyId);
+        companyService.deleteCompanyPermanently(companyId);
+    }
+
+    @Test
+    void fullDownloadAdvertisesRanges() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = get(documentId);
+
+        assertEquals(200, response.statusCode());
+        assertEquals("bytes", header(response, "Accept-Ranges"));
+        assertTrue(response.headers().firstValue("ETag").isPresent());
+        assertArrayEquals(content, response.body());
+    }
+
+    @Test
+    void singleRangeReturnsPartialContent() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = get(documentId, "Range", "bytes=100-199");
+
+        assertEquals(206, response.statusCode());
+        assertEquals("bytes 100-199/" + FILE_SIZE, header(response, "Content-Range"));
+        assertEquals("100", header(response, "Content-Length"));
+        assertArrayEquals(Arrays.copyOfRange(content, 100, 200), response.body());
+    }
+
+    @Test
+    void suffixRangeReturnsTail() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = get(documentId, "Range", "bytes=-10");
+
+        assertEquals(206, response.statusCode());
+        assertEquals("bytes " + (FILE_SIZE - 10) + "-" + (FILE_SIZE - 1) + "/" + FILE_SIZE, header(response, "Content-Range"));
+        assertArrayEquals(Arrays.copyOfRange(content, FILE_SIZE - 10, FILE_SIZE), response.body());
+    }
+
+    @Test
+    void unsatisfiableRangeReturns416() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = get(documentId, "Range", "bytes=" + FILE_SIZE + "-");
+
+        assertEquals(416, response.statusCode());
+        assertEquals("bytes */" + FILE_SIZE, header(response, "Content-Range"));
+    }
+
+    @Test
+    void ifRangeWithCurrentETagReturnsPartialContent() throws IOException, InterruptedException {
+        String eTag = header(get(documentId), "ETag");
+
+        HttpResponse<byte[]> response = get(documentId, "Range", "bytes=0-9", "If-Range", eTag);
+
+        assertEquals(206, response.statusCode());
+        assertArrayEquals(Arrays.copyOfRange(content, 0, 10), response.body());
+    }
+
+    @Test
+    void ifRangeWithStaleETagReturnsWholeFile() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = get(documentId, "Range", "bytes=0-9", "If-Range", "\"stale\"");
+
+        assertEquals(200, response.statusCode());
+        assertFalse(response.headers().firstValue("Content-Range").isPresent());
+        assertArrayEquals(content, response.body());
+    }
+
+    @Test
+    void ifNoneMatchReturns304() throws IOException, InterruptedException {
+        String eTag = header(get(documentId), "ETag");
+
+        HttpResponse<byte[]> response = get(documentId, "If-None-Match", eTag);
+
+        assertEquals(304, response.statusCode());
+        assertEquals(0, response.body().length);
+        assertEquals(eTag, header(response, "ETag"));
+    }
+
+    @Test
+    void gzipStoredFileVariesOnAcceptEncoding() throws IOException, InterruptedException {
+        byte[] text = "satir\n".repeat(10_000).getBytes(StandardCharsets.UTF_8);
+        Long textId = save("download.txt", text);
+
+        // gzip kabul eden istemci saklanan gzip içeriğini olduğu gibi alır.
+        HttpResponse<byte[]> gzip = get(textId, "Accept-Encoding", "gzip");
+        assertEquals(200, gzip.statusCode());
+        assertEquals("gzip", header(gzip, "Content-Encoding"));
+        assertVaryAcceptEncoding(gzip);
+        assertArrayEquals(text, gunzip(gzip.body()));
+
+        // Kabul etmeyen istemciye içerik sunucuda açılarak gönderilir; gösterimler ayrı ETag taşır.
+        HttpResponse<byte[]> identity = get(textId, "Range", "bytes=0-9");
+        assertEquals(200, identity.statusCode());
+        assertFalse(identity.headers().firstValue("Content-Encoding").isPresent());
+        assertEquals("none", header(identity, "Accept-Ranges"));
+        assertVaryAcceptEncoding(identity);
+        assertArrayEquals(text, identity.body());
+        assertFalse(header(gzip, "ETag").equals(header(identity, "ETag")));
+
+        HttpResponse<byte[]> notModified = get(textId, "Accept-Encoding", "gzip", "If-None-Match", header(gzip, "ETag"));
+        assertEquals(304, notModified.statusCode());
+        assertVaryAcceptEncoding(notModified);
+    }
+
+    private Long save(String filename, byte[] bytes) {
+        DtoDocumentIU documentIU = new DtoDocumentIU();
+        documentIU.setName(filename);
+        documentIU.setCategory(DocumentCategory.GELEN);
+        documentIU.setCompanyId(companyId);
+        return documentService.saveDocumentStream(documentIU, filename, new ByteArrayInputStream(bytes)).getId();
+    }
+
+    private HttpResponse<byte[]> get(Long id, String... headers) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/api/documents/file/" + id)).GET();
+        if (headers.length > 0) {
+            request.headers(headers);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static String header(HttpResponse<?> response, String name) {
+        return response.headers().firstValue(name)
+                .orElseThrow(() -> new AssertionError("missing " + name + " header"));
+    }
+
+    private static void assertVaryAcceptEncoding(HttpResponse<?> response) {
+        assertTrue(response.headers().allValues("Vary").stream()
+                        .anyMatch(value -> value.toLowerCase().contains("accept-encoding")),
+                "Vary: Accept-Encoding missing, got " + response.headers().allValues("Vary"));
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package org.kafka.evrak.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.kafka.evrak.support.PostgresIntegrationTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Sorgu planı regresyon testi.
+ * Depo (repository) sorgularının SQL karşılıklarını örnek veriyle doldurulmuş veritabanında hem özel (custom)
+ * hem genel (generic) planlarla EXPLAIN eder; document veya company tablosunda sıralı tarama (Seq Scan)
+ * görülürse test başarısız olur. Sorgular DocumentRepository / CompanyRepository ile birlikte güncel tutulmalıdır.
+ * Örnek veri boyutu -Dplan-check.seed-documents ile değiştirilebilir.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest extends PostgresIntegrationTest {
+
+    private static final List<String> CHECKED_TABLES = List.of("document", "company");
+
+    private static final List<String> PLAN_MODES = List.of("force_custom_plan", "force_generic_plan");
+
+    private static final long SEED_DOCUMENTS = Long.getLong("plan-check.seed-documents", 200_000L);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long companyId;
+    private String companyName;
+
+    private record PlannedQuery(String name, String parameterTypes, String sql, String arguments) {
+    }
+
+    @BeforeAll
+    void seed() throws IOException {
+        Long existing = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM company WHERE name LIKE 'plan-check-%'", Long.class);
+        if (existing == null || existing == 0) {
+            String seed = StreamUtils.copyToString(
+                    new ClassPathResource("db/plan-check-seed.sql").getInputStream(), StandardCharsets.UTF_8);
+            jdbcTemplate.execute(seed.replace(":documents", String.valueOf(SEED_DOCUMENTS)));
+        }
+        companyId = jdbcTemplate.queryForObject(
+                "SELECT company_id FROM document GROUP BY company_id ORDER BY count(*) DESC LIMIT 1", Long.class);
+        companyName = jdbcTemplate.queryForObject("SELECT name FROM company WHERE id = ?", String.class, companyId);
+    }
+
+    @TestFactory
+    Stream<DynamicTest> repositoryQueriesUseIndexes() {
+        return plannedQueries().stream()
+                .flatMap(query -> PLAN_MODES.stream().map(mode -> DynamicTest.dynamicTest(
+                        query.name() + " [" + mode + "]",
+                        () -> assertNull(findSequentialScan(query, mode),
+                                () -> query.name() + " [" + mode + "] falls back to a sequential scan"))));
+    }
+
+    /**
+     * Sorguyu PREPARE edip verilen plan önbelleği modunda EXPLAIN eder.
+     * İzlenen tablolardan birinde sıralı tarama varsa tablo adını, yoksa null döner.
+     */
+    private String findSequentialScan(PlannedQuery query, String mode) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET plan_cache_mode = " + mode);
+                statement.execute("PREPARE plan_check(" + query.parameterTypes() + ") AS " + query.sql());
+                try (ResultSet rs = statement.executeQuery(
+                        "EXPLAIN (FORMAT JSON) EXECUTE plan_check(" + query.arguments() + ")")) {
+                    rs.next();
+                    JsonNode plan = objectMapper.readTree(rs.getString(1)).get(0).get("Plan");
+                    return findSequentialScan(plan);
+                } catch (IOException e) {
+                    throw new IllegalStateException("Unreadable plan for " + query.name(), e);
+                } finally {
+                    statement.execute("DEALLOCATE plan_check");
+                    statement.execute("RESET plan_cache_mode");
+                }
+            }
+        });
+    }
+
+    private String findSequentialScan(JsonNode node) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())
+                && CHECKED_TABLES.contains(node.path("Relation Name").asText())) {
+            return node.path("Relation Name").asText();
+        }
+        for (JsonNode child : node.path("Plans")) {
+            String table = findSequentialScan(child);
+            if (table != null) {
+                return table;
+            }
+        }
+        return null;
+    }
+
+    private List<PlannedQuery> plannedQueries() {
+        String filterWhere = "d.company_id = $1 AND d.is_active = $2 "
+                + "AND ($3::text IS NULL OR lower(d.name) LIKE lower('%' || $3 || '%')) "
+                + "AND ($4::timestamp IS NULL OR d.created_at >= $4) "
+                + "AND ($5::timestamp IS NULL OR d.created_at <= $5) "
+                + "AND ($6::varchar IS NULL OR d.category = $6)";
+        String searchWhere = "d.company_id = $1 AND d.is_active = $2 "
+                + "AND lower(d.name) LIKE lower('%' || $3 || '%') "
+                + "AND ($4::timestamp IS NULL OR d.created_at >= $4) "
+                + "AND ($5::timestamp IS NULL OR d.created_at <= $5) "
+                + "AND ($6::varchar IS NULL OR d.category = $6)";
+        String filterTypes = "bigint, boolean, text, timestamp, timestamp, varchar";
+        String filterArgs = companyId + ", true, NULL, NULL, NULL, 'GELEN'";
+        String rangeArgs = companyId + ", true, NULL, now() - interval '30 days', now(), 'GELEN'";
+        String searchArgs = companyId + ", true, 'invoice_12', NULL, NULL, 'GELEN'";
+        String quotedName = "'" + companyName.replace("'", "''") + "'";
+        // Listeleme sorguları DocumentSummary / CompanySummary projeksiyonlarını seçer.
+        String documentColumns = "d.id, d.created_at, d.type, d.category, d.description, d.file_size, d.content_hash";
+
+        return List.of(
+                new PlannedQuery("filterDocuments", filterTypes,
+                        "SELECT " + documentColumns + " FROM document d WHERE " + filterWhere + " ORDER BY d.id DESC LIMIT 10 OFFSET 0",
+                        filterArgs),
+                new PlannedQuery("filterDocuments (date range)", filterTypes,
+                        "SELECT " + documentColumns + " FROM document d WHERE " + filterWhere + " ORDER BY d.id DESC LIMIT 10 OFFSET 0",
+                        rangeArgs),
+                new PlannedQuery("filterDocuments count", filterTypes,
+                        "SELECT count(d.id) FROM document d WHERE " + filterWhere,
+                        filterArgs),
+                new PlannedQuery("searchDocumentsByName", filterTypes,
+                        "SELECT " + documentColumns + " FROM document d WHERE " + searchWhere + " ORDER BY d.id DESC LIMIT 10 OFFSET 0",
+                        searchArgs),
+                new PlannedQuery("seekDocuments", filterTypes + ", bigint",
+                        "SELECT " + documentColumns + " FROM document d WHERE " + filterWhere
+                                + " AND ($7::bigint IS NULL OR d.id < $7) ORDER BY d.id DESC LIMIT 11",
+                        filterArgs + ", " + (SEED_DOCUMENTS / 2)),
+                new PlannedQuery("existsByCompanyIdAndIsActive", "bigint, boolean",
+                        "SELECT d.id FROM document d WHERE d.company_id = $1 AND d.is_active = $2 LIMIT 1",
+                        companyId + ", true"),
+                new PlannedQuery("countByCompanyIdAndIsActive", "bigint, boolean",
+                        "SELECT count(d.id) FROM document d WHERE d.company_id = $1 AND d.is_active = $2",
+                        companyId + ", true"),
+                new PlannedQuery("findByNameAndIsActive", "varchar, boolean",
+                        "SELECT c.* FROM company c WHERE c.name = $1 AND c.is_active = $2",
+                        quotedName + ", true"),
+                new PlannedQuery("findByIsActive", "boolean",
+                        "SELECT c.id, c.created_at, c.name FROM company c WHERE c.is_active = $1 ORDER BY c.id DESC LIMIT 10 OFFSET 0",
+                        "true"),
+                new PlannedQuery("seekByIsActive", "boolean, bigint",
+                        "SELECT c.id, c.created_at, c.name FROM company c WHERE c.is_active = $1 AND ($2::bigint IS NULL OR c.id < $2) "
+                                + "ORDER BY c.id DESC LIMIT 11",
+                        "true, 200")
+        );
+    }
+}
@@ -0,0 +1,174 @@
+package org.kafka.evrak.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kafka.evrak.dto.request.DtoCompanyIU;
+import org.kafka.evrak.dto.request.DtoDocumentIU;
+import org.kafka.evrak.dto.response.DtoDocument;
+import org.kafka.evrak.entity.DocumentBlob;
+import org.kafka.evrak.enums.DocumentCategory;
+import org.kafka.evrak.repository.DocumentBlobRepository;
+import org.kafka.evrak.repository.DocumentRepository;
+import org.kafka.evrak.support.PostgresIntegrationTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * İçerik adresli depolamada (file.dedup-enabled) blob referans sayacının testleri:
+ * aynı içerik tek blob'u paylaşır, blob son referansla birlikte silinir ve geri alınan transaction'lar
+ * sayacı ya da dosyayı değiştirmez.
+ */
+@TestPropertySource(properties = "file.dedup-enabled=true")
+class BlobDedupTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private CompanyService companyService;
+
+    @Autowired
+    private DocumentService documentService;
+
+    @Autowired
+    private BlobStoreService blobStoreService;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private DocumentBlobRepository documentBlobRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long companyId;
+
+    private byte[] content;
+
+    @BeforeEach
+    void createCompany() {
+        DtoCompanyIU companyIU = new DtoCompanyIU();
+        companyIU.setName("blob-dedup-" + System.nanoTime());
+        companyId = companyService.saveCompany(companyIU).getId();
+
+        // Testler birbirinin blob'unu paylaşmasın diye her testte farklı içerik kullanılır.
+        content = new byte[16 * 1024];
+        new Random(System.nanoTime()).nextBytes(content);
+    }
+
+    @AfterEach
+    void deleteCompany() {
+        if (documentRepository.existsByCompanyIdAndIsActive(companyId, true)) {
+            documentService.deleteAllActiveDocuments(companyId);
+        }
+        companyService.deleteCompanyPermanently(companyId);
+    }
+
+    @Test
+    void sameContentSharesOneBlob() throws IOException {
+        DtoDocument first = save("first.pdf");
+        DtoDocument second = save("second.pdf");
+
+        assertEquals(first.getContentHash(), second.getContentHash());
+        DocumentBlob blob = findBlob(first.getContentHash()).orElseThrow();
+        assertEquals(2, blob.getRefCount());
+        assertEquals(content.length, blob.getSize());
+        assertTrue(Files.exists(blobStoreService.getBlobPath(blob.getContentHash())));
+        assertArrayEquals(content, readContent(first.getId()));
+        assertArrayEquals(content, readContent(second.getId()));
+    }
+
+    @Test
+    void deletingOneDocumentKeepsSharedBlob() throws IOException {
+        DtoDocument first = save("first.pdf");
+        DtoDocument second = save("second.pdf");
+
+        documentService.deleteDocumentPermanently(first.getId());
+
+        DocumentBlob blob = findBlob(first.getContentHash()).orElseThrow();
+        assertEquals(1, blob.getRefCount());
+        assertTrue(Files.exists(blobStoreService.getBlobPath(blob.getContentHash())));
+        assertArrayEquals(content, readContent(second.getId()));
+    }
+
+    @Test
+    void deletingLastDocumentRemovesBlob() {
+        DtoDocument first = save("first.pdf");
+        DtoDocument second = save("second.pdf");
+
+        documentService.deleteDocumentPermanently(first.getId());
+        documentService.deleteDocumentPermanently(second.getId());
+
+        assertFalse(findBlob(first.getContentHash()).isPresent());
+        assertFalse(Files.exists(blobStoreService.getBlobPath(first.getContentHash())));
+    }
+
+    @Test
+    void rolledBackSaveDoesNotLeakReference() {
+        DtoDocument first = save("first.pdf");
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // Blob referansı alındıktan sonra transaction geri alınırsa sayaç da geri alınmalıdır.
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            documentService.saveDocumentByHash(documentIU("by-hash.pdf"), "by-hash.pdf", first.getContentHash());
+            throw new IllegalStateException("rollback");
+        }));
+
+        assertEquals(1, findBlob(first.getContentHash()).orElseThrow().getRefCount());
+        assertEquals(1, documentRepository.countByCompanyIdAndIsActive(companyId, true));
+    }
+
+    @Test
+    void rolledBackDeleteRestoresBlob() throws IOException {
+        DtoDocument first = save("first.pdf");
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // Son referansın silinmesi geri alınırsa kayıt ve dosya yerinde kalmalıdır.
+        transactionTemplate.executeWithoutResult(status -> {
+            documentService.deleteDocumentPermanently(first.getId());
+            status.setRollbackOnly();
+        });
+
+        assertEquals(1, findBlob(first.getContentHash()).orElseThrow().getRefCount());
+        assertTrue(Files.exists(blobStoreService.getBlobPath(first.getContentHash())));
+        assertArrayEquals(content, readContent(first.getId()));
+    }
+
+    private DtoDocument save(String filename) {
+        return documentService.saveDocumentStream(documentIU(filename), filename, new ByteArrayInputStream(content));
+    }
+
+    private DtoDocumentIU documentIU(String name) {
+        DtoDocumentIU documentIU = new DtoDocumentIU();
+        documentIU.setName(name);
+        documentIU.setCategory(DocumentCategory.GELEN);
+        documentIU.setCompanyId(companyId);
+        return documentIU;
+    }
+
+    private Optional<DocumentBlob> findBlob(String contentHash) {
+        return documentBlobRepository.findAll().stream()
+                .filter(blob -> blob.getContentHash().equals(contentHash))
+                .findFirst();
+    }
+
+    private byte[] readContent(Long documentId) throws IOException {
+        try (InputStream in = documentService.openDocumentContent(documentService.getDocumentFile(documentId))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package org.kafka.evrak.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.kafka.evrak.config.FileStorageConfig;
+import org.kafka.evrak.dto.request.DtoCompanyIU;
+import org.kafka.evrak.dto.request.DtoDocumentIU;
+import org.kafka.evrak.dto.request.DtoUploadSessionIU;
+import org.kafka.evrak.dto.response.DtoDocument;
+import org.kafka.evrak.dto.response.DtoUploadSession;
+import org.kafka.evrak.enums.DocumentCategory;
+import org.kafka.evrak.exception.BaseException;
+import org.kafka.evrak.exception.MessageType;
+import org.kafka.evrak.repository.DocumentRepository;
+import org.kafka.evrak.repository.UploadSessionRepository;
+import org.kafka.evrak.support.PostgresIntegrationTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Parçalı yükleme oturumlarının davranış testleri: oturum açma, parça sınırları, tamamlama sahiplenmesi,
+ * başarısız tamamlamadan sonra devam etme ve aynı parçanın eşzamanlı yüklenmesi.
+ * Parça boyutu sınırı küçük tutulur ki aşım senaryoları birkaç KB ile denenebilsin.
+ */
+@TestPropertySource(properties = "upload.max-chunk-size=1KB")
+class UploadSessionServiceTest extends PostgresIntegrationTest {
+
+    private static final int CHUNK_SIZE = 1024;
+
+    @Autowired
+    private UploadSessionService uploadSessionService;
+
+    @Autowired
+    private UploadSessionRepository uploadSessionRepository;
+
+    @Autowired
+    private CompanyService companyService;
+
+    @Autowired
+    private DocumentService documentService;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private FileStorageConfig fileStorageConfig;
+
+    private Long companyId;
+
+    private final List<Long> sessionIds = new ArrayList<>();
+
+    @BeforeEach
+    void createCompany() {
+        DtoCompanyIU companyIU = new DtoCompanyIU();
+        companyIU.setName("upload-session-" + System.nanoTime());
+        companyId = companyService.saveCompany(companyIU).getId();
+    }
+
+    @AfterEach
+    void deleteCompany() {
+        // Tamamlanmamış oturumlar şirketin silinmesini engellememesi için önce kapatılır.
+        for (Long sessionId : sessionIds) {
+            if (uploadSessionRepository.existsById(sessionId)) {
+                uploadSessionService.abortSession(sessionId);
+            }
+        }
+        if (documentRepository.existsByCompanyIdAndIsActive(companyId, true)) {
+            documentService.deleteAllActiveDocuments(companyId);
+        }
+        companyService.deleteCompanyPermanently(companyId);
+    }
+
+    @Test
+    void createPutAndComplete() throws IOException {
+        DtoUploadSession session = createSession(2, CHUNK_SIZE + 476L);
+        assertEquals(CHUNK_SIZE + 476L, session.getTotalSize());
+        assertEquals(List.of(), session.getReceivedChunks());
+
+        byte[] first = filled(CHUNK_SIZE, 'a');
+        byte[] second = filled(476, 'b');
+        // Parçalar sırasız yüklenebilir.
+        assertEquals(1, uploadSessionService.putChunk(session.getId(), 1, new ByteArrayInputStream(second)));
+        assertEquals(0, uploadSessionService.putChunk(session.getId(), 0, new ByteArrayInputStream(first)));
+        assertEquals(List.of(0, 1), uploadSessionService.getSession(session.getId()).getReceivedChunks());
+
+        DtoDocument document = uploadSessionService.completeSession(session.getId());
+
+        assertEquals(CHUNK_SIZE + 476L, document.getFileSize());
+        assertArrayEquals(concat(first, second), readContent(document.getId()));
+        assertFalse(uploadSessionRepository.existsById(session.getId()));
+        assertFalse(Files.exists(sessionFolder(session.getId())));
+    }
+
+    @Test
+    void rejectsChunkIndexOutOfRange() {
+        DtoUploadSession session = createSession(2, 2L * CHUNK_SIZE);
+
+        assertError(MessageType.UPLOAD_CHUNK_INVALID,
+                () -> uploadSessionService.putChunk(session.getId(), 2, new ByteArrayInputStream(filled(10, 'a'))));
+        assertError(MessageType.UPLOAD_CHUNK_INVALID,
+                () -> uploadSessionService.putChunk(session.getId(), -1, new ByteArrayInputStream(filled(10, 'a'))));
+        assertEquals(List.of(), uploadSessionService.getSession(session.getId()).getReceivedChunks());
+    }
+
+    @Test
+    void rejectsChunkLargerThanMaxChunkSize() throws IOException {
+        DtoUploadSession session = createSession(2, 2L * CHUNK_SIZE);
+
+        assertError(MessageType.UPLOAD_SIZE_EXCEEDED,
+                () -> uploadSessionService.putChunk(session.getId(), 0, new ByteArrayInputStream(filled(CHUNK_SIZE + 1, 'a'))));
+
+        // Yarıda kesilen parça ne kaydedilir ne de geçici dosya bırakır.
+        assertEquals(List.of(), uploadSessionService.getSession(session.getId()).getReceivedChunks());
+        assertEquals(0, countFiles(sessionFolder(session.getId())));
+    }
+
+    @Test
+    void rejectsChunksBeyondDeclaredTotalSize() {
+        DtoUploadSession session = createSession(2, CHUNK_SIZE + 100L);
+        uploadSessionService.putChunk(session.getId(), 0, new ByteArrayInputStream(filled(CHUNK_SIZE, 'a')));
+
+        assertError(MessageType.UPLOAD_SIZE_EXCEEDED,
+                () -> uploadSessionService.putChunk(session.getId(), 1, new ByteArrayInputStream(filled(101, 'b'))));
+        assertEquals(List.of(0), uploadSessionService.getSession(session.getId()).getReceivedChunks());
+    }
+
+    @Test
+    void rejectsSessionLargerThanChunkLimit() {
+        assertError(MessageType.UPLOAD_SIZE_EXCEEDED, () -> createSession(2, 2L * CHUNK_SIZE + 1));
+    }
+
+    @Test
+    void completingTwiceFailsTheSecondTime() {
+        DtoUploadSession session = createSession(1, 10L);
+        uploadSessionService.putChunk(session.getId(), 0, new ByteArrayInputStream(filled(10, 'a')));
+
+        uploadSessionService.completeSession(session.getId());
+
+        assertError(MessageType.NO_RECORD_EXIST, () -> uploadSessionService.completeSession(session.getId()));
+        assertEquals(1, documentRepository.countByCompanyIdAndIsActive(companyId, true));
+    }
+
+    @Test
+    void claimedSessionRejectsCompletionAndChunks() {
+        DtoUploadSession session = createSession(1, 10L);
+        uploadSessionService.putChunk(session.getId(), 0, new ByteArrayInputStream(filled(10, 'a')));
+
+        // Başka bir isteğin oturumu tamamlamak üzere sahiplendiği an canlandırılır.
+        assertEquals(1, uploadSessionRepository.claimForCompletion(session.getId(), LocalDateTime.now().plusHours(1)));
+
+        assertError(MessageType.UPLOAD_SESSION_BUSY, () -> uploadSessionService.completeSession(session.getId()));
+        assertError(MessageType.UPLOAD_SESSION_BUSY,
+                () -> uploadSessionService.putChunk(session.getId(), 0, new ByteArrayInputStream(filled(10, 'b'))));
+        assertEquals(0, documentRepository.countByCompanyIdAndIsActive(companyId, true));
+    }
+
+    @Test
+    void resumesAfterIncompleteCompletion() throws IOException {
+        DtoUploadSession session = createSession(2, CHUNK_SIZE + 10L);
+        byte[] first = filled(CHUNK_SIZE, 'a');
+        uploadSessionService.putChunk(session.getId(), 0, new ByteArrayInputStream(first));
+
+        assertError(MessageType.UPLOAD_INCOMPLETE, () -> uploadSessionService.completeSession(session.getId()));
+
+        // Başarısız tamamlama oturumu yeniden açar; eksik parça yüklenip tamamlama tekrarlanabilir.
+        assertEquals(List.of(0), uploadSessionService.getSession(session.getId()).getReceivedChunks());
+        byte[] second = filled(10, 'b');
+        uploadSessionService.putChunk(session.getId(), 1, new ByteArrayInputStream(second));
+        DtoDocument document = uploadSessionService.completeSession(session.getId());
+
+        assertArrayEquals(concat(first, second), readContent(document.getId()));
+    }
+
+    @Test
+    void concurrentPutsOfSameChunkKeepOneWholeChunk() throws Exception {
+        DtoUploadSession session = createSession(2, 2L * CHUNK_SIZE);
+        int writers = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < writers; i++) {
+            byte[] content = filled(CHUNK_SIZE, 'a' + i);
+            tasks.add(() -> {
+                start.await();
+                return uploadSessionService.putChunk(session.getId(), 0, new ByteArrayInputStream(content));
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (Callable<Integer> task : tasks) {
+                futures.add(executor.submit(task));
+            }
+            start.countDown();
+            // Her yazma başarılı olmalı; son yazan kazanır.
+            for (Future<Integer> future : futures) {
+                assertEquals(0, future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Path chunk = sessionFolder(session.getId()).resolve("0.chunk");
+        byte[] stored = Files.readAllBytes(chunk);
+        assertEquals(CHUNK_SIZE, stored.length);
+        assertArrayEquals(filled(CHUNK_SIZE, stored[0]), stored, "chunk mixes bytes from different writers");
+        assertEquals(1, countFiles(sessionFolder(session.getId())), "temporary chunk files left behind");
+
+        byte[] second = filled(CHUNK_SIZE, 'z');
+        uploadSessionService.putChunk(session.getId(), 1, new ByteArrayInputStream(second));
+        DtoDocument document = uploadSessionService.completeSession(session.getId());
+
+        assertArrayEquals(concat(stored, second), readContent(document.getId()));
+    }
+
+    private DtoUploadSession createSession(int totalChunks, long totalSize) {
+        DtoDocumentIU documentIU = new DtoDocumentIU();
+        documentIU.setName("session-" + System.nanoTime());
+        documentIU.setCategory(DocumentCategory.GELEN);
+        documentIU.setCompanyId(companyId);
+
+        DtoUploadSessionIU sessionIU = new DtoUploadSessionIU();
+        sessionIU.setDocument(documentIU);
+        sessionIU.setFilename("session.pdf");
+        sessionIU.setTotalChunks(totalChunks);
+        sessionIU.setTotalSize(totalSize);
+
+        DtoUploadSession session = uploadSessionService.createSession(sessionIU);
+        sessionIds.add(session.getId());
+        return session;
+    }
+
+    private byte[] readContent(Long documentId) throws IOException {
+        try (InputStream in = documentService.openDocumentContent(documentService.getDocumentFile(documentId))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private Path sessionFolder(Long sessionId) {
+        return fileStorageConfig.getSessionsPath().resolve(String.valueOf(sessionId));
+    }
+
+    private static long countFiles(Path folder) throws IOException {
+        try (Stream<Path> files = Files.list(folder)) {
+            return files.count();
+        }
+    }
+
+    private static byte[] filled(int length, int value) {
+        byte[] bytes = new byte[length];
+        Arrays.fill(bytes, (byte) value);
+        return bytes;
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(first.length + second.length);
+        out.write(first);
+        out.write(second);
+        return out.toByteArray();
+    }
+
+    private static void assertError(MessageType expected, Executable executable) {
+        BaseException exception = assertThrows(BaseException.class, executable);
+        assertEquals(expected, exception.getMessageType());
+    }
+}
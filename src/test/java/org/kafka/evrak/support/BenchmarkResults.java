@@ -0,0 +1,40 @@
+package org.kafka.evrak.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Ölçüm testlerinin sonuçlarını sürümler arası karşılaştırma için JSON olarak yazar.
+ * Klasör benchmark.results-dir sistem özelliğinden okunur (bkz. build.gradle benchmarkTest görevi).
+ */
+public final class BenchmarkResults {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private BenchmarkResults() {
+    }
+
+    public static void write(String name, Map<String, ?> metrics) {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("benchmark", name);
+        document.put("timestamp", Instant.now().toString());
+        document.put("javaVersion", Runtime.version().toString());
+        document.put("metrics", metrics);
+        Path directory = Paths.get(System.getProperty("benchmark.results-dir", "build/results/benchmark"));
+        try {
+            Files.createDirectories(directory);
+            MAPPER.writeValue(directory.resolve(name + ".json").toFile(), document);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.kafka.evrak.support;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Gerçek PostgreSQL (Testcontainers) ve geçici bir yükleme klasörüyle çalışan entegrasyon testlerinin tabanı.
+ * Konteyner tüm test sınıfları için bir kez başlatılır; Spring bağlamı önbellekte kaldığı sürece aynı veritabanı kullanılır.
+ * Docker bulunamazsa testler atlanır.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public abstract class PostgresIntegrationTest {
+
+    protected static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    protected static final Path UPLOADS_DIR;
+
+    static {
+        POSTGRES.start();
+        try {
+            UPLOADS_DIR = Files.createTempDirectory("evrak-test-uploads");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("file.uploads-dir", UPLOADS_DIR::toString);
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+}
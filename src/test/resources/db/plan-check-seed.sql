@@ -0,0 +1,22 @@
+-- Sorgu planı kontrolü için örnek veri. SADECE geçici/yerel bir veritabanında kullanın.
+-- :documents yer tutucusu QueryPlanTest tarafından doldurulur.
+INSERT INTO company (id, created_at, updated_at, is_active, name, folder_path)
+SELECT nextval('company_seq'), now(), now(), g % 10 <> 0, 'plan-check-' || g, '/tmp/plan-check/' || g
+FROM generate_series(1, 20000) g;
+
+WITH c AS (SELECT array_agg(id) AS ids FROM company WHERE name LIKE 'plan-check-%')
+INSERT INTO document (id, created_at, updated_at, is_active, name, type, category, description, file_size, company_id)
+SELECT nextval('document_seq'),
+       now() - (g % 1000) * interval '1 day',
+       now(),
+       g % 4 <> 0,
+       md5(g::text) || '_invoice_' || g || '.pdf',
+       'PDF',
+       CASE WHEN g % 2 = 0 THEN 'GELEN' ELSE 'GİDEN' END,
+       'plan-check',
+       1024 + g % 4096,
+       c.ids[1 + g % array_length(c.ids, 1)]
+FROM generate_series(1, :documents) g, c;
+
+ANALYZE company;
+ANALYZE document;